@@ -0,0 +1,20 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+/**
+ * Protocol of those interested in being told that new {@code Entry<T>} instances
+ * have been appended to a {@code Journal}, {@code ObjectStore}, or {@code StateStore},
+ * such that they may read them without polling.
+ */
+public interface AppendListener {
+  /**
+   * Informs me that one or more {@code Entry<T>} instances were appended.
+   */
+  void entriesAppended();
+}
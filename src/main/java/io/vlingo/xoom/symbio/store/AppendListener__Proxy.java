@@ -0,0 +1,37 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.DeadLetter;
+import io.vlingo.xoom.actors.LocalMessage;
+import io.vlingo.xoom.actors.Mailbox;
+import io.vlingo.xoom.common.SerializableConsumer;
+
+public class AppendListener__Proxy implements AppendListener {
+
+  private static final String entriesAppendedRepresentation1 = "entriesAppended()";
+
+  private final Actor actor;
+  private final Mailbox mailbox;
+
+  public AppendListener__Proxy(final Actor actor, final Mailbox mailbox){
+    this.actor = actor;
+    this.mailbox = mailbox;
+  }
+
+  public void entriesAppended() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<AppendListener> consumer = (actor) -> actor.entriesAppended();
+      if (mailbox.isPreallocated()) { mailbox.send(actor, AppendListener.class, consumer, null, entriesAppendedRepresentation1); }
+      else { mailbox.send(new LocalMessage<AppendListener>(actor, AppendListener.class, consumer, entriesAppendedRepresentation1)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, entriesAppendedRepresentation1));
+    }
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tells each subscribed {@code AppendListener} that new {@code Entry<T>} instances
+ * were appended to the storage that owns me. The storage calls {@code appended()}
+ * once its entries are visible to readers. Subscribing and unsubscribing may be
+ * performed by any thread.
+ * <p>
+ * A listener subscribed by {@code subscribeCoalescing()} is told at most once until
+ * it declares by {@code readBy()} that it is reading, so that a burst of appends
+ * sends it a single message rather than one message per append.
+ */
+public final class AppendNotifier {
+  private final List<Subscription> subscriptions;
+
+  /**
+   * Constructs my empty state.
+   */
+  public AppendNotifier() {
+    this.subscriptions = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Tells every subscribed {@code AppendListener} that entries were appended.
+   */
+  public void appended() {
+    for (final Subscription subscription : subscriptions) {
+      subscription.tell();
+    }
+  }
+
+  /**
+   * Answer whether or not any {@code AppendListener} is subscribed.
+   * @return boolean
+   */
+  public boolean hasListeners() {
+    return !subscriptions.isEmpty();
+  }
+
+  /**
+   * Declares that the coalescing {@code listener} is about to read, so that it is
+   * told again of any entries appended from now on. The {@code listener} must call
+   * this before, not after, it reads, or it may miss entries appended meanwhile.
+   * @param listener the AppendListener subscribed by {@code subscribeCoalescing()}
+   */
+  public void readBy(final AppendListener listener) {
+    for (final Subscription subscription : subscriptions) {
+      if (subscription.listener.equals(listener) && subscription.notified != null) {
+        subscription.notified.set(false);
+      }
+    }
+  }
+
+  /**
+   * Subscribes the {@code listener} to be told of appended entries.
+   * @param listener the AppendListener to subscribe
+   */
+  public void subscribe(final AppendListener listener) {
+    subscriptions.add(new Subscription(listener, false));
+  }
+
+  /**
+   * Subscribes the {@code listener} to be told of appended entries at most once
+   * until it declares by {@code readBy()} that it is reading.
+   * @param listener the AppendListener to subscribe
+   */
+  public void subscribeCoalescing(final AppendListener listener) {
+    subscriptions.add(new Subscription(listener, true));
+  }
+
+  /**
+   * Unsubscribes the {@code listener} from being told of appended entries.
+   * @param listener the AppendListener to unsubscribe
+   */
+  public void unsubscribe(final AppendListener listener) {
+    subscriptions.removeIf(subscription -> subscription.listener.equals(listener));
+  }
+
+  private static final class Subscription {
+    final AppendListener listener;
+    final AtomicBoolean notified;
+
+    Subscription(final AppendListener listener, final boolean coalescing) {
+      this.listener = listener;
+      this.notified = coalescing ? new AtomicBoolean(false) : null;
+    }
+
+    void tell() {
+      if (notified == null || notified.compareAndSet(false, true)) {
+        listener.entriesAppended();
+      }
+    }
+  }
+}
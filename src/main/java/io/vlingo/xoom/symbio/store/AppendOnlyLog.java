@@ -0,0 +1,198 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An append-only {@code List<E>} of fixed-size chunks that is written by a single
+ * writer and read by any number of concurrent readers without locks or copying.
+ * Each {@code add(E)} is O(1) and publishes the new element through a volatile
+ * high-water mark, so that readers observe only fully appended elements.
+ * Elements are never replaced or cleared, and are removed only by evicting whole
+ * chunks with {@code truncateBefore(int)}, which like {@code add(E)} must be
+ * performed by the single writer. Eviction does not shift indexes, so that
+ * {@code size()} remains the total ever appended and only indexes below
+ * {@code firstIndex()} are no longer readable. Iteration and searches begin
+ * at {@code firstIndex()}.
+ *
+ * @param <E> the type of the elements
+ */
+public final class AppendOnlyLog<E> extends AbstractList<E> implements RandomAccess {
+  private static final int ChunkShift = 10;
+
+  /** The number of elements of each chunk, which is also the granularity of eviction. */
+  public static final int ChunkSize = 1 << ChunkShift;
+
+  private static final int ChunkMask = ChunkSize - 1;
+
+  private long[] chunkAppendedAt;
+  private volatile Object[][] chunks;
+  private volatile int first;
+  private volatile int size;
+
+  /**
+   * Answer the index of the first readable element of {@code list}, which is
+   * {@code firstIndex()} of an {@code AppendOnlyLog<E>} and otherwise {@code 0}.
+   * @param list the {@code List<?>} of elements
+   * @return int
+   */
+  public static int firstIndexOf(final List<?> list) {
+    return list instanceof AppendOnlyLog ? ((AppendOnlyLog<?>) list).firstIndex() : 0;
+  }
+
+  /**
+   * Answer the element of {@code list} at {@code index}, or null if it has been evicted from
+   * an {@code AppendOnlyLog<E>}, even concurrently with this read.
+   * @param list the {@code List<E>} of elements
+   * @param index the int index of the element
+   * @param <E> the type of the elements
+   * @return E
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> E readableAt(final List<E> list, final int index) {
+    return list instanceof AppendOnlyLog ? ((AppendOnlyLog<E>) list).getOrNull(index) : list.get(index);
+  }
+
+  /**
+   * Constructs my empty state.
+   */
+  public AppendOnlyLog() {
+    this.chunkAppendedAt = new long[8];
+    this.chunks = new Object[8][];
+    this.first = 0;
+    this.size = 0;
+  }
+
+  @Override
+  public boolean add(final E element) {
+    final int index = size;
+    final int chunk = index >>> ChunkShift;
+
+    Object[][] current = chunks;
+    if (chunk == current.length) {
+      current = Arrays.copyOf(current, current.length * 2);
+      chunkAppendedAt = Arrays.copyOf(chunkAppendedAt, current.length);
+      chunks = current;
+    }
+    if (current[chunk] == null) {
+      current[chunk] = new Object[ChunkSize];
+    }
+    current[chunk][index & ChunkMask] = element;
+    chunkAppendedAt[chunk] = System.currentTimeMillis();
+
+    size = index + 1; // publishes the element
+
+    return true;
+  }
+
+  /**
+   * Answer the index of my first readable element, below which all have been evicted.
+   * @return int
+   */
+  public int firstIndex() {
+    return first;
+  }
+
+  /**
+   * Answer the index of the first readable element of the oldest chunk that has
+   * had an element appended at or after {@code time}, or {@code size()} if none.
+   * @param time the long time in milliseconds since the epoch
+   * @return int
+   */
+  public int firstAppendedSince(final long time) {
+    final int end = size;
+    final int lastChunk = (end - 1) >>> ChunkShift;
+    for (int chunk = first >>> ChunkShift; end > 0 && chunk <= lastChunk; ++chunk) {
+      if (chunkAppendedAt[chunk] >= time) {
+        return Math.max(first, chunk << ChunkShift);
+      }
+    }
+    return end;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(final int index) {
+    if (index < first || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + " First: " + first + " Size: " + size);
+    }
+    final Object[] chunk = chunks[index >>> ChunkShift];
+    if (chunk == null) {
+      throw new IndexOutOfBoundsException("Index: " + index + " evicted");
+    }
+    return (E) chunk[index & ChunkMask];
+  }
+
+  /**
+   * Answer the element at {@code index}, or null if it has been evicted. Unlike {@code get(int)},
+   * this never fails for an index below {@code size()} that is evicted while it is read, and so
+   * a reader that finds null may skip to {@code firstIndex()} and read again.
+   * @param index the int index of the element
+   * @return E
+   */
+  @SuppressWarnings("unchecked")
+  public E getOrNull(final int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+    }
+    if (index < first) return null;
+    final Object[] chunk = chunks[index >>> ChunkShift]; // a chunk once read remains readable
+    return chunk == null ? null : (E) chunk[index & ChunkMask];
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return listIterator();
+  }
+
+  @Override
+  public int lastIndexOf(final Object element) {
+    for (int index = size - 1; index >= first; --index) {
+      if (Objects.equals(element, get(index))) return index;
+    }
+    return -1;
+  }
+
+  @Override
+  public ListIterator<E> listIterator() {
+    return listIterator(first);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Evicts all whole chunks of elements below {@code index}, and answers my
+   * resulting {@code firstIndex()}, which may be below {@code index} by up
+   * to {@code ChunkSize - 1}.
+   * @param index the int index of the first element that must remain readable
+   * @return int
+   */
+  public int truncateBefore(final int index) {
+    final int evictTo = (Math.min(index, size) >>> ChunkShift) << ChunkShift;
+    final int evictFrom = first;
+    if (evictTo <= evictFrom) return evictFrom;
+
+    first = evictTo; // publishes the eviction before it happens
+
+    final Object[][] current = chunks;
+    for (int chunk = evictFrom >>> ChunkShift; chunk < evictTo >>> ChunkShift; ++chunk) {
+      current[chunk] = null;
+    }
+    return evictTo;
+  }
+}
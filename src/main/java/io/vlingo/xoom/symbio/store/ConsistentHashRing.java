@@ -0,0 +1,134 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A consistent hashing ring of {@code totalPartitions}, each placed on the ring at
+ * {@code virtualNodes} points, that answers the partition of a key as the owner of the
+ * first point at or following the hash of the key. The points of a partition depend
+ * only on the partition itself, so that a ring resized to more or fewer partitions
+ * moves only the keys of the points gained or lost, about {@code 1/totalPartitions}
+ * of them per partition, rather than remapping nearly all keys as does
+ * {@code hashCode() % totalPartitions}. A ring is immutable.
+ */
+public final class ConsistentHashRing {
+  /** The default number of points of each partition. */
+  public static final int DefaultVirtualNodes = 160;
+
+  private static final Map<Integer,ConsistentHashRing> defaultRings = new ConcurrentHashMap<>();
+
+  private final int[] owners;
+  private final int[] points;
+  private final int totalPartitions;
+  private final int virtualNodes;
+
+  /**
+   * Answer the ring of {@code totalPartitions} with {@code DefaultVirtualNodes}, which is
+   * shared by all users of the same {@code totalPartitions}.
+   * @param totalPartitions the int number of partitions
+   * @return ConsistentHashRing
+   */
+  public static ConsistentHashRing of(final int totalPartitions) {
+    return defaultRings.computeIfAbsent(totalPartitions, total -> new ConsistentHashRing(total, DefaultVirtualNodes));
+  }
+
+  /**
+   * Constructs my state.
+   * @param totalPartitions the int number of partitions, which must be at least 1
+   * @param virtualNodes the int number of points of each partition, which must be at least 1
+   */
+  public ConsistentHashRing(final int totalPartitions, final int virtualNodes) {
+    if (totalPartitions < 1) throw new IllegalArgumentException("Total partitions must be at least 1.");
+    if (virtualNodes < 1) throw new IllegalArgumentException("Virtual nodes must be at least 1.");
+
+    this.totalPartitions = totalPartitions;
+    this.virtualNodes = virtualNodes;
+
+    // each point in the high half, its owner in the low half, so that ties order by owner
+    final long[] ring = new long[totalPartitions * virtualNodes];
+    int next = 0;
+    for (int partition = 0; partition < totalPartitions; ++partition) {
+      for (int node = 0; node < virtualNodes; ++node) {
+        ring[next++] = ((long) pointOf(partition, node) << 32) | partition;
+      }
+    }
+    Arrays.sort(ring);
+
+    this.points = new int[ring.length];
+    this.owners = new int[ring.length];
+    for (int idx = 0; idx < ring.length; ++idx) {
+      points[idx] = (int) (ring[idx] >> 32);
+      owners[idx] = (int) ring[idx];
+    }
+  }
+
+  /**
+   * Answer the partition of {@code key}, from 0 to {@code totalPartitions - 1}.
+   * @param key the String key
+   * @return int
+   */
+  public int partitionOf(final String key) {
+    final int hash = mix(key.hashCode());
+    int index = Arrays.binarySearch(points, hash);
+    if (index < 0) {
+      index = -(index + 1);
+    } else {
+      while (index > 0 && points[index - 1] == hash) --index; // first of equal points
+    }
+    return owners[index == points.length ? 0 : index];
+  }
+
+  /**
+   * Answer a ring of my {@code virtualNodes} resized to {@code totalPartitions}, in which the
+   * partitions that I share with it own the same points.
+   * @param totalPartitions the int number of partitions of the resized ring
+   * @return ConsistentHashRing
+   */
+  public ConsistentHashRing resizedTo(final int totalPartitions) {
+    if (totalPartitions == this.totalPartitions) return this;
+    return virtualNodes == DefaultVirtualNodes ? of(totalPartitions) : new ConsistentHashRing(totalPartitions, virtualNodes);
+  }
+
+  /**
+   * Answer my number of partitions.
+   * @return int
+   */
+  public int totalPartitions() {
+    return totalPartitions;
+  }
+
+  /**
+   * Answer my number of points of each partition.
+   * @return int
+   */
+  public int virtualNodes() {
+    return virtualNodes;
+  }
+
+  @Override
+  public String toString() {
+    return "ConsistentHashRing[totalPartitions=" + totalPartitions + " virtualNodes=" + virtualNodes + "]";
+  }
+
+  private static int pointOf(final int partition, final int node) {
+    long bits = ((long) partition << 32) | node;
+    bits = (bits ^ (bits >>> 33)) * 0xff51afd7ed558ccdL;
+    bits = (bits ^ (bits >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return (int) (bits ^ (bits >>> 33));
+  }
+
+  private static int mix(int hash) {
+    hash = (hash ^ (hash >>> 16)) * 0x85ebca6b;
+    hash = (hash ^ (hash >>> 13)) * 0xc2b2ae35;
+    return hash ^ (hash >>> 16);
+  }
+}
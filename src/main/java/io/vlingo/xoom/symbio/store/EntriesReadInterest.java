@@ -0,0 +1,27 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.List;
+
+/**
+ * Protocol by which an {@code Actor} reading from an {@code EntryReader<T>} is
+ * delivered the entries of a completed read as a message, so that its state is
+ * only ever changed by its own thread, not by the thread completing the read.
+ *
+ * @param <T> the T type of Entry read
+ */
+public interface EntriesReadInterest<T> {
+  /**
+   * Delivers the {@code entries} read, of at most {@code maximum}.
+   * @param entries the {@code List<T>} of entries read, which may be empty
+   * @param maximum the int maximum number of entries that were requested
+   * @param scheduled the boolean indicating whether the read was a scheduled probe
+   */
+  void entriesRead(final List<T> entries, final int maximum, final boolean scheduled);
+}
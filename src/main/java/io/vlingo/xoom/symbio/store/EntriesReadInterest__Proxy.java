@@ -0,0 +1,40 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.List;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.DeadLetter;
+import io.vlingo.xoom.actors.LocalMessage;
+import io.vlingo.xoom.actors.Mailbox;
+import io.vlingo.xoom.common.SerializableConsumer;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class EntriesReadInterest__Proxy<T> implements EntriesReadInterest<T> {
+
+  private static final String entriesReadRepresentation1 = "entriesRead(java.util.List<T>, int, boolean)";
+
+  private final Actor actor;
+  private final Mailbox mailbox;
+
+  public EntriesReadInterest__Proxy(final Actor actor, final Mailbox mailbox){
+    this.actor = actor;
+    this.mailbox = mailbox;
+  }
+
+  public void entriesRead(final List<T> arg0, final int arg1, final boolean arg2) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<EntriesReadInterest> consumer = (actor) -> actor.entriesRead(arg0, arg1, arg2);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, EntriesReadInterest.class, consumer, null, entriesReadRepresentation1); }
+      else { mailbox.send(new LocalMessage<EntriesReadInterest>(actor, EntriesReadInterest.class, consumer, entriesReadRepresentation1)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, entriesReadRepresentation1));
+    }
+  }
+}
@@ -0,0 +1,170 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+
+/**
+ * A reusable buffer of {@code Entry} instances read by {@code EntryReader.readBatch()}, holding
+ * the entries in an array of a fixed {@code capacity()}, with accessors of the id, type name,
+ * data, and {@code Metadata} of each by its index. A reader that catches up over many entries may read batch after batch
+ * into the same {@code EntryBatch<T>}, so that no collection is allocated per read. Each
+ * {@code readBatch()} replaces the contents of the batch, which therefore must be consumed
+ * before the next read into it, and must not be shared between concurrent reads.
+ *
+ * @param <T> the concrete type of {@code Entry<?>} held
+ */
+public final class EntryBatch<T extends Entry<?>> {
+  private final Object[] entries;
+  private int size;
+
+  /**
+   * Constructs my empty state with room for {@code capacity} entries.
+   * @param capacity the int maximum number of entries held, which must be at least 1
+   */
+  public EntryBatch(final int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1.");
+
+    this.entries = new Object[capacity];
+    this.size = 0;
+  }
+
+  /**
+   * Adds the {@code entry} following those I hold.
+   * @param entry the T entry to add
+   * @throws IllegalStateException if I am full
+   */
+  public void add(final T entry) {
+    if (size == entries.length) throw new IllegalStateException("Entry batch is full at capacity: " + entries.length);
+
+    entries[size++] = entry;
+  }
+
+  /**
+   * Adds each of the {@code entries} following those I hold, up to my {@code capacity()}.
+   * @param entries the {@code List<? extends T>} of entries to add
+   * @return int the number of entries added
+   */
+  public int addAll(final List<? extends T> entries) {
+    final int total = Math.min(entries.size(), remaining());
+    for (int index = 0; index < total; ++index) {
+      add(entries.get(index));
+    }
+    return total;
+  }
+
+  /**
+   * Answer the maximum number of entries I may hold.
+   * @return int
+   */
+  public int capacity() {
+    return entries.length;
+  }
+
+  /**
+   * Removes all my entries, releasing my references to them.
+   */
+  public void clear() {
+    Arrays.fill(entries, 0, size, null);
+    size = 0;
+  }
+
+  /**
+   * Answer the data of the entry at {@code index}.
+   * @param index the int index of the entry
+   * @param <D> the type of the data
+   * @return D
+   */
+  @SuppressWarnings("unchecked")
+  public <D> D data(final int index) {
+    return (D) entry(index).entryData();
+  }
+
+  /**
+   * Answer the entry at {@code index}.
+   * @param index the int index of the entry
+   * @return T
+   */
+  @SuppressWarnings("unchecked")
+  public T entry(final int index) {
+    checkIndex(index);
+    return (T) entries[index];
+  }
+
+  /**
+   * Answer the id of the entry at {@code index}.
+   * @param index the int index of the entry
+   * @return String
+   */
+  public String id(final int index) {
+    return entry(index).id();
+  }
+
+  /**
+   * Answer whether I hold no entries.
+   * @return boolean
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Answer whether I hold {@code capacity()} entries.
+   * @return boolean
+   */
+  public boolean isFull() {
+    return size == entries.length;
+  }
+
+  /**
+   * Answer the Metadata of the entry at {@code index}.
+   * @param index the int index of the entry
+   * @return Metadata
+   */
+  public Metadata metadata(final int index) {
+    return entry(index).metadata();
+  }
+
+  /**
+   * Answer the number of entries I may hold in addition to those I hold.
+   * @return int
+   */
+  public int remaining() {
+    return entries.length - size;
+  }
+
+  /**
+   * Answer the number of entries I hold.
+   * @return int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Answer the type name of the entry at {@code index}.
+   * @param index the int index of the entry
+   * @return String
+   */
+  public String typeName(final int index) {
+    return entry(index).typeName();
+  }
+
+  @Override
+  public String toString() {
+    return "EntryBatch[size=" + size + " capacity=" + entries.length + "]";
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+  }
+}
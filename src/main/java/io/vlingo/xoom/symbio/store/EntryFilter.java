@@ -0,0 +1,256 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+
+/**
+ * The criteria by which an {@code EntryReader<T>} selects the {@code Entry} instances it
+ * reads, which are evaluated against the {@code typeName()} and {@code Metadata} of each
+ * entry so that no entry need be adapted to its {@code Source} to be skipped. An entry is
+ * selected when its {@code typeName()} is one of my {@code typeNames()}, if any, and the
+ * {@code operation} of its {@code Metadata} is one of my operations, if any, and each of
+ * my property predicates accepts the named {@code Metadata} property. A store may keep
+ * an index of its entries by {@code typeName()} so that the entries of other types are
+ * not visited at all.
+ */
+public final class EntryFilter {
+  /** The filter selecting all entries. */
+  public static final EntryFilter All = new EntryFilter(Collections.emptySet(), Collections.emptySet(), Collections.emptyList());
+
+  private final Set<String> operations;
+  private final List<PropertyPredicate> properties;
+  private final Set<String> typeNames;
+
+  /**
+   * Answer a new {@code EntryFilter} selecting entries of any of the {@code typeNames}.
+   * @param typeNames the String names of the types of entries to select, as answered by {@code Entry.typeName()}
+   * @return EntryFilter
+   */
+  public static EntryFilter ofTypeNames(final String... typeNames) {
+    return All.andTypeNames(typeNames);
+  }
+
+  /**
+   * Answer a new {@code EntryFilter} selecting entries of any of the {@code types}.
+   * @param types the Class types of the entries to select
+   * @return EntryFilter
+   */
+  public static EntryFilter ofTypes(final Class<?>... types) {
+    final String[] typeNames = new String[types.length];
+    for (int index = 0; index < types.length; ++index) {
+      typeNames[index] = types[index].getName();
+    }
+    return ofTypeNames(typeNames);
+  }
+
+  /**
+   * Answer a new {@code EntryFilter} selecting entries whose {@code Metadata} has any of the {@code operations}.
+   * @param operations the String operations of the entries to select
+   * @return EntryFilter
+   */
+  public static EntryFilter ofOperations(final String... operations) {
+    return All.andOperations(operations);
+  }
+
+  /**
+   * Answer a copy of me that also selects entries of the {@code typeNames}.
+   * @param typeNames the String names of the types of entries to select
+   * @return EntryFilter
+   */
+  public EntryFilter andTypeNames(final String... typeNames) {
+    final Set<String> combined = new HashSet<>(this.typeNames);
+    combined.addAll(Arrays.asList(typeNames));
+    return new EntryFilter(Collections.unmodifiableSet(combined), operations, properties);
+  }
+
+  /**
+   * Answer a copy of me that also selects entries whose {@code Metadata} has any of the {@code operations}.
+   * @param operations the String operations of the entries to select
+   * @return EntryFilter
+   */
+  public EntryFilter andOperations(final String... operations) {
+    final Set<String> combined = new HashSet<>(this.operations);
+    combined.addAll(Arrays.asList(operations));
+    return new EntryFilter(typeNames, Collections.unmodifiableSet(combined), properties);
+  }
+
+  /**
+   * Answer a copy of me that selects only entries whose {@code Metadata} property {@code key}
+   * is accepted by {@code predicate}, which is given null when the property is absent.
+   * @param key the String key of the Metadata property
+   * @param predicate the {@code Predicate<String>} of the property value
+   * @return EntryFilter
+   */
+  public EntryFilter andProperty(final String key, final Predicate<String> predicate) {
+    final List<PropertyPredicate> combined = new ArrayList<>(properties);
+    combined.add(new PropertyPredicate(key, predicate));
+    return new EntryFilter(typeNames, operations, Collections.unmodifiableList(combined));
+  }
+
+  /**
+   * Answer a copy of me that selects only entries whose {@code Metadata} property {@code key} equals {@code value}.
+   * @param key the String key of the Metadata property
+   * @param value the String value of the property
+   * @return EntryFilter
+   */
+  public EntryFilter andPropertyEquals(final String key, final String value) {
+    final List<PropertyPredicate> combined = new ArrayList<>(properties);
+    combined.add(new PropertyPredicate(key, value));
+    return new EntryFilter(typeNames, operations, Collections.unmodifiableList(combined));
+  }
+
+  /**
+   * Answer whether I select all entries.
+   * @return boolean
+   */
+  public boolean isAll() {
+    return typeNames.isEmpty() && operations.isEmpty() && properties.isEmpty();
+  }
+
+  /**
+   * Answer whether I select only entries of my {@code typeNames()}.
+   * @return boolean
+   */
+  public boolean isTypeRestricted() {
+    return !typeNames.isEmpty();
+  }
+
+  /**
+   * Answer whether I select the {@code entry}.
+   * @param entry the {@code Entry<?>} to match
+   * @return boolean
+   */
+  public boolean matches(final Entry<?> entry) {
+    return matchesType(entry.typeName()) && matchesMetadata(entry.metadata());
+  }
+
+  /**
+   * Answer whether I select entries whose {@code Metadata} is {@code metadata}, regardless of type.
+   * @param metadata the Metadata to match
+   * @return boolean
+   */
+  public boolean matchesMetadata(final Metadata metadata) {
+    if (!operations.isEmpty() && (metadata == null || !operations.contains(metadata.operation))) {
+      return false;
+    }
+    if (!properties.isEmpty()) {
+      final Map<String,String> values = metadata == null ? Collections.emptyMap() : metadata.properties;
+      for (final PropertyPredicate property : properties) {
+        if (!property.predicate.test(values.get(property.key))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Answer whether I select entries of {@code typeName}, regardless of metadata.
+   * @param typeName the String name of the type of entry
+   * @return boolean
+   */
+  public boolean matchesType(final String typeName) {
+    return typeNames.isEmpty() || typeNames.contains(typeName);
+  }
+
+  /**
+   * Answer the names of the types of entries I select, which are all if empty.
+   * @return {@code Set<String>}
+   */
+  public Set<String> typeNames() {
+    return typeNames;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * typeNames.hashCode() + operations.hashCode() + properties.hashCode();
+  }
+
+  /**
+   * Answer whether {@code other} selects the same entries as I do, as far as can be told:
+   * property predicates given by {@code andPropertyEquals()} are equal by value, but those
+   * given by {@code andProperty()} are equal only if the same {@code Predicate<String>}.
+   * @param other the Object to compare
+   * @return boolean
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (other == null || other.getClass() != this.getClass()) {
+      return false;
+    }
+
+    final EntryFilter otherFilter = (EntryFilter) other;
+
+    return typeNames.equals(otherFilter.typeNames) &&
+            operations.equals(otherFilter.operations) &&
+            properties.equals(otherFilter.properties);
+  }
+
+  @Override
+  public String toString() {
+    return "EntryFilter[typeNames=" + typeNames + " operations=" + operations + " properties=" + properties + "]";
+  }
+
+  private EntryFilter(final Set<String> typeNames, final Set<String> operations, final List<PropertyPredicate> properties) {
+    this.typeNames = typeNames;
+    this.operations = operations;
+    this.properties = properties;
+  }
+
+  private static final class PropertyPredicate {
+    final String key;
+    final Predicate<String> predicate;
+    final String value;
+
+    PropertyPredicate(final String key, final Predicate<String> predicate) {
+      this.key = key;
+      this.predicate = predicate;
+      this.value = null;
+    }
+
+    PropertyPredicate(final String key, final String value) {
+      this.key = key;
+      this.predicate = value::equals;
+      this.value = value;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * key.hashCode() + (value == null ? predicate.hashCode() : value.hashCode());
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other == null || other.getClass() != this.getClass()) {
+        return false;
+      }
+
+      final PropertyPredicate otherPredicate = (PropertyPredicate) other;
+
+      if (!key.equals(otherPredicate.key)) return false;
+
+      return value == null ? predicate == otherPredicate.predicate : value.equals(otherPredicate.value);
+    }
+
+    @Override
+    public String toString() {
+      return key;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vlingo.xoom.symbio.Entry;
+
+/**
+ * Locates entries by id within an append-only list of entries in constant time,
+ * either arithmetically for sequential numeric ids, or by an id index maintained
+ * as entries are appended. Both answer the list size when the id is not found,
+ * which is where a reader seeking an unknown id is left positioned.
+ */
+public final class EntryPositions {
+  private final Map<String,Integer> positions;
+
+  /**
+   * Answer the position of the entry with {@code id} within {@code entries}, whose
+   * ids are expected to be their position plus {@code firstId}. Should the entry at
+   * the computed position not have the {@code id}, the {@code entries} are scanned
+   * from the first that has not been evicted.
+   * @param entries the {@code List<? extends Entry<?>>} to search
+   * @param id the String id of the entry to locate
+   * @param firstId the long id of the entry at position 0
+   * @return int
+   */
+  public static int sequentialPositionOf(final List<? extends Entry<?>> entries, final String id, final long firstId) {
+    final int first = AppendOnlyLog.firstIndexOf(entries);
+    final int size = entries.size();
+    try {
+      final long position = Long.parseLong(id) - firstId;
+      if (position >= first && position < size) {
+        final Entry<?> entry = AppendOnlyLog.readableAt(entries, (int) position);
+        if (entry != null && id.equals(entry.id())) {
+          return (int) position;
+        }
+      }
+    } catch (final NumberFormatException e) {
+      // not sequential; scan
+    }
+    for (int position = first; position < size; ++position) {
+      final Entry<?> entry = AppendOnlyLog.readableAt(entries, position);
+      if (entry != null && id.equals(entry.id())) { // null when evicted since scanned
+        return position;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Constructs my empty state.
+   */
+  public EntryPositions() {
+    this.positions = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Indexes the entry with {@code id} at {@code position}.
+   * @param id the String id of the entry
+   * @param position the int position of the entry
+   */
+  public void add(final String id, final int position) {
+    positions.put(id, position);
+  }
+
+  /**
+   * Removes all indexed entries.
+   */
+  public void clear() {
+    positions.clear();
+  }
+
+  /**
+   * Removes the entry with {@code id}, such as once it has been evicted.
+   * @param id the String id of the entry
+   */
+  public void remove(final String id) {
+    positions.remove(id);
+  }
+
+  /**
+   * Answer the position of the entry with {@code id}, or {@code size} when not indexed.
+   * @param id the String id of the entry to locate
+   * @param size the int current number of entries
+   * @return int
+   */
+  public int positionOf(final String id, final int size) {
+    final Integer position = positions.get(id);
+    return position == null || position >= size ? size : position;
+  }
+}
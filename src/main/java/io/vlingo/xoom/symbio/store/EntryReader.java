@@ -13,6 +13,7 @@ import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.gap.GapRetryPolicy;
 
 /**
  * The {@code Entry<T>} reader for a given storage type. The specific storage type provides its typed instance.
@@ -132,6 +133,37 @@ public interface EntryReader<T extends Entry<?>> {
    */
   Completes<List<T>> readNext(final String fromId, final int maximumEntries);
 
+  /**
+   * Eventually answers {@code into} having replaced its contents with the next available
+   * {@code Entry<T>} instances, up to the lesser of {@code maximumEntries} and its capacity,
+   * which may be none if none are currently available. The next {@code Entry<T>} instances
+   * are those that {@code readNext(maximumEntries)} would answer, but a reader may fill the
+   * reusable {@code EntryBatch<T>} directly, without first collecting them into a {@code List}.
+   * The batch must not be used again until this completes.
+   * <p>
+   * By default the entries are read by {@code readNext(maximumEntries)}, which must have
+   * completed by the time it answers, as it does for a reader that is not an {@code Actor}.
+   * An {@code Actor} implementation must override this, because its {@code readNext()}
+   * answers its {@code completes()}, which is not completed until its message is handled.
+   *
+   * @param maximumEntries the int indicating the maximum number of {@code Entry<T>} instances to read
+   * @param into the {@code EntryBatch<T>} into which the entries are read
+   *
+   * @return the {@code Completes<EntryBatch<T>>} of the filled {@code into}
+   */
+  default Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    if (this instanceof Actor) {
+      throw new UnsupportedOperationException("The Actor " + getClass().getName() + " must override readBatch().");
+    }
+    final Completes<List<T>> entries = readNext(Math.min(maximumEntries, into.capacity()));
+    if (!entries.hasOutcome()) {
+      throw new UnsupportedOperationException("The " + getClass().getName() + " must override readBatch(), because its readNext() is not completed when answered.");
+    }
+    into.clear();
+    into.addAll(entries.outcome());
+    return Completes.withSuccess(into);
+  }
+
   /**
    * Rewinds the reader so that the next available {@code Entry<T>} is the first one in the storage.
    * Sending {@code rewind()} is the same as sending {@code seekTo(Beginning)}.
@@ -229,5 +261,15 @@ public interface EntryReader<T extends Entry<?>> {
     public long retryInterval() {
       return DefaultGapPreventionRetryInterval;
     }
+
+    /**
+     * Answer the {@code GapRetryPolicy} of retries used to prevent gaps in {@code Entry}
+     * instances, which by default retries {@code retries()} times on the fixed
+     * {@code retryInterval()}. Override to back off between retries or to set a deadline.
+     * @return GapRetryPolicy
+     */
+    public GapRetryPolicy retryPolicy() {
+      return GapRetryPolicy.fixed(retries(), retryInterval());
+    }
   }
 }
@@ -8,17 +8,16 @@
 package io.vlingo.xoom.symbio.store;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 
 import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.common.Cancellable;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.Scheduled;
 import io.vlingo.xoom.reactivestreams.Elements;
 import io.vlingo.xoom.reactivestreams.Source;
-import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
@@ -29,15 +28,52 @@ import io.vlingo.xoom.symbio.EntryBundle;
  * or {@code StateStore}, by means of a given {@code EntryReader<T>}. You must
  * provide a {@code maximumEntries} to the constructor, or use one of the two
  * methods that requires a {@code maximumElements}.
+ * <p>
+ * Each {@code next()} answers at most the requested {@code maximumElements}, or
+ * the {@code flowElementsRate} if none is requested. I read in batches of the
+ * greater of the {@code flowElementsRate} and the latest requested maximum, and
+ * read the next batch ahead whenever less than one batch remains cached, so that
+ * elements are generally ready when next requested. No batch is greater than
+ * {@code MaximumBatchSize}, however great the demand or {@code flowElementsRate}.
+ * <p>
+ * Unless constructed with an {@code AppendNotifier}, I probe the {@code EntryReader<T>}
+ * on the schedule of my {@code ProbePolicy}, backing off while probes read no entries,
+ * and reading ahead of demand only while probes are reading entries.
+ * <p>
+ * When constructed with the {@code AppendNotifier} of the storage, I read only
+ * when told that entries were appended, or while my last read may have left
+ * more to read, rather than probing the {@code EntryReader<T>} on an interval.
+ * <p>
+ * I subscribe to coalesced notifications, so that I am sent a single message for
+ * any number of appends between my reads.
+ * <p>
+ * The entries read are delivered to me as an {@code EntriesReadInterest<T>} message,
+ * so that my state is only ever changed by my own thread, not by the thread
+ * completing the read.
+ *
+ * <p>
+ * Because my probing and notified constructors have the same number of parameters,
+ * I should be created by way of an {@code EntryReaderSourceInstantiator<T>}.
  *
  * @param <T> the T type of Entry and Elements being read
  */
-public class EntryReaderSource<T extends Entry<?>> extends Actor implements Source<T>, Scheduled<Object> {
+public class EntryReaderSource<T extends Entry<?>> extends Actor implements Source<T>, Scheduled<Object>, AppendListener, EntriesReadInterest<T> {
+  /** The maximum number of entries read at once. */
+  public static final int MaximumBatchSize = 65_536;
+
+  private final AppendListener appendListener;
+  private final AppendNotifier appendNotifier;
   private final Deque<T> cache;
-  private final Cancellable cancellable;
+  private Cancellable cancellable;
+  private int demand;
   private final EntryReader<T> entryReader;
+  private final EntriesReadInterest<T> entriesReadInterest;
   private final long flowElementsRate;
+  private final ProbePolicy probePolicy;
+  private int probeInterval;
   private boolean reading;
+  private final Scheduled<Object> self;
+  private boolean unread;
   private final EntryAdapterProvider entryAdapterProvider;
 
   /**
@@ -46,51 +82,107 @@ public class EntryReaderSource<T extends Entry<?>> extends Actor implements Sour
    * @param entryAdapterProvider the EntryAdapterProvider used to turn Entry instances into {@code Source<?>} instances
    * @param flowElementsRate the long maximum elements to read at once
    */
-  @SuppressWarnings("unchecked")
   public EntryReaderSource(
           final EntryReader<T> entryReader,
           final EntryAdapterProvider entryAdapterProvider,
           final long flowElementsRate) {
 
+    this(entryReader, entryAdapterProvider, flowElementsRate, ProbePolicy.defaultPolicy());
+  }
+
+  /**
+   * Constructs my state to probe for entries on the schedule of my {@code probePolicy}.
+   * @param entryReader the {@code EntryReader<T>} from which to read entry elements
+   * @param entryAdapterProvider the EntryAdapterProvider used to turn Entry instances into {@code Source<?>} instances
+   * @param flowElementsRate the long maximum elements to read at once
+   * @param probePolicy the ProbePolicy of the intervals between probes of the entryReader
+   */
+  public EntryReaderSource(
+          final EntryReader<T> entryReader,
+          final EntryAdapterProvider entryAdapterProvider,
+          final long flowElementsRate,
+          final ProbePolicy probePolicy) {
+
     this.entryReader = entryReader;
     this.entryAdapterProvider = entryAdapterProvider;
     this.flowElementsRate = flowElementsRate;
     this.cache = new ArrayDeque<>();
+    this.appendNotifier = null;
+    this.appendListener = null;
+    this.probePolicy = probePolicy;
+    this.probeInterval = probePolicy.minimumInterval;
+    this.self = selfAsScheduled();
+    this.entriesReadInterest = selfAsEntriesReadInterest();
 
-    this.cancellable = scheduler().schedule(selfAs(Scheduled.class), null, 0, Stream.FastProbeInterval);
+    probeAfter(0);
+  }
+
+  /**
+   * Constructs my state to read only when told of appended entries.
+   * @param entryReader the {@code EntryReader<T>} from which to read entry elements
+   * @param entryAdapterProvider the EntryAdapterProvider used to turn Entry instances into {@code Source<?>} instances
+   * @param flowElementsRate the long maximum elements to read at once
+   * @param appendNotifier the AppendNotifier of the storage read by the entryReader
+   */
+  public EntryReaderSource(
+          final EntryReader<T> entryReader,
+          final EntryAdapterProvider entryAdapterProvider,
+          final long flowElementsRate,
+          final AppendNotifier appendNotifier) {
+
+    this.entryReader = entryReader;
+    this.entryAdapterProvider = entryAdapterProvider;
+    this.flowElementsRate = flowElementsRate;
+    this.cache = new ArrayDeque<>();
+    this.appendNotifier = appendNotifier;
+    this.appendListener = selfAs(AppendListener.class);
+    this.cancellable = null;
+    this.probePolicy = null;
+    this.self = selfAsScheduled();
+    this.entriesReadInterest = selfAsEntriesReadInterest();
+
+    appendNotifier.subscribeCoalescing(appendListener);
+    appendListener.entriesAppended(); // reads any entries appended before subscribing
   }
 
   /**
    * @see io.vlingo.xoom.reactivestreams.Source#next()
    */
   @Override
-  @SuppressWarnings({ "rawtypes", "unchecked" })
   public Completes<Elements<T>> next() {
+    return next(maximumToRead());
+  }
+
+  /**
+   * @see io.vlingo.xoom.reactivestreams.Source#next(int)
+   */
+  @Override
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public Completes<Elements<T>> next(final int maximumElements) {
+    demand = Math.max(1, maximumElements);
+
     if (!cache.isEmpty()) {
-      final List<EntryBundle> next = new ArrayList<>();
+      final int total = Math.min(demand, cache.size());
+      final EntryBundle[] next = new EntryBundle[total];
 
-      for (int index = 0; index < flowElementsRate && !cache.isEmpty(); ++index) {
+      for (int index = 0; index < total; ++index) {
         final T entry = cache.poll();
         // This little trick gets a PersistentEntry to a BaseEntry: entry.withId(entry.id())
         final T normalized = (entry instanceof BaseEntry) ? entry : (T) entry.withId(entry.id());
         final io.vlingo.xoom.symbio.Source source = entryAdapterProvider.asSource(normalized);
-        next.add(new EntryBundle(entry, source));
+        next[index] = new EntryBundle(entry, source);
       }
-      final Elements elements = Elements.of(arrayFrom(next));
+      final Elements elements = Elements.of(next);
+      readAhead();
       return completes().with(elements);
     }
+    readAhead();
     return completes().with(Elements.empty());
   }
 
   /**
-   * @see io.vlingo.xoom.reactivestreams.Source#next(int)
-   */
-  @Override
-  public Completes<Elements<T>> next(final int maximumElements) {
-    return next();
-  }
-
-  /**
+   * Answers the next elements as {@code next()}, since entries are read
+   * sequentially from the position of my {@code EntryReader<T>}.
    * @see io.vlingo.xoom.reactivestreams.Source#next(long)
    */
   @Override
@@ -99,11 +191,13 @@ public class EntryReaderSource<T extends Entry<?>> extends Actor implements Sour
   }
 
   /**
+   * Answers the next elements as {@code next(int)}, since entries are read
+   * sequentially from the position of my {@code EntryReader<T>}.
    * @see io.vlingo.xoom.reactivestreams.Source#next(long, int)
    */
   @Override
   public Completes<Elements<T>> next(final long index, final int maximumElements) {
-    return next();
+    return next(maximumElements);
   }
 
   /**
@@ -118,12 +212,47 @@ public class EntryReaderSource<T extends Entry<?>> extends Actor implements Sour
   // Scheduled
   //====================================
 
+  /**
+   * Probes when signaled by the scheduler.
+   * @see io.vlingo.xoom.common.Scheduled#intervalSignal(io.vlingo.xoom.common.Scheduled, java.lang.Object)
+   */
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    if (cache.isEmpty() && !reading) {
-      reading = true;
-      final int max = flowElementsRate > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) flowElementsRate;
-      entryReader.readNext(max).andThenConsume(entries -> { cache.addAll(entries); reading = false; });
+    probe(true);
+  }
+
+  //====================================
+  // AppendListener
+  //====================================
+
+  @Override
+  public void entriesAppended() {
+    unread = true;
+    readWhenUnread();
+  }
+
+  //====================================
+  // EntriesReadInterest
+  //====================================
+
+  /**
+   * Caches the {@code entries} upon completion of a read.
+   * @see io.vlingo.xoom.symbio.store.EntriesReadInterest#entriesRead(java.util.List, int, boolean)
+   */
+  @Override
+  public void entriesRead(final List<T> entries, final int maximum, final boolean scheduled) {
+    cache.addAll(entries);
+    reading = false;
+    if (appendNotifier != null) {
+      if (entries.size() >= maximum) {
+        unread = true; // more may remain
+      }
+      readWhenUnread();
+    } else {
+      probeInterval = probePolicy.nextInterval(probeInterval, !entries.isEmpty());
+      if (scheduled) {
+        probeAfter(probeInterval);
+      }
     }
   }
 
@@ -136,12 +265,116 @@ public class EntryReaderSource<T extends Entry<?>> extends Actor implements Sour
    */
   @Override
   public void stop() {
-    cancellable.cancel();
+    if (cancellable != null) {
+      cancellable.cancel();
+    }
+    if (appendNotifier != null) {
+      appendNotifier.unsubscribe(appendListener);
+    }
 
     super.stop();
   }
 
-  private EntryBundle[] arrayFrom(final List<EntryBundle> sources) {
-    return sources.toArray(new EntryBundle[sources.size()]);
+  private int batchSize() {
+    return Math.min(Math.max(maximumToRead(), demand), MaximumBatchSize);
+  }
+
+  private int maximumToRead() {
+    return flowElementsRate > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) flowElementsRate;
+  }
+
+  private void probe(final boolean scheduled) {
+    if (cache.size() < batchSize() && !reading) {
+      read(scheduled);
+    } else if (scheduled) {
+      probeAfter(probeInterval);
+    }
+  }
+
+  private void read(final boolean scheduled) {
+    reading = true;
+    final int max = batchSize();
+    entryReader.readNext(max).andThenConsume(entries -> entriesReadInterest.entriesRead(entries, max, scheduled));
+  }
+
+  private void probeAfter(final int delay) {
+    if (!isStopped()) {
+      cancellable = scheduler().scheduleOnce(self, null, 0L, delay);
+    }
+  }
+
+  private void readAhead() {
+    if (appendNotifier != null) {
+      readWhenUnread();
+    } else if (!probePolicy.isBackingOff(probeInterval)) {
+      probe(false);
+    }
+  }
+
+  private void readWhenUnread() {
+    if (unread && cache.size() < batchSize() && !reading) {
+      unread = false;
+      appendNotifier.readBy(appendListener); // told again of appends from now on
+      read(false);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private EntriesReadInterest<T> selfAsEntriesReadInterest() {
+    return selfAs(EntriesReadInterest.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Scheduled<Object> selfAsScheduled() {
+    return selfAs(Scheduled.class);
+  }
+
+  /**
+   * Instantiates an {@code EntryReaderSource<T>} that probes on the schedule of a {@code ProbePolicy},
+   * or that reads when told of appended entries if given an {@code AppendNotifier}.
+   * @param <T> the T type of Entry and Elements being read
+   */
+  @SuppressWarnings("rawtypes")
+  public static class EntryReaderSourceInstantiator<T extends Entry<?>> implements ActorInstantiator<EntryReaderSource> {
+    private static final long serialVersionUID = -5521883264073618425L;
+
+    private final AppendNotifier appendNotifier;
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final EntryReader<T> entryReader;
+    private final long flowElementsRate;
+    private final ProbePolicy probePolicy;
+
+    /**
+     * Constructs my state, where a non-null {@code appendNotifier} is used rather than the {@code probePolicy}.
+     * @param entryReader the {@code EntryReader<T>} from which to read entry elements
+     * @param entryAdapterProvider the EntryAdapterProvider used to turn Entry instances into {@code Source<?>} instances
+     * @param flowElementsRate the long maximum elements to read at once
+     * @param probePolicy the ProbePolicy of the intervals between probes of the entryReader
+     * @param appendNotifier the AppendNotifier of the storage read by the entryReader, or null to probe
+     */
+    public EntryReaderSourceInstantiator(
+            final EntryReader<T> entryReader,
+            final EntryAdapterProvider entryAdapterProvider,
+            final long flowElementsRate,
+            final ProbePolicy probePolicy,
+            final AppendNotifier appendNotifier) {
+      this.entryReader = entryReader;
+      this.entryAdapterProvider = entryAdapterProvider;
+      this.flowElementsRate = flowElementsRate;
+      this.probePolicy = probePolicy;
+      this.appendNotifier = appendNotifier;
+    }
+
+    @Override
+    public EntryReaderSource<T> instantiate() {
+      return appendNotifier == null ?
+              new EntryReaderSource<>(entryReader, entryAdapterProvider, flowElementsRate, probePolicy) :
+              new EntryReaderSource<>(entryReader, entryAdapterProvider, flowElementsRate, appendNotifier);
+    }
+
+    @Override
+    public Class<EntryReaderSource> type() {
+      return EntryReaderSource.class;
+    }
   }
 }
@@ -11,7 +11,10 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Protocols;
 import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.reactivestreams.PublisherConfiguration;
 import io.vlingo.xoom.reactivestreams.Sink;
 import io.vlingo.xoom.reactivestreams.Source;
@@ -21,20 +24,37 @@ import io.vlingo.xoom.reactivestreams.StreamSubscriber;
 import io.vlingo.xoom.reactivestreams.Streams;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.EntryReaderSource.EntryReaderSourceInstantiator;
 
 public class EntryReaderStream<T extends Entry<?>> implements Stream {
+  private final AppendNotifier appendNotifier;
   private final EntryAdapterProvider entryAdapterProvider;
   private long flowElementsRate;
   private final EntryReader<T> entryReader;
   private Source<T> entryReaderSource;
+  private Stoppable entryReaderSourceStopper;
   private Publisher<T> publisher;
   private final Stage stage;
   private EntryStreamSubscriber<T> subscriber;
 
   public EntryReaderStream(final Stage stage, final EntryReader<T> entryReader, final EntryAdapterProvider entryAdapterProvider) {
+    this(stage, entryReader, entryAdapterProvider, null);
+  }
+
+  /**
+   * Constructs my state, where a non-null {@code appendNotifier} causes my
+   * {@code EntryReaderSource<T>} to read when told of appended entries
+   * rather than by probing the {@code entryReader}.
+   * @param stage the Stage in which my actors are created
+   * @param entryReader the {@code EntryReader<T>} from which entries are read
+   * @param entryAdapterProvider the EntryAdapterProvider used to turn Entry instances into {@code Source<?>} instances
+   * @param appendNotifier the AppendNotifier of the storage read by the entryReader, or null to probe
+   */
+  public EntryReaderStream(final Stage stage, final EntryReader<T> entryReader, final EntryAdapterProvider entryAdapterProvider, final AppendNotifier appendNotifier) {
     this.stage = stage;
     this.entryReader = entryReader;
     this.entryAdapterProvider = entryAdapterProvider;
+    this.appendNotifier = appendNotifier;
   }
 
   @Override
@@ -55,8 +75,22 @@ public class EntryReaderStream<T extends Entry<?>> implements Stream {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <S> void flowInto(final Sink<S> sink, final long flowElementsRate, final int probeInterval) {
+    flowInto(sink, flowElementsRate, probeInterval, ProbePolicy.defaultPolicy());
+  }
+
+  /**
+   * Flows my entries into the {@code sink} as by {@code flowInto(sink, flowElementsRate, probeInterval)},
+   * where my {@code EntryReaderSource<T>} probes the {@code entryReader} on the schedule of the
+   * {@code probePolicy}, unless I read when told of appended entries.
+   * @param sink the {@code Sink<S>} into which entries flow
+   * @param flowElementsRate the long maximum elements to read at once
+   * @param probeInterval the int milliseconds between probes of the publisher for available elements
+   * @param probePolicy the ProbePolicy of the intervals between probes of the entryReader
+   * @param <S> the type of the Sink
+   */
+  @SuppressWarnings("unchecked")
+  public <S> void flowInto(final Sink<S> sink, final long flowElementsRate, final int probeInterval, final ProbePolicy probePolicy) {
     this.flowElementsRate = flowElementsRate;
 
     final PublisherConfiguration configuration =
@@ -66,7 +100,14 @@ public class EntryReaderStream<T extends Entry<?>> implements Stream {
                     Streams.DefaultBufferSize,
                     Streams.OverflowPolicy.DropCurrent);
 
-    entryReaderSource = stage.actorFor(Source.class, EntryReaderSource.class, entryReader, entryAdapterProvider, flowElementsRate);
+    final Protocols source = stage.actorFor(
+            new Class<?>[] { Source.class, Stoppable.class },
+            Definition.has(
+                    EntryReaderSource.class,
+                    new EntryReaderSourceInstantiator<>(entryReader, entryAdapterProvider, flowElementsRate, probePolicy, appendNotifier)));
+
+    entryReaderSource = source.get(0);
+    entryReaderSourceStopper = source.get(1);
 
     publisher = stage.actorFor(Publisher.class, StreamPublisher.class, entryReaderSource, configuration);
 
@@ -75,9 +116,18 @@ public class EntryReaderStream<T extends Entry<?>> implements Stream {
     publisher.subscribe(subscriber);
   }
 
+  /**
+   * Cancels my subscription and stops my {@code EntryReaderSource<T>}, which
+   * unsubscribes it from any {@code AppendNotifier}.
+   */
   @Override
   public void stop() {
-    subscriber.subscriptionHook.cancel();
+    if (entryReaderSourceStopper != null) {
+      entryReaderSourceStopper.stop();
+    }
+    if (subscriber != null) {
+      subscriber.subscriptionHook.cancel();
+    }
   }
 
   public static class EntryStreamSubscriber<T> extends StreamSubscriber<T> {
@@ -0,0 +1,94 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values in buckets of powers of two, such that bucket 0
+ * counts the value 0 and each bucket {@code n} counts values from {@code 2^(n-1)} to
+ * {@code 2^n - 1}.
+ */
+public final class Histogram {
+  public static final int Buckets = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(Buckets);
+  private final LongAdder count = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Records the {@code value}, counting a negative value as 0.
+   * @param value the long value to record
+   */
+  public void record(final long value) {
+    final long recorded = Math.max(0, value);
+    buckets.incrementAndGet(bucketOf(recorded));
+    count.increment();
+    sum.add(recorded);
+    max.accumulateAndGet(recorded, Math::max);
+  }
+
+  /**
+   * @param bucket Index of the bucket
+   * @return Number of values recorded in the bucket.
+   */
+  public long bucketCount(int bucket) {
+    return buckets.get(bucket);
+  }
+
+  /**
+   * @param value A value
+   * @return Index of the bucket counting the value.
+   */
+  public static int bucketOf(long value) {
+    return value <= 0 ? 0 : Math.min(Buckets - 1, 64 - Long.numberOfLeadingZeros(value));
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public long max() {
+    return max.get();
+  }
+
+  public double mean() {
+    final long total = count();
+    return total == 0 ? 0.0 : (double) sum.sum() / total;
+  }
+
+  /**
+   * Answer the upper bound of the bucket within which the {@code percentile} value falls.
+   *
+   * @param percentile Percentile between 0 and 100
+   * @return long
+   */
+  public long percentile(double percentile) {
+    final long total = count();
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(total * percentile / 100.0);
+    long seen = 0;
+    for (int bucket = 0; bucket < Buckets; bucket++) {
+      seen += buckets.get(bucket);
+      if (seen >= rank) {
+        return Math.min(max(), bucket == 0 ? 0 : (1L << bucket) - 1);
+      }
+    }
+    return max();
+  }
+
+  @Override
+  public String toString() {
+    return "Histogram[count=" + count() + " mean=" + mean() + " p50=" + percentile(50) + " p99=" + percentile(99) + " max=" + max() + "]";
+  }
+}
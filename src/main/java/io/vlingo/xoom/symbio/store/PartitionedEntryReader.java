@@ -0,0 +1,141 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+
+/**
+ * The {@code EntryReader<T>} instances of the partitions of a storage, where each
+ * partition holds the entries of the streams or entities whose id hashes to it, in
+ * the order in which they were appended. Each partition is read by its own reader,
+ * with its own position and offset, such that all partitions may be read in parallel
+ * while the entries of any one stream or entity are read in order. Each partition
+ * reader is named by the name of this reader followed by {@code ":"} and its partition.
+ *
+ * @param <T> the concrete type of {@code Entry<T>} read
+ */
+public class PartitionedEntryReader<T extends Entry<?>> {
+  private final AppendNotifier appendNotifier;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final String name;
+  private final List<EntryReader<T>> partitions;
+  private final Stage stage;
+
+  /**
+   * Answer the partition of the stream or entity of id {@code key} when there are {@code totalPartitions}.
+   * @param key the String stream name or entity id
+   * @param totalPartitions the int number of partitions
+   * @return int
+   */
+  public static int partitionOf(final String key, final int totalPartitions) {
+    return Math.abs(key.hashCode() % totalPartitions);
+  }
+
+  /**
+   * Answer the name of the reader of {@code partition} of the reader named {@code name}.
+   * @param name the String name of the partitioned reader
+   * @param partition the int partition
+   * @return String
+   */
+  public static String partitionReaderName(final String name, final int partition) {
+    return name + ":" + partition;
+  }
+
+  /**
+   * Constructs my state.
+   * @param name the String name of this reader
+   * @param partitions the {@code List<EntryReader<T>>} of partition readers, in partition order
+   * @param stage the Stage in which the actors of my streams are created
+   * @param entryAdapterProvider the EntryAdapterProvider used by my streams
+   * @param appendNotifier the AppendNotifier of the storage, or null for my streams to probe
+   */
+  public PartitionedEntryReader(
+          final String name,
+          final List<EntryReader<T>> partitions,
+          final Stage stage,
+          final EntryAdapterProvider entryAdapterProvider,
+          final AppendNotifier appendNotifier) {
+
+    this.name = name;
+    this.partitions = Collections.unmodifiableList(new ArrayList<>(partitions));
+    this.stage = stage;
+    this.entryAdapterProvider = entryAdapterProvider;
+    this.appendNotifier = appendNotifier;
+  }
+
+  /**
+   * Close the readers of all my partitions, which may then no longer be read.
+   */
+  public void close() {
+    for (final EntryReader<T> partition : partitions) {
+      partition.close();
+    }
+  }
+
+  /**
+   * Answer my name.
+   * @return String
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Answer the reader of {@code partition}.
+   * @param partition the int partition, from {@code 0} until {@code totalPartitions()}
+   * @return {@code EntryReader<T>}
+   */
+  public EntryReader<T> partition(final int partition) {
+    return partitions.get(partition);
+  }
+
+  /**
+   * Answer the readers of all my partitions, in partition order.
+   * @return {@code List<EntryReader<T>>}
+   */
+  public List<EntryReader<T>> partitions() {
+    return partitions;
+  }
+
+  /**
+   * Answer a new {@code Stream} of the entries of {@code partition}.
+   * @param partition the int partition
+   * @return Stream
+   */
+  public Stream streamOf(final int partition) {
+    return new EntryReaderStream<>(stage, partitions.get(partition), entryAdapterProvider, appendNotifier);
+  }
+
+  /**
+   * Answer a new {@code Stream} for each of my partitions, in partition order, each of
+   * which flows into its own {@code Sink} by way of its own source and publisher actors.
+   * @return {@code List<Stream>}
+   */
+  public List<Stream> streamAll() {
+    final List<Stream> streams = new ArrayList<>(partitions.size());
+    for (int partition = 0; partition < partitions.size(); ++partition) {
+      streams.add(streamOf(partition));
+    }
+    return streams;
+  }
+
+  /**
+   * Answer my number of partitions.
+   * @return int
+   */
+  public int totalPartitions() {
+    return partitions.size();
+  }
+}
@@ -0,0 +1,106 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import io.vlingo.xoom.reactivestreams.Stream;
+
+/**
+ * The schedule on which an {@code EntryReaderSource<T>} probes its {@code EntryReader<T>}
+ * for new entries. Each probe that reads no entries lengthens the interval to the next
+ * by the {@code multiplier}, up to the {@code maximumInterval}, and any probe that reads
+ * entries snaps the interval back to the {@code minimumInterval}.
+ */
+public final class ProbePolicy {
+  /** The interval in milliseconds between probes while entries are being read. */
+  public final int minimumInterval;
+
+  /** The longest interval in milliseconds between probes while no entries are read. */
+  public final int maximumInterval;
+
+  /** The factor by which the interval is lengthened following each probe that reads no entries. */
+  public final double multiplier;
+
+  /**
+   * Answer the default {@code ProbePolicy}, which backs off from the {@code Stream.FastProbeInterval}
+   * to the {@code Stream.SlowProbeInterval}.
+   * @return ProbePolicy
+   */
+  public static ProbePolicy defaultPolicy() {
+    return backoff(Stream.FastProbeInterval, Stream.SlowProbeInterval);
+  }
+
+  /**
+   * Answer a {@code ProbePolicy} that probes on the fixed {@code interval}.
+   * @param interval the int milliseconds between probes
+   * @return ProbePolicy
+   */
+  public static ProbePolicy fixed(final int interval) {
+    return new ProbePolicy(interval, interval, 1.0);
+  }
+
+  /**
+   * Answer a {@code ProbePolicy} that doubles the interval from {@code minimumInterval}
+   * up to {@code maximumInterval} while probes read no entries.
+   * @param minimumInterval the int milliseconds between probes while entries are being read
+   * @param maximumInterval the int longest milliseconds between probes
+   * @return ProbePolicy
+   */
+  public static ProbePolicy backoff(final int minimumInterval, final int maximumInterval) {
+    return backoff(minimumInterval, maximumInterval, 2.0);
+  }
+
+  /**
+   * Answer a {@code ProbePolicy} that multiplies the interval by {@code multiplier} from
+   * {@code minimumInterval} up to {@code maximumInterval} while probes read no entries.
+   * @param minimumInterval the int milliseconds between probes while entries are being read
+   * @param maximumInterval the int longest milliseconds between probes
+   * @param multiplier the double factor by which the interval is lengthened, which must be at least 1
+   * @return ProbePolicy
+   */
+  public static ProbePolicy backoff(final int minimumInterval, final int maximumInterval, final double multiplier) {
+    return new ProbePolicy(minimumInterval, maximumInterval, multiplier);
+  }
+
+  private ProbePolicy(final int minimumInterval, final int maximumInterval, final double multiplier) {
+    if (minimumInterval < 1) throw new IllegalArgumentException("Minimum interval must be at least 1 millisecond.");
+    if (maximumInterval < minimumInterval) throw new IllegalArgumentException("Maximum interval must not be less than minimum interval.");
+    if (multiplier < 1.0) throw new IllegalArgumentException("Multiplier must be at least 1.");
+
+    this.minimumInterval = minimumInterval;
+    this.maximumInterval = maximumInterval;
+    this.multiplier = multiplier;
+  }
+
+  /**
+   * Answer whether {@code interval} is lengthened beyond my {@code minimumInterval}.
+   * @param interval the int milliseconds of the current interval
+   * @return boolean
+   */
+  public boolean isBackingOff(final int interval) {
+    return interval > minimumInterval;
+  }
+
+  /**
+   * Answer the interval to follow {@code interval} given whether the probe {@code read} any entries.
+   * @param interval the int milliseconds of the current interval
+   * @param read the boolean indicating whether the probe read any entries
+   * @return int
+   */
+  public int nextInterval(final int interval, final boolean read) {
+    if (read) return minimumInterval;
+
+    final double next = Math.ceil(Math.max(interval, minimumInterval) * multiplier);
+
+    return next >= maximumInterval ? maximumInterval : (int) next;
+  }
+
+  @Override
+  public String toString() {
+    return "ProbePolicy[minimumInterval=" + minimumInterval + " maximumInterval=" + maximumInterval + " multiplier=" + multiplier + "]";
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.function.IntSupplier;
+
+import io.vlingo.xoom.actors.World;
+
+/**
+ * The receiver of the progress of the named entry readers of a store, as published
+ * to the store's {@code ReaderPositions} by each reader as it reads. I am told of
+ * each change of position on the thread of the reader, and therefore must record it
+ * without blocking; I may then be sampled from any other thread, such as by a metrics
+ * exporter, without sending messages to the reader. A store is given the
+ * {@code ReaderMetrics} registered with its {@code World}, if any, when constructed.
+ */
+public interface ReaderMetrics {
+  /** The {@code ReaderMetrics} that records nothing. */
+  ReaderMetrics None = new ReaderMetrics() {
+    @Override
+    public void registered(final String storeName, final String readerName, final int position, final IntSupplier head) { }
+
+    @Override
+    public void positioned(final String storeName, final String readerName, final int position, final int entriesPassed) { }
+  };
+
+  /**
+   * Answer the {@code ReaderMetrics} registered with the {@code world}, or {@code None}.
+   * @param world the World with which the ReaderMetrics is registered
+   * @return ReaderMetrics
+   */
+  static ReaderMetrics of(final World world) {
+    final ReaderMetrics metrics = world.resolveDynamic(ReaderMetrics.class.getName(), ReaderMetrics.class);
+    return metrics == null ? None : metrics;
+  }
+
+  /**
+   * Registers the {@code metrics} with the {@code world}, to be given to each store
+   * subsequently constructed within it.
+   * @param world the World with which to register the metrics
+   * @param metrics the ReaderMetrics to register
+   */
+  static void registerWith(final World world, final ReaderMetrics metrics) {
+    world.registerDynamic(ReaderMetrics.class.getName(), metrics);
+  }
+
+  /**
+   * Answer the name by which the readers of {@code store} are told apart from those of
+   * the same names of other stores, which is unique to the store instance.
+   * @param store the Object store, or the actor or delegate by which it is implemented
+   * @return String
+   */
+  static String storeNameOf(final Object store) {
+    return store.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(store));
+  }
+
+  /**
+   * Records that the reader named {@code readerName} of the store named {@code storeName}
+   * reads from {@code position} entries for which {@code head} answers the index following
+   * that of the last entry written.
+   * @param storeName the String name of the store of the reader
+   * @param readerName the String name of the reader
+   * @param position the int index of the next entry to be read by the reader
+   * @param head the IntSupplier of the index following the last entry of the store
+   */
+  void registered(final String storeName, final String readerName, final int position, final IntSupplier head);
+
+  /**
+   * Records that the reader named {@code readerName} of the store named {@code storeName}
+   * has moved to {@code position}, having passed {@code entriesPassed} entries since its
+   * previous position, or 0 if it has moved back.
+   * @param storeName the String name of the store of the reader
+   * @param readerName the String name of the reader
+   * @param position the int index of the next entry to be read by the reader
+   * @param entriesPassed the int number of entries passed in moving to position
+   */
+  void positioned(final String storeName, final String readerName, final int position, final int entriesPassed);
+}
@@ -0,0 +1,167 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+
+/**
+ * The positions of the named entry readers of a store, each published by its reader
+ * and read by the store to learn which entries all readers have passed. When given
+ * an {@code OffsetStore}, each new {@code Position} starts from the offset committed
+ * for its reader, and its changes are committed by the {@code OffsetCommitter}. When
+ * given {@code ReaderMetrics}, each reader is registered with them along with the name
+ * and {@code head} of the store, and each change of its position is recorded by them.
+ */
+public final class ReaderPositions {
+  private final IntSupplier head;
+  private volatile ReaderMetrics metrics;
+  private volatile String storeName;
+  private volatile OffsetCommitter offsetCommitter;
+  private volatile OffsetStore offsetStore;
+  private final Map<String,Position> positions;
+
+  /**
+   * Constructs my empty state, of a store whose head is unknown.
+   */
+  public ReaderPositions() {
+    this(() -> 0);
+  }
+
+  /**
+   * Constructs my empty state, of a store for which {@code head} answers the index
+   * following that of its last entry.
+   * @param head the IntSupplier of the index following the last entry of the store
+   */
+  public ReaderPositions(final IntSupplier head) {
+    this.head = head;
+    this.metrics = ReaderMetrics.None;
+    this.positions = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Answer whether the reader named {@code name} holds a {@code Position}, which it does
+   * not once closed and so released.
+   * @param name the String name of the reader
+   * @return boolean
+   */
+  public boolean has(final String name) {
+    return positions.containsKey(name);
+  }
+
+  /**
+   * Answer the index of the lowest position of all readers, or {@code size} if there are none.
+   * @param size the int number of entries
+   * @return int
+   */
+  public int lowest(final int size) {
+    int lowest = size;
+    for (final Position position : positions.values()) {
+      lowest = Math.min(lowest, position.index);
+    }
+    return lowest;
+  }
+
+  /**
+   * Answer the {@code Position} of the reader named {@code name}, registering it if new.
+   * @param name the String name of the reader
+   * @return Position
+   */
+  public Position of(final String name) {
+    return positions.computeIfAbsent(name, key -> {
+      final Position position = new Position(this, key, resumeIndexOf(key), offsetCommitter);
+      metrics.registered(storeName, key, position.index, head);
+      return position;
+    });
+  }
+
+  /**
+   * Records the progress of each reader, including those already registered, with {@code metrics}
+   * as the readers of the store named {@code storeName}.
+   * @param storeName the String name of my store, as answered by {@code ReaderMetrics.storeNameOf()}
+   * @param metrics the ReaderMetrics by which reader progress is recorded
+   */
+  public void metricsWith(final String storeName, final ReaderMetrics metrics) {
+    this.storeName = storeName;
+    this.metrics = metrics;
+    for (final Position position : positions.values()) {
+      metrics.registered(storeName, position.name, position.index, head);
+    }
+  }
+
+  /**
+   * Resumes the {@code Position} of each reader subsequently registered from its offset
+   * in {@code offsetStore}, and commits its changes by way of {@code offsetCommitter}.
+   * @param offsetStore the OffsetStore from which positions are resumed
+   * @param offsetCommitter the OffsetCommitter by which positions are committed
+   */
+  public void offsetsWith(final OffsetStore offsetStore, final OffsetCommitter offsetCommitter) {
+    this.offsetStore = offsetStore;
+    this.offsetCommitter = offsetCommitter;
+  }
+
+  private int resumeIndexOf(final String name) {
+    if (offsetStore == null) return 0;
+    final long offset = offsetStore.offsetOf(name);
+    return offset == OffsetStore.Unknown ? 0 : (int) Math.min(offset, Integer.MAX_VALUE);
+  }
+
+  /**
+   * The index of the next entry to be read by a single reader.
+   */
+  public static final class Position {
+    private volatile int index;
+    private final String name;
+    private final OffsetCommitter offsetCommitter;
+    private final ReaderPositions owner;
+
+    private Position(final ReaderPositions owner, final String name, final int index, final OffsetCommitter offsetCommitter) {
+      this.owner = owner;
+      this.name = name;
+      this.index = index;
+      this.offsetCommitter = offsetCommitter;
+    }
+
+    /**
+     * Publishes the index of the next entry to be read, and commits and records it if it has changed.
+     * @param index the int index of the next entry
+     */
+    public void set(final int index) {
+      final int previous = this.index;
+      if (previous != index) {
+        this.index = index;
+        owner.metrics.positioned(owner.storeName, name, index, Math.max(0, index - previous));
+        if (offsetCommitter != null) {
+          offsetCommitter.commit(name, index);
+        }
+      }
+    }
+
+    /**
+     * Answer the index of the next entry to be read, which for a new reader is that
+     * from which it resumes.
+     * @return int
+     */
+    public int get() {
+      return index;
+    }
+
+    /**
+     * Releases me from my {@code ReaderPositions}, such that I no longer hold back the
+     * eviction of entries, as when my reader is closed. Any later reader of my name is
+     * given a new {@code Position}.
+     */
+    public void release() {
+      owner.positions.remove(name, this);
+    }
+  }
+}
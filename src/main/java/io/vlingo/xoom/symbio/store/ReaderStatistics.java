@@ -0,0 +1,224 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link ReaderMetrics} held in gauges, counters, and histograms per reader of each store,
+ * which may be sampled from any thread. Each reader is recorded only by its own thread, and so its
+ * gauges are published without locking. The read rate of a reader is that of the most
+ * recent complete window of {@code rateWindow} milliseconds in which it moved, and its lag
+ * in milliseconds is the time since the head of its store was first seen beyond its position.
+ * The head is seen whenever the reader moves and whenever it is sampled, so an idle reader
+ * is not reported as lagging since it last moved, and its lag is accurate to within the
+ * interval between samples.
+ */
+public class ReaderStatistics implements ReaderMetrics {
+  /** The default milliseconds over which read rates are measured. */
+  public static final long DefaultRateWindow = 1_000L;
+
+  private final long rateWindow;
+  private final Map<String,Reader> readers;
+
+  /**
+   * Constructs my empty state, measuring read rates over the {@code DefaultRateWindow}.
+   */
+  public ReaderStatistics() {
+    this(DefaultRateWindow);
+  }
+
+  /**
+   * Constructs my empty state, measuring read rates over {@code rateWindow} milliseconds.
+   * @param rateWindow the long milliseconds over which read rates are measured, which must be at least 1
+   */
+  public ReaderStatistics(final long rateWindow) {
+    if (rateWindow < 1) throw new IllegalArgumentException("Rate window must be at least 1 millisecond.");
+
+    this.rateWindow = rateWindow;
+    this.readers = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void registered(final String storeName, final String readerName, final int position, final IntSupplier head) {
+    readers.put(keyOf(storeName, readerName), new Reader(storeName, readerName, position, head, System.currentTimeMillis()));
+  }
+
+  @Override
+  public void positioned(final String storeName, final String readerName, final int position, final int entriesPassed) {
+    final Reader reader = readers.get(keyOf(storeName, readerName));
+    if (reader != null) {
+      reader.positioned(position, entriesPassed, System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Answer the {@code ReaderSample} of the reader named {@code readerName} of the store
+   * named {@code storeName}, or null if it is not registered.
+   * @param storeName the String name of the store of the reader
+   * @param readerName the String name of the reader
+   * @return ReaderSample
+   */
+  public ReaderSample sample(final String storeName, final String readerName) {
+    final Reader reader = readers.get(keyOf(storeName, readerName));
+    return reader == null ? null : reader.sample(System.currentTimeMillis());
+  }
+
+  /**
+   * Answer the {@code ReaderSample} of a reader named {@code readerName} of any store, or
+   * null if none is registered, which is meant for when only one store has a reader of
+   * that name.
+   * @param readerName the String name of the reader
+   * @return ReaderSample
+   */
+  public ReaderSample sample(final String readerName) {
+    for (final Reader reader : readers.values()) {
+      if (reader.name.equals(readerName)) {
+        return reader.sample(System.currentTimeMillis());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Answer the {@code ReaderSample} of each registered reader.
+   * @return {@code List<ReaderSample>}
+   */
+  public List<ReaderSample> samples() {
+    final long now = System.currentTimeMillis();
+    final List<ReaderSample> samples = new ArrayList<>(readers.size());
+    for (final Reader reader : readers.values()) {
+      samples.add(reader.sample(now));
+    }
+    return Collections.unmodifiableList(samples);
+  }
+
+  @Override
+  public String toString() {
+    return "ReaderStatistics[readers=" + readers.keySet() + "]";
+  }
+
+  private static String keyOf(final String storeName, final String readerName) {
+    return storeName + "/" + readerName;
+  }
+
+  /**
+   * The progress of a single reader at the time it was sampled.
+   */
+  public static final class ReaderSample {
+    /** The name of the store of the reader. */
+    public final String storeName;
+
+    /** The name of the reader. */
+    public final String readerName;
+
+    /** The index of the next entry to be read. */
+    public final int position;
+
+    /** The index following that of the last entry of the store. */
+    public final int head;
+
+    /** The number of entries between my position and the head. */
+    public final int lag;
+
+    /** The milliseconds since the head was first seen beyond the reader, or 0 if the reader is at the head. */
+    public final long lagMillis;
+
+    /** The entries passed per second during the most recent complete rate window. */
+    public final double readRate;
+
+    /** The total number of entries passed since the reader was registered. */
+    public final long totalRead;
+
+    /** The number of entries passed by each move of the reader, which continues to be recorded. */
+    public final Histogram batchSizes;
+
+    ReaderSample(final String storeName, final String readerName, final int position, final int head, final long lagMillis, final double readRate, final long totalRead, final Histogram batchSizes) {
+      this.storeName = storeName;
+      this.readerName = readerName;
+      this.position = position;
+      this.head = head;
+      this.lag = Math.max(0, head - position);
+      this.lagMillis = this.lag == 0 ? 0 : lagMillis;
+      this.readRate = readRate;
+      this.totalRead = totalRead;
+      this.batchSizes = batchSizes;
+    }
+
+    @Override
+    public String toString() {
+      return "ReaderSample[storeName=" + storeName + " readerName=" + readerName + " position=" + position + " head=" + head + " lag=" + lag +
+              " lagMillis=" + lagMillis + " readRate=" + readRate + " totalRead=" + totalRead + " batchSizes=" + batchSizes + "]";
+    }
+  }
+
+  private final class Reader {
+    private static final long NotBehind = 0L;
+
+    final Histogram batchSizes;
+    final AtomicLong behindSince;
+    final IntSupplier head;
+    final String name;
+    volatile int position;
+    volatile double rate;
+    final String storeName;
+    final LongAdder total;
+    volatile long windowEntries;
+    volatile long windowStart;
+
+    Reader(final String storeName, final String name, final int position, final IntSupplier head, final long now) {
+      this.storeName = storeName;
+      this.name = name;
+      this.position = position;
+      this.head = head;
+      this.batchSizes = new Histogram();
+      this.total = new LongAdder();
+      this.behindSince = new AtomicLong(position < head.getAsInt() ? now : NotBehind);
+      this.windowStart = now;
+    }
+
+    void positioned(final int position, final int entriesPassed, final long now) {
+      this.position = position;
+      if (entriesPassed > 0) {
+        batchSizes.record(entriesPassed);
+        total.add(entriesPassed);
+        final long elapsed = now - windowStart;
+        if (elapsed >= rateWindow) {
+          rate = windowEntries * 1_000.0 / elapsed;
+          windowEntries = 0;
+          windowStart = now;
+        }
+        windowEntries += entriesPassed; // single writer
+      }
+      if (position >= head.getAsInt()) {
+        behindSince.set(NotBehind);
+      } else {
+        behindSince.compareAndSet(NotBehind, now);
+      }
+    }
+
+    ReaderSample sample(final long now) {
+      final int position = this.position;
+      final int head = this.head.getAsInt();
+      if (position < head) {
+        behindSince.compareAndSet(NotBehind, now); // first seen behind by this sample
+      }
+      final long since = behindSince.get();
+      final long lagMillis = since == NotBehind ? 0 : now - since;
+      final double readRate = now - windowStart >= rateWindow * 2 ? 0.0 : rate; // idle for a whole window
+      return new ReaderSample(storeName, name, position, head, lagMillis, readRate, total.sum(), batchSizes);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+/**
+ * The retention of the entries of an in-memory store, beyond which they are evicted
+ * in whole {@code AppendOnlyLog.ChunkSize} chunks. Entries may be retained for a
+ * maximum count or age, in which case at least that many or that recent entries
+ * remain, and may be guarded to remain until passed by all readers and snapshots.
+ */
+public final class RetentionPolicy {
+  /** The maximum age in milliseconds of retained entries, or {@code 0} if unbounded. */
+  public final long maximumAge;
+
+  /** The maximum number of retained entries, or {@code 0} if unbounded. */
+  public final int maximumEntries;
+
+  /** Whether entries are retained until all readers and any snapshots have passed them. */
+  public final boolean untilPassed;
+
+  /**
+   * Answer a {@code RetentionPolicy} that retains all entries.
+   * @return RetentionPolicy
+   */
+  public static RetentionPolicy unbounded() {
+    return new RetentionPolicy(0, 0L, false);
+  }
+
+  /**
+   * Answer a {@code RetentionPolicy} that retains at least the most recent {@code maximumEntries}.
+   * @param maximumEntries the int number of most recent entries to retain
+   * @return RetentionPolicy
+   */
+  public static RetentionPolicy byCount(final int maximumEntries) {
+    if (maximumEntries < 1) throw new IllegalArgumentException("Maximum entries must be at least 1.");
+    return new RetentionPolicy(maximumEntries, 0L, false);
+  }
+
+  /**
+   * Answer a {@code RetentionPolicy} that retains at least entries appended within {@code maximumAge}.
+   * @param maximumAge the long milliseconds for which entries are retained
+   * @return RetentionPolicy
+   */
+  public static RetentionPolicy byAge(final long maximumAge) {
+    if (maximumAge < 1) throw new IllegalArgumentException("Maximum age must be at least 1 millisecond.");
+    return new RetentionPolicy(0, maximumAge, false);
+  }
+
+  /**
+   * Answer a {@code RetentionPolicy} that retains entries only until all readers and
+   * any snapshots have passed them. Note that when there are no readers, all entries
+   * are considered passed by readers.
+   * @return RetentionPolicy
+   */
+  public static RetentionPolicy untilPassed() {
+    return new RetentionPolicy(0, 0L, true);
+  }
+
+  private RetentionPolicy(final int maximumEntries, final long maximumAge, final boolean untilPassed) {
+    this.maximumEntries = maximumEntries;
+    this.maximumAge = maximumAge;
+    this.untilPassed = untilPassed;
+  }
+
+  /**
+   * Answer a copy of me that also retains entries until all readers and any snapshots have passed them.
+   * @return RetentionPolicy
+   */
+  public RetentionPolicy andUntilPassed() {
+    return new RetentionPolicy(maximumEntries, maximumAge, true);
+  }
+
+  /**
+   * Answer the index of the first entry of {@code log} that I retain, below which
+   * all may be evicted.
+   * @param log the {@code AppendOnlyLog<?>} of entries
+   * @param passed the int index of the first entry not yet passed by all readers and snapshots
+   * @return int
+   */
+  public int firstRetained(final AppendOnlyLog<?> log, final int passed) {
+    int bound = -1;
+    if (maximumEntries > 0) {
+      bound = Math.max(bound, log.size() - maximumEntries);
+    }
+    if (maximumAge > 0) {
+      bound = Math.max(bound, log.firstAppendedSince(System.currentTimeMillis() - maximumAge));
+    }
+    if (untilPassed) {
+      bound = bound < 0 ? passed : Math.min(bound, passed);
+    }
+    return Math.max(0, bound);
+  }
+
+  /**
+   * Answer whether I retain all entries.
+   * @return boolean
+   */
+  public boolean isUnbounded() {
+    return maximumEntries == 0 && maximumAge == 0L && !untilPassed;
+  }
+
+  @Override
+  public String toString() {
+    return "RetentionPolicy[maximumEntries=" + maximumEntries + " maximumAge=" + maximumAge + " untilPassed=" + untilPassed + "]";
+  }
+}
@@ -12,12 +12,16 @@ import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 
 import java.util.Collection;
-import java.util.List;
 
 public class InMemoryDispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> implements DispatcherControl.DispatcherControlDelegate<E, RS> {
-  private final List<Dispatchable<E, RS>> dispatchables;
+  private final Collection<Dispatchable<E, RS>> dispatchables;
 
-  public InMemoryDispatcherControlDelegate(final List<Dispatchable<E, RS>> dispatchables) {
+  /**
+   * Constructs my state to control the unconfirmed {@code dispatchables}, which may be
+   * any {@code Collection}, such as a concurrent queue written by many threads.
+   * @param dispatchables the {@code Collection<Dispatchable<E, RS>>} of unconfirmed dispatchables
+   */
+  public InMemoryDispatcherControlDelegate(final Collection<Dispatchable<E, RS>> dispatchables) {
     this.dispatchables = dispatchables;
   }
 
@@ -28,11 +32,7 @@ public class InMemoryDispatcherControlDelegate<E extends Entry<?>, RS extends St
 
   @Override
   public void confirmDispatched(final String dispatchId) {
-    dispatchables
-            .stream()
-            .filter(d -> d.id().equals(dispatchId))
-            .findFirst()
-            .ifPresent(dispatchables::remove);
+    dispatchables.removeIf(d -> d.id().equals(dispatchId));
   }
 
   @Override
@@ -0,0 +1,54 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+/**
+ * Receives the outcomes of gap prevention by {@link GapRetryReader}, which may be used
+ * to tune its {@link GapRetryPolicy}. Implementations are informed on the thread of the
+ * retrying actor and so must not block.
+ */
+public interface GapMetrics {
+    /**
+     * Metrics that are discarded.
+     */
+    GapMetrics None = new GapMetrics() {
+        @Override
+        public void gapsDetected(int gaps) { }
+
+        @Override
+        public void gapsFilled(int gaps, int retry, long elapsed) { }
+
+        @Override
+        public void gapsGivenUp(int gaps, int retries, long elapsed) { }
+    };
+
+    /**
+     * Informs that gaps were detected in one read and are to be retried.
+     *
+     * @param gaps Number of gap ids detected
+     */
+    void gapsDetected(int gaps);
+
+    /**
+     * Informs that gaps were filled by a retry.
+     *
+     * @param gaps Number of gap ids filled by the retry
+     * @param retry The 1-based retry that filled the gaps
+     * @param elapsed Milliseconds elapsed since the gaps were detected
+     */
+    void gapsFilled(int gaps, int retry, long elapsed);
+
+    /**
+     * Informs that gaps remained unfilled when retrying ended, and are omitted from the entries read.
+     *
+     * @param gaps Number of gap ids given up
+     * @param retries Number of retries made
+     * @param elapsed Milliseconds elapsed since the gaps were detected
+     */
+    void gapsGivenUp(int gaps, int retries, long elapsed);
+}
@@ -0,0 +1,146 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The schedule on which {@link GapRetryReader} retries reading gaps. The interval before
+ * each retry is lengthened from the {@code initialInterval} by the {@code multiplier}, up
+ * to the {@code maximumInterval}, and shortened by a random fraction of up to {@code jitter}
+ * so that readers retrying concurrently spread their reads. Retries end after {@code retries}
+ * attempts or once {@code deadline} milliseconds have elapsed since the gaps were detected,
+ * whichever is first.
+ */
+public final class GapRetryPolicy {
+    /**
+     * No deadline other than that of the number of retries.
+     */
+    public static final long NoDeadline = Long.MAX_VALUE;
+
+    /** The maximum number of retries. */
+    public final int retries;
+
+    /** The interval in milliseconds before the first retry. */
+    public final long initialInterval;
+
+    /** The longest interval in milliseconds between retries. */
+    public final long maximumInterval;
+
+    /** The factor by which the interval is lengthened following each retry. */
+    public final double multiplier;
+
+    /** The greatest fraction, between 0 and 1, by which each interval is randomly shortened. */
+    public final double jitter;
+
+    /** The milliseconds after detecting gaps beyond which no retry is made. */
+    public final long deadline;
+
+    /**
+     * Answer a {@code GapRetryPolicy} that retries {@code retries} times on the fixed {@code retryInterval}.
+     *
+     * @param retries Maximum number of retries
+     * @param retryInterval Milliseconds between retries
+     * @return GapRetryPolicy
+     */
+    public static GapRetryPolicy fixed(int retries, long retryInterval) {
+        return new GapRetryPolicy(retries, retryInterval, retryInterval, 1.0, 0.0, NoDeadline);
+    }
+
+    /**
+     * Answer a {@code GapRetryPolicy} that retries up to {@code retries} times, doubling the interval
+     * from {@code initialInterval} up to {@code maximumInterval}, with jitter of up to half each interval,
+     * until {@code deadline} milliseconds have elapsed.
+     *
+     * @param retries Maximum number of retries
+     * @param initialInterval Milliseconds before the first retry
+     * @param maximumInterval Longest milliseconds between retries
+     * @param deadline Milliseconds after detecting gaps beyond which no retry is made
+     * @return GapRetryPolicy
+     */
+    public static GapRetryPolicy backoff(int retries, long initialInterval, long maximumInterval, long deadline) {
+        return backoff(retries, initialInterval, maximumInterval, 2.0, 0.5, deadline);
+    }
+
+    /**
+     * Answer a {@code GapRetryPolicy} that retries up to {@code retries} times, multiplying the interval
+     * by {@code multiplier} from {@code initialInterval} up to {@code maximumInterval}, with the given
+     * {@code jitter}, until {@code deadline} milliseconds have elapsed.
+     *
+     * @param retries Maximum number of retries
+     * @param initialInterval Milliseconds before the first retry
+     * @param maximumInterval Longest milliseconds between retries
+     * @param multiplier Factor by which the interval is lengthened, which must be at least 1
+     * @param jitter Greatest fraction by which each interval is randomly shortened, between 0 and 1
+     * @param deadline Milliseconds after detecting gaps beyond which no retry is made
+     * @return GapRetryPolicy
+     */
+    public static GapRetryPolicy backoff(int retries, long initialInterval, long maximumInterval, double multiplier, double jitter, long deadline) {
+        return new GapRetryPolicy(retries, initialInterval, maximumInterval, multiplier, jitter, deadline);
+    }
+
+    private GapRetryPolicy(int retries, long initialInterval, long maximumInterval, double multiplier, double jitter, long deadline) {
+        if (retries < 1) throw new IllegalArgumentException("Retries must be at least 1.");
+        if (initialInterval < 0) throw new IllegalArgumentException("Initial interval must not be negative.");
+        if (maximumInterval < initialInterval) throw new IllegalArgumentException("Maximum interval must not be less than initial interval.");
+        if (multiplier < 1.0) throw new IllegalArgumentException("Multiplier must be at least 1.");
+        if (jitter < 0.0 || jitter > 1.0) throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+        if (deadline < 1) throw new IllegalArgumentException("Deadline must be at least 1 millisecond.");
+
+        this.retries = retries;
+        this.initialInterval = initialInterval;
+        this.maximumInterval = maximumInterval;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Answer the milliseconds to wait before {@code retry}, or a negative value if no such retry
+     * is to be made, either because {@code retry} exceeds {@code retries} or because the deadline
+     * has passed {@code elapsed} milliseconds after detecting gaps. A retry due after the deadline
+     * is brought forward to the deadline.
+     *
+     * @param retry The 1-based retry
+     * @param elapsed Milliseconds elapsed since detecting gaps
+     * @return long
+     */
+    public long delayBefore(int retry, long elapsed) {
+        if (retry > retries) return -1;
+
+        final long remaining = deadline == NoDeadline ? Long.MAX_VALUE : deadline - elapsed;
+
+        if (remaining <= 0) return -1;
+
+        return Math.min(jittered(intervalOf(retry)), remaining);
+    }
+
+    /**
+     * Answer the interval before {@code retry} without jitter.
+     *
+     * @param retry The 1-based retry
+     * @return long
+     */
+    public long intervalOf(int retry) {
+        final double interval = initialInterval * Math.pow(multiplier, retry - 1);
+
+        return interval >= maximumInterval ? maximumInterval : (long) interval;
+    }
+
+    @Override
+    public String toString() {
+        return "GapRetryPolicy[retries=" + retries + " initialInterval=" + initialInterval + " maximumInterval=" + maximumInterval +
+                " multiplier=" + multiplier + " jitter=" + jitter + " deadline=" + deadline + "]";
+    }
+
+    private long jittered(long interval) {
+        if (jitter == 0.0 || interval == 0) return interval;
+
+        return interval - (long) (interval * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+}
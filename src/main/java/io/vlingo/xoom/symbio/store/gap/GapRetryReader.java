@@ -15,33 +15,31 @@ import io.vlingo.xoom.common.Scheduler;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.store.EntryReader;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Detection and fill up (gap prevention) functionality related to {@link EntryReader}.
+ * Gaps are retried on the schedule of a {@link GapRetryPolicy}, and the outcomes of
+ * retries are reported to {@link GapMetrics}.
  *
  * @param <T> Subtype of {@link Entry}
  */
 public class GapRetryReader<T extends Entry<?>> {
     private final Scheduled<RetryGappedEntries<T>> actor;
+    private final GapMetrics metrics;
     private final Scheduler scheduler;
 
-    @SuppressWarnings("unchecked")
     public GapRetryReader(Stage stage, Scheduler scheduler) {
-        this.actor = stage.actorFor(Scheduled.class, GapsFillUpActor.class);
-        this.scheduler = scheduler;
+        this(stage, scheduler, GapMetrics.None);
     }
 
-    private Set<Long> collectIds(List<T> entries) {
-        if (entries == null) {
-            return new HashSet<>();
-        } else {
-            return entries.stream()
-                    .map(e -> Long.parseLong(e.id()))
-                    .collect(Collectors.toSet());
-        }
+    @SuppressWarnings("unchecked")
+    public GapRetryReader(Stage stage, Scheduler scheduler, GapMetrics metrics) {
+        this.actor = stage.actorFor(Scheduled.class, GapsFillUpActor.class);
+        this.metrics = metrics;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -53,8 +51,7 @@ public class GapRetryReader<T extends Entry<?>> {
      * @return One element list if entry is not loaded.
      */
     public List<Long> detectGaps(T entry, long startIndex) {
-        List<T> entries = entry == null ? new ArrayList<>() : Collections.singletonList(entry);
-        return detectGaps(entries, startIndex, 1);
+        return detectGapRanges(entry, startIndex).ids();
     }
 
     /**
@@ -66,20 +63,91 @@ public class GapRetryReader<T extends Entry<?>> {
      * @return Empty list if no gaps have been detected
      */
     public List<Long> detectGaps(List<T> entries, long startIndex, long count) {
-        Set<Long> allIds = collectIds(entries);
-        List<Long> gapIds = new ArrayList<>();
+        return detectGapRanges(entries, startIndex, count).ids();
+    }
+
+    /**
+     * Single entry variant method of {@link #detectGapRanges(List, long, long)}.
+     *
+     * @param entry The entry to detect gap for
+     * @param startIndex This index refers to {@link Entry#id()}
+     * @return {@link Gaps#None} if entry is loaded, otherwise a gap of one id.
+     */
+    public Gaps detectGapRanges(T entry, long startIndex) {
+        if (entry != null && Long.parseLong(entry.id()) == startIndex) {
+            return Gaps.None;
+        }
+        return Gaps.of(startIndex, 1);
+    }
 
-        for (long index = 0; index < count; index++) {
-            if (!allIds.contains(startIndex + index)) {
-                gapIds.add(startIndex + index);
+    /**
+     * Detect gaps in entries as ranges of consecutive missing ids within the window
+     * {@code [startIndex, startIndex + count)}. Ids outside the window are ignored.
+     * Entries that are exactly the ids of the window in order are recognized without
+     * allocating; otherwise present ids are marked in a bitmap of the window, which is
+     * then scanned a word at a time for missing ids.
+     *
+     * @param entries Entries to detect gaps for
+     * @param startIndex Start index to check for. This index refers to {@link Entry#id()}
+     * @param count How many elements the list has to contain if no gaps would be present
+     * @return {@link Gaps#None} if no gaps have been detected
+     */
+    public Gaps detectGapRanges(List<T> entries, long startIndex, long count) {
+        if (count <= 0) {
+            return Gaps.None;
+        }
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Count must not exceed " + Integer.MAX_VALUE + " but was: " + count);
+        }
+        if (entries == null || entries.isEmpty()) {
+            return Gaps.of(startIndex, (int) count);
+        }
+        if (isContiguous(entries, startIndex, count)) {
+            return Gaps.None;
+        }
+
+        final int window = (int) count;
+        final long[] present = new long[(window + 63) >>> 6];
+        for (T entry : entries) {
+            final long offset = Long.parseLong(entry.id()) - startIndex;
+            if (offset >= 0 && offset < window) {
+                present[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        }
+
+        final Gaps.Builder gaps = new Gaps.Builder();
+        for (int word = 0; word < present.length; word++) {
+            final int base = word << 6;
+            final int bits = Math.min(64, window - base);
+            long missing = ~present[word];
+            if (bits < 64) {
+                missing &= (1L << bits) - 1;
+            }
+            while (missing != 0) {
+                final int first = Long.numberOfTrailingZeros(missing);
+                final int run = Long.numberOfTrailingZeros(~(missing >>> first));
+                gaps.add(startIndex + base + first, Math.min(run, bits - first));
+                missing = first + run >= 64 ? 0 : missing & (-1L << (first + run));
             }
         }
+        return gaps.build();
+    }
 
-        return gapIds;
+    private boolean isContiguous(List<T> entries, long startIndex, long count) {
+        if (entries.size() != count) {
+            return false;
+        }
+        long expected = startIndex;
+        for (T entry : entries) {
+            if (Long.parseLong(entry.id()) != expected++) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Retry reading missing gaps.
+     * Retry reading missing gaps on a fixed interval.
      *
      * @param gappedEntries Successfully already loaded entries
      * @param retries How many times to retry filling up gaps
@@ -87,31 +155,49 @@ public class GapRetryReader<T extends Entry<?>> {
      * @param gappedReader Function which reads the the specified gaps based on ids.
      */
     public void readGaps(GappedEntries<T> gappedEntries, int retries, long retryInterval, Function<List<Long>, List<T>> gappedReader) {
-        RetryGappedEntries<T> entries = new RetryGappedEntries<>(gappedEntries, 1, retries, retryInterval, gappedReader);
-        scheduler.scheduleOnce(actor, entries, 0L, retryInterval);
+        readGaps(gappedEntries, GapRetryPolicy.fixed(retries, retryInterval), gappedReader);
+    }
+
+    /**
+     * Retry reading missing gaps on the schedule of the {@code policy}. Gaps that remain
+     * once the policy allows no further retry are omitted from the entries answered.
+     *
+     * @param gappedEntries Successfully already loaded entries
+     * @param policy The {@link GapRetryPolicy} of retries
+     * @param gappedReader Function which reads the the specified gaps based on ids.
+     */
+    public void readGaps(GappedEntries<T> gappedEntries, GapRetryPolicy policy, Function<List<Long>, List<T>> gappedReader) {
+        if (gappedEntries.containGaps()) {
+            metrics.gapsDetected(gappedEntries.gapCount());
+        }
+        RetryGappedEntries<T> entries = new RetryGappedEntries<>(gappedEntries, 1, policy, System.currentTimeMillis(), metrics, gappedReader);
+        scheduler.scheduleOnce(actor, entries, 0L, Math.max(0L, policy.delayBefore(1, 0L)));
     }
 
     static class RetryGappedEntries<T extends Entry<?>> {
         private final GappedEntries<T> gappedEntries;
         private final int currentRetry;
-        private final int retries;
-        private final long retryInterval;
+        private final GapRetryPolicy policy;
+        private final long detectedAt;
+        private final GapMetrics metrics;
         private final Function<List<Long>, List<T>> gappedReader;
 
-        RetryGappedEntries(GappedEntries<T> gappedEntries, int currentRetry, int retries, long retryInterval, Function<List<Long>, List<T>> gappedReader) {
+        RetryGappedEntries(GappedEntries<T> gappedEntries, int currentRetry, GapRetryPolicy policy, long detectedAt,
+                           GapMetrics metrics, Function<List<Long>, List<T>> gappedReader) {
             this.gappedEntries = gappedEntries;
             this.currentRetry = currentRetry;
-            this.retries = retries;
-            this.retryInterval = retryInterval;
+            this.policy = policy;
+            this.detectedAt = detectedAt;
+            this.metrics = metrics;
             this.gappedReader = gappedReader;
         }
 
-        boolean moreRetries() {
-            return currentRetry < retries;
+        long elapsed() {
+            return System.currentTimeMillis() - detectedAt;
         }
 
         RetryGappedEntries<T> nextRetry(GappedEntries<T> nextGappedEntries) {
-            return new RetryGappedEntries<>(nextGappedEntries, currentRetry + 1, retries, retryInterval, gappedReader);
+            return new RetryGappedEntries<>(nextGappedEntries, currentRetry + 1, policy, detectedAt, metrics, gappedReader);
         }
     }
 
@@ -119,10 +205,21 @@ public class GapRetryReader<T extends Entry<?>> {
         @Override
         public void intervalSignal(Scheduled<RetryGappedEntries<T>> scheduled, RetryGappedEntries<T> data) {
             Function<List<Long>, List<T>> gappedReader = data.gappedReader;
-            List<T> fillups = gappedReader.apply(data.gappedEntries.getGapIds());
-            GappedEntries<T> nextGappedEntries = data.gappedEntries.fillupWith(fillups);
+            int gaps = data.gappedEntries.gapCount();
+            List<T> fillups = gaps == 0 ? Collections.emptyList() : gappedReader.apply(data.gappedEntries.getGapIds());
+            GappedEntries<T> nextGappedEntries = data.gappedEntries.fillupInPlaceWith(fillups);
+            long elapsed = data.elapsed();
+
+            if (nextGappedEntries.gapCount() < gaps) {
+                data.metrics.gapsFilled(gaps - nextGappedEntries.gapCount(), data.currentRetry, elapsed);
+            }
 
-            if (!nextGappedEntries.containGaps() || !data.moreRetries()) {
+            long delay = nextGappedEntries.containGaps() ? data.policy.delayBefore(data.currentRetry + 1, elapsed) : -1;
+
+            if (delay < 0) {
+                if (nextGappedEntries.containGaps()) {
+                    data.metrics.gapsGivenUp(nextGappedEntries.gapCount(), data.currentRetry, elapsed);
+                }
                 CompletesEventually eventually = data.gappedEntries.getEventually();
                 if (nextGappedEntries.size() == 1) {
                     // Only one entry has to be returned.
@@ -134,7 +231,7 @@ public class GapRetryReader<T extends Entry<?>> {
                 }
             } else {
                 RetryGappedEntries<T> nextData = data.nextRetry(nextGappedEntries);
-                scheduler().scheduleOnce(scheduled, nextData, 0L, data.retryInterval);
+                scheduler().scheduleOnce(scheduled, nextData, 0L, delay);
             }
         }
     }
@@ -0,0 +1,100 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.vlingo.xoom.symbio.store.Histogram;
+
+/**
+ * {@link GapMetrics} accumulated in counters and histograms that may be read from any thread.
+ */
+public class GapStatistics implements GapMetrics {
+    private final LongAdder detected = new LongAdder();
+    private final LongAdder filled = new LongAdder();
+    private final LongAdder givenUp = new LongAdder();
+
+    private final Histogram gapsPerRead = new Histogram();
+    private final Histogram fillLatency = new Histogram();
+    private final Histogram retriesToFill = new Histogram();
+    private final Histogram givenUpLatency = new Histogram();
+
+    @Override
+    public void gapsDetected(int gaps) {
+        detected.add(gaps);
+        gapsPerRead.record(gaps);
+    }
+
+    @Override
+    public void gapsFilled(int gaps, int retry, long elapsed) {
+        filled.add(gaps);
+        fillLatency.record(elapsed);
+        retriesToFill.record(retry);
+    }
+
+    @Override
+    public void gapsGivenUp(int gaps, int retries, long elapsed) {
+        givenUp.add(gaps);
+        givenUpLatency.record(elapsed);
+    }
+
+    /**
+     * @return Total gap ids detected.
+     */
+    public long gapsDetected() {
+        return detected.sum();
+    }
+
+    /**
+     * @return Total gap ids filled by retries.
+     */
+    public long gapsFilled() {
+        return filled.sum();
+    }
+
+    /**
+     * @return Total gap ids given up.
+     */
+    public long gapsGivenUp() {
+        return givenUp.sum();
+    }
+
+    /**
+     * @return Histogram of the number of gap ids detected per read.
+     */
+    public Histogram gapsPerRead() {
+        return gapsPerRead;
+    }
+
+    /**
+     * @return Histogram of the milliseconds from detecting gaps to the retry that filled them.
+     */
+    public Histogram fillLatency() {
+        return fillLatency;
+    }
+
+    /**
+     * @return Histogram of the retry that filled gaps.
+     */
+    public Histogram retriesToFill() {
+        return retriesToFill;
+    }
+
+    /**
+     * @return Histogram of the milliseconds from detecting gaps to giving them up.
+     */
+    public Histogram givenUpLatency() {
+        return givenUpLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "GapStatistics[detected=" + gapsDetected() + " filled=" + gapsFilled() + " givenUp=" + gapsGivenUp() +
+                " fillLatency=" + fillLatency + "]";
+    }
+}
@@ -14,56 +14,126 @@ import java.util.*;
 
 /**
  * This class models entries which contain gaps.
+ * <p>
+ * The ids of the loaded and gapped entries are held once in ascending order, and each
+ * entry is held in the slot at the position of its id, so that entries are kept in id
+ * order as they arrive and gaps are filled by position. Both arrays are sized by the
+ * number of entries and gaps rather than by the span of their ids.
  *
  * @param <T> Subtype of {@code Entry}
  */
 public class GappedEntries<T extends Entry<?>> {
     /**
-     * Successfully loaded entries up to now.
+     * Occupies the slot of each gap not yet filled.
      */
-    private final List<T> loadedEntries;
+    private static final Object Gap = new Object();
 
     /**
-     * List of ids failed to be loaded (gaps).
+     * Distinct ids of the loaded entries and gaps in ascending order, shared by filled up copies.
      */
-    private final List<Long> gapIds;
+    private final long[] ids;
+
+    /**
+     * Successfully loaded entries up to now, each at the slot of its id, and the gaps yet to be filled.
+     */
+    private final Object[] slots;
+
+    /**
+     * Ids failed to be loaded (gaps) as initially detected. A gap is filled once its slot is.
+     */
+    private final long[] gapIds;
 
     /**
      * {@link CompletesEventually} object necessary to asynchronously send the final list of loaded entries.
      */
     private final CompletesEventually eventually;
 
+    private int loadedCount;
+    private int remainingGaps;
+    private List<Long> remainingGapIds;
+
     public GappedEntries(List<T> loadedEntries, List<Long> gapIds, CompletesEventually eventually) {
-        this.loadedEntries = loadedEntries;
+        this(loadedEntries, toArray(gapIds), eventually);
+    }
+
+    public GappedEntries(List<T> loadedEntries, Gaps gaps, CompletesEventually eventually) {
+        this(loadedEntries, toArray(gaps), eventually);
+    }
+
+    private GappedEntries(List<T> loadedEntries, long[] gapIds, CompletesEventually eventually) {
+        final long[] loadedIds = new long[loadedEntries.size()];
+        int index = 0;
+        for (T entry : loadedEntries) {
+            loadedIds[index++] = Long.parseLong(entry.id());
+        }
+
+        this.ids = distinctSorted(loadedIds, gapIds);
+        this.slots = new Object[ids.length];
         this.gapIds = gapIds;
         this.eventually = eventually;
-    }
 
-    public List<T> getLoadedEntries() {
-        return loadedEntries;
+        index = 0;
+        for (T entry : loadedEntries) {
+            fill(loadedIds[index++], entry);
+        }
+        for (long id : gapIds) {
+            final int slot = slotOf(id);
+            if (slots[slot] == null) {
+                slots[slot] = Gap;
+                remainingGaps++;
+            }
+        }
     }
 
-    private int compare(T e1, T e2) {
-        long id1 = Long.parseLong(e1.id());
-        long id2 = Long.parseLong(e2.id());
+    private GappedEntries(GappedEntries<T> original) {
+        this.ids = original.ids;
+        this.slots = original.slots.clone();
+        this.gapIds = original.gapIds;
+        this.eventually = original.eventually;
+        this.loadedCount = original.loadedCount;
+        this.remainingGaps = original.remainingGaps;
+    }
 
-        return Long.compare(id1, id2);
+    /**
+     * Get loaded entries
+     *
+     * @return Entries in id order.
+     */
+    public List<T> getLoadedEntries() {
+        return getSortedLoadedEntries();
     }
 
     /**
      * Get loaded entries
      *
-     * @return Sorted entries.
+     * @return Sorted entries, which are kept in id order as loaded and so need no sorting.
      */
+    @SuppressWarnings("unchecked")
     public List<T> getSortedLoadedEntries() {
-        SortedSet<T> sorted = new TreeSet<>(this::compare);
-        sorted.addAll(loadedEntries);
+        List<T> loaded = new ArrayList<>(loadedCount);
+        for (Object slot : slots) {
+            if (slot != null && slot != Gap) {
+                loaded.add((T) slot);
+            }
+        }
 
-        return new ArrayList<>(sorted);
+        return loaded;
     }
 
+    /**
+     * @return Ids of the gaps not yet filled, in the order detected.
+     */
     public List<Long> getGapIds() {
-        return gapIds;
+        if (remainingGapIds == null) {
+            List<Long> ids = new ArrayList<>(remainingGaps);
+            for (long id : gapIds) {
+                if (slots[slotOf(id)] == Gap) {
+                    ids.add(id);
+                }
+            }
+            remainingGapIds = ids;
+        }
+        return remainingGapIds;
     }
 
     public CompletesEventually getEventually() {
@@ -71,7 +141,14 @@ public class GappedEntries<T extends Entry<?>> {
     }
 
     public boolean containGaps() {
-        return !gapIds.isEmpty();
+        return remainingGaps > 0;
+    }
+
+    /**
+     * @return Number of gaps not yet filled.
+     */
+    public int gapCount() {
+        return remainingGaps;
     }
 
     /**
@@ -80,37 +157,99 @@ public class GappedEntries<T extends Entry<?>> {
      * @return Sum of loaded and gapped entries.
      */
     public int size() {
-        return loadedEntries.size() + gapIds.size();
+        return loadedCount + remainingGaps;
     }
 
     /**
      * Get first successfully loaded entry.
      *
-     * @return an {@link Optional} describing the first entry.
+     * @return an {@link Optional} describing the entry of least id.
      */
+    @SuppressWarnings("unchecked")
     public Optional<T> getFirst() {
-        if (loadedEntries.size() > 0) {
-            return Optional.of(loadedEntries.get(0));
-        } else {
-            return Optional.empty();
+        for (Object slot : slots) {
+            if (slot != null && slot != Gap) {
+                return Optional.of((T) slot);
+            }
         }
+        return Optional.empty();
     }
 
     /**
-     * Builds up a new <code>GappedEntries</code> obtained by filling up current instance with fill ups parameter.
+     * Builds up a new <code>GappedEntries</code> obtained by filling up a copy of current instance
+     * with fill ups parameter, leaving current instance unchanged.
      *
      * @param fillups Parameter used to fill up current instance.
      * @return New, filled up <code>GappedEntries</code>.
      */
     public GappedEntries<T> fillupWith(List<T> fillups) {
-        List<T> newLoadedEntries = new ArrayList<>(loadedEntries);
-        List<Long> newGapIds = new ArrayList<>(gapIds);
+        return new GappedEntries<>(this).fillupInPlaceWith(fillups);
+    }
+
+    /**
+     * Fills up the gaps of this instance in place with the fill ups parameter, each found
+     * by a binary search of the ids, and so without copying. Fill ups of ids that are not
+     * gaps of this instance are ignored.
+     *
+     * @param fillups Parameter used to fill up current instance.
+     * @return This, filled up <code>GappedEntries</code>.
+     */
+    public GappedEntries<T> fillupInPlaceWith(List<T> fillups) {
         for (T fillup : fillups) {
-            Long fillupId = Long.parseLong(fillup.id());
-            newGapIds.remove(fillupId);
-            newLoadedEntries.add(fillup);
+            final int slot = Arrays.binarySearch(ids, Long.parseLong(fillup.id()));
+            if (slot >= 0 && slots[slot] == Gap) {
+                slots[slot] = fillup;
+                loadedCount++;
+                remainingGaps--;
+                remainingGapIds = null;
+            }
         }
 
-        return new GappedEntries<>(newLoadedEntries, newGapIds, eventually);
+        return this;
+    }
+
+    private void fill(long id, T entry) {
+        final int slot = slotOf(id);
+        if (slots[slot] == null) {
+            slots[slot] = entry;
+            loadedCount++;
+        }
+    }
+
+    private int slotOf(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    private static long[] distinctSorted(long[] loadedIds, long[] gapIds) {
+        final long[] all = Arrays.copyOf(loadedIds, loadedIds.length + gapIds.length);
+        System.arraycopy(gapIds, 0, all, loadedIds.length, gapIds.length);
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int index = 0; index < all.length; index++) {
+            if (distinct == 0 || all[index] != all[distinct - 1]) {
+                all[distinct++] = all[index];
+            }
+        }
+        return distinct == all.length ? all : Arrays.copyOf(all, distinct);
+    }
+
+    private static long[] toArray(List<Long> gapIds) {
+        final long[] ids = new long[gapIds.size()];
+        int index = 0;
+        for (Long id : gapIds) {
+            ids[index++] = id;
+        }
+        return ids;
+    }
+
+    private static long[] toArray(Gaps gaps) {
+        final long[] ids = new long[(int) gaps.count()];
+        int index = 0;
+        for (int range = 0; range < gaps.rangeCount(); range++) {
+            for (long id = gaps.startOf(range); id < gaps.endOf(range); id++) {
+                ids[index++] = id;
+            }
+        }
+        return ids;
     }
 }
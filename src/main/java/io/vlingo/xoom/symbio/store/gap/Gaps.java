@@ -0,0 +1,195 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Gaps detected in a window of entry ids, held as compact ascending ranges
+ * of consecutive ids rather than as individual ids.
+ */
+public final class Gaps {
+    /**
+     * No gaps.
+     */
+    public static final Gaps None = new Gaps(new long[0], new int[0], 0);
+
+    private final long[] starts;
+    private final int[] lengths;
+    private final int ranges;
+    private final long count;
+
+    /**
+     * Answer the gaps of the single range of {@code length} ids beginning with {@code start}.
+     *
+     * @param start First missing id
+     * @param length Number of consecutive missing ids
+     * @return Gaps
+     */
+    public static Gaps of(long start, int length) {
+        return length <= 0 ? None : new Gaps(new long[] { start }, new int[] { length }, 1);
+    }
+
+    private Gaps(long[] starts, int[] lengths, int ranges) {
+        this.starts = starts;
+        this.lengths = lengths;
+        this.ranges = ranges;
+
+        long total = 0;
+        for (int range = 0; range < ranges; range++) {
+            total += lengths[range];
+        }
+        this.count = total;
+    }
+
+    public boolean isEmpty() {
+        return ranges == 0;
+    }
+
+    /**
+     * @return Total number of missing ids over all ranges.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return Number of ranges of consecutive missing ids.
+     */
+    public int rangeCount() {
+        return ranges;
+    }
+
+    /**
+     * @param range Index of the range
+     * @return First missing id of the range.
+     */
+    public long startOf(int range) {
+        checkRange(range);
+        return starts[range];
+    }
+
+    /**
+     * @param range Index of the range
+     * @return Id following the last missing id of the range.
+     */
+    public long endOf(int range) {
+        checkRange(range);
+        return starts[range] + lengths[range];
+    }
+
+    /**
+     * @param id Entry id
+     * @return Whether the id is missing.
+     */
+    public boolean contains(long id) {
+        int low = 0;
+        int high = ranges - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (id < starts[middle]) {
+                high = middle - 1;
+            } else if (id >= starts[middle] + lengths[middle]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answer the missing ids as a read-only list view, in which ids are boxed only as they are read.
+     *
+     * @return List of gap ids in ascending order.
+     */
+    public List<Long> ids() {
+        if (ranges == 0) {
+            return Collections.emptyList();
+        }
+        return new GapIds();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Gaps[");
+        for (int range = 0; range < ranges; range++) {
+            if (range > 0) {
+                builder.append(", ");
+            }
+            builder.append(starts[range]).append("..").append(starts[range] + lengths[range] - 1);
+        }
+        return builder.append("]").toString();
+    }
+
+    private void checkRange(int range) {
+        if (range < 0 || range >= ranges) {
+            throw new IndexOutOfBoundsException("Range: " + range + " of: " + ranges);
+        }
+    }
+
+    /**
+     * Accumulates ascending gap ranges, merging each id or range adjacent to the last.
+     */
+    static final class Builder {
+        private long[] starts = new long[4];
+        private int[] lengths = new int[4];
+        private int ranges = 0;
+
+        void add(long start, int length) {
+            if (ranges > 0 && starts[ranges - 1] + lengths[ranges - 1] == start) {
+                lengths[ranges - 1] += length;
+                return;
+            }
+            if (ranges == starts.length) {
+                starts = Arrays.copyOf(starts, ranges * 2);
+                lengths = Arrays.copyOf(lengths, ranges * 2);
+            }
+            starts[ranges] = start;
+            lengths[ranges] = length;
+            ranges++;
+        }
+
+        Gaps build() {
+            return ranges == 0 ? None : new Gaps(starts, lengths, ranges);
+        }
+    }
+
+    private final class GapIds extends AbstractList<Long> {
+        private final int[] firstPositions;
+
+        GapIds() {
+            this.firstPositions = new int[ranges];
+            int position = 0;
+            for (int range = 0; range < ranges; range++) {
+                firstPositions[range] = position;
+                position += lengths[range];
+            }
+        }
+
+        @Override
+        public Long get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + count);
+            }
+            int range = Arrays.binarySearch(firstPositions, index);
+            if (range < 0) {
+                range = -range - 2;
+            }
+            return starts[range] + (index - firstPositions[range]);
+        }
+
+        @Override
+        public int size() {
+            return (int) count;
+        }
+    }
+}
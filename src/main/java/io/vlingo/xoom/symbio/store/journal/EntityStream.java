@@ -26,6 +26,8 @@ public class EntityStream<T> {
 
   /**
    * The {@code List<Entry<T>>} of the entries of the named stream, and possibly just a sub-stream.
+   * This may be a read-only view, such as {@code StreamEntries<T>}, that answers each entry
+   * from its journal only when accessed, and should be copied if modification is needed.
    */
   public final List<BaseEntry<T>> entries;
 
@@ -0,0 +1,103 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import io.vlingo.xoom.symbio.store.PartitionedEntryReader;
+
+/**
+ * The journal indexes of entries split into a fixed number of partitions by the
+ * hash of their stream name, as by {@code PartitionedEntryReader.partitionOf()},
+ * such that all entries of a given stream are in one partition and in journal
+ * order. Each partition is a {@code PositionIndex}.
+ */
+public final class EntryPartitions {
+  private final PositionIndex[] partitions;
+
+  /**
+   * Constructs my empty state.
+   * @param totalPartitions the int number of partitions, which must be at least 1
+   */
+  public EntryPartitions(final int totalPartitions) {
+    if (totalPartitions < 1) throw new IllegalArgumentException("Total partitions must be at least 1.");
+
+    this.partitions = new PositionIndex[totalPartitions];
+
+    for (int partition = 0; partition < totalPartitions; ++partition) {
+      partitions[partition] = new PositionIndex();
+    }
+  }
+
+  /**
+   * Adds the entry of {@code key} at the journal {@code index} to the end of its partition.
+   * @param key the String stream name or entity id of the entry
+   * @param index the int journal index of the entry
+   */
+  public void add(final String key, final int index) {
+    partitions[PartitionedEntryReader.partitionOf(key, partitions.length)].add(index);
+  }
+
+  /**
+   * Answer the first position of {@code partition} not removed by {@code trimBelow()}.
+   * @param partition the int partition
+   * @return int
+   */
+  public int firstPosition(final int partition) {
+    return partitions[partition].firstPosition();
+  }
+
+  /**
+   * Answer the journal index of the entry at {@code position} of {@code partition},
+   * or {@code StreamIndex.NoIndex} if there is none.
+   * @param partition the int partition
+   * @param position the int position within the partition
+   * @return int
+   */
+  public int indexAt(final int partition, final int position) {
+    return partitions[partition].indexAt(position);
+  }
+
+  /**
+   * Answer the first position of {@code partition} whose entry is at or beyond the
+   * journal {@code index}, or the size of the partition if there is none.
+   * @param partition the int partition
+   * @param index the int journal index
+   * @return int
+   */
+  public int positionOf(final int partition, final int index) {
+    return partitions[partition].positionOf(index);
+  }
+
+  /**
+   * Answer the number of positions of {@code partition}, including any removed by {@code trimBelow()}.
+   * @param partition the int partition
+   * @return int
+   */
+  public int size(final int partition) {
+    return partitions[partition].size();
+  }
+
+  /**
+   * Answer my number of partitions.
+   * @return int
+   */
+  public int totalPartitions() {
+    return partitions.length;
+  }
+
+  /**
+   * Removes the entries of all partitions whose journal index is below {@code index},
+   * such as once they have been evicted from the journal. Like {@code add()}, this
+   * must be used only by the single writer.
+   * @param index the int journal index of the first retained entry
+   */
+  public void trimBelow(final int index) {
+    for (final PositionIndex partition : partitions) {
+      partition.trimBelow(index);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The journal indexes of entries by their {@code typeName()}, such that the entries
+ * of a given type may be read in journal order without visiting those of any other
+ * type. Each type is a {@code PositionIndex}.
+ */
+public final class EntryTypeIndex {
+  private final Map<String,PositionIndex> types;
+  private volatile int indexed;
+
+  /**
+   * Constructs my empty state.
+   */
+  public EntryTypeIndex() {
+    this.types = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Adds the entry of {@code typeName} at the journal {@code index} to the end of its type.
+   * @param typeName the String name of the type of the entry
+   * @param index the int journal index of the entry
+   */
+  public void add(final String typeName, final int index) {
+    types.computeIfAbsent(typeName, key -> new PositionIndex()).add(index);
+    indexed = index + 1; // publishes the entry to readers of all types
+  }
+
+  /**
+   * Answer the journal index following that of the last entry added, before which
+   * the entries of all types are indexed.
+   * @return int
+   */
+  public int indexed() {
+    return indexed;
+  }
+
+  /**
+   * Answer the journal index of the entry at {@code position} of {@code typeName},
+   * or {@code StreamIndex.NoIndex} if there is none.
+   * @param typeName the String name of the type
+   * @param position the int position within the type
+   * @return int
+   */
+  public int indexAt(final String typeName, final int position) {
+    final PositionIndex positions = types.get(typeName);
+    return positions == null ? StreamIndex.NoIndex : positions.indexAt(position);
+  }
+
+  /**
+   * Answer the first position of {@code typeName} whose entry is at or beyond the
+   * journal {@code index}, or the size of the type if there is none.
+   * @param typeName the String name of the type
+   * @param index the int journal index
+   * @return int
+   */
+  public int positionOf(final String typeName, final int index) {
+    final PositionIndex positions = types.get(typeName);
+    return positions == null ? 0 : positions.positionOf(index);
+  }
+
+  /**
+   * Answer the number of positions of {@code typeName}, including any removed by {@code trimBelow()}.
+   * @param typeName the String name of the type
+   * @return int
+   */
+  public int size(final String typeName) {
+    final PositionIndex positions = types.get(typeName);
+    return positions == null ? 0 : positions.size();
+  }
+
+  /**
+   * Removes the entries of all types whose journal index is below {@code index},
+   * such as once they have been evicted from the journal. Like {@code add()}, this
+   * must be used only by the single writer.
+   * @param index the int journal index of the first retained entry
+   */
+  public void trimBelow(final int index) {
+    for (final PositionIndex positions : types.values()) {
+      positions.trimBelow(index);
+    }
+  }
+}
@@ -18,6 +18,8 @@ import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.EntryFilter;
+import io.vlingo.xoom.symbio.store.PartitionedEntryReader;
 import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.StorageException;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
@@ -317,6 +319,41 @@ public interface Journal<T> {
    */
   <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name);
 
+  /**
+   * Eventually answers the {@code JournalReader<ET>} named {@code name} for this journal
+   * that reads only the {@code Entry<T>} instances selected by {@code filter}, such as
+   * those of the few types in which a projection is interested. The journal evaluates
+   * the {@code filter} against the type and {@code Metadata} of its entries, so that
+   * entries not selected are skipped without being read by or adapted for the reader.
+   * Not all journals support filtered reading, and those that do not answer a failed
+   * {@code Completes}.
+   *
+   * @param name the String name of the {@code JournalReader<ET>} to answer
+   * @param filter the EntryFilter selecting the entries read
+   * @param <ET> the concrete type of {@code Entry<?} of the {@code JournalReader<ET>}
+   * @return {@code Completes<JournalReader<ET>>}
+   */
+  default <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name, final EntryFilter filter) {
+    return Completes.withFailure();
+  }
+
+  /**
+   * Eventually answers the {@code PartitionedEntryReader<ET>} named {@code name} for this
+   * journal, which reads the entries of this journal split into {@code totalPartitions}
+   * by stream name, each partition with its own {@code EntryReader<ET>}. The entries of
+   * any one stream are in one partition and in the order in which they were appended,
+   * and so the partitions may be read in parallel. Not all journals support partitioned
+   * reading, and those that do not answer a failed {@code Completes}.
+   *
+   * @param name the String name of the {@code PartitionedEntryReader<ET>} to answer
+   * @param totalPartitions the int number of partitions
+   * @param <ET> the concrete type of {@code Entry<?} of the {@code PartitionedEntryReader<ET>}
+   * @return {@code Completes<PartitionedEntryReader<ET>>}
+   */
+  default <ET extends Entry<?>> Completes<PartitionedEntryReader<ET>> partitionedReader(final String name, final int totalPartitions) {
+    return Completes.withFailure();
+  }
+
   /**
    * Eventually answers the {@code StreamReader<T>} named {@code name} for this journal. If
    * the reader named name does not yet exist, it is first created. Readers
@@ -27,6 +27,7 @@ public class JournalReader__Proxy<T extends Entry<?>> implements io.vlingo.xoom.
   private static final String readNextRepresentation5 = "readNext(int)";
   private static final String sizeRepresentation6 = "size()";
   private static final String sizeRepresentation7 = "streamAll()";
+  private static final String readBatchRepresentation8 = "readBatch(int, io.vlingo.xoom.symbio.store.EntryBatch<T>)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -131,6 +132,20 @@ public class JournalReader__Proxy<T extends Entry<?>> implements io.vlingo.xoom.
   }
   @Override
   @SuppressWarnings("rawtypes")
+  public io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.EntryBatch<T>> readBatch(int arg0, io.vlingo.xoom.symbio.store.EntryBatch<T> arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<JournalReader> consumer = (actor) -> actor.readBatch(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.EntryBatch<T>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, JournalReader.class, consumer, Returns.value(completes), readBatchRepresentation8); }
+      else { mailbox.send(new LocalMessage<JournalReader>(actor, JournalReader.class, consumer, Returns.value(completes), readBatchRepresentation8)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, readBatchRepresentation8));
+    }
+    return null;
+  }
+  @Override
+  @SuppressWarnings("rawtypes")
   public io.vlingo.xoom.common.Completes<java.util.List<T>> readNext(final String fromId, int arg0) {
     if (!actor.isStopped()) {
       final SerializableConsumer<JournalReader> consumer = (actor) -> actor.readNext(fromId, arg0);
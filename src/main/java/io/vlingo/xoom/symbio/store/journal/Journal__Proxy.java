@@ -22,6 +22,8 @@ public class Journal__Proxy<T> implements io.vlingo.xoom.symbio.store.journal.Jo
   private static final String appendWithRepresentation2 = "appendWith(java.lang.String, int, io.vlingo.xoom.symbio.Source<S>, io.vlingo.xoom.symbio.Metadata, ST, io.vlingo.xoom.symbio.store.journal.Journal.AppendResultInterest<ST>, java.lang.Object)";
   private static final String journalReaderRepresentation5 = "journalReader(java.lang.String)";
   private static final String streamReaderRepresentation6 = "streamReader(java.lang.String)";
+  private static final String partitionedReaderRepresentation7 = "partitionedReader(java.lang.String, int)";
+  private static final String journalReaderRepresentation8 = "journalReader(java.lang.String, io.vlingo.xoom.symbio.store.EntryFilter)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -129,6 +131,42 @@ public class Journal__Proxy<T> implements io.vlingo.xoom.symbio.store.journal.Jo
     return null;
   }
 
+  @Override
+  public <ET extends Entry<?>> io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.journal.JournalReader<ET>> journalReader(final java.lang.String arg0, final io.vlingo.xoom.symbio.store.EntryFilter arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Journal> consumer = (actor) -> actor.journalReader(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.journal.JournalReader<ET>> completes = Completes.using(
+              actor.scheduler());
+      if (mailbox.isPreallocated()) {
+        mailbox.send(actor, Journal.class, consumer, Returns.value(completes), journalReaderRepresentation8);
+      } else {
+        mailbox.send(new LocalMessage<>(actor, Journal.class, consumer, Returns.value(completes), journalReaderRepresentation8));
+      }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, journalReaderRepresentation8));
+    }
+    return null;
+  }
+
+  @Override
+  public <ET extends Entry<?>> io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.PartitionedEntryReader<ET>> partitionedReader(final java.lang.String arg0, final int arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Journal> consumer = (actor) -> actor.partitionedReader(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.PartitionedEntryReader<ET>> completes = Completes.using(
+              actor.scheduler());
+      if (mailbox.isPreallocated()) {
+        mailbox.send(actor, Journal.class, consumer, Returns.value(completes), partitionedReaderRepresentation7);
+      } else {
+        mailbox.send(new LocalMessage<>(actor, Journal.class, consumer, Returns.value(completes), partitionedReaderRepresentation7));
+      }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, partitionedReaderRepresentation7));
+    }
+    return null;
+  }
+
   @Override
   public io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.journal.StreamReader<T>> streamReader(final java.lang.String arg0) {
     if (!actor.isStopped()) {
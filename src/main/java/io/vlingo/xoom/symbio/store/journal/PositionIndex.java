@@ -0,0 +1,95 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+/**
+ * The journal indexes of a subset of entries, such as those of one partition or of
+ * one type, in journal order, such that the subset may be read without visiting any
+ * other entries. Each entry has a position within the subset, which is a version of
+ * a {@code StreamIndex}. Entries are added by a single writer, and each {@code add()}
+ * is published to concurrent readers.
+ */
+public final class PositionIndex {
+  private final StreamIndex indexes;
+  private volatile int size;
+
+  /**
+   * Constructs my empty state.
+   */
+  public PositionIndex() {
+    this.indexes = new StreamIndex();
+  }
+
+  /**
+   * Adds the entry at the journal {@code index} to my end.
+   * @param index the int journal index of the entry
+   */
+  public void add(final int index) {
+    final int position = size;
+    indexes.set(position, index);
+    size = position + 1; // publishes the entry
+  }
+
+  /**
+   * Answer my first position not removed by {@code trimBelow()}.
+   * @return int
+   */
+  public int firstPosition() {
+    return indexes.firstVersion();
+  }
+
+  /**
+   * Answer the journal index of the entry at {@code position}, or {@code StreamIndex.NoIndex}
+   * if there is none.
+   * @param position the int position
+   * @return int
+   */
+  public int indexAt(final int position) {
+    if (position >= size) return StreamIndex.NoIndex;
+    return indexes.indexOf(position);
+  }
+
+  /**
+   * Answer my first position whose entry is at or beyond the journal {@code index},
+   * or my size if there is none.
+   * @param index the int journal index
+   * @return int
+   */
+  public int positionOf(final int index) {
+    int low = firstPosition();
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      final int middleIndex = indexes.indexOf(middle);
+      if (middleIndex != StreamIndex.NoIndex && middleIndex < index) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Answer my number of positions, including any removed by {@code trimBelow()}.
+   * @return int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes my entries whose journal index is below {@code index}, such as once they
+   * have been evicted from the journal. Like {@code add()}, this must be used only by
+   * the single writer.
+   * @param index the int journal index of the first retained entry
+   */
+  public void trimBelow(final int index) {
+    indexes.trimBelow(index);
+  }
+}
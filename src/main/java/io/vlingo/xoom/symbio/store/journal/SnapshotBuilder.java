@@ -0,0 +1,27 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+/**
+ * Builds the state of a stream from its {@code EntityStream<T>}, which holds the
+ * most recent snapshot, if any, and the entries appended since. The state answered
+ * is adapted to its raw snapshot by the {@code StateAdapterProvider} of the
+ * {@code Journal<T>}, and so its type must have a registered {@code StateAdapter}.
+ *
+ * @param <T> the concrete type of the stream of {@code Entry<T>}
+ */
+@FunctionalInterface
+public interface SnapshotBuilder<T> {
+  /**
+   * Answer the state of the {@code stream} as of its {@code streamVersion}, or
+   * {@code null} if it is not to be snapshot.
+   * @param stream the {@code EntityStream<T>} from which to build the state
+   * @return Object
+   */
+  Object snapshotOf(final EntityStream<T> stream);
+}
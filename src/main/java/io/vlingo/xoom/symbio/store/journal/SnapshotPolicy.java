@@ -0,0 +1,89 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.Arrays;
+
+/**
+ * Decides when a {@code Journal<T>} should snapshot a stream, given the entries
+ * appended to the stream since its most recent snapshot. Snapshots bound the
+ * number of entries that {@code StreamReader<T>#streamFor()} must answer.
+ * <p>
+ * A policy is evaluated only when entries are appended to the stream, so a
+ * time-based policy never snapshots a stream that is no longer appended to,
+ * however long ago its most recent snapshot.
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+  /**
+   * Answer a {@code SnapshotPolicy} that never snapshots.
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy never() {
+    return (entries, bytes, elapsed) -> false;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that snapshots once {@code count} entries have been appended.
+   * @param count the int number of entries between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyEntries(final int count) {
+    if (count < 1) throw new IllegalArgumentException("Snapshot entry count must be at least 1.");
+    return (entries, bytes, elapsed) -> entries >= count;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that snapshots on the first append at least
+   * {@code seconds} after the previous snapshot. No snapshot is taken while the
+   * stream is not appended to.
+   * @param seconds the long number of seconds between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everySeconds(final long seconds) {
+    if (seconds < 1) throw new IllegalArgumentException("Snapshot interval must be at least 1 second.");
+    final long millis = seconds * 1000L;
+    return (entries, bytes, elapsed) -> elapsed >= millis;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that snapshots once at least {@code threshold}
+   * bytes of entry data have been appended, counting {@code String} data by its
+   * UTF-8 encoded length.
+   * @param threshold the long number of encoded entry data bytes between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyBytes(final long threshold) {
+    if (threshold < 1) throw new IllegalArgumentException("Snapshot byte threshold must be at least 1.");
+    return (entries, bytes, elapsed) -> bytes >= threshold;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that snapshots when any of {@code policies} would.
+   * @param policies the SnapshotPolicy varargs to combine
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy anyOf(final SnapshotPolicy... policies) {
+    final SnapshotPolicy[] all = Arrays.copyOf(policies, policies.length);
+    return (entries, bytes, elapsed) -> {
+      for (final SnapshotPolicy policy : all) {
+        if (policy.isSnapshotDue(entries, bytes, elapsed)) return true;
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Answer whether a stream should be snapshot.
+   * @param entries the int number of entries appended since the most recent snapshot
+   * @param bytes the long number of entry data bytes appended since the most recent snapshot, with {@code String} data counted by its UTF-8 encoded length
+   * @param elapsed the long milliseconds elapsed since the most recent snapshot, or since the first append
+   * @return boolean
+   */
+  boolean isSnapshotDue(final int entries, final long bytes, final long elapsed);
+}
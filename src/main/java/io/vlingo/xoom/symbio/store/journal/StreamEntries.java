@@ -0,0 +1,61 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+
+/**
+ * A read-only {@code List<BaseEntry<T>>} view of consecutive versions of a single
+ * stream, which answers each entry from the journal only when it is accessed.
+ * The journal index of each version is resolved once, when I am constructed, so
+ * that I am unaffected by later changes to the {@code StreamIndex}. Rehydrating
+ * a stream through this view allocates no per-entry objects, and so it may be
+ * used only with a journal that never evicts the entries at those indexes.
+ *
+ * @param <T> the concrete type of the stream of {@code Entry<T>}
+ */
+public final class StreamEntries<T> extends AbstractList<BaseEntry<T>> implements RandomAccess {
+  private final int[] indexes;
+  private final IntFunction<BaseEntry<T>> journalEntryAt;
+
+  /**
+   * Constructs my state.
+   * @param journalEntryAt the {@code IntFunction<BaseEntry<T>>} answering the entry at a journal index
+   * @param streamIndex the StreamIndex of the stream's journal indexes
+   * @param fromVersion the int version of my first entry
+   * @param count the int number of my consecutive entries, each of which must be indexed
+   */
+  public StreamEntries(
+          final IntFunction<BaseEntry<T>> journalEntryAt,
+          final StreamIndex streamIndex,
+          final int fromVersion,
+          final int count) {
+    this.journalEntryAt = journalEntryAt;
+    this.indexes = new int[count];
+    for (int index = 0; index < count; ++index) {
+      indexes[index] = streamIndex.indexOf(fromVersion + index);
+    }
+  }
+
+  @Override
+  public BaseEntry<T> get(final int index) {
+    if (index < 0 || index >= indexes.length) {
+      throw new IndexOutOfBoundsException("Index: " + index + " Size: " + indexes.length);
+    }
+    return journalEntryAt.apply(indexes[index]);
+  }
+
+  @Override
+  public int size() {
+    return indexes.length;
+  }
+}
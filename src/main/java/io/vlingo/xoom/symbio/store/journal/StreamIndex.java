@@ -0,0 +1,134 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.Arrays;
+
+/**
+ * The journal index of each version of a single stream, held in a growable
+ * {@code int[]} offset by the lowest version so that neither indexing nor
+ * lookup boxes. Indexes are set by a single writer, and each {@code set()}
+ * is published to concurrent readers of {@code indexOf()}.
+ */
+public final class StreamIndex {
+  /** The index answered for a version that is not indexed. */
+  public static final int NoIndex = -1;
+
+  private static final int InitialCapacity = 8;
+
+  private volatile Slots slots;
+
+  /**
+   * Constructs my empty state.
+   */
+  public StreamIndex() {
+    this.slots = null;
+  }
+
+  /**
+   * Answer my lowest indexed version, or {@code 0} if none are indexed.
+   * @return int
+   */
+  public int firstVersion() {
+    final Slots current = slots;
+    return current == null ? 0 : current.firstVersion;
+  }
+
+  /**
+   * Answer the journal index of the {@code version}, or {@code NoIndex} if not indexed.
+   * @param version the int stream version
+   * @return int
+   */
+  public int indexOf(final int version) {
+    final Slots current = slots;
+    if (current == null) return NoIndex;
+    final int slot = version - current.firstVersion;
+    if (slot < 0 || slot >= current.indexes.length) return NoIndex;
+    return current.indexes[slot];
+  }
+
+  /**
+   * Answer the number of consecutive versions indexed starting with {@code version}.
+   * @param version the int first stream version
+   * @return int
+   */
+  public int countFrom(final int version) {
+    final Slots current = slots;
+    if (current == null) return 0;
+    int slot = version - current.firstVersion;
+    if (slot < 0) return 0;
+    int count = 0;
+    while (slot < current.indexes.length && current.indexes[slot] != NoIndex) {
+      ++count;
+      ++slot;
+    }
+    return count;
+  }
+
+  /**
+   * Indexes the {@code version} of the stream at the journal {@code index}.
+   * @param version the int stream version
+   * @param index the int journal index of the version
+   */
+  public void set(final int version, final int index) {
+    Slots current = slots;
+    if (current == null) {
+      current = new Slots(version, empty(InitialCapacity));
+    } else if (version < current.firstVersion) {
+      final int shift = current.firstVersion - version;
+      final int[] grown = empty(current.indexes.length + shift);
+      System.arraycopy(current.indexes, 0, grown, shift, current.indexes.length);
+      current = new Slots(version, grown);
+    } else if (version - current.firstVersion >= current.indexes.length) {
+      final int required = version - current.firstVersion + 1;
+      final int[] grown = empty(Math.max(required, current.indexes.length * 2));
+      System.arraycopy(current.indexes, 0, grown, 0, current.indexes.length);
+      current = new Slots(current.firstVersion, grown);
+    }
+    current.indexes[version - current.firstVersion] = index;
+    slots = current; // publishes the index
+  }
+
+  /**
+   * Removes all versions whose journal index is below {@code index}, such as once
+   * they have been evicted from the journal, and answers whether none remain.
+   * Like {@code set()}, this must be used only by the single writer.
+   * @param index the int journal index of the first retained entry
+   * @return boolean
+   */
+  public boolean trimBelow(final int index) {
+    final Slots current = slots;
+    if (current == null) return true;
+    int slot = 0;
+    while (slot < current.indexes.length && current.indexes[slot] != NoIndex && current.indexes[slot] < index) {
+      ++slot;
+    }
+    if (slot > 0) {
+      final int[] trimmed = empty(Math.max(InitialCapacity, current.indexes.length - slot));
+      System.arraycopy(current.indexes, slot, trimmed, 0, current.indexes.length - slot);
+      slots = new Slots(current.firstVersion + slot, trimmed);
+    }
+    return slots.indexes[0] == NoIndex;
+  }
+
+  private static int[] empty(final int capacity) {
+    final int[] indexes = new int[capacity];
+    Arrays.fill(indexes, NoIndex);
+    return indexes;
+  }
+
+  private static final class Slots {
+    final int firstVersion;
+    final int[] indexes;
+
+    Slots(final int firstVersion, final int[] indexes) {
+      this.firstVersion = firstVersion;
+      this.indexes = indexes;
+    }
+  }
+}
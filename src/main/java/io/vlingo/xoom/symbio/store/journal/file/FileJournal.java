@@ -0,0 +1,371 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+
+/**
+ * A {@code Journal<T>} that persists its entries and snapshots to preallocated
+ * memory-mapped segment files, recovering them when constructed. Entries are
+ * read back by means of a per-entry index of log positions, which is published
+ * to readers only once all records of an append have been written.
+ * <p>
+ * When configured for group commits, appends received from any number of streams
+ * are written but held pending until {@code commit()}, which flushes, publishes,
+ * dispatches, and answers the whole batch at once. Commits occur when the
+ * configured number of entries is pending, and otherwise must be requested
+ * by the owner, such as by the {@code FileJournalActor} when its window elapses.
+ */
+public class FileJournal<T,RS extends State<?>> implements Journal<T>, Stoppable {
+  private final AppendNotifier appendNotifier;
+  private final RecordCodec codec;
+  private final FileJournalConfiguration configuration;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final StateAdapterProvider stateAdapterProvider;
+  private final SegmentedLog log;
+  private final Map<String,JournalReader<? extends Entry<?>>> journalReaders;
+  private final List<PendingAppend<T,RS>> pending;
+  private int pendingEntries;
+  private final PositionIndex positions;
+  private final ReaderPositions readerPositions;
+  private final Map<String,StreamReader<T>> streamReaders;
+  private final Map<String,StreamIndex> streamIndexes;
+  private final Map<String,RS> snapshots;
+  private final List<Dispatchable<Entry<T>, RS>> dispatchables;
+  private final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers;
+  private final DispatcherControl dispatcherControl;
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public FileJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final FileJournalConfiguration configuration,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+
+    this.configuration = configuration;
+    this.appendNotifier = new AppendNotifier();
+    this.entryAdapterProvider = EntryAdapterProvider.instance(world);
+    this.stateAdapterProvider = StateAdapterProvider.instance(world);
+    this.codec = new RecordCodec();
+    this.log = new SegmentedLog(configuration);
+    this.positions = new PositionIndex();
+    this.readerPositions = new ReaderPositions(positions::size);
+    this.readerPositions.metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(world));
+    this.pending = new ArrayList<>();
+    this.pendingEntries = 0;
+    this.journalReaders = new HashMap<>(1);
+    this.streamReaders = new HashMap<>(1);
+    this.streamIndexes = new ConcurrentHashMap<>();
+    this.snapshots = new ConcurrentHashMap<>();
+
+    recover();
+
+    this.dispatchers = dispatchers;
+    this.dispatchables = new CopyOnWriteArrayList<>();
+    final InMemoryDispatcherControlDelegate<Entry<T>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+
+    this.dispatcherControl = world.stage().actorFor(
+            DispatcherControl.class,
+            Definition.has(
+                    DispatcherControlActor.class,
+                    new DispatcherControlInstantiator(
+                            dispatchers,
+                            dispatcherControlDelegate,
+                            checkConfirmationExpirationInterval,
+                            confirmationExpiration)));
+  }
+
+  public FileJournal(final Dispatcher<Dispatchable<Entry<T>, RS>> dispatcher, final World world, final FileJournalConfiguration configuration) {
+    this(Arrays.asList(dispatcher), world, configuration, 1000L, 1000L);
+  }
+
+  public FileJournal(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final World world, final FileJournalConfiguration configuration) {
+    this(dispatchers, world, configuration, 1000L, 1000L);
+  }
+
+  @Override
+  public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
+    appendEntries(streamName, streamVersion, Collections.singletonList(entry), null,
+            outcome -> interest.appendResultedIn(outcome, streamName, streamVersion, source, Optional.empty(), object));
+  }
+
+  @Override
+  public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+          final AppendResultInterest interest, final Object object) {
+    final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
+    final RS raw = snapshot == null ? null : stateAdapterProvider.asRaw(streamName, snapshot, streamVersion);
+    appendEntries(streamName, streamVersion, Collections.singletonList(entry), raw,
+            outcome -> interest.appendResultedIn(outcome, streamName, streamVersion, source, Optional.ofNullable(snapshot), object));
+  }
+
+  @Override
+  public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
+    appendEntries(streamName, fromStreamVersion, entries, null,
+            outcome -> interest.appendAllResultedIn(outcome, streamName, fromStreamVersion, sources, Optional.empty(), object));
+  }
+
+  @Override
+  public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
+          final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
+    final RS raw = snapshot == null ? null : stateAdapterProvider.asRaw(streamName, snapshot, fromStreamVersion);
+    appendEntries(streamName, fromStreamVersion, entries, raw,
+            outcome -> interest.appendAllResultedIn(outcome, streamName, fromStreamVersion, sources, Optional.ofNullable(snapshot), object));
+  }
+
+  @Override
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
+    JournalReader<?> reader = journalReaders.get(name);
+    if (reader == null) {
+      reader = new FileJournalReader(log, positions, readerPositions.of(name), name);
+      journalReaders.put(name, reader);
+    }
+    return Completes.withSuccess((JournalReader<ET>) reader);
+  }
+
+  @Override
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public Completes<StreamReader<T>> streamReader(final String name) {
+    StreamReader<T> reader = streamReaders.get(name);
+    if (reader == null) {
+      reader = new FileStreamReader(log, positions, streamIndexes, snapshots, name);
+      streamReaders.put(name, reader);
+    }
+    return Completes.withSuccess(reader);
+  }
+
+  /**
+   * Flushes, publishes, dispatches, and answers all pending appends.
+   */
+  public void commit() {
+    if (pending.isEmpty()) return;
+
+    if (configuration.forceOnWrite && pendingEntries > 0) {
+      log.force();
+    }
+
+    final List<PendingAppend<T,RS>> committed = new ArrayList<>(pending);
+    pending.clear();
+    pendingEntries = 0;
+
+    for (final PendingAppend<T,RS> append : committed) {
+      if (append.written != null) {
+        publish(append.streamName, append.fromStreamVersion, append.written, append.snapshot);
+      }
+    }
+
+    appendNotifier.appended();
+
+    for (final PendingAppend<T,RS> append : committed) {
+      if (append.written != null) {
+        dispatch(append.streamName, append.fromStreamVersion, append.entries, append.snapshot);
+      }
+      append.answer.accept(append.outcome);
+    }
+  }
+
+  /**
+   * Answer my AppendNotifier, which tells its listeners of my committed entries.
+   * @return AppendNotifier
+   */
+  public AppendNotifier appendNotifier() {
+    return appendNotifier;
+  }
+
+  /**
+   * Resumes each subsequently created {@code JournalReader<T>} from its offset in the
+   * {@code offsetStore}, and commits its offsets by way of the {@code offsetCommitter}.
+   * @param offsetStore the OffsetStore from which readers resume
+   * @param offsetCommitter the OffsetCommitter by which reader offsets are committed
+   */
+  public void offsetsWith(final OffsetStore offsetStore, final OffsetCommitter offsetCommitter) {
+    readerPositions.offsetsWith(offsetStore, offsetCommitter);
+  }
+
+  /**
+   * Answer whether or not any appends await {@code commit()}.
+   * @return boolean
+   */
+  public boolean isCommitPending() {
+    return !pending.isEmpty();
+  }
+
+  @Override
+  public void conclude() {
+
+  }
+
+  @Override
+  public boolean isStopped() {
+    return false;
+  }
+
+  @Override
+  public void stop() {
+    commit();
+    dispatcherControl.stop();
+    log.close();
+  }
+
+  private void appendEntries(
+          final String streamName,
+          final int fromStreamVersion,
+          final List<Entry<T>> entries,
+          final RS snapshot,
+          final Consumer<Outcome<StorageException, Result>> answer) {
+
+    final long mark = log.mark();
+    try {
+      final long[] written = write(streamName, fromStreamVersion, entries, snapshot);
+      pending.add(new PendingAppend<>(streamName, fromStreamVersion, entries, snapshot, written, Success.of(Result.Success), answer));
+      pendingEntries += entries.size();
+    } catch (final StorageException e) {
+      log.truncateTo(mark);
+      pending.add(new PendingAppend<>(streamName, fromStreamVersion, entries, snapshot, null, Failure.of(e), answer));
+    }
+
+    if (!configuration.isGroupCommit() || pendingEntries >= configuration.groupCommitEntries) {
+      commit();
+    }
+  }
+
+  private void dispatch(final String streamName, final int streamVersion, final List<Entry<T>> entries, final RS snapshot){
+    final String id = getDispatchId(streamName, streamVersion, entries);
+    final Dispatchable<Entry<T>, RS> dispatchable = new Dispatchable<>(id,  LocalDateTime.now(), snapshot, entries);
+    this.dispatchables.add(dispatchable);
+    this.dispatchers.forEach(d -> d.dispatch(dispatchable));
+  }
+
+  private void publish(final String streamName, final int fromStreamVersion, final long[] written, final RS snapshot) {
+    final StreamIndex versionIndexes = streamIndexes.computeIfAbsent(streamName, k -> new StreamIndex());
+    for (int index = 0; index < written.length; ++index) {
+      final int entryIndex = positions.size();
+      positions.add(written[index]);
+      versionIndexes.set(fromStreamVersion + index, entryIndex);
+    }
+    if (snapshot != null) {
+      snapshots.put(streamName, snapshot);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void recover() {
+    log.recover((segment, offset, body) -> {
+      final ByteBuffer header = body.duplicate();
+      final byte kind = RecordCodec.kindOf(header);
+      final String streamName = RecordCodec.stringOf(header);
+      final int streamVersion = header.getInt();
+
+      if (kind == RecordCodec.EntryKind) {
+        final int entryIndex = positions.size();
+        positions.add(SegmentedLog.positionOf(segment, offset));
+        streamIndexes.computeIfAbsent(streamName, k -> new StreamIndex()).set(streamVersion, entryIndex);
+      } else if (kind == RecordCodec.SnapshotKind) {
+        snapshots.put(streamName, (RS) RecordCodec.decodeSnapshot(body.duplicate()));
+      }
+    });
+  }
+
+  private long[] write(final String streamName, final int fromStreamVersion, final List<Entry<T>> entries, final RS snapshot) {
+    final long[] written = new long[entries.size()];
+    final int nextIndex = positions.size() + pendingEntries;
+    int index = 0;
+    for (final Entry<T> entry : entries) {
+      written[index] = log.append(codec.encodeEntry(streamName, fromStreamVersion + index, entry));
+      ((BaseEntry<T>) entry).__internal__setId("" + (nextIndex + index + 1)); //questionable cast
+      ++index;
+    }
+    if (snapshot != null) {
+      log.append(codec.encodeSnapshot(streamName, snapshot));
+    }
+    return written;
+  }
+
+  private static final class PendingAppend<T,RS> {
+    final Consumer<Outcome<StorageException, Result>> answer;
+    final List<Entry<T>> entries;
+    final int fromStreamVersion;
+    final Outcome<StorageException, Result> outcome;
+    final RS snapshot;
+    final String streamName;
+    final long[] written;
+
+    PendingAppend(
+            final String streamName,
+            final int fromStreamVersion,
+            final List<Entry<T>> entries,
+            final RS snapshot,
+            final long[] written,
+            final Outcome<StorageException, Result> outcome,
+            final Consumer<Outcome<StorageException, Result>> answer) {
+      this.streamName = streamName;
+      this.fromStreamVersion = fromStreamVersion;
+      this.entries = entries;
+      this.snapshot = snapshot;
+      this.written = written;
+      this.outcome = outcome;
+      this.answer = answer;
+    }
+  }
+
+  private static <T> String getDispatchId(final String streamName, final int streamVersion, final Collection<Entry<T>> entries) {
+    return streamName + ":" + streamVersion + ":"
+            + entries.stream().map(Entry::id).collect(Collectors.joining(":"));
+  }
+}
@@ -0,0 +1,231 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.List;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+
+/**
+ * The {@code Journal<T>} actor of a {@code FileJournal<T>}, whose {@code JournalReader<T>}
+ * and {@code StreamReader<T>} are child actors reading the same segment files. When
+ * configured for group commits, any appends still pending once the group commit
+ * window elapses are committed together.
+ */
+public class FileJournalActor<T,RS extends State<?>> extends Actor implements Journal<T>, Scheduled<Object> {
+  private Cancellable commitWindow;
+  private final long commitWindowMillis;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final FileJournal<T,RS> journal;
+
+  public FileJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final FileJournalConfiguration configuration) {
+    this(dispatchers, configuration, 1000L, 1000L);
+  }
+
+  public FileJournalActor(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final FileJournalConfiguration configuration,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+    this.journal = new FileJournal<>(dispatchers, stage().world(), configuration, checkConfirmationExpirationInterval, confirmationExpiration);
+    this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+    this.commitWindowMillis = Math.max(1L, (configuration.groupCommitWindow + 999L) / 1000L);
+  }
+
+  /**
+   * Constructs my state such that my readers resume from their offsets in the {@code offsetStore}.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} of my journal
+   * @param configuration the FileJournalConfiguration of my journal
+   * @param offsetStore the OffsetStore from which my readers resume
+   * @param offsetCommitter the OffsetCommitter by which reader offsets are committed
+   */
+  public FileJournalActor(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final FileJournalConfiguration configuration,
+          final OffsetStore offsetStore,
+          final OffsetCommitter offsetCommitter) {
+    this(dispatchers, configuration, 1000L, 1000L, offsetStore, offsetCommitter);
+  }
+
+  /**
+   * Constructs my state such that my readers resume from their offsets in the {@code offsetStore}
+   * and dispatches are confirmed per {@code checkConfirmationExpirationInterval} and {@code confirmationExpiration}.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} of my journal
+   * @param configuration the FileJournalConfiguration of my journal
+   * @param checkConfirmationExpirationInterval the long interval at which unconfirmed dispatches are checked
+   * @param confirmationExpiration the long milliseconds after which an unconfirmed dispatch is redispatched
+   * @param offsetStore the OffsetStore from which my readers resume
+   * @param offsetCommitter the OffsetCommitter by which reader offsets are committed
+   */
+  public FileJournalActor(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final FileJournalConfiguration configuration,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final OffsetStore offsetStore,
+          final OffsetCommitter offsetCommitter) {
+    this(dispatchers, configuration, checkConfirmationExpirationInterval, confirmationExpiration);
+    journal.offsetsWith(offsetStore, offsetCommitter);
+  }
+
+  @Override
+  public <S,ST> void append(final String streamName, final int streamVersion, final Source<S> source, final AppendResultInterest interest, final Object object) {
+    journal.append(streamName, streamVersion, source, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    journal.append(streamName, streamVersion, source, metadata, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S,ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendWith(streamName, streamVersion, source, snapshot, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+          final AppendResultInterest interest, final Object object) {
+    journal.appendWith(streamName, streamVersion, source, metadata, snapshot, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S,ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final AppendResultInterest interest, final Object object) {
+    journal.appendAll(streamName, fromStreamVersion, sources, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    journal.appendAll(streamName, fromStreamVersion, sources, metadata, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S,ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendAllWith(streamName, fromStreamVersion, sources, snapshot, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
+          final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendAllWith(streamName, fromStreamVersion, sources, metadata, snapshot, interest, object);
+    commitWithinWindow();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
+    final JournalReader<ET> file = (JournalReader<ET>) journal.journalReader(name).outcome();
+    final JournalReader<ET> actor = childActorFor(JournalReader.class, Definition.has(FileJournalReaderActor.class, new FileJournalReaderInstantiator<>(file, entryAdapterProvider, journal.appendNotifier())));
+    return completes().with(actor);
+  }
+
+  @Override
+  public Completes<StreamReader<T>> streamReader(final String name) {
+    final StreamReader<T> file = journal.streamReader(name).outcome();
+    @SuppressWarnings("unchecked")
+    final StreamReader<T> actor = childActorFor(StreamReader.class, Definition.has(FileStreamReaderActor.class, new FileStreamReaderInstantiator<>(file)));
+    return completes().with(actor);
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    commitWindow = null;
+    journal.commit();
+  }
+
+  @Override
+  public void stop() {
+    if (commitWindow != null) {
+      commitWindow.cancel();
+    }
+    journal.stop();
+    super.stop();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void commitWithinWindow() {
+    if (commitWindow == null && journal.isCommitPending()) {
+      commitWindow = scheduler().scheduleOnce(selfAs(Scheduled.class), null, 0L, commitWindowMillis);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class FileJournalReaderInstantiator<T extends Entry<?>> implements ActorInstantiator<FileJournalReaderActor> {
+    private static final long serialVersionUID = 3285920186412794631L;
+
+    private final AppendNotifier appendNotifier;
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final JournalReader<T> file;
+
+    FileJournalReaderInstantiator(final JournalReader<T> file, final EntryAdapterProvider entryAdapterProvider, final AppendNotifier appendNotifier) {
+      this.file = file;
+      this.entryAdapterProvider = entryAdapterProvider;
+      this.appendNotifier = appendNotifier;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FileJournalReaderActor<T> instantiate() {
+      return new FileJournalReaderActor((FileJournalReader<T>) file, entryAdapterProvider, appendNotifier);
+    }
+
+    @Override
+    public Class<FileJournalReaderActor> type() {
+      return FileJournalReaderActor.class;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class FileStreamReaderInstantiator<T> implements ActorInstantiator<FileStreamReaderActor> {
+    private static final long serialVersionUID = -6071392184519436207L;
+
+    private final StreamReader<?> file;
+
+    FileStreamReaderInstantiator(final StreamReader<?> file) {
+      this.file = file;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FileStreamReaderActor<T> instantiate() {
+      return new FileStreamReaderActor((FileStreamReader<T>) file);
+    }
+
+    @Override
+    public Class<FileStreamReaderActor> type() {
+      return FileStreamReaderActor.class;
+    }
+  }
+}
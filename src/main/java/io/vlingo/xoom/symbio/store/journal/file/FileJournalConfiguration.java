@@ -0,0 +1,143 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+
+/**
+ * The configuration of a {@code FileJournal<T>}, naming the directory and
+ * segment files used to persist its entries and snapshots.
+ */
+public class FileJournalConfiguration {
+  /** The default size in bytes of each preallocated segment file. */
+  public static final int DefaultSegmentSize = 64 * 1024 * 1024;
+
+  /**
+   * The directory in which all segment files are placed.
+   */
+  public final File directory;
+
+  /**
+   * Whether or not each write is forced to the storage device before the
+   * append result is answered. When false the operating system flushes the
+   * mapped pages, which survives a process restart but not a host failure.
+   */
+  public final boolean forceOnWrite;
+
+  /**
+   * The maximum number of entries appended before a group commit, where
+   * {@code 1} commits every append as it is received.
+   */
+  public final int groupCommitEntries;
+
+  /**
+   * The maximum number of microseconds that appended entries await a group
+   * commit, which is unused when {@code groupCommitEntries} is {@code 1}.
+   */
+  public final long groupCommitWindow;
+
+  /**
+   * The name prefix of every segment file.
+   */
+  public final String name;
+
+  /**
+   * The size in bytes of every preallocated segment file.
+   */
+  public final int segmentSize;
+
+  /**
+   * Answer a new {@code FileJournalConfiguration} with default segment size and no forced writes.
+   * @param directory the String path of the directory of segment files
+   * @param name the String name prefix of segment files
+   * @return FileJournalConfiguration
+   */
+  public static FileJournalConfiguration defaultsWith(final String directory, final String name) {
+    return new FileJournalConfiguration(new File(directory), name, DefaultSegmentSize, false);
+  }
+
+  /**
+   * Answer a new {@code FileJournalConfiguration}.
+   * @param directory the String path of the directory of segment files
+   * @param name the String name prefix of segment files
+   * @param segmentSize the int size in bytes of each segment file
+   * @param forceOnWrite the boolean indicating whether writes are forced to the storage device
+   * @return FileJournalConfiguration
+   */
+  public static FileJournalConfiguration with(final String directory, final String name, final int segmentSize, final boolean forceOnWrite) {
+    return new FileJournalConfiguration(new File(directory), name, segmentSize, forceOnWrite);
+  }
+
+  /**
+   * Constructs my state without group commits.
+   * @param directory the File directory of segment files
+   * @param name the String name prefix of segment files
+   * @param segmentSize the int size in bytes of each segment file
+   * @param forceOnWrite the boolean indicating whether writes are forced to the storage device
+   */
+  public FileJournalConfiguration(final File directory, final String name, final int segmentSize, final boolean forceOnWrite) {
+    this(directory, name, segmentSize, forceOnWrite, 1, 0L);
+  }
+
+  /**
+   * Constructs my state.
+   * @param directory the File directory of segment files
+   * @param name the String name prefix of segment files
+   * @param segmentSize the int size in bytes of each segment file
+   * @param forceOnWrite the boolean indicating whether writes are forced to the storage device
+   * @param groupCommitEntries the int maximum number of entries appended before a group commit
+   * @param groupCommitWindow the long maximum number of microseconds that entries await a group commit
+   */
+  public FileJournalConfiguration(
+          final File directory,
+          final String name,
+          final int segmentSize,
+          final boolean forceOnWrite,
+          final int groupCommitEntries,
+          final long groupCommitWindow) {
+    if (directory == null) throw new IllegalArgumentException("Directory must not be null.");
+    if (name == null || name.isEmpty()) throw new IllegalArgumentException("Name must not be null or empty.");
+    if (segmentSize < 1024) throw new IllegalArgumentException("Segment size must be at least 1024 bytes.");
+    if (groupCommitEntries < 1) throw new IllegalArgumentException("Group commit entries must be at least 1.");
+    if (groupCommitEntries > 1 && groupCommitWindow <= 0) throw new IllegalArgumentException("Group commit window must be greater than 0.");
+
+    this.directory = directory;
+    this.name = name;
+    this.segmentSize = segmentSize;
+    this.forceOnWrite = forceOnWrite;
+    this.groupCommitEntries = groupCommitEntries;
+    this.groupCommitWindow = groupCommitWindow;
+  }
+
+  /**
+   * Answer a copy of me that coalesces appends into group commits of up to
+   * {@code maximumEntries} or those received within {@code windowMicroseconds},
+   * whichever is reached first.
+   * @param maximumEntries the int maximum number of entries appended before a group commit
+   * @param windowMicroseconds the long maximum number of microseconds that entries await a group commit
+   * @return FileJournalConfiguration
+   */
+  public FileJournalConfiguration withGroupCommit(final int maximumEntries, final long windowMicroseconds) {
+    return new FileJournalConfiguration(directory, name, segmentSize, forceOnWrite, maximumEntries, windowMicroseconds);
+  }
+
+  /**
+   * Answer whether or not appends are coalesced into group commits.
+   * @return boolean
+   */
+  public boolean isGroupCommit() {
+    return groupCommitEntries > 1;
+  }
+
+  @Override
+  public String toString() {
+    return "FileJournalConfiguration[directory=" + directory + " name=" + name +
+            " segmentSize=" + segmentSize + " forceOnWrite=" + forceOnWrite +
+            " groupCommitEntries=" + groupCommitEntries + " groupCommitWindow=" + groupCommitWindow + "]";
+  }
+}
@@ -0,0 +1,140 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+
+/**
+ * A {@code JournalReader<T>} over the published entries of a {@code FileJournal<T>},
+ * where entry ids are their one-based journal positions so that any
+ * id is sought directly rather than by scanning.
+ */
+public class FileJournalReader<T extends Entry<?>> implements JournalReader<T> {
+  private int currentIndex;
+  private final SegmentedLog log;
+  private final String name;
+  private final Position position;
+  private final PositionIndex positions;
+
+  FileJournalReader(final SegmentedLog log, final PositionIndex positions, final Position position, final String name) {
+    this.log = log;
+    this.positions = positions;
+    this.position = position;
+    this.name = name;
+    this.currentIndex = position.get(); // resumes from a committed offset, if any
+  }
+
+  @Override
+  public void close() {
+    // the segments are owned and closed by the FileJournal
+  }
+
+  @Override
+  public Completes<String> name() {
+    return Completes.withSuccess(name);
+  }
+
+  @Override
+  public Completes<T> readNext() {
+    if (currentIndex < positions.size()) {
+      final T entry = entryAt(currentIndex++);
+      position.set(currentIndex);
+      return Completes.withSuccess(entry);
+    }
+    return Completes.withSuccess(null);
+  }
+
+  @Override
+  public Completes<T> readNext(final String fromId) {
+    seekTo(fromId);
+    return readNext();
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final int maximumEntries) {
+    final int available = Math.min(maximumEntries, positions.size() - currentIndex);
+    final List<T> entries = new ArrayList<>(Math.max(available, 0));
+    for (int count = 0; count < available; ++count) {
+      entries.add(entryAt(currentIndex++));
+    }
+    position.set(currentIndex);
+    return Completes.withSuccess(entries);
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
+    seekTo(fromId);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public void rewind() {
+    currentIndex = 0;
+    position.set(currentIndex);
+  }
+
+  @Override
+  public Completes<String> seekTo(final String id) {
+    switch (id) {
+    case Beginning:
+      rewind();
+      break;
+    case End:
+      currentIndex = positions.size();
+      break;
+    case Query:
+      break;
+    default:
+      to(id);
+      break;
+    }
+
+    position.set(currentIndex);
+
+    return Completes.withSuccess(readCurrentId());
+  }
+
+  @Override
+  public Completes<Long> size() {
+    return Completes.withSuccess((long) positions.size());
+  }
+
+  @Override
+  public Completes<Stream> streamAll() {
+    return null; // provided by FileJournalReaderActor
+  }
+
+  @SuppressWarnings("unchecked")
+  private T entryAt(final int index) {
+    return (T) RecordCodec.decodeEntry("" + (index + 1), log.read(positions.get(index)));
+  }
+
+  private String readCurrentId() {
+    if (currentIndex < positions.size()) {
+      return "" + (currentIndex + 1);
+    }
+    return "-1";
+  }
+
+  private void to(final String id) {
+    final int size = positions.size();
+    try {
+      final int index = Integer.parseInt(id) - 1;
+      currentIndex = index >= 0 && index < size ? index : size;
+    } catch (final NumberFormatException e) {
+      currentIndex = size;
+    }
+  }
+}
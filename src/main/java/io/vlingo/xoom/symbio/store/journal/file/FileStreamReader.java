@@ -0,0 +1,81 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamEntries;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+/**
+ * A {@code StreamReader<T>} over the published entries and snapshots of a {@code FileJournal<T>}.
+ */
+public class FileStreamReader<T> implements StreamReader<T> {
+  private final SegmentedLog log;
+  private final String name;
+  private final PositionIndex positions;
+  private final Map<String, State<T>> snapshotsView;
+  private final Map<String,StreamIndex> streamIndexesView;
+
+  FileStreamReader(
+          final SegmentedLog log,
+          final PositionIndex positions,
+          final Map<String,StreamIndex> streamIndexesView,
+          final Map<String, State<T>> snapshotsView,
+          final String name) {
+
+    this.log = log;
+    this.positions = positions;
+    this.streamIndexesView = streamIndexesView;
+    this.snapshotsView = snapshotsView;
+    this.name = name;
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName) {
+    return streamFor(streamName, 1);
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
+    int version = fromStreamVersion;
+    State<T> snapshot = snapshotsView.get(streamName);
+    if (snapshot != null) {
+      if (snapshot.dataVersion > version) {
+        version = snapshot.dataVersion;
+      } else {
+        snapshot = null; // reading from beyond snapshot
+      }
+    }
+    final StreamIndex versionIndexes = streamIndexesView.get(streamName);
+    final int count = versionIndexes == null ? 0 : versionIndexes.countFrom(version);
+    final List<BaseEntry<T>> entries =
+            count == 0 ?
+                    Collections.emptyList() :
+                    new StreamEntries<>(this::entryAt, versionIndexes, version, count);
+
+    return Completes.withSuccess(new EntityStream<>(streamName, version + count - 1, entries, snapshot));
+  }
+
+  String name() {
+    return name;
+  }
+
+  private BaseEntry<T> entryAt(final int journalIndex) {
+    final Entry<T> entry = RecordCodec.decodeEntry("" + (journalIndex + 1), log.read(positions.get(journalIndex)));
+    return (BaseEntry<T>) entry;
+  }
+}
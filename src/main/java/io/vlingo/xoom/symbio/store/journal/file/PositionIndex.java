@@ -0,0 +1,59 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.Arrays;
+
+/**
+ * The log position of every entry in journal order, where the entry
+ * with id {@code n} is found at index {@code n - 1}. Positions are added
+ * by a single writer and are visible to concurrent readers only once
+ * the {@code size()} that includes them has been published.
+ */
+final class PositionIndex {
+  private volatile long[] positions;
+  private volatile int size;
+
+  PositionIndex() {
+    this.positions = new long[1024];
+    this.size = 0;
+  }
+
+  /**
+   * Adds and publishes the {@code position} as the next entry.
+   * @param position the long log position of the entry
+   */
+  void add(final long position) {
+    final int index = size;
+    long[] current = positions;
+    if (index == current.length) {
+      current = Arrays.copyOf(current, current.length * 2);
+      positions = current;
+    }
+    current[index] = position;
+    size = index + 1;
+  }
+
+  /**
+   * Answer the log position of the entry at {@code index}, which
+   * must be less than a previously answered {@code size()}.
+   * @param index the int index of the entry
+   * @return long
+   */
+  long get(final int index) {
+    return positions[index];
+  }
+
+  /**
+   * Answer the number of published positions.
+   * @return int
+   */
+  int size() {
+    return size;
+  }
+}
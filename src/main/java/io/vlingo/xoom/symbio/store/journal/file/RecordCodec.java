@@ -0,0 +1,234 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.xoom.symbio.BaseEntry.BinaryEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.State.BinaryState;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.StoredTypes;
+
+/**
+ * Encodes and decodes the bodies of {@code Entry<T>} and snapshot {@code State<T>}
+ * records. Both record kinds begin with the kind, stream name, and stream version
+ * so that recovery may index them without decoding the remainder. Only
+ * {@code String} and {@code byte[]} data are supported.
+ */
+final class RecordCodec {
+  static final byte EntryKind = 1;
+  static final byte SnapshotKind = 2;
+
+  private static final byte TextData = 1;
+  private static final byte BinaryData = 2;
+
+  private ByteBuffer buffer;
+
+  RecordCodec() {
+    this.buffer = ByteBuffer.allocate(4096);
+  }
+
+  /**
+   * Answer my reusable buffer holding the encoded {@code entry}, which
+   * is valid only until my next encoding.
+   * @param streamName the String name of the entry's stream
+   * @param streamVersion the int version of the entry within its stream
+   * @param entry the {@code Entry<?>} to encode
+   * @return ByteBuffer
+   */
+  ByteBuffer encodeEntry(final String streamName, final int streamVersion, final Entry<?> entry) {
+    buffer.clear();
+    buffer.put(EntryKind);
+    putString(streamName);
+    putInt(streamVersion);
+    putString(entry.typeName());
+    putInt(entry.typeVersion());
+    putInt(entry.entryVersion());
+    putMetadata(entry.metadata());
+    putData(entry.entryData());
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Answer my reusable buffer holding the encoded {@code snapshot}, which
+   * is valid only until my next encoding.
+   * @param streamName the String name of the snapshot's stream
+   * @param snapshot the {@code State<?>} to encode
+   * @return ByteBuffer
+   */
+  ByteBuffer encodeSnapshot(final String streamName, final State<?> snapshot) {
+    buffer.clear();
+    buffer.put(SnapshotKind);
+    putString(streamName);
+    putInt(snapshot.dataVersion);
+    putString(snapshot.id);
+    putString(snapshot.type);
+    putInt(snapshot.typeVersion);
+    putMetadata(snapshot.metadata);
+    putData(snapshot.data);
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Answer the kind of the record {@code body} and advance past it.
+   * @param body the ByteBuffer of the record body
+   * @return byte
+   */
+  static byte kindOf(final ByteBuffer body) {
+    return body.get();
+  }
+
+  /**
+   * Answer the String at the current position of {@code body} and advance past it.
+   * @param body the ByteBuffer of the record body
+   * @return String
+   */
+  static String stringOf(final ByteBuffer body) {
+    final int length = body.getInt();
+    if (length == 0) return "";
+    final byte[] bytes = new byte[length];
+    body.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Answer the {@code Entry<T>} with {@code id} decoded from the whole record {@code body}.
+   * @param id the String id to assign the entry
+   * @param body the ByteBuffer of the record body
+   * @param <T> the type of the entry data
+   * @return {@code Entry<T>}
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Entry<T> decodeEntry(final String id, final ByteBuffer body) {
+    kindOf(body);
+    stringOf(body);   // stream name
+    body.getInt();    // stream version
+    final Class<?> type = typeOf(stringOf(body));
+    final int typeVersion = body.getInt();
+    final int entryVersion = body.getInt();
+    final Metadata metadata = metadataOf(body);
+    final byte dataKind = body.get();
+    final byte[] data = bytesOf(body);
+
+    if (dataKind == TextData) {
+      return (Entry<T>) new TextEntry(id, type, typeVersion, new String(data, StandardCharsets.UTF_8), entryVersion, metadata);
+    }
+    return (Entry<T>) new BinaryEntry(id, type, typeVersion, data, entryVersion, metadata);
+  }
+
+  /**
+   * Answer the snapshot {@code State<?>} decoded from the whole record {@code body}.
+   * @param body the ByteBuffer of the record body
+   * @param <RS> the raw snapshot state type
+   * @return RS
+   */
+  @SuppressWarnings("unchecked")
+  static <RS extends State<?>> RS decodeSnapshot(final ByteBuffer body) {
+    kindOf(body);
+    stringOf(body);   // stream name
+    final int dataVersion = body.getInt();
+    final String id = stringOf(body);
+    final Class<?> type = typeOf(stringOf(body));
+    final int typeVersion = body.getInt();
+    final Metadata metadata = metadataOf(body);
+    final byte dataKind = body.get();
+    final byte[] data = bytesOf(body);
+
+    if (dataKind == TextData) {
+      return (RS) new TextState(id, type, typeVersion, new String(data, StandardCharsets.UTF_8), dataVersion, metadata);
+    }
+    return (RS) new BinaryState(id, type, typeVersion, data, dataVersion, metadata);
+  }
+
+  private static byte[] bytesOf(final ByteBuffer body) {
+    final byte[] bytes = new byte[body.getInt()];
+    body.get(bytes);
+    return bytes;
+  }
+
+  private static Metadata metadataOf(final ByteBuffer body) {
+    final String value = stringOf(body);
+    final String operation = stringOf(body);
+    final int count = body.getInt();
+    if (count == 0) {
+      return Metadata.with(value, operation);
+    }
+    final Map<String, String> properties = new HashMap<>(count);
+    for (int index = 0; index < count; ++index) {
+      properties.put(stringOf(body), stringOf(body));
+    }
+    return Metadata.with(properties, value, operation);
+  }
+
+  private static Class<?> typeOf(final String typeName) {
+    try {
+      return StoredTypes.forName(typeName);
+    } catch (final ClassNotFoundException e) {
+      throw new StorageException(Result.Error, "Unknown journal record type: " + typeName, e);
+    }
+  }
+
+  private void ensure(final int length) {
+    if (buffer.remaining() < length) {
+      final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+      buffer.flip();
+      grown.put(buffer);
+      buffer = grown;
+    }
+  }
+
+  private void putBytes(final byte[] bytes) {
+    ensure(4 + bytes.length);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private void putData(final Object data) {
+    ensure(1);
+    if (data instanceof String) {
+      buffer.put(TextData);
+      putBytes(((String) data).getBytes(StandardCharsets.UTF_8));
+    } else if (data instanceof byte[]) {
+      buffer.put(BinaryData);
+      putBytes((byte[]) data);
+    } else {
+      throw new StorageException(Result.Error, "Unsupported journal data type: " + (data == null ? "null" : data.getClass().getName()));
+    }
+  }
+
+  private void putInt(final int value) {
+    ensure(4);
+    buffer.putInt(value);
+  }
+
+  private void putMetadata(final Metadata metadata) {
+    final Metadata actual = metadata == null ? Metadata.nullMetadata() : metadata;
+    putString(actual.value);
+    putString(actual.operation);
+    putInt(actual.properties.size());
+    for (final Map.Entry<String, String> property : actual.properties.entrySet()) {
+      putString(property.getKey());
+      putString(property.getValue());
+    }
+  }
+
+  private void putString(final String value) {
+    putBytes(value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8));
+  }
+}
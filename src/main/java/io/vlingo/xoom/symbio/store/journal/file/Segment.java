@@ -0,0 +1,170 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * A single preallocated and memory-mapped segment file. Each record is
+ * written as an {@code int} body length, an {@code int} CRC32 of the body,
+ * and the body itself. A zero length marks the end of written records.
+ */
+final class Segment {
+  static final int HeaderSize = 8;
+
+  final File file;
+  final int number;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer mapped;
+  private final ByteBuffer writer;
+  private int writePosition;
+
+  static Segment open(final File file, final int number, final int size) throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    if (raf.length() < size) {
+      raf.setLength(size);
+    }
+    return new Segment(file, number, raf.getChannel());
+  }
+
+  boolean hasRoomFor(final int bodyLength) {
+    return writePosition + HeaderSize + bodyLength <= mapped.capacity();
+  }
+
+  int capacity() {
+    return mapped.capacity();
+  }
+
+  int writePosition() {
+    return writePosition;
+  }
+
+  /**
+   * Answer the offset at which the {@code body} was written.
+   * @param body the ByteBuffer of the record body, from position to limit
+   * @param crc the CRC32 used to compute the body checksum
+   * @return int
+   */
+  int write(final ByteBuffer body, final CRC32 crc) {
+    final int offset = writePosition;
+    final int length = body.remaining();
+
+    crc.reset();
+    crc.update(body.duplicate());
+
+    writer.position(offset + HeaderSize);
+    writer.put(body);
+
+    writePosition = offset + HeaderSize + length;
+
+    if (writePosition + HeaderSize <= mapped.capacity()) {
+      writer.putInt(writePosition, 0); // ends the records should stale bytes follow a truncation
+    }
+    writer.putInt(offset + 4, (int) crc.getValue());
+    writer.putInt(offset, length); // written last; a torn write is also caught by the checksum
+
+    return offset;
+  }
+
+  /**
+   * Answer a new view over the body of the record at {@code offset}.
+   * @param offset the int offset of the record header
+   * @return ByteBuffer
+   */
+  ByteBuffer read(final int offset) {
+    final ByteBuffer view = mapped.duplicate();
+    final int length = view.getInt(offset);
+    view.limit(offset + HeaderSize + length);
+    view.position(offset + HeaderSize);
+    return view;
+  }
+
+  /**
+   * Scans all valid records from the beginning, answering each to
+   * the {@code visitor}, and positions writes following the last.
+   * Answer whether the records ended cleanly, at a zero length or the
+   * end of the segment, rather than at a torn or corrupted record.
+   * @param visitor the RecordVisitor to receive each record
+   * @param crc the CRC32 used to validate each record body
+   * @return boolean
+   */
+  boolean recover(final RecordVisitor visitor, final CRC32 crc) {
+    final ByteBuffer view = mapped.duplicate();
+    int offset = 0;
+    boolean intact = true;
+
+    while (offset + HeaderSize <= view.capacity()) {
+      final int length = view.getInt(offset);
+      if (length == 0) {
+        break;
+      }
+      if (length < 0 || offset + HeaderSize + length > view.capacity()) {
+        intact = false;
+        break;
+      }
+      final int expected = view.getInt(offset + 4);
+      final ByteBuffer body = read(offset);
+      crc.reset();
+      crc.update(body.duplicate());
+      if ((int) crc.getValue() != expected) {
+        intact = false;
+        break;
+      }
+      visitor.visit(number, offset, body);
+      offset += HeaderSize + length;
+    }
+
+    truncateTo(offset);
+
+    return intact;
+  }
+
+  /**
+   * Discards all records at and following {@code offset}.
+   * @param offset the int offset to which writes are repositioned
+   */
+  void truncateTo(final int offset) {
+    writePosition = offset;
+    if (offset + HeaderSize <= mapped.capacity()) {
+      writer.putInt(offset, 0);
+    }
+  }
+
+  void force() {
+    mapped.force();
+  }
+
+  void close() throws IOException {
+    mapped.force();
+    channel.close();
+  }
+
+  private Segment(final File file, final int number, final FileChannel channel) throws IOException {
+    this.file = file;
+    this.number = number;
+    this.channel = channel;
+    this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    this.writer = mapped.duplicate();
+    this.writePosition = 0;
+  }
+
+  /**
+   * Receives each record found while recovering a {@code Segment}.
+   */
+  @FunctionalInterface
+  interface RecordVisitor {
+    void visit(final int segment, final int offset, final ByteBuffer body);
+  }
+}
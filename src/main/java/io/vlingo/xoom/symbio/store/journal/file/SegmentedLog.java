@@ -0,0 +1,183 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.journal.file.Segment.RecordVisitor;
+
+/**
+ * An append-only log of records spread over numbered {@code Segment} files
+ * that roll over when the current segment is full. Every record is located
+ * by a {@code long} position holding its segment number in the high
+ * {@code int} and its offset within that segment in the low {@code int}.
+ * Appends must be performed by a single writer, while any number of
+ * readers may concurrently {@code read(position)} published positions.
+ */
+final class SegmentedLog {
+  private final FileJournalConfiguration configuration;
+  private final CRC32 crc;
+  private Segment current;
+  private final List<Segment> segments;
+
+  static long positionOf(final int segment, final int offset) {
+    return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  static int segmentOf(final long position) {
+    return (int) (position >>> 32);
+  }
+
+  static int offsetOf(final long position) {
+    return (int) position;
+  }
+
+  SegmentedLog(final FileJournalConfiguration configuration) {
+    this.configuration = configuration;
+    this.crc = new CRC32();
+    this.segments = new CopyOnWriteArrayList<>();
+
+    if (!configuration.directory.exists() && !configuration.directory.mkdirs()) {
+      throw new StorageException(Result.Error, "Cannot create journal directory: " + configuration.directory);
+    }
+  }
+
+  /**
+   * Opens all existing segments in order, answering each valid record to
+   * the {@code visitor}, and prepares for appending following the last.
+   * Recovery stops at the first torn or corrupted record, and all segments
+   * following the one holding it are deleted, because records are identified
+   * by their order of recovery and so none may follow a hole in the log.
+   * @param visitor the RecordVisitor to receive each record
+   */
+  void recover(final RecordVisitor visitor) {
+    try {
+      int number = 0;
+      File file = fileOf(number);
+      while (file.exists()) {
+        final Segment segment = Segment.open(file, number, configuration.segmentSize);
+        segments.add(segment);
+        file = fileOf(++number);
+        if (!segment.recover(visitor, crc)) {
+          deleteFrom(number);
+          break;
+        }
+      }
+      if (segments.isEmpty()) {
+        segments.add(Segment.open(fileOf(0), 0, configuration.segmentSize));
+      }
+      current = segments.get(segments.size() - 1);
+    } catch (final IOException e) {
+      throw new StorageException(Result.Error, "Cannot open journal segments: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Answer the position of the appended record {@code body}, which
+   * is read from its position to its limit.
+   * @param body the ByteBuffer of the record body
+   * @return long
+   */
+  long append(final ByteBuffer body) {
+    final int length = body.remaining();
+
+    if (!current.hasRoomFor(length)) {
+      if (Segment.HeaderSize + length > configuration.segmentSize) {
+        throw new StorageException(Result.Error, "Record of " + length + " bytes exceeds segment size: " + configuration.segmentSize);
+      }
+      rollOver();
+    }
+
+    final int offset = current.write(body, crc);
+
+    return positionOf(current.number, offset);
+  }
+
+  /**
+   * Answer the position at which the next record will be appended,
+   * which may be used to {@code truncateTo(mark)}.
+   * @return long
+   */
+  long mark() {
+    return positionOf(current.number, current.writePosition());
+  }
+
+  /**
+   * Discards all records appended at and following the {@code mark}.
+   * @param mark the long position previously answered by {@code mark()}
+   */
+  void truncateTo(final long mark) {
+    final int segment = segmentOf(mark);
+
+    while (current.number > segment) {
+      final Segment discarded = segments.remove(segments.size() - 1);
+      close(discarded);
+      discarded.file.delete();
+      current = segments.get(segments.size() - 1);
+    }
+
+    current.truncateTo(offsetOf(mark));
+  }
+
+  /**
+   * Answer a view over the body of the record at {@code position}.
+   * @param position the long position of the record
+   * @return ByteBuffer
+   */
+  ByteBuffer read(final long position) {
+    return segments.get(segmentOf(position)).read(offsetOf(position));
+  }
+
+  void force() {
+    current.force();
+  }
+
+  void close() {
+    for (final Segment segment : segments) {
+      close(segment);
+    }
+  }
+
+  private void close(final Segment segment) {
+    try {
+      segment.close();
+    } catch (final IOException e) {
+      // ignore; the mapped pages are flushed by the operating system
+    }
+  }
+
+  private void deleteFrom(final int first) {
+    for (int number = first; fileOf(number).exists(); ++number) {
+      if (!fileOf(number).delete()) {
+        throw new StorageException(Result.Error, "Cannot delete journal segment following a corrupted record: " + fileOf(number));
+      }
+    }
+  }
+
+  private File fileOf(final int number) {
+    return new File(configuration.directory, String.format("%s-%010d.journal", configuration.name, number));
+  }
+
+  private void rollOver() {
+    current.force();
+    try {
+      final Segment next = Segment.open(fileOf(current.number + 1), current.number + 1, configuration.segmentSize);
+      segments.add(next);
+      current = next;
+    } catch (final IOException e) {
+      throw new StorageException(Result.Error, "Cannot roll over journal segment: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The global order of the entries of all partitions of a {@code PartitioningJournal<T>}.
+ * Each partition reserves the next global position of an entry before appending it,
+ * and then publishes the partition and partition index at which it was appended.
+ * Readers see positions in reserved order, and only once published, and so never
+ * read ahead of an entry that is not yet fully appended. Reserving is lock-free
+ * other than for the first reservation within each chunk of positions.
+ */
+final class GlobalJournalSequence {
+  static final long Unpublished = 0L;
+
+  private static final int ChunkShift = 10;
+  private static final int ChunkSize = 1 << ChunkShift;
+  private static final int ChunkMask = ChunkSize - 1;
+
+  private volatile AtomicLongArray[] chunks;
+  private final AtomicInteger reserved;
+
+  static int partitionOf(final long location) {
+    return (int) ((location - 1L) >>> 32);
+  }
+
+  static int partitionIndexOf(final long location) {
+    return (int) (location - 1L);
+  }
+
+  GlobalJournalSequence() {
+    this.chunks = new AtomicLongArray[8];
+    this.reserved = new AtomicInteger(0);
+  }
+
+  /**
+   * Answer the location of the entry at the {@code global} position, which is
+   * {@code Unpublished} if its partition has not yet published it.
+   * @param global the int global position
+   * @return long
+   */
+  long locationAt(final int global) {
+    if (global < 0 || global >= reserved.get()) return Unpublished;
+    final AtomicLongArray[] current = chunks;
+    final int chunk = global >>> ChunkShift;
+    if (chunk >= current.length || current[chunk] == null) return Unpublished; // reserved but its chunk not yet added
+    return current[chunk].get(global & ChunkMask);
+  }
+
+  void publish(final int global, final int partition, final int partitionIndex) {
+    final long location = ((long) partition << 32 | (partitionIndex & 0xFFFFFFFFL)) + 1L;
+    chunks[global >>> ChunkShift].set(global & ChunkMask, location);
+  }
+
+  int reserved() {
+    return reserved.get();
+  }
+
+  int reserve() {
+    final int global = reserved.getAndIncrement();
+    final int chunk = global >>> ChunkShift;
+
+    final AtomicLongArray[] current = chunks;
+    if (chunk >= current.length || current[chunk] == null) {
+      addChunk(chunk);
+    }
+
+    return global;
+  }
+
+  private synchronized void addChunk(final int chunk) {
+    AtomicLongArray[] current = chunks;
+    if (chunk >= current.length) {
+      current = Arrays.copyOf(current, Math.max(current.length * 2, chunk + 1));
+    }
+    if (current[chunk] == null) {
+      current[chunk] = new AtomicLongArray(ChunkSize);
+    }
+    chunks = current; // publishes the chunk
+  }
+}
@@ -16,10 +16,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.common.Completes;
@@ -31,57 +33,128 @@ import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryFilter;
+import io.vlingo.xoom.symbio.store.EntryReader;
+import io.vlingo.xoom.symbio.store.PartitionedEntryReader;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
 import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.EntryPartitions;
+import io.vlingo.xoom.symbio.store.journal.EntryTypeIndex;
 import io.vlingo.xoom.symbio.store.journal.Journal;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.SnapshotBuilder;
+import io.vlingo.xoom.symbio.store.journal.SnapshotPolicy;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
 import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
 
 public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stoppable {
+  private final AppendNotifier appendNotifier;
   private final EntryAdapterProvider entryAdapterProvider;
   private final StateAdapterProvider stateAdapterProvider;
-  private final List<Entry<T>> journal;
+  private final Map<Integer,EntryPartitions> entryPartitions;
+  private EntryTypeIndex entryTypes;
+  private final Map<String,InMemoryJournalFilteredReader<? extends Entry<?>>> filteredReaders;
+  private final AppendOnlyLog<Entry<T>> journal;
   private final Map<String,JournalReader<? extends Entry<?>>> journalReaders;
+  private final Map<String,PartitionedEntryReader<? extends Entry<?>>> partitionedReaders;
+  private int nextCompaction;
+  private final ReaderPositions readerPositions;
+  private RetentionPolicy retentionPolicy;
   private final Map<String,StreamReader<T>> streamReaders;
-  private final Map<String, Map<Integer,Integer>> streamIndexes;
+  private final Map<String,StreamIndex> streamIndexes;
   private final Map<String,RS> snapshots;
+  private SnapshotBuilder<T> snapshotBuilder;
+  private SnapshotPolicy snapshotPolicy;
+  private final Map<String,SnapshotProgress> snapshotProgress;
+  private InMemoryStreamReader<T> snapshotReader;
+  private Snapshotter snapshotter;
   private final List<Dispatchable<Entry<T>, RS>> dispatchables;
   private final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers;
   private final DispatcherControl dispatcherControl;
+  private final int partition;
+  private final GlobalJournalSequence sequence;
+  private final Stage stage;
 
-  @SuppressWarnings({ "rawtypes", "unchecked" })
   public InMemoryJournal(
           final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
           final World world,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration) {
 
+    this(dispatchers, world, new CopyOnWriteArrayList<>(), checkConfirmationExpirationInterval, confirmationExpiration);
+  }
+
+  /**
+   * Constructs my state as one partition of a {@code PartitioningJournal<T>}, sharing the
+   * {@code dispatchables} and {@code dispatcherControl} of all partitions, and assigning
+   * the ids of my entries by their global position within the {@code sequence}.
+   */
+  InMemoryJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final List<Dispatchable<Entry<T>, RS>> dispatchables,
+          final DispatcherControl dispatcherControl,
+          final GlobalJournalSequence sequence,
+          final int partition) {
+
+    this.appendNotifier = new AppendNotifier();
     this.entryAdapterProvider = EntryAdapterProvider.instance(world);
     this.stateAdapterProvider = StateAdapterProvider.instance(world);
-    this.journal = new ArrayList<>();
+    this.journal = new AppendOnlyLog<>();
     this.journalReaders = new HashMap<>(1);
+    this.entryPartitions = new HashMap<>(1);
+    this.filteredReaders = new HashMap<>(1);
+    this.partitionedReaders = new HashMap<>(1);
     this.streamReaders = new HashMap<>(1);
-    this.streamIndexes = new HashMap<>();
-    this.snapshots = new HashMap<>();
+    this.streamIndexes = new ConcurrentHashMap<>();
+    this.snapshots = new ConcurrentHashMap<>();
+    this.readerPositions = new ReaderPositions(journal::size);
+    this.readerPositions.metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(world));
+    this.retentionPolicy = RetentionPolicy.unbounded();
+    this.nextCompaction = AppendOnlyLog.ChunkSize;
+    this.snapshotPolicy = SnapshotPolicy.never();
+    this.snapshotProgress = new HashMap<>();
+    this.sequence = sequence;
+    this.partition = partition;
+    this.stage = world.stage();
 
     this.dispatchers = dispatchers;
-    this.dispatchables = new CopyOnWriteArrayList<>();
-    final InMemoryDispatcherControlDelegate<Entry<T>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+    this.dispatchables = dispatchables;
+    this.dispatcherControl = dispatcherControl;
+  }
 
-    this.dispatcherControl = world.stage().actorFor(
-            DispatcherControl.class,
-            Definition.has(
-                    DispatcherControlActor.class,
-                    new DispatcherControlInstantiator(
-                            dispatchers,
-                            dispatcherControlDelegate,
-                            checkConfirmationExpirationInterval,
-                            confirmationExpiration)));
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private InMemoryJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final List<Dispatchable<Entry<T>, RS>> dispatchables,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+
+    this(dispatchers, world, dispatchables,
+            world.stage().actorFor(
+                    DispatcherControl.class,
+                    Definition.has(
+                            DispatcherControlActor.class,
+                            new DispatcherControlInstantiator(
+                                    dispatchers,
+                                    new InMemoryDispatcherControlDelegate<>(dispatchables),
+                                    checkConfirmationExpirationInterval,
+                                    confirmationExpiration))),
+            null, 0);
   }
 
   public InMemoryJournal(final Dispatcher<Dispatchable<Entry<T>, RS>> dispatcher, final World world ) {
@@ -97,8 +170,11 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
           final AppendResultInterest interest, final Object object) {
     final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
     insert(streamName, streamVersion, entry);
-    dispatch(streamName, streamVersion, Collections.singletonList(entry), null);
+    final List<Entry<T>> entries = Collections.singletonList(entry);
+    dispatch(streamName, streamVersion, entries, null);
     interest.appendResultedIn(Success.of(Result.Success), streamName, streamVersion, source, Optional.empty(), object);
+    snapshotWhenDue(streamName, entries, false);
+    compactWhenDue();
   }
 
   @Override
@@ -117,8 +193,11 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
       snapshotResult = Optional.empty();
     }
 
-    dispatch(streamName, streamVersion, Collections.singletonList(entry), raw);
+    final List<Entry<T>> entries = Collections.singletonList(entry);
+    dispatch(streamName, streamVersion, entries, raw);
     interest.appendResultedIn(Success.of(Result.Success), streamName, streamVersion, source, snapshotResult, object);
+    snapshotWhenDue(streamName, entries, raw != null);
+    compactWhenDue();
   }
 
 
@@ -130,6 +209,8 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
 
     dispatch(streamName, fromStreamVersion, entries, null);
     interest.appendAllResultedIn(Success.of(Result.Success), streamName, fromStreamVersion, sources, Optional.empty(), object);
+    snapshotWhenDue(streamName, entries, false);
+    compactWhenDue();
   }
 
 
@@ -151,19 +232,46 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
 
     dispatch(streamName, fromStreamVersion, entries, raw);
     interest.appendAllResultedIn(Success.of(Result.Success), streamName, fromStreamVersion, sources, snapshotResult, object);
+    snapshotWhenDue(streamName, entries, raw != null);
+    compactWhenDue();
   }
 
   @Override
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
     JournalReader<?> reader = journalReaders.get(name);
-    if (reader == null) {
-      reader = new InMemoryJournalReader(journal, name);
+    if (reader == null || !readerPositions.has(name)) { // a closed reader is replaced, resuming from its offset
+      reader = new InMemoryJournalReader(journal, name, readerPositions.of(name));
       journalReaders.put(name, reader);
     }
     return Completes.withSuccess((JournalReader<ET>) reader);
   }
 
+  /**
+   * Answer the {@code JournalReader<ET>} named {@code name} of only my entries selected by
+   * {@code filter}. My entries are indexed by type when a filtered reader is first requested,
+   * and then as entries are appended, so that a reader whose {@code filter} is restricted to
+   * types visits only the entries of those types.
+   * @param name the String name of the reader
+   * @param filter the EntryFilter selecting the entries read
+   * @param <ET> the concrete type of {@code Entry<?>} read
+   * @return {@code Completes<JournalReader<ET>>}
+   */
+  @Override
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name, final EntryFilter filter) {
+    InMemoryJournalFilteredReader<?> reader = filteredReaders.get(name);
+    final String positionName = InMemoryJournalFilteredReader.positionNameOf(name);
+    if (reader == null || !reader.filter().equals(filter) || !readerPositions.has(positionName)) {
+      if (entryTypes == null) {
+        entryTypes = indexTypes();
+      }
+      reader = new InMemoryJournalFilteredReader(journal, entryTypes, filter, readerPositions.of(positionName), name);
+      filteredReaders.put(name, reader);
+    }
+    return Completes.withSuccess((JournalReader<ET>) reader);
+  }
+
   @Override
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public Completes<StreamReader<T>> streamReader(final String name) {
@@ -175,6 +283,118 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
     return Completes.withSuccess(reader);
   }
 
+  /**
+   * Answer the {@code PartitionedEntryReader<ET>} named {@code name} of my entries split
+   * into {@code totalPartitions} by stream name. The partitions of each total are indexed
+   * from my existing entries when first requested, and then as entries are appended.
+   * @param name the String name of the reader
+   * @param totalPartitions the int number of partitions, which must be at least 1
+   * @param <ET> the concrete type of {@code Entry<?>} read
+   * @return {@code Completes<PartitionedEntryReader<ET>>}
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public <ET extends Entry<?>> Completes<PartitionedEntryReader<ET>> partitionedReader(final String name, final int totalPartitions) {
+    PartitionedEntryReader<?> reader = partitionedReaders.get(name);
+    if (reader == null || reader.totalPartitions() != totalPartitions) {
+      if (reader != null) {
+        releasePartitioned(reader);
+      }
+      final EntryPartitions partitions = entryPartitions.computeIfAbsent(totalPartitions, this::indexPartitions);
+      final List<EntryReader<ET>> readers = new ArrayList<>(totalPartitions);
+      for (int idx = 0; idx < totalPartitions; ++idx) {
+        final String partitionName = PartitionedEntryReader.partitionReaderName(name, idx);
+        readers.add(new InMemoryJournalPartitionReader(journal, partitions, idx, readerPositions.of(partitionName), partitionName));
+      }
+      reader = new PartitionedEntryReader<>(name, readers, stage, entryAdapterProvider, appendNotifier);
+      partitionedReaders.put(name, reader);
+    }
+    return Completes.withSuccess((PartitionedEntryReader<ET>) reader);
+  }
+
+  /**
+   * Answer my read-only view of all my entries.
+   * @return {@code List<Entry<T>>}
+   */
+  List<Entry<T>> entriesView() {
+    return journal;
+  }
+
+  /**
+   * Answer my AppendNotifier, which tells its listeners of my appended entries.
+   * @return AppendNotifier
+   */
+  public AppendNotifier appendNotifier() {
+    return appendNotifier;
+  }
+
+  /**
+   * Retains my entries according to the {@code policy}, evicting those no longer
+   * retained each time another {@code AppendOnlyLog.ChunkSize} entries are appended.
+   * Readers positioned before evicted entries continue with the first retained, and
+   * streams answer entries only from their first retained version.
+   * @param policy the RetentionPolicy of my entries
+   */
+  public void retainWith(final RetentionPolicy policy) {
+    this.retentionPolicy = policy;
+  }
+
+  /**
+   * Resumes each subsequently created {@code JournalReader<T>} from its offset in the
+   * {@code offsetStore}, and commits its offsets by way of the {@code offsetCommitter}.
+   * @param offsetStore the OffsetStore from which readers resume
+   * @param offsetCommitter the OffsetCommitter by which reader offsets are committed
+   */
+  public void offsetsWith(final OffsetStore offsetStore, final OffsetCommitter offsetCommitter) {
+    readerPositions.offsetsWith(offsetStore, offsetCommitter);
+  }
+
+  /**
+   * Snapshots streams using the {@code builder} whenever the {@code policy} finds one due,
+   * building each such snapshot within my appending thread.
+   * @param policy the SnapshotPolicy deciding when each stream is snapshot
+   * @param builder the {@code SnapshotBuilder<T>} of the state of each stream
+   */
+  public void snapshotWith(final SnapshotPolicy policy, final SnapshotBuilder<T> builder) {
+    snapshotWith(policy, builder, this::snapshot);
+  }
+
+  /**
+   * Snapshots streams using the {@code builder} whenever the {@code policy} finds one due,
+   * asking the {@code snapshotter}, such as an {@code InMemorySnapshotterActor}, to build
+   * each such snapshot, possibly in the background. Must be used before appending.
+   * @param policy the SnapshotPolicy deciding when each stream is snapshot
+   * @param builder the {@code SnapshotBuilder<T>} of the state of each stream
+   * @param snapshotter the Snapshotter asked to snapshot each stream
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void snapshotWith(final SnapshotPolicy policy, final SnapshotBuilder<T> builder, final Snapshotter snapshotter) {
+    this.snapshotPolicy = policy;
+    this.snapshotBuilder = builder;
+    this.snapshotter = snapshotter;
+    this.snapshotReader = new InMemoryStreamReader(journal, streamIndexes, snapshots, "__snapshotter");
+  }
+
+  /**
+   * Snapshots the stream named {@code streamName} as of its current version, unless
+   * it has no entries beyond its most recent snapshot. This may be used by any thread,
+   * as it reads only published entries and replaces a snapshot only with a newer one.
+   * @param streamName the String name of the stream to snapshot
+   */
+  public void snapshot(final String streamName) {
+    if (snapshotBuilder == null) return;
+
+    final EntityStream<T> stream = snapshotReader.streamFor(streamName).outcome();
+    if (stream.entries.isEmpty() || (stream.snapshot != null && stream.snapshot.dataVersion >= stream.streamVersion)) {
+      return;
+    }
+
+    final Object state = snapshotBuilder.snapshotOf(stream);
+    if (state == null) return;
+
+    final RS raw = stateAdapterProvider.asRaw(streamName, state, stream.streamVersion);
+    snapshots.merge(streamName, raw, (current, built) -> built.dataVersion > current.dataVersion ? built : current);
+  }
+
   @Override
   public void conclude() {
 
@@ -192,12 +412,71 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
 
   private void insert(final String streamName, final int streamVersion, final Entry<T> entry) {
     final int entryIndex = journal.size();
-    final String id = "" + (entryIndex + 1);
-    ((BaseEntry<T>) entry).__internal__setId(id); //questionable cast
-    journal.add(entry);
+    if (sequence == null) {
+      final String id = "" + (entryIndex + 1);
+      ((BaseEntry<T>) entry).__internal__setId(id); //questionable cast
+      journal.add(entry);
+    } else {
+      final int global = sequence.reserve();
+      ((BaseEntry<T>) entry).__internal__setId("" + (global + 1));
+      journal.add(entry);
+      sequence.publish(global, partition, entryIndex);
+    }
+
+    final StreamIndex versionIndexes = streamIndexes.computeIfAbsent(streamName, k -> new StreamIndex());
+    versionIndexes.set(streamVersion, entryIndex);
 
-    final Map<Integer, Integer> versionIndexes = streamIndexes.computeIfAbsent(streamName, k -> new HashMap<>());
-    versionIndexes.put(streamVersion, entryIndex);
+    for (final EntryPartitions partitions : entryPartitions.values()) {
+      partitions.add(streamName, entryIndex);
+    }
+
+    if (entryTypes != null) {
+      entryTypes.add(entry.typeName(), entryIndex);
+    }
+  }
+
+  private EntryTypeIndex indexTypes() {
+    final EntryTypeIndex types = new EntryTypeIndex();
+    for (int index = journal.firstIndex(); index < journal.size(); ++index) {
+      types.add(journal.get(index).typeName(), index);
+    }
+    return types;
+  }
+
+  private EntryPartitions indexPartitions(final int totalPartitions) {
+    final EntryPartitions partitions = new EntryPartitions(totalPartitions);
+    final int first = journal.firstIndex();
+    final String[] streamNames = new String[journal.size() - first];
+
+    for (final Map.Entry<String,StreamIndex> stream : streamIndexes.entrySet()) {
+      final StreamIndex versionIndexes = stream.getValue();
+      final int firstVersion = versionIndexes.firstVersion();
+      final int count = versionIndexes.countFrom(firstVersion);
+      for (int version = firstVersion; version < firstVersion + count; ++version) {
+        final int index = versionIndexes.indexOf(version) - first;
+        if (index >= 0 && index < streamNames.length) {
+          streamNames[index] = stream.getKey();
+        }
+      }
+    }
+
+    for (int index = 0; index < streamNames.length; ++index) {
+      if (streamNames[index] != null) {
+        partitions.add(streamNames[index], first + index);
+      }
+    }
+
+    return partitions;
+  }
+
+  private void releasePartitioned(final PartitionedEntryReader<?> reader) {
+    reader.close(); // releases the positions of its partitions
+    partitionedReaders.remove(reader.name());
+    final int totalPartitions = reader.totalPartitions();
+    for (final PartitionedEntryReader<?> other : partitionedReaders.values()) {
+      if (other.totalPartitions() == totalPartitions) return;
+    }
+    entryPartitions.remove(totalPartitions);
   }
 
   private void insert(final String streamName, final int fromStreamVersion, final List<Entry<T>> entries) {
@@ -208,7 +487,68 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
     }
   }
 
+  private void compactWhenDue() {
+    if (journal.size() < nextCompaction) return;
+
+    nextCompaction = journal.size() + AppendOnlyLog.ChunkSize;
+
+    if (retentionPolicy.isUnbounded()) return;
+
+    final int size = journal.size();
+    final int passed = retentionPolicy.untilPassed ? Math.min(readerPositions.lowest(size), snapshotsPassed(size)) : size;
+    final int firstRetained = retentionPolicy.firstRetained(journal, passed);
+    final int evictTo = (firstRetained / AppendOnlyLog.ChunkSize) * AppendOnlyLog.ChunkSize;
+    if (evictTo <= journal.firstIndex()) return;
+
+    streamIndexes.entrySet().removeIf(stream -> {
+      final boolean evicted = stream.getValue().trimBelow(evictTo) && !snapshots.containsKey(stream.getKey());
+      if (evicted) snapshotProgress.remove(stream.getKey());
+      return evicted;
+    });
+
+    for (final EntryPartitions partitions : entryPartitions.values()) {
+      partitions.trimBelow(evictTo);
+    }
+
+    if (entryTypes != null) {
+      entryTypes.trimBelow(evictTo);
+    }
+
+    journal.truncateBefore(evictTo);
+  }
+
+  private int snapshotsPassed(final int size) {
+    int passed = size;
+    for (final Map.Entry<String,StreamIndex> stream : streamIndexes.entrySet()) {
+      final StreamIndex versionIndexes = stream.getValue();
+      final RS snapshot = snapshots.get(stream.getKey());
+      final int firstNeeded = snapshot == null ? versionIndexes.firstVersion() : Math.max(snapshot.dataVersion, versionIndexes.firstVersion());
+      final int index = versionIndexes.indexOf(firstNeeded);
+      if (index != StreamIndex.NoIndex) {
+        passed = Math.min(passed, index);
+      }
+    }
+    return passed;
+  }
+
+  private void snapshotWhenDue(final String streamName, final List<Entry<T>> entries, final boolean snapshotAppended) {
+    if (snapshotBuilder == null) return;
+
+    final long now = System.currentTimeMillis();
+    final SnapshotProgress progress = snapshotProgress.computeIfAbsent(streamName, name -> new SnapshotProgress(now));
+    if (snapshotAppended) {
+      progress.reset(now);
+      return;
+    }
+    progress.appended(entries);
+    if (snapshotPolicy.isSnapshotDue(progress.entries, progress.bytes, now - progress.since)) {
+      progress.reset(now);
+      snapshotter.snapshot(streamName);
+    }
+  }
+
   private void dispatch(final String streamName, final int streamVersion, final List<Entry<T>> entries, final RS snapshot){
+    appendNotifier.appended();
     final String id = getDispatchId(streamName, streamVersion, entries);
     final Dispatchable<Entry<T>, RS> dispatchable = new Dispatchable<>(id,  LocalDateTime.now(), snapshot, entries);
     this.dispatchables.add(dispatchable);
@@ -219,4 +559,50 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
     return streamName + ":" + streamVersion + ":"
             + entries.stream().map(Entry::id).collect(Collectors.joining(":"));
   }
+
+  private static final class SnapshotProgress {
+    long bytes;
+    int entries;
+    long since;
+
+    SnapshotProgress(final long since) {
+      this.since = since;
+    }
+
+    void appended(final List<? extends Entry<?>> appended) {
+      entries += appended.size();
+      for (final Entry<?> entry : appended) {
+        final Object data = entry.entryData();
+        if (data instanceof String) {
+          bytes += encodedLength((String) data);
+        } else if (data instanceof byte[]) {
+          bytes += ((byte[]) data).length;
+        }
+      }
+    }
+
+    void reset(final long since) {
+      this.bytes = 0;
+      this.entries = 0;
+      this.since = since;
+    }
+
+    // answers the UTF-8 encoded length of text without encoding it
+    private static long encodedLength(final String text) {
+      final int length = text.length();
+      long encoded = length;
+      for (int index = 0; index < length; ++index) {
+        final char each = text.charAt(index);
+        if (each >= 0x800) {
+          encoded += 2; // three bytes, or four for a surrogate pair of two chars
+          if (Character.isHighSurrogate(each) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+            ++index;
+          }
+        } else if (each >= 0x80) {
+          encoded += 1;
+        }
+      }
+      return encoded;
+    }
+  }
 }
@@ -12,12 +12,22 @@ import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.symbio.*;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.EntryFilter;
+import io.vlingo.xoom.symbio.store.EntryReader;
+import io.vlingo.xoom.symbio.store.PartitionedEntryReader;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.symbio.store.journal.Journal;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.SnapshotBuilder;
+import io.vlingo.xoom.symbio.store.journal.SnapshotPolicy;
 import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implements Journal<T> {
@@ -29,6 +39,49 @@ public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implement
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
   }
 
+  /**
+   * Constructs my state with an existing {@code journal}, such as a partition of a {@code PartitioningJournal<T>}.
+   * @param journal the {@code InMemoryJournal<T,RS>} to which I delegate
+   */
+  InMemoryJournalActor(final InMemoryJournal<T,RS> journal) {
+    this.journal = journal;
+    this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+  }
+
+  /**
+   * Constructs my state such that my entries are retained according to the {@code policy}.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} of my journal
+   * @param policy the RetentionPolicy of my entries
+   */
+  public InMemoryJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final RetentionPolicy policy) {
+    this(dispatchers);
+    journal.retainWith(policy);
+  }
+
+  /**
+   * Constructs my state such that my readers resume from their offsets in the {@code offsetStore}.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} of my journal
+   * @param offsetStore the OffsetStore from which my readers resume
+   * @param offsetCommitter the OffsetCommitter by which reader offsets are committed
+   */
+  public InMemoryJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final OffsetStore offsetStore, final OffsetCommitter offsetCommitter) {
+    this(dispatchers);
+    journal.offsetsWith(offsetStore, offsetCommitter);
+  }
+
+  /**
+   * Constructs my state such that streams are snapshot by a child {@code InMemorySnapshotterActor}
+   * using the {@code builder} whenever the {@code policy} finds one due.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} of my journal
+   * @param policy the SnapshotPolicy deciding when each stream is snapshot
+   * @param builder the {@code SnapshotBuilder<T>} of the state of each stream
+   */
+  public InMemoryJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final SnapshotPolicy policy, final SnapshotBuilder<T> builder) {
+    this(dispatchers);
+    final Snapshotter snapshotter = childActorFor(Snapshotter.class, Definition.has(InMemorySnapshotterActor.class, new InMemorySnapshotterInstantiator(journal)));
+    journal.snapshotWith(policy, builder, snapshotter);
+  }
+
   @Override
   public <S,ST> void append(final String streamName, final int streamVersion, final Source<S> source, final AppendResultInterest interest, final Object object) {
     journal.append(streamName, streamVersion, source, interest, object);
@@ -77,10 +130,29 @@ public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implement
   @SuppressWarnings("unchecked")
   public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
     final JournalReader<ET> inmemory = (JournalReader<ET>) journal.journalReader(name).outcome();
-    final JournalReader<ET> actor = childActorFor(JournalReader.class, Definition.has(InMemoryJournalReaderActor.class, new InMemoryJournalReaderInstantiator<>(inmemory, entryAdapterProvider)));
+    final JournalReader<ET> actor = childActorFor(JournalReader.class, Definition.has(InMemoryJournalReaderActor.class, new InMemoryJournalReaderInstantiator<>(inmemory, entryAdapterProvider, journal.appendNotifier())));
     return completes().with(actor);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name, final EntryFilter filter) {
+    final JournalReader<ET> inmemory = journal.<ET>journalReader(name, filter).outcome();
+    final JournalReader<ET> actor = childActorFor(JournalReader.class, Definition.has(InMemoryJournalReaderActor.class, new InMemoryJournalReaderInstantiator<>(inmemory, entryAdapterProvider, journal.appendNotifier())));
+    return completes().with(actor);
+  }
+
+  @Override
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public <ET extends Entry<?>> Completes<PartitionedEntryReader<ET>> partitionedReader(final String name, final int totalPartitions) {
+    final PartitionedEntryReader<ET> inmemory = journal.<ET>partitionedReader(name, totalPartitions).outcome();
+    final List<EntryReader<ET>> partitions = new ArrayList<>(totalPartitions);
+    for (final EntryReader<ET> partition : inmemory.partitions()) {
+      partitions.add(childActorFor(JournalReader.class, Definition.has(InMemoryJournalReaderActor.class, new InMemoryJournalReaderInstantiator<>((JournalReader<ET>) partition, entryAdapterProvider, journal.appendNotifier()))));
+    }
+    return completes().with(new PartitionedEntryReader<>(name, partitions, stage(), entryAdapterProvider, journal.appendNotifier()));
+  }
+
   @Override
   public Completes<StreamReader<T>> streamReader(final String name) {
     final StreamReader<T> inmemory = journal.streamReader(name).outcome();
@@ -99,18 +171,19 @@ public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implement
   private static class InMemoryJournalReaderInstantiator<T extends Entry<?>> implements ActorInstantiator<InMemoryJournalReaderActor> {
     private static final long serialVersionUID = -4704305821903232245L;
 
+    private final AppendNotifier appendNotifier;
     private final EntryAdapterProvider entryAdapterProvider;
     private final JournalReader<T> inmemory;
 
-    InMemoryJournalReaderInstantiator(final JournalReader<T> inmemory, final EntryAdapterProvider entryAdapterProvider) {
+    InMemoryJournalReaderInstantiator(final JournalReader<T> inmemory, final EntryAdapterProvider entryAdapterProvider, final AppendNotifier appendNotifier) {
       this.inmemory = inmemory;
       this.entryAdapterProvider = entryAdapterProvider;
+      this.appendNotifier = appendNotifier;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public InMemoryJournalReaderActor<T> instantiate() {
-      return new InMemoryJournalReaderActor((InMemoryJournalReader<T>) inmemory, entryAdapterProvider);
+      return new InMemoryJournalReaderActor<>(inmemory, entryAdapterProvider, appendNotifier);
     }
 
     @Override
@@ -140,4 +213,24 @@ public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implement
       return InMemoryStreamReaderActor.class;
     }
   }
+
+  private static class InMemorySnapshotterInstantiator implements ActorInstantiator<InMemorySnapshotterActor> {
+    private static final long serialVersionUID = 2290432841360517704L;
+
+    private final InMemoryJournal<?,?> journal;
+
+    InMemorySnapshotterInstantiator(final InMemoryJournal<?,?> journal) {
+      this.journal = journal;
+    }
+
+    @Override
+    public InMemorySnapshotterActor instantiate() {
+      return new InMemorySnapshotterActor(journal);
+    }
+
+    @Override
+    public Class<InMemorySnapshotterActor> type() {
+      return InMemorySnapshotterActor.class;
+    }
+  }
 }
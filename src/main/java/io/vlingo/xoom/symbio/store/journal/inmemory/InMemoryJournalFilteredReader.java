@@ -0,0 +1,259 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryFilter;
+import io.vlingo.xoom.symbio.store.EntryPositions;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
+import io.vlingo.xoom.symbio.store.journal.EntryTypeIndex;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+
+/**
+ * A {@code JournalReader<T>} of only those entries of an {@code InMemoryJournal<T>} selected
+ * by an {@code EntryFilter}. When the filter is restricted to types, I visit only the entries
+ * of those types by means of the journal's {@code EntryTypeIndex}, merging them in journal
+ * order; otherwise I visit every entry. Either way, the {@code Metadata} criteria of the
+ * filter are evaluated against each visited entry, and entries not selected are skipped
+ * without being adapted. My position is the journal index from which I next visit entries,
+ * and so resuming from it and evicting entries behaves as for an {@code InMemoryJournalReader<T>},
+ * but it is kept apart from that of any unfiltered reader of the same name. A single read
+ * visits at most {@code MaximumVisited} entries, so that a filter selecting few of many
+ * entries does not hold the reader for a scan of the whole journal; such a read may answer
+ * fewer entries than are yet to be selected, or none, and the next read continues the scan.
+ */
+public class InMemoryJournalFilteredReader<T extends Entry<?>> implements JournalReader<T> {
+  /** The maximum number of entries visited by a single read. */
+  public static final int MaximumVisited = 65_536;
+
+  private int currentIndex;
+  private final EntryFilter filter;
+  private final List<Entry<T>> journalView;
+  private final String name;
+  private final Position position;
+  private final EntryTypeIndex typeIndex;
+  private final String[] typeNames;
+
+  InMemoryJournalFilteredReader(
+          final List<Entry<T>> journalView,
+          final EntryTypeIndex typeIndex,
+          final EntryFilter filter,
+          final Position position,
+          final String name) {
+
+    this.journalView = journalView;
+    this.typeIndex = typeIndex;
+    this.filter = filter;
+    this.typeNames = filter.typeNames().toArray(new String[0]);
+    this.position = position;
+    this.name = name;
+    this.currentIndex = position.get(); // resumes from a committed offset, if any
+  }
+
+  /**
+   * Answer the name of the position of the filtered reader named {@code name}, which is
+   * distinct from that of an unfiltered reader of the same name.
+   * @param name the String name of the filtered reader
+   * @return String
+   */
+  static String positionNameOf(final String name) {
+    return name + ":filtered";
+  }
+
+  /**
+   * Answer the EntryFilter by which I select entries.
+   * @return EntryFilter
+   */
+  public EntryFilter filter() {
+    return filter;
+  }
+
+  @Override
+  public void close() {
+    position.release(); // the journal entries are owned by the InMemoryJournal
+  }
+
+  @Override
+  public Completes<String> name() {
+    return Completes.withSuccess(name);
+  }
+
+  @Override
+  public Completes<T> readNext() {
+    final List<T> entries = new ArrayList<>(1);
+    read(1, entries, null);
+    return Completes.withSuccess(entries.isEmpty() ? null : entries.get(0));
+  }
+
+  @Override
+  public Completes<T> readNext(final String fromId) {
+    seekTo(fromId);
+    return readNext();
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final int maximumEntries) {
+    final List<T> entries = new ArrayList<>();
+    read(maximumEntries, entries, null);
+    return Completes.withSuccess(entries);
+  }
+
+  @Override
+  public Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    into.clear();
+    read(Math.min(maximumEntries, into.capacity()), null, into);
+    return Completes.withSuccess(into);
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
+    seekTo(fromId);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public void rewind() {
+    currentIndex = 0;
+    skipEvicted();
+    positioned();
+  }
+
+  @Override
+  public Completes<String> seekTo(final String id) {
+    switch (id) {
+    case Beginning:
+      rewind();
+      break;
+    case End:
+      currentIndex = journalView.size();
+      break;
+    case Query:
+      break;
+    default:
+      currentIndex = EntryPositions.sequentialPositionOf(journalView, id, 1);
+      break;
+    }
+
+    positioned();
+
+    return Completes.withSuccess(readCurrentId());
+  }
+
+  @Override
+  public Completes<Long> size() {
+    return Completes.withSuccess((long) journalView.size());
+  }
+
+  @Override
+  public Completes<Stream> streamAll() {
+    return null; // provided by InMemoryJournalReaderActor
+  }
+
+  private void positioned() {
+    position.set(currentIndex);
+  }
+
+  /**
+   * Reads up to {@code maximumEntries} selected entries into either {@code entries} or {@code batch}.
+   */
+  private void read(final int maximumEntries, final List<T> entries, final EntryBatch<T> batch) {
+    skipEvicted();
+    if (filter.isTypeRestricted()) {
+      readTyped(maximumEntries, entries, batch);
+    } else {
+      readAll(maximumEntries, entries, batch);
+    }
+    positioned();
+  }
+
+  private int select(final Entry<T> entry, final List<T> entries, final EntryBatch<T> batch) {
+    if (filter.matchesMetadata(entry.metadata())) {
+      @SuppressWarnings("unchecked")
+      final T selected = (T) entry;
+      if (batch == null) {
+        entries.add(selected);
+      } else {
+        batch.add(selected);
+      }
+      return 1;
+    }
+    return 0;
+  }
+
+  private void readAll(final int maximumEntries, final List<T> entries, final EntryBatch<T> batch) {
+    final int end = (int) Math.min(journalView.size(), (long) currentIndex + MaximumVisited);
+    int count = 0;
+    while (currentIndex < end && count < maximumEntries) {
+      final Entry<T> entry = AppendOnlyLog.readableAt(journalView, currentIndex);
+      if (entry == null) {
+        skipEvicted(); // evicted since skipped
+        continue;
+      }
+      ++currentIndex;
+      count += select(entry, entries, batch);
+    }
+  }
+
+  private void readTyped(final int maximumEntries, final List<T> entries, final EntryBatch<T> batch) {
+    final int end = typeIndex.indexed();
+    final int[] positions = new int[typeNames.length];
+    for (int type = 0; type < typeNames.length; ++type) {
+      positions[type] = typeIndex.positionOf(typeNames[type], currentIndex);
+    }
+
+    int count = 0;
+    int visited = 0;
+    while (count < maximumEntries && visited < MaximumVisited) {
+      int next = StreamIndex.NoIndex;
+      int nextType = -1;
+      for (int type = 0; type < typeNames.length; ++type) {
+        final int index = typeIndex.indexAt(typeNames[type], positions[type]);
+        if (index != StreamIndex.NoIndex && index < end && (nextType < 0 || index < next)) {
+          next = index;
+          nextType = type;
+        }
+      }
+      if (nextType < 0) {
+        currentIndex = Math.max(currentIndex, end); // no entries of my types remain before end
+        return;
+      }
+      ++positions[nextType];
+      ++visited;
+      currentIndex = next + 1;
+      final Entry<T> entry = AppendOnlyLog.readableAt(journalView, next);
+      if (entry != null) { // otherwise evicted since skipped
+        count += select(entry, entries, batch);
+      }
+    }
+  }
+
+  private String readCurrentId() {
+    skipEvicted();
+    while (currentIndex < journalView.size()) {
+      final Entry<T> entry = AppendOnlyLog.readableAt(journalView, currentIndex);
+      if (entry != null) return entry.id();
+      skipEvicted(); // evicted since skipped
+    }
+    return "-1";
+  }
+
+  private void skipEvicted() {
+    final int first = AppendOnlyLog.firstIndexOf(journalView);
+    if (currentIndex < first) {
+      currentIndex = first;
+    }
+  }
+}
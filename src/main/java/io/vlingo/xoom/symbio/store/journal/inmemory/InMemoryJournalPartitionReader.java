@@ -0,0 +1,197 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryPositions;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
+import io.vlingo.xoom.symbio.store.journal.EntryPartitions;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+
+/**
+ * A {@code JournalReader<T>} of the entries of one partition of an {@code InMemoryJournal<T>},
+ * with a cursor over the positions of the partition. My position is published, and any
+ * offset committed, as the journal index of the next entry that I will read, and so
+ * resuming from it and evicting entries behaves as for an {@code InMemoryJournalReader<T>}.
+ */
+public class InMemoryJournalPartitionReader<T extends Entry<?>> implements JournalReader<T> {
+  private int currentPosition;
+  private final List<Entry<T>> journalView;
+  private final String name;
+  private final int partition;
+  private final EntryPartitions partitions;
+  private final Position position;
+
+  InMemoryJournalPartitionReader(
+          final List<Entry<T>> journalView,
+          final EntryPartitions partitions,
+          final int partition,
+          final Position position,
+          final String name) {
+
+    this.journalView = journalView;
+    this.partitions = partitions;
+    this.partition = partition;
+    this.position = position;
+    this.name = name;
+    this.currentPosition = partitions.positionOf(partition, position.get()); // resumes from a committed offset, if any
+  }
+
+  @Override
+  public void close() {
+    position.release(); // the journal entries are owned by the InMemoryJournal
+  }
+
+  @Override
+  public Completes<String> name() {
+    return Completes.withSuccess(name);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<T> readNext() {
+    final Entry<T> entry = current();
+    if (entry != null) {
+      ++currentPosition;
+      positioned();
+      return Completes.withSuccess((T) entry);
+    }
+    return Completes.withSuccess(null);
+  }
+
+  @Override
+  public Completes<T> readNext(final String fromId) {
+    seekTo(fromId);
+    return readNext();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<List<T>> readNext(final int maximumEntries) {
+    skipEvicted();
+    final int available = Math.min(maximumEntries, partitions.size(partition) - currentPosition);
+    final List<T> entries = new ArrayList<>(Math.max(available, 0));
+    for (int count = 0; count < available; ++count) {
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      entries.add((T) entry);
+      ++currentPosition;
+    }
+    positioned();
+    return Completes.withSuccess(entries);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    into.clear();
+    final int total = Math.min(maximumEntries, into.capacity());
+    for (int count = 0; count < total; ++count) {
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      into.add((T) entry);
+      ++currentPosition;
+    }
+    positioned();
+    return Completes.withSuccess(into);
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
+    seekTo(fromId);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public void rewind() {
+    currentPosition = partitions.firstPosition(partition);
+    positioned();
+  }
+
+  @Override
+  public Completes<String> seekTo(final String id) {
+    switch (id) {
+    case Beginning:
+      rewind();
+      break;
+    case End:
+      currentPosition = partitions.size(partition);
+      break;
+    case Query:
+      break;
+    default:
+      currentPosition = partitions.positionOf(partition, EntryPositions.sequentialPositionOf(journalView, id, 1));
+      break;
+    }
+
+    positioned();
+
+    return Completes.withSuccess(readCurrentId());
+  }
+
+  @Override
+  public Completes<Long> size() {
+    return Completes.withSuccess((long) (partitions.size(partition) - partitions.firstPosition(partition)));
+  }
+
+  @Override
+  public Completes<Stream> streamAll() {
+    return null; // provided by InMemoryJournalReaderActor
+  }
+
+  /**
+   * Publishes the journal index of my next entry, or at the end of my partition, the index
+   * following the last entry I read. Not the size of the journal, since an entry is appended
+   * to the journal before it is added to its partition, and so may not yet have been read.
+   */
+  private void positioned() {
+    final int index = partitions.indexAt(partition, currentPosition);
+    if (index != StreamIndex.NoIndex) {
+      position.set(index);
+    } else {
+      final int lastRead = currentPosition > 0 ? partitions.indexAt(partition, currentPosition - 1) : StreamIndex.NoIndex;
+      position.set(lastRead == StreamIndex.NoIndex ? AppendOnlyLog.firstIndexOf(journalView) : lastRead + 1);
+    }
+  }
+
+  /**
+   * Answer the entry at my current position, first skipping any evicted, or null if there is none.
+   * An entry evicted concurrently with its read is skipped as well.
+   */
+  private Entry<T> current() {
+    skipEvicted();
+    while (true) {
+      final int index = partitions.indexAt(partition, currentPosition);
+      if (index == StreamIndex.NoIndex) return null;
+      final Entry<T> entry = AppendOnlyLog.readableAt(journalView, index);
+      if (entry != null) return entry;
+      // the partition may not yet know of the eviction, but the journal does
+      currentPosition = partitions.positionOf(partition, AppendOnlyLog.firstIndexOf(journalView));
+    }
+  }
+
+  private String readCurrentId() {
+    final Entry<T> entry = current();
+    return entry == null ? "-1" : entry.id();
+  }
+
+  private void skipEvicted() {
+    final int first = partitions.firstPosition(partition);
+    if (currentPosition < first) {
+      currentPosition = first;
+    }
+  }
+}
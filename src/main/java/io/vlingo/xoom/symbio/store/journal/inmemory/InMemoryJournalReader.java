@@ -13,22 +13,40 @@ import java.util.List;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryPositions;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 
 public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<T> {
   private int currentIndex;
   private final List<Entry<T>> journalView;
   private final String name;
+  private final Position position;
 
   public InMemoryJournalReader(final List<Entry<T>> journalView, final String name) {
+    this(journalView, name, null);
+  }
+
+  /**
+   * Constructs my state, resuming from and publishing my current index to {@code position}, if any.
+   * @param journalView the {@code List<Entry<T>>} of journal entries
+   * @param name the String name of the reader
+   * @param position the Position to which my current index is published, or null
+   */
+  public InMemoryJournalReader(final List<Entry<T>> journalView, final String name, final Position position) {
     this.journalView = journalView;
     this.name = name;
-    this.currentIndex = 0;
+    this.position = position;
+    this.currentIndex = position == null ? 0 : position.get(); // resumes from a committed offset, if any
   }
 
   @Override
   public void close() {
-    journalView.clear();
+    if (position != null) {
+      position.release(); // the journal entries are owned by the InMemoryJournal
+    }
   }
 
   @Override
@@ -39,10 +57,13 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
   @Override
   @SuppressWarnings("unchecked")
   public Completes<T> readNext() {
-    if (currentIndex < journalView.size()) {
-      return Completes.withSuccess((T) journalView.get(currentIndex++));
+    final Entry<T> entry = current();
+    if (entry != null) {
+      ++currentIndex;
+      positioned();
+      return Completes.withSuccess((T) entry);
     }
-    return null;
+    return Completes.withSuccess(null);
   }
 
   @Override
@@ -56,15 +77,30 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
   public Completes<List<T>> readNext(final int maximumEntries) {
     final List<Entry<T>> entries = new ArrayList<>(maximumEntries);
     for (int count = 0; count < maximumEntries; ++count) {
-      if (currentIndex < journalView.size()) {
-        entries.add(journalView.get(currentIndex++));
-      } else {
-        break;
-      }
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      entries.add(entry);
+      ++currentIndex;
     }
+    positioned();
     return Completes.withSuccess((List<T>) entries);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    into.clear();
+    final int total = Math.min(maximumEntries, into.capacity());
+    for (int count = 0; count < total; ++count) {
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      into.add((T) entry);
+      ++currentIndex;
+    }
+    positioned();
+    return Completes.withSuccess(into);
+  }
+
   @Override
   public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
     seekTo(fromId);
@@ -74,6 +110,8 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
   @Override
   public void rewind() {
     currentIndex = 0;
+    skipEvicted();
+    positioned();
   }
 
   @Override
@@ -98,6 +136,8 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
       break;
     }
 
+    positioned();
+
     return Completes.withSuccess(currentId);
   }
 
@@ -111,26 +151,43 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
     return null; // provided by InMemoryJournalReaderActor
   }
 
+  /**
+   * Answer the entry at my current index, first skipping any evicted, or null if there is none.
+   * An entry evicted concurrently with its read is skipped as well.
+   */
+  private Entry<T> current() {
+    skipEvicted();
+    while (currentIndex < journalView.size()) {
+      final Entry<T> entry = AppendOnlyLog.readableAt(journalView, currentIndex);
+      if (entry != null) return entry;
+      skipEvicted();
+    }
+    return null;
+  }
+
   private void end() {
     currentIndex = journalView.size() - 1;
   }
 
+  private void positioned() {
+    if (position != null) {
+      position.set(currentIndex);
+    }
+  }
+
   private String readCurrentId() {
-    if (currentIndex < journalView.size()) {
-      final String currentId = journalView.get(currentIndex).id();
-      return currentId;
+    final Entry<T> entry = current();
+    return entry == null ? "-1" : entry.id();
+  }
+
+  private void skipEvicted() {
+    final int first = AppendOnlyLog.firstIndexOf(journalView);
+    if (currentIndex < first) {
+      currentIndex = first;
     }
-    return "-1";
   }
 
   private void to(final String id) {
-    rewind();
-    while (currentIndex < journalView.size()) {
-      final Entry<T> entry = journalView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
-      ++currentIndex;
-    }
+    currentIndex = EntryPositions.sequentialPositionOf(journalView, id, 1);
   }
 }
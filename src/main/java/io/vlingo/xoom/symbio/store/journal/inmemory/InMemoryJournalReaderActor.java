@@ -14,16 +14,24 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.EntryBatch;
 import io.vlingo.xoom.symbio.store.EntryReaderStream;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 
 public class InMemoryJournalReaderActor<T extends Entry<?>> extends Actor implements JournalReader<T> {
+  private final AppendNotifier appendNotifier;
   private final EntryAdapterProvider entryAdapterProvider;
-  private final InMemoryJournalReader<T> reader;
+  private final JournalReader<T> reader;
 
-  public InMemoryJournalReaderActor(final InMemoryJournalReader<T> reader, final EntryAdapterProvider entryAdapterProvider) {
+  public InMemoryJournalReaderActor(final JournalReader<T> reader, final EntryAdapterProvider entryAdapterProvider) {
+    this(reader, entryAdapterProvider, null);
+  }
+
+  public InMemoryJournalReaderActor(final JournalReader<T> reader, final EntryAdapterProvider entryAdapterProvider, final AppendNotifier appendNotifier) {
     this.reader = reader;
     this.entryAdapterProvider = entryAdapterProvider;
+    this.appendNotifier = appendNotifier;
   }
 
   @Override
@@ -56,6 +64,12 @@ public class InMemoryJournalReaderActor<T extends Entry<?>> extends Actor implem
     return completes().with(reader.readNext(fromId, maximumEntries).outcome());
   }
 
+  @Override
+  public Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    reader.readBatch(maximumEntries, into);
+    return completes().with(into);
+  }
+
   @Override
   public void rewind() {
     reader.rewind();
@@ -74,6 +88,6 @@ public class InMemoryJournalReaderActor<T extends Entry<?>> extends Actor implem
   @Override
   @SuppressWarnings("unchecked")
   public Completes<Stream> streamAll() {
-    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
+    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider, appendNotifier));
   }
 }
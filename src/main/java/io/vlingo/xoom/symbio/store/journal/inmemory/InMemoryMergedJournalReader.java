@@ -0,0 +1,146 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+
+/**
+ * A {@code JournalReader<T>} of the entries of all partitions of a {@code PartitioningJournal<T>}
+ * in their {@code GlobalJournalSequence} order. The id of each entry is its 1-based global
+ * position, and so seeking by id is constant time. My {@code Position} is the global
+ * position of the next entry to be read.
+ */
+public class InMemoryMergedJournalReader<T extends Entry<?>> implements JournalReader<T> {
+  private int currentIndex;
+  private final String name;
+  private final List<? extends Entry<?>>[] partitionViews;
+  private final Position position;
+  private final GlobalJournalSequence sequence;
+
+  InMemoryMergedJournalReader(final List<? extends Entry<?>>[] partitionViews, final GlobalJournalSequence sequence, final Position position, final String name) {
+    this.partitionViews = partitionViews;
+    this.sequence = sequence;
+    this.position = position;
+    this.name = name;
+    this.currentIndex = position.get(); // resumes from a committed offset, if any
+  }
+
+  @Override
+  public void close() {
+    position.release(); // the entries are owned by the partitions
+  }
+
+  @Override
+  public Completes<String> name() {
+    return Completes.withSuccess(name);
+  }
+
+  @Override
+  public Completes<T> readNext() {
+    final T entry = entryAt(currentIndex);
+    if (entry != null) {
+      ++currentIndex;
+      positioned();
+    }
+    return Completes.withSuccess(entry);
+  }
+
+  @Override
+  public Completes<T> readNext(final String fromId) {
+    seekTo(fromId);
+    return readNext();
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final int maximumEntries) {
+    final List<T> entries = new ArrayList<>(maximumEntries);
+    for (int count = 0; count < maximumEntries; ++count) {
+      final T entry = entryAt(currentIndex);
+      if (entry == null) break;
+      entries.add(entry);
+      ++currentIndex;
+    }
+    positioned();
+    return Completes.withSuccess(entries);
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
+    seekTo(fromId);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public void rewind() {
+    currentIndex = 0;
+    positioned();
+  }
+
+  @Override
+  public Completes<String> seekTo(final String id) {
+    switch (id) {
+    case Beginning:
+      rewind();
+      break;
+    case End:
+      currentIndex = sequence.reserved();
+      break;
+    case Query:
+      break;
+    default:
+      to(id);
+      break;
+    }
+
+    positioned();
+
+    return Completes.withSuccess(readCurrentId());
+  }
+
+  @Override
+  public Completes<Long> size() {
+    return Completes.withSuccess((long) sequence.reserved());
+  }
+
+  @Override
+  public Completes<Stream> streamAll() {
+    return null; // provided by InMemoryJournalReaderActor
+  }
+
+  @SuppressWarnings("unchecked")
+  private T entryAt(final int global) {
+    final long location = sequence.locationAt(global);
+    if (location == GlobalJournalSequence.Unpublished) return null;
+    final List<? extends Entry<?>> partition = partitionViews[GlobalJournalSequence.partitionOf(location)];
+    return (T) partition.get(GlobalJournalSequence.partitionIndexOf(location));
+  }
+
+  private void positioned() {
+    position.set(currentIndex);
+  }
+
+  private String readCurrentId() {
+    return sequence.locationAt(currentIndex) == GlobalJournalSequence.Unpublished ? "-1" : String.valueOf(currentIndex + 1);
+  }
+
+  private void to(final String id) {
+    try {
+      final long global = Long.parseLong(id) - 1L;
+      currentIndex = (int) Math.max(0L, Math.min(global, sequence.reserved()));
+    } catch (final NumberFormatException e) {
+      currentIndex = sequence.reserved();
+    }
+  }
+}
@@ -0,0 +1,27 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import io.vlingo.xoom.actors.Actor;
+
+/**
+ * The {@code Snapshotter} of an {@code InMemoryJournal<T>}, which builds snapshots
+ * off of the journal's own mailbox so that appends are not delayed by them.
+ */
+public class InMemorySnapshotterActor extends Actor implements Snapshotter {
+  private final InMemoryJournal<?,?> journal;
+
+  public InMemorySnapshotterActor(final InMemoryJournal<?,?> journal) {
+    this.journal = journal;
+  }
+
+  @Override
+  public void snapshot(final String streamName) {
+    journal.snapshot(streamName);
+  }
+}
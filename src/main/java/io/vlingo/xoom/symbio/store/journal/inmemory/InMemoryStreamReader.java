@@ -7,25 +7,28 @@
 
 package io.vlingo.xoom.symbio.store.journal.inmemory;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
 import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
 import io.vlingo.xoom.symbio.store.journal.StreamReader;
 
 public class InMemoryStreamReader<T> implements StreamReader<T> {
   private final List<BaseEntry<T>> journalView;
   private final Map<String, State<T>> snapshotsView;
-  private final Map<String, Map<Integer,Integer>> streamIndexesView;
+  private final Map<String,StreamIndex> streamIndexesView;
   private final String name;
 
   public InMemoryStreamReader(
           final List<BaseEntry<T>> journalView,
-          final Map<String, Map<Integer,Integer>> streamIndexesView,
+          final Map<String,StreamIndex> streamIndexesView,
           final Map<String, State<T>> snapshotsView,
           final String name) {
 
@@ -51,21 +54,43 @@ public class InMemoryStreamReader<T> implements StreamReader<T> {
         snapshot = null; // reading from beyond snapshot
       }
     }
-    final List<BaseEntry<T>> entries = new ArrayList<>();
-    final Map<Integer,Integer> versionIndexes = streamIndexesView.get(streamName);
-    if (versionIndexes != null) {
-      Integer journalIndex = versionIndexes.get(version);
-
-      while (journalIndex != null) {
-        final BaseEntry<T> entry = journalView.get(journalIndex);
-        entries.add(entry);
-        journalIndex = versionIndexes.get(++version);
+    final StreamIndex versionIndexes = streamIndexesView.get(streamName);
+    List<BaseEntry<T>> entries = Collections.emptyList();
+    int count = 0;
+    while (versionIndexes != null) {
+      version = Math.max(version, versionIndexes.firstVersion()); // earlier versions evicted
+      count = versionIndexes.countFrom(version);
+      if (count == 0) break;
+      final BaseEntry<T>[] resolved = entriesOf(versionIndexes, version, count);
+      if (resolved != null) {
+        entries = Arrays.asList(resolved);
+        break;
       }
     }
-    return Completes.withSuccess(new EntityStream<>(streamName, version - 1, entries, snapshot));
+
+    return Completes.withSuccess(new EntityStream<>(streamName, version + count - 1, entries, snapshot));
   }
 
   String name() {
     return name;
   }
+
+  /**
+   * Answer the {@code count} entries from {@code version}, or null if any was evicted while
+   * they were resolved. The entries are resolved now rather than when the stream is iterated,
+   * because retention may meanwhile evict them from the journal and their versions from the
+   * {@code versionIndexes}. Only the array of references to the entries is allocated.
+   */
+  @SuppressWarnings("unchecked")
+  private BaseEntry<T>[] entriesOf(final StreamIndex versionIndexes, final int version, final int count) {
+    final BaseEntry<T>[] entries = new BaseEntry[count];
+    for (int offset = 0; offset < count; ++offset) {
+      final int index = versionIndexes.indexOf(version + offset);
+      if (index == StreamIndex.NoIndex) return null;
+      final BaseEntry<T> entry = AppendOnlyLog.readableAt(journalView, index);
+      if (entry == null) return null;
+      entries[offset] = entry;
+    }
+    return entries;
+  }
 }
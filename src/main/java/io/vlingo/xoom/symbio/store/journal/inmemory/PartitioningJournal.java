@@ -0,0 +1,321 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Protocols;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+/**
+ * Provides a partitioning {@code Journal<T>} of several {@code InMemoryJournalActor} partitions.
+ * Appends are routed to partitions by stream name hashing, such that appends to different
+ * streams are made in parallel while all appends to a given stream are made in order by
+ * one partition. All partitions share the same dispatchers and {@code DispatcherControl}.
+ * <p>
+ * The {@code JournalReader<ET>} answered reads the entries of all partitions merged in a
+ * single global order, which is that in which the entries were appended, and in which
+ * each entry id is its 1-based global position. The {@code StreamReader<T>} answered
+ * routes each stream to the partition to which the stream is appended.
+ * <p>
+ * I am not myself an actor, and so must be stopped by way of my {@code Stoppable}
+ * protocol, which stops my partition actors and their {@code DispatcherControl}.
+ *
+ * @param <T> the concrete type of {@code Entry<T>} stored and read, which maybe be String, byte[], or Object
+ * @param <RS> the raw snapshot state type
+ */
+public class PartitioningJournal<T,RS extends State<?>> implements Journal<T>, Stoppable {
+  public static int MinimumPartitions = 2;
+  public static int MaximumPartitions = 256;
+
+  private final AppendNotifier appendNotifier;
+  private final DispatcherControl dispatcherControl;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final InMemoryJournal<T,RS>[] journals;
+  private final Map<String,JournalReader<?>> journalReaders;
+  private final Journal<T>[] partitions;
+  private final Stoppable[] partitionStoppers;
+  private final ReaderPositions readerPositions;
+  private final GlobalJournalSequence sequence;
+  private final Stage stage;
+  private volatile boolean stopped;
+  private final Map<String,StreamReader<T>> streamReaders;
+
+  /**
+   * Answer the partition of {@code streamName} when there are {@code totalPartitions}.
+   * @param streamName the String name of the stream
+   * @param totalPartitions the int number of partitions
+   * @return int
+   */
+  public static int partitionOf(final String streamName, final int totalPartitions) {
+    return Math.abs(streamName.hashCode() % totalPartitions);
+  }
+
+  /**
+   * Answer a new {@code PartitioningJournal<T,RS>} as a {@code Journal<T>} with {@code totalPartitions}.
+   * @param stage the Stage within which the partition actors are created
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} shared by all partitions
+   * @param totalPartitions the int total number of partitions, which may be between {@code MinimumPartitions} and {@code MaximumPartitions}
+   * @param <T> the concrete type of {@code Entry<T>} stored and read
+   * @param <RS> the raw snapshot state type
+   * @return {@code Journal<T>}, which is also {@code Stoppable}
+   */
+  public static <T,RS extends State<?>> Journal<T> using(
+          final Stage stage,
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final int totalPartitions) {
+
+    return new PartitioningJournal<>(stage, dispatchers, totalPartitions, DefaultCheckConfirmationExpirationInterval, DefaultConfirmationExpiration);
+  }
+
+  @Override
+  public <S,ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    partitionFor(streamName).append(streamName, streamVersion, source, metadata, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+          final AppendResultInterest interest, final Object object) {
+    partitionFor(streamName).appendWith(streamName, streamVersion, source, metadata, snapshot, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    partitionFor(streamName).appendAll(streamName, fromStreamVersion, sources, metadata, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
+          final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    partitionFor(streamName).appendAllWith(streamName, fromStreamVersion, sources, metadata, snapshot, interest, object);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
+    final JournalReader<?> reader = journalReaders.computeIfAbsent(name, key -> {
+      final InMemoryMergedJournalReader<ET> merged = new InMemoryMergedJournalReader<>(partitionViews(), sequence, readerPositions.of(key), key);
+      return stage.actorFor(JournalReader.class, Definition.has(InMemoryJournalReaderActor.class, new MergedJournalReaderInstantiator<>(merged, entryAdapterProvider, appendNotifier)));
+    });
+    return Completes.withSuccess((JournalReader<ET>) reader);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<StreamReader<T>> streamReader(final String name) {
+    final StreamReader<T> reader = streamReaders.computeIfAbsent(name, key -> {
+      final StreamReader<T>[] readers = new StreamReader[journals.length];
+      for (int idx = 0; idx < journals.length; ++idx) {
+        final StreamReader<T> inmemory = journals[idx].streamReader(key).outcome();
+        readers[idx] = stage.actorFor(StreamReader.class, Definition.has(InMemoryStreamReaderActor.class, new PartitionStreamReaderInstantiator<>(inmemory)));
+      }
+      return new PartitionedStreamReader<>(readers);
+    });
+    return Completes.withSuccess(reader);
+  }
+
+  @Override
+  public void conclude() {
+
+  }
+
+  @Override
+  public boolean isStopped() {
+    return stopped;
+  }
+
+  @Override
+  public void stop() {
+    if (stopped) return;
+    stopped = true;
+
+    for (final JournalReader<?> reader : journalReaders.values()) {
+      reader.close();
+    }
+    for (final Stoppable partition : partitionStoppers) {
+      partition.stop();
+    }
+    dispatcherControl.stop();
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private PartitioningJournal(
+          final Stage stage,
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final int totalPartitions,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+
+    this.stage = stage;
+    this.appendNotifier = new AppendNotifier();
+    this.entryAdapterProvider = EntryAdapterProvider.instance(stage.world());
+    this.journalReaders = new ConcurrentHashMap<>();
+    this.streamReaders = new ConcurrentHashMap<>();
+    this.sequence = new GlobalJournalSequence();
+    this.readerPositions = new ReaderPositions(sequence::reserved);
+    this.readerPositions.metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(stage.world()));
+
+    final List<Dispatchable<Entry<T>,RS>> dispatchables = new CopyOnWriteArrayList<>();
+
+    this.dispatcherControl = stage.actorFor(
+            DispatcherControl.class,
+            Definition.has(
+                    DispatcherControlActor.class,
+                    new DispatcherControlInstantiator(
+                            dispatchers,
+                            new InMemoryDispatcherControlDelegate<>(dispatchables),
+                            checkConfirmationExpirationInterval,
+                            confirmationExpiration)));
+
+    final int total = actualTotal(totalPartitions);
+    this.journals = new InMemoryJournal[total];
+    this.partitions = new Journal[total];
+    this.partitionStoppers = new Stoppable[total];
+
+    for (int idx = 0; idx < total; ++idx) {
+      journals[idx] = new InMemoryJournal<>(dispatchers, stage.world(), dispatchables, dispatcherControl, sequence, idx);
+      journals[idx].appendNotifier().subscribe(appendNotifier::appended);
+      final Protocols partition = stage.actorFor(new Class<?>[] { Journal.class, Stoppable.class }, Definition.has(InMemoryJournalActor.class, new PartitionInstantiator<>(journals[idx])));
+      partitions[idx] = partition.get(0);
+      partitionStoppers[idx] = partition.get(1);
+    }
+  }
+
+  private int actualTotal(final int total) {
+    if (total < MinimumPartitions) return MinimumPartitions;
+
+    if (total > MaximumPartitions) return MaximumPartitions;
+
+    return total;
+  }
+
+  private Journal<T> partitionFor(final String streamName) {
+    return partitions[partitionOf(streamName, partitions.length)];
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<? extends Entry<?>>[] partitionViews() {
+    final List<? extends Entry<?>>[] views = new List[journals.length];
+    for (int idx = 0; idx < journals.length; ++idx) {
+      views[idx] = journals[idx].entriesView();
+    }
+    return views;
+  }
+
+  private static class PartitionedStreamReader<T> implements StreamReader<T> {
+    private final StreamReader<T>[] readers;
+
+    PartitionedStreamReader(final StreamReader<T>[] readers) {
+      this.readers = readers;
+    }
+
+    @Override
+    public Completes<EntityStream<T>> streamFor(final String streamName) {
+      return readers[partitionOf(streamName, readers.length)].streamFor(streamName);
+    }
+
+    @Override
+    public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
+      return readers[partitionOf(streamName, readers.length)].streamFor(streamName, fromStreamVersion);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class PartitionInstantiator<T,RS extends State<?>> implements ActorInstantiator<InMemoryJournalActor> {
+    private static final long serialVersionUID = -3391537640124829213L;
+
+    private final InMemoryJournal<T,RS> journal;
+
+    PartitionInstantiator(final InMemoryJournal<T,RS> journal) {
+      this.journal = journal;
+    }
+
+    @Override
+    public InMemoryJournalActor<T,RS> instantiate() {
+      return new InMemoryJournalActor<>(journal);
+    }
+
+    @Override
+    public Class<InMemoryJournalActor> type() {
+      return InMemoryJournalActor.class;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class MergedJournalReaderInstantiator<T extends Entry<?>> implements ActorInstantiator<InMemoryJournalReaderActor> {
+    private static final long serialVersionUID = 7712654409185539860L;
+
+    private final AppendNotifier appendNotifier;
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final InMemoryMergedJournalReader<T> merged;
+
+    MergedJournalReaderInstantiator(final InMemoryMergedJournalReader<T> merged, final EntryAdapterProvider entryAdapterProvider, final AppendNotifier appendNotifier) {
+      this.merged = merged;
+      this.entryAdapterProvider = entryAdapterProvider;
+      this.appendNotifier = appendNotifier;
+    }
+
+    @Override
+    public InMemoryJournalReaderActor<T> instantiate() {
+      return new InMemoryJournalReaderActor<>(merged, entryAdapterProvider, appendNotifier);
+    }
+
+    @Override
+    public Class<InMemoryJournalReaderActor> type() {
+      return InMemoryJournalReaderActor.class;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class PartitionStreamReaderInstantiator<T> implements ActorInstantiator<InMemoryStreamReaderActor> {
+    private static final long serialVersionUID = 2953015170734648126L;
+
+    private final StreamReader<T> inmemory;
+
+    PartitionStreamReaderInstantiator(final StreamReader<T> inmemory) {
+      this.inmemory = inmemory;
+    }
+
+    @Override
+    public InMemoryStreamReaderActor<T> instantiate() {
+      return new InMemoryStreamReaderActor<>((InMemoryStreamReader<T>) inmemory);
+    }
+
+    @Override
+    public Class<InMemoryStreamReaderActor> type() {
+      return InMemoryStreamReaderActor.class;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+/**
+ * Protocol of the builder of stream snapshots, which an {@code InMemoryJournal<T>}
+ * asks to snapshot a stream once its {@code SnapshotPolicy} finds one due.
+ */
+public interface Snapshotter {
+  /**
+   * Snapshots the stream named {@code streamName} as of its current version.
+   * @param streamName the String name of the stream to snapshot
+   */
+  void snapshot(final String streamName);
+}
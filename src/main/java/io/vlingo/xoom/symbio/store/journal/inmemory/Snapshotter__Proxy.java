@@ -0,0 +1,37 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.DeadLetter;
+import io.vlingo.xoom.actors.LocalMessage;
+import io.vlingo.xoom.actors.Mailbox;
+import io.vlingo.xoom.common.SerializableConsumer;
+
+public class Snapshotter__Proxy implements Snapshotter {
+
+  private static final String snapshotRepresentation1 = "snapshot(java.lang.String)";
+
+  private final Actor actor;
+  private final Mailbox mailbox;
+
+  public Snapshotter__Proxy(final Actor actor, final Mailbox mailbox){
+    this.actor = actor;
+    this.mailbox = mailbox;
+  }
+
+  public void snapshot(final String streamName) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Snapshotter> consumer = (actor) -> actor.snapshot(streamName);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, Snapshotter.class, consumer, null, snapshotRepresentation1); }
+      else { mailbox.send(new LocalMessage<Snapshotter>(actor, Snapshotter.class, consumer, snapshotRepresentation1)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, snapshotRepresentation1));
+    }
+  }
+}
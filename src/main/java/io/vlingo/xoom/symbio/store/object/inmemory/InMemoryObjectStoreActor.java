@@ -28,9 +28,15 @@ import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.EntryReader;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.StorageException;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
@@ -42,6 +48,8 @@ import io.vlingo.xoom.symbio.store.object.ObjectStoreDelegate;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreEntryReader;
 import io.vlingo.xoom.symbio.store.object.StateObject;
 import io.vlingo.xoom.symbio.store.object.StateSources;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
 import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
 
 /**
@@ -49,6 +57,7 @@ import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
  * do not support select constraints but always select all stored objects.
  */
 public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
+  private final AppendNotifier appendNotifier;
   private final EntryAdapterProvider entryAdapterProvider;
 
   private final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers;
@@ -65,19 +74,59 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
     this(dispatchers, 1000L, 1000L);
   }
 
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public InMemoryObjectStoreActor(
           final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration ) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, RetentionPolicy.unbounded());
+  }
+
+  /**
+   * Construct my state such that my entries are retained according to the {@code retentionPolicy}.
+   * @param dispatchers The dispatchers to be used
+   * @param checkConfirmationExpirationInterval the long interval in milliseconds of dispatch confirmation checks
+   * @param confirmationExpiration the long milliseconds after which unconfirmed dispatches are redispatched
+   * @param retentionPolicy the RetentionPolicy of my entries
+   */
+  public InMemoryObjectStoreActor(
+          final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, retentionPolicy, null, null);
+  }
+
+  /**
+   * Construct my state as above, such that my entry readers resume from their offsets
+   * in the {@code offsetStore}, if any.
+   * @param dispatchers The dispatchers to be used
+   * @param checkConfirmationExpirationInterval the long interval in milliseconds of dispatch confirmation checks
+   * @param confirmationExpiration the long milliseconds after which unconfirmed dispatches are redispatched
+   * @param retentionPolicy the RetentionPolicy of my entries
+   * @param offsetStore the OffsetStore from which my entry readers resume, or null
+   * @param offsetCommitter the OffsetCommitter by which entry reader offsets are committed, or null
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public InMemoryObjectStoreActor(
+          final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy,
+          final OffsetStore offsetStore,
+          final OffsetCommitter offsetCommitter) {
 
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+    this.appendNotifier = new AppendNotifier();
 
     this.dispatchers = dispatchers;
 
     this.entryReaders = new HashMap<>();
 
-    this.storeDelegate = new InMemoryObjectStoreDelegate(StateAdapterProvider.instance(stage().world()));
+    this.storeDelegate = new InMemoryObjectStoreDelegate(StateAdapterProvider.instance(stage().world()), retentionPolicy);
+    readerPositions().metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(stage().world()));
+    if (offsetStore != null) {
+      readerPositions().offsetsWith(offsetStore, offsetCommitter);
+    }
 
     this.dispatcherControl = stage().actorFor(
             DispatcherControl.class,
@@ -106,7 +155,7 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
   public Completes<EntryReader<? extends Entry<?>>> entryReader(final String name) {
     EntryReader<? extends Entry<?>> reader = entryReaders.get(name);
     if (reader == null) {
-      final Definition definition = Definition.has(InMemoryObjectStoreEntryReaderActor.class, new ObjectStoreEntryReaderInstantiator(readOnlyJournal(), name));
+      final Definition definition = Definition.has(InMemoryObjectStoreEntryReaderActor.class, new ObjectStoreEntryReaderInstantiator(readOnlyJournal(), readOnlyJournalPositions(), readerPositions().of(name), appendNotifier, name));
       reader = childActorFor(ObjectStoreEntryReader.class, definition);
     }
     return completes().with(reader);
@@ -126,6 +175,7 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
 
       this.storeDelegate.persistEntries(entries);
       this.storeDelegate.persistDispatchable(dispatchable);
+      appended(entries);
 
       dispatch(dispatchable);
       interest.persistResultedIn(Success.of(Result.Success), stateObject, 1, 1, object);
@@ -147,6 +197,7 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
         final int entryVersion = (int) stateSources.stateObject().version();
         final List<BaseEntry<?>> entries = entryAdapterProvider.asEntries(stateSources.sources(), entryVersion, metadata);
         this.storeDelegate.persistEntries(entries);
+        appended(entries);
 
         final Dispatchable<BaseEntry<?>, State<?>> dispatchable = buildDispatchable(state, entries);
         this.storeDelegate.persistDispatchable(dispatchable);
@@ -204,24 +255,49 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
     return raw.id + ":" + entries.stream().map(Entry::id).collect(Collectors.joining(":"));
   }
 
+  private void appended(final List<BaseEntry<?>> entries) {
+    if (!entries.isEmpty()) {
+      appendNotifier.appended();
+    }
+  }
+
   private List<BaseEntry<?>> readOnlyJournal() {
     return ((InMemoryObjectStoreDelegate) storeDelegate).readOnlyJournal();
   }
 
+  private EntryPositions readOnlyJournalPositions() {
+    return ((InMemoryObjectStoreDelegate) storeDelegate).readOnlyJournalPositions();
+  }
+
+  private ReaderPositions readerPositions() {
+    return ((InMemoryObjectStoreDelegate) storeDelegate).readerPositions();
+  }
+
   private static class ObjectStoreEntryReaderInstantiator implements ActorInstantiator<InMemoryObjectStoreEntryReaderActor> {
     private static final long serialVersionUID = -2022300658559205459L;
 
     final String name;
     final List<BaseEntry<?>> readOnlyJournal;
-
-    ObjectStoreEntryReaderInstantiator(final List<BaseEntry<?>> readOnlyJournal, final String name) {
+    final EntryPositions readOnlyJournalPositions;
+    final Position position;
+    final AppendNotifier appendNotifier;
+
+    ObjectStoreEntryReaderInstantiator(
+            final List<BaseEntry<?>> readOnlyJournal,
+            final EntryPositions readOnlyJournalPositions,
+            final Position position,
+            final AppendNotifier appendNotifier,
+            final String name) {
       this.readOnlyJournal = readOnlyJournal;
+      this.readOnlyJournalPositions = readOnlyJournalPositions;
+      this.position = position;
+      this.appendNotifier = appendNotifier;
       this.name = name;
     }
 
     @Override
     public InMemoryObjectStoreEntryReaderActor instantiate() {
-      return new InMemoryObjectStoreEntryReaderActor(readOnlyJournal(), name);
+      return new InMemoryObjectStoreEntryReaderActor(readOnlyJournal(), readOnlyJournalPositions, appendNotifier, position, name);
     }
 
     @Override
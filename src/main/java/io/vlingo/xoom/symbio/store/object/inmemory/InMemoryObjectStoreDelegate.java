@@ -21,8 +21,12 @@ import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.StorageException;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
@@ -35,18 +39,36 @@ import io.vlingo.xoom.symbio.store.object.StateObjectMapper;
 public class InMemoryObjectStoreDelegate
         implements ObjectStoreDelegate<BaseEntry<?>, State<?>>, DispatcherControl.DispatcherControlDelegate<BaseEntry<?>, State<?>> {
 
+  private int nextCompaction;
   private long nextId;
 
   private final Map<Class<?>,Map<Long, State<?>>> stores;
-  private final List<BaseEntry<?>> entries;
+  private final AppendOnlyLog<BaseEntry<?>> entries;
+  private final EntryPositions entryPositions;
+  private final ReaderPositions readerPositions;
+  private final RetentionPolicy retentionPolicy;
   private final List<Dispatchable<BaseEntry<?>, State<?>>> dispatchables;
   private final StateAdapterProvider stateAdapterProvider;
   private final IdentityGenerator identityGenerator;
 
   public InMemoryObjectStoreDelegate(final StateAdapterProvider stateAdapterProvider) {
+    this(stateAdapterProvider, RetentionPolicy.unbounded());
+  }
+
+  /**
+   * Constructs my state such that my entries are retained according to the {@code retentionPolicy},
+   * evicting those no longer retained each time another {@code AppendOnlyLog.ChunkSize} are persisted.
+   * @param stateAdapterProvider the StateAdapterProvider of my states
+   * @param retentionPolicy the RetentionPolicy of my entries
+   */
+  public InMemoryObjectStoreDelegate(final StateAdapterProvider stateAdapterProvider, final RetentionPolicy retentionPolicy) {
     this.stateAdapterProvider = stateAdapterProvider;
+    this.retentionPolicy = retentionPolicy;
     this.stores = new HashMap<>();
-    this.entries = new ArrayList<>();
+    this.entries = new AppendOnlyLog<>();
+    this.entryPositions = new EntryPositions();
+    this.readerPositions = new ReaderPositions(entries::size);
+    this.nextCompaction = AppendOnlyLog.ChunkSize;
     this.dispatchables = new CopyOnWriteArrayList<>();
     this.identityGenerator = new IdentityGenerator.RandomIdentityGenerator();
 
@@ -80,7 +102,8 @@ public class InMemoryObjectStoreDelegate
   @Override
   public void close() {
     this.stores.clear();
-    this.entries.clear();
+    this.entries.truncateBefore(entries.size()); // evicted rather than cleared, as readers may still be reading
+    this.entryPositions.clear();
     this.dispatchables.clear();
   }
 
@@ -98,7 +121,7 @@ public class InMemoryObjectStoreDelegate
   @Override
   @SuppressWarnings("rawtypes")
   public ObjectStoreDelegate copy() {
-    return new InMemoryObjectStoreDelegate(this.stateAdapterProvider);
+    return new InMemoryObjectStoreDelegate(this.stateAdapterProvider, this.retentionPolicy);
   }
 
   /**
@@ -161,10 +184,13 @@ public class InMemoryObjectStoreDelegate
    */
   @Override
   public void persistEntries(final Collection<BaseEntry<?>> entries) {
-    entries.forEach(baseEntry -> {
+    int position = this.entries.size();
+    for (final BaseEntry<?> baseEntry : entries) {
       baseEntry.__internal__setId(identityGenerator.generate().toString());
-    });
+      entryPositions.add(baseEntry.id(), position++);
+    }
     this.entries.addAll(entries);
+    compactWhenDue();
   }
 
   /**
@@ -238,4 +264,27 @@ public class InMemoryObjectStoreDelegate
   List<BaseEntry<?>> readOnlyJournal() {
     return entries;
   }
+
+  EntryPositions readOnlyJournalPositions() {
+    return entryPositions;
+  }
+
+  ReaderPositions readerPositions() {
+    return readerPositions;
+  }
+
+  private void compactWhenDue() {
+    if (entries.size() < nextCompaction) return;
+
+    nextCompaction = entries.size() + AppendOnlyLog.ChunkSize;
+
+    if (retentionPolicy.isUnbounded()) return;
+
+    final int firstRetained = retentionPolicy.firstRetained(entries, readerPositions.lowest(entries.size()));
+    final int evictTo = (firstRetained / AppendOnlyLog.ChunkSize) * AppendOnlyLog.ChunkSize;
+    for (int position = entries.firstIndex(); position < evictTo; ++position) {
+      entryPositions.remove(entries.get(position).id());
+    }
+    entries.truncateBefore(evictTo);
+  }
 }
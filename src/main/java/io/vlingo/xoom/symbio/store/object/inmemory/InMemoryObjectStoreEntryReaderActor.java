@@ -8,26 +8,56 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.EntryReaderStream;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreEntryReader;
 
 public class InMemoryObjectStoreEntryReaderActor extends Actor implements ObjectStoreEntryReader<Entry<String>> {
+  private final AppendNotifier appendNotifier;
   private int currentIndex;
   private final EntryAdapterProvider entryAdapterProvider;
   private final List<Entry<String>> entriesView;
+  private final EntryPositions entryPositions;
   private final String name;
+  private final Position position;
 
   public InMemoryObjectStoreEntryReaderActor(final List<Entry<String>> entriesView, final String name) {
+    this(entriesView, null, null, name);
+  }
+
+  public InMemoryObjectStoreEntryReaderActor(
+          final List<Entry<String>> entriesView,
+          final EntryPositions entryPositions,
+          final AppendNotifier appendNotifier,
+          final String name) {
+    this(entriesView, entryPositions, appendNotifier, null, name);
+  }
+
+  public InMemoryObjectStoreEntryReaderActor(
+          final List<Entry<String>> entriesView,
+          final EntryPositions entryPositions,
+          final AppendNotifier appendNotifier,
+          final Position position,
+          final String name) {
     this.entriesView = entriesView;
+    this.position = position;
+    this.appendNotifier = appendNotifier;
+    this.entryPositions = entryPositions;
     this.name = name;
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
-    this.currentIndex = 0;
+    this.currentIndex = position == null ? 0 : position.get(); // resumes from a committed offset, if any
  }
 
   @Override
   public void close() {
-
+    if (position != null) {
+      position.release(); // the entries are owned by the store
+    }
   }
 
   @Override
@@ -37,8 +67,11 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
 
   @Override
   public Completes<Entry<String>> readNext() {
-    if (currentIndex < entriesView.size()) {
-      return completes().with(entriesView.get(currentIndex++));
+    final Entry<String> entry = current();
+    if (entry != null) {
+      ++currentIndex;
+      positioned();
+      return completes().with(entry);
     }
     return completes().with(null);
   }
@@ -54,15 +87,29 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
     final List<Entry<String>> entries = new ArrayList<>(maximumEntries);
 
     for (int count = 0; count < maximumEntries; ++count) {
-      if (currentIndex < entriesView.size()) {
-        entries.add(entriesView.get(currentIndex++));
-      } else {
-        break;
-      }
+      final Entry<String> entry = current();
+      if (entry == null) break;
+      entries.add(entry);
+      ++currentIndex;
     }
+    positioned();
     return completes().with(entries);
   }
 
+  @Override
+  public Completes<EntryBatch<Entry<String>>> readBatch(final int maximumEntries, final EntryBatch<Entry<String>> into) {
+    into.clear();
+    final int total = Math.min(maximumEntries, into.capacity());
+    for (int count = 0; count < total; ++count) {
+      final Entry<String> entry = current();
+      if (entry == null) break;
+      into.add(entry);
+      ++currentIndex;
+    }
+    positioned();
+    return completes().with(into);
+  }
+
   @Override
   public Completes<List<Entry<String>>> readNext(final String fromId, final int maximumEntries) {
     seekTo(fromId);
@@ -72,6 +119,8 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
   @Override
   public void rewind() {
     this.currentIndex = 0;
+    skipEvicted();
+    positioned();
   }
 
   @Override
@@ -96,6 +145,8 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
       break;
     }
 
+    positioned();
+
     return completes().with(currentId);
   }
 
@@ -107,29 +158,50 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
   @Override
   @SuppressWarnings("unchecked")
   public Completes<Stream> streamAll() {
-    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
+    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider, appendNotifier));
+  }
+
+  /**
+   * Answer the entry at my current index, first skipping any evicted, or null if there is none.
+   * An entry evicted concurrently with its read is skipped as well.
+   */
+  private Entry<String> current() {
+    skipEvicted();
+    while (currentIndex < entriesView.size()) {
+      final Entry<String> entry = AppendOnlyLog.readableAt(entriesView, currentIndex);
+      if (entry != null) return entry;
+      skipEvicted();
+    }
+    return null;
   }
 
   private void end() {
     currentIndex = entriesView.size() - 1;
   }
 
+  private void positioned() {
+    if (position != null) {
+      position.set(currentIndex);
+    }
+  }
+
   private String readCurrentId() {
-    if (currentIndex < entriesView.size()) {
-      final String currentId = entriesView.get(currentIndex).id();
-      return currentId;
+    final Entry<String> entry = current();
+    return entry == null ? "-1" : entry.id();
+  }
+
+  private void skipEvicted() {
+    final int first = AppendOnlyLog.firstIndexOf(entriesView);
+    if (currentIndex < first) {
+      currentIndex = first;
     }
-    return "-1";
   }
 
   private void to(final String id) {
-    rewind();
-    while (currentIndex < entriesView.size()) {
-      final Entry<String> entry = entriesView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
-      ++currentIndex;
+    if (entryPositions == null) {
+      currentIndex = EntryPositions.sequentialPositionOf(entriesView, id, 1);
+    } else {
+      currentIndex = entryPositions.positionOf(id, entriesView.size());
     }
   }
 }
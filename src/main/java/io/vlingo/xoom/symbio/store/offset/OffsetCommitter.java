@@ -0,0 +1,59 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stage;
+
+/**
+ * Protocol of the asynchronous committer of entry reader offsets to an {@code OffsetStore}.
+ * Offsets are collected and committed together once the readers have advanced by a
+ * number of entries, or once an interval has elapsed since the first uncommitted offset.
+ */
+public interface OffsetCommitter {
+  /** The default number of entries advanced by readers at which offsets are committed. */
+  static final int DefaultCommitEntries = 100;
+
+  /** The default milliseconds after which uncommitted offsets are committed. */
+  static final long DefaultCommitInterval = 1000L;
+
+  /**
+   * Answer a new {@code OffsetCommitter} to {@code offsetStore} using the defaults.
+   * @param stage the Stage in which the committer is created
+   * @param offsetStore the OffsetStore to which offsets are committed
+   * @return OffsetCommitter
+   */
+  static OffsetCommitter using(final Stage stage, final OffsetStore offsetStore) {
+    return using(stage, offsetStore, DefaultCommitEntries, DefaultCommitInterval);
+  }
+
+  /**
+   * Answer a new {@code OffsetCommitter} to {@code offsetStore}.
+   * @param stage the Stage in which the committer is created
+   * @param offsetStore the OffsetStore to which offsets are committed
+   * @param commitEntries the int number of entries advanced by readers at which offsets are committed
+   * @param commitInterval the long milliseconds after which uncommitted offsets are committed
+   * @return OffsetCommitter
+   */
+  static OffsetCommitter using(final Stage stage, final OffsetStore offsetStore, final int commitEntries, final long commitInterval) {
+    return stage.actorFor(OffsetCommitter.class, Definition.has(OffsetCommitterActor.class, new OffsetCommitterActor.OffsetCommitterInstantiator(offsetStore, commitEntries, commitInterval)));
+  }
+
+  /**
+   * Records {@code offset} as the next index to be read by the reader named {@code readerName},
+   * to be committed with the next batch.
+   * @param readerName the String name of the reader
+   * @param offset the long index of the next entry to be read
+   */
+  void commit(final String readerName, final long offset);
+
+  /**
+   * Commits all uncommitted offsets now.
+   */
+  void flush();
+}
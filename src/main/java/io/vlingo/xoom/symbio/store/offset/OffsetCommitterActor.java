@@ -0,0 +1,120 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Scheduled;
+
+/**
+ * The {@code OffsetCommitter} that commits the offsets of readers to its {@code OffsetStore}
+ * once they have advanced by {@code commitEntries} in total, or {@code commitInterval}
+ * milliseconds following the first uncommitted offset, whichever is first.
+ */
+public class OffsetCommitterActor extends Actor implements OffsetCommitter, Scheduled<Object> {
+  private Cancellable commitWindow;
+  private final int commitEntries;
+  private final long commitInterval;
+  private final Map<String,Long> latest;
+  private final OffsetStore offsetStore;
+  private final Map<String,Long> pending;
+  private int uncommittedEntries;
+
+  public OffsetCommitterActor(final OffsetStore offsetStore, final int commitEntries, final long commitInterval) {
+    this.offsetStore = offsetStore;
+    this.commitEntries = Math.max(1, commitEntries);
+    this.commitInterval = Math.max(1L, commitInterval);
+    this.latest = new HashMap<>();
+    this.pending = new HashMap<>();
+    this.uncommittedEntries = 0;
+  }
+
+  @Override
+  public void commit(final String readerName, final long offset) {
+    final Long previous = latest.put(readerName, offset);
+
+    if (previous != null && previous == offset) return;
+
+    pending.put(readerName, offset);
+
+    final long advanced = previous == null ? 1L : Math.abs(offset - previous);
+    uncommittedEntries = (int) Math.min(commitEntries, uncommittedEntries + advanced);
+
+    if (uncommittedEntries >= commitEntries) {
+      flush();
+    } else {
+      commitWithinWindow();
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (commitWindow != null) {
+      commitWindow.cancel();
+      commitWindow = null;
+    }
+
+    if (pending.isEmpty()) return;
+
+    try {
+      offsetStore.commit(new HashMap<>(pending));
+      pending.clear();
+      uncommittedEntries = 0;
+    } catch (final Exception e) {
+      logger().error("Offsets could not be committed; retrying within " + commitInterval + " ms because: " + e.getMessage(), e);
+      commitWithinWindow();
+    }
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    commitWindow = null;
+    flush();
+  }
+
+  @Override
+  public void stop() {
+    flush();
+    super.stop();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void commitWithinWindow() {
+    if (commitWindow == null) {
+      commitWindow = scheduler().scheduleOnce(selfAs(Scheduled.class), null, 0L, commitInterval);
+    }
+  }
+
+  static class OffsetCommitterInstantiator implements ActorInstantiator<OffsetCommitterActor> {
+    private static final long serialVersionUID = -6140327185529364771L;
+
+    private final int commitEntries;
+    private final long commitInterval;
+    private final OffsetStore offsetStore;
+
+    OffsetCommitterInstantiator(final OffsetStore offsetStore, final int commitEntries, final long commitInterval) {
+      this.offsetStore = offsetStore;
+      this.commitEntries = commitEntries;
+      this.commitInterval = commitInterval;
+    }
+
+    @Override
+    public OffsetCommitterActor instantiate() {
+      return new OffsetCommitterActor(offsetStore, commitEntries, commitInterval);
+    }
+
+    @Override
+    public Class<OffsetCommitterActor> type() {
+      return OffsetCommitterActor.class;
+    }
+  }
+}
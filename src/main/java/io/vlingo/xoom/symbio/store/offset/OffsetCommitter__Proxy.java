@@ -0,0 +1,48 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.DeadLetter;
+import io.vlingo.xoom.actors.LocalMessage;
+import io.vlingo.xoom.actors.Mailbox;
+import io.vlingo.xoom.common.SerializableConsumer;
+
+public class OffsetCommitter__Proxy implements OffsetCommitter {
+
+  private static final String commitRepresentation1 = "commit(java.lang.String, long)";
+  private static final String flushRepresentation2 = "flush()";
+
+  private final Actor actor;
+  private final Mailbox mailbox;
+
+  public OffsetCommitter__Proxy(final Actor actor, final Mailbox mailbox){
+    this.actor = actor;
+    this.mailbox = mailbox;
+  }
+
+  public void commit(final String readerName, final long offset) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<OffsetCommitter> consumer = (actor) -> actor.commit(readerName, offset);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, OffsetCommitter.class, consumer, null, commitRepresentation1); }
+      else { mailbox.send(new LocalMessage<OffsetCommitter>(actor, OffsetCommitter.class, consumer, commitRepresentation1)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, commitRepresentation1));
+    }
+  }
+
+  public void flush() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<OffsetCommitter> consumer = (actor) -> actor.flush();
+      if (mailbox.isPreallocated()) { mailbox.send(actor, OffsetCommitter.class, consumer, null, flushRepresentation2); }
+      else { mailbox.send(new LocalMessage<OffsetCommitter>(actor, OffsetCommitter.class, consumer, flushRepresentation2)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, flushRepresentation2));
+    }
+  }
+}
@@ -0,0 +1,34 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset;
+
+import java.util.Map;
+
+/**
+ * The storage of the offsets of named entry readers, from which each reader resumes
+ * rather than reading again from the {@code EntryReader.Beginning}. Offsets are the
+ * indexes of the next entries to be read, and are committed in batches by an
+ * {@code OffsetCommitter}. Implementations must be safe for concurrent use.
+ */
+public interface OffsetStore {
+  /** The offset answered for a reader that has none committed. */
+  static final long Unknown = -1L;
+
+  /**
+   * Answer the last committed offset of the reader named {@code readerName}, or {@code Unknown}.
+   * @param readerName the String name of the reader
+   * @return long
+   */
+  long offsetOf(final String readerName);
+
+  /**
+   * Commits all {@code offsets} at once, each by the name of its reader.
+   * @param offsets the {@code Map<String,Long>} of reader names to offsets
+   */
+  void commit(final Map<String,Long> offsets);
+}
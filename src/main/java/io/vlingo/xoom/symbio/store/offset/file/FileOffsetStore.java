@@ -0,0 +1,104 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset.file;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+
+/**
+ * An {@code OffsetStore} that keeps the offsets of all readers in a single file, which
+ * is read once when I am constructed and is replaced whole by each commit. Each commit
+ * is written to a temporary file that is forced to the device and then atomically
+ * moved over the file, so that the file always holds one complete set of offsets.
+ */
+public class FileOffsetStore implements OffsetStore {
+  private final Path file;
+  private final Map<String,Long> offsets;
+  private final Path temporary;
+
+  /**
+   * Constructs my state, reading any offsets previously committed to {@code file}.
+   * @param file the Path of the file of offsets, which is created by the first commit
+   */
+  public FileOffsetStore(final Path file) {
+    this.file = file;
+    this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    this.offsets = new ConcurrentHashMap<>();
+
+    recover();
+  }
+
+  @Override
+  public long offsetOf(final String readerName) {
+    return offsets.getOrDefault(readerName, Unknown);
+  }
+
+  @Override
+  public synchronized void commit(final Map<String,Long> offsets) {
+    this.offsets.putAll(offsets);
+
+    try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      final ByteBuffer buffer = ByteBuffer.wrap(serialized());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    } catch (final IOException e) {
+      throw new StorageException(Result.Error, "Cannot write offsets to: " + temporary + " because: " + e.getMessage(), e);
+    }
+
+    try {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new StorageException(Result.Error, "Cannot replace offsets file: " + file + " because: " + e.getMessage(), e);
+    }
+  }
+
+  private void recover() {
+    if (!Files.exists(file)) return;
+
+    try (final InputStream input = new BufferedInputStream(Files.newInputStream(file));
+         final DataInputStream data = new DataInputStream(input)) {
+      final int total = data.readInt();
+      for (int count = 0; count < total; ++count) {
+        final String readerName = data.readUTF();
+        offsets.put(readerName, data.readLong());
+      }
+    } catch (final IOException e) {
+      throw new StorageException(Result.Error, "Cannot read offsets from: " + file + " because: " + e.getMessage(), e);
+    }
+  }
+
+  private byte[] serialized() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + offsets.size() * 32);
+    try (final DataOutputStream data = new DataOutputStream(bytes)) {
+      data.writeInt(offsets.size());
+      for (final Map.Entry<String,Long> offset : offsets.entrySet()) {
+        data.writeUTF(offset.getKey());
+        data.writeLong(offset.getValue());
+      }
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,37 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset.inmemory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+
+/**
+ * An {@code OffsetStore} that holds offsets only in memory, such that a reader
+ * closed and then requested again by name from the same store resumes from its
+ * offset. Offsets are indexes into the entries of the store, and so a new store,
+ * whose entries begin again at {@code 0}, must not be given the offsets of another.
+ */
+public class InMemoryOffsetStore implements OffsetStore {
+  private final Map<String,Long> offsets;
+
+  public InMemoryOffsetStore() {
+    this.offsets = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public long offsetOf(final String readerName) {
+    return offsets.getOrDefault(readerName, Unknown);
+  }
+
+  @Override
+  public void commit(final Map<String,Long> offsets) {
+    this.offsets.putAll(offsets);
+  }
+}
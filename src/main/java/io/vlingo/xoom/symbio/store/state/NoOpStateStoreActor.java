@@ -9,14 +9,18 @@ package io.vlingo.xoom.symbio.store.state;
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.DeadLetters;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class NoOpStateStoreActor<RS extends State<?>> extends Actor implements StateStore  {
@@ -51,6 +55,18 @@ public class NoOpStateStoreActor<RS extends State<?>> extends Actor implements S
     this.completes().failed();
   }
 
+  @Override
+  public void readRangeByIndex(Class<?> type, String fieldName, Object from, Object to, ReadResultInterest interest, Object object) {
+    logger().error(warningMessage);
+    interest.readResultedIn(Failure.of(new StorageException(Result.Error, "All state store operations are stopped.")), Collections.emptyList(), object);
+  }
+
+  @Override
+  public Completes<Result> registerIndex(StateIndex index) {
+    logger().error(warningMessage);
+    return Completes.withFailure(Result.Error);
+  }
+
   @Override
   public Completes<Stream> streamAllOf(Class<?> stateType) {
     logger().error(warningMessage);
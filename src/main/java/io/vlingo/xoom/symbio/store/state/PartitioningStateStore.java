@@ -7,34 +7,65 @@
 
 package io.vlingo.xoom.symbio.store.state;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Environment;
 import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.common.Cancellable;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.common.Tuple2;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.store.ConsistentHashRing;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
 
 /**
  * Provides a partitioning {@code StateStore}. All reads and writes are from/to the same storage and tables.
  * The partitioning is based on id hashing, which is meant to read and write in parallel using more than one
  * connection. For reader operations not subject to id, such as queries and streaming, the partitioning is
- * based on smallest mailbox.
+ * based on smallest mailbox, except for reads by an index, which are read from every writer and gathered,
+ * because each writer maintains the index of the states written through it.
+ * <p>
+ * Ids are partitioned by a {@code ConsistentHashRing}, so that the store may be resized while in use by
+ * {@code resize(totalReaders, totalWriters)}, which moves only the ids of the ring points gained or lost.
+ * So that the reads and writes of a moved id are not reordered, each former partition is then sent a
+ * marker, an empty {@code readAll()}, and those of moved ids are held until every former partition has
+ * answered its marker, and so has processed all that was sent to it before. The held messages are then
+ * sent to the new partitions, and the partitions removed are stopped. A resize requested while another
+ * is handed off is applied once it completes. Indexes registered are registered with the partitions added.
+ * Each message is routed while holding a read lock, so that none is sent to a former partition once its
+ * marker is. Should a former partition not answer its marker within {@code HandoffTimeout} milliseconds,
+ * the handoff is completed without it, so that the held messages and any waiting resize are not held
+ * forever, although those of its moved ids may then be reordered.
  * <p>
  * WARNING: (1) When utilizing the smallest mailbox (least busy reader) operations, it is important to not request
  * additional operations of the same type if the earlier query must complete before the subsequent request.
  * (2) The underlying {@code Actor} must use a {@code Mailbox} that supports {@code int pendingMessages()}. Otherwise,
  * the smallest mailbox (least busy reader) operations cannot be supported, and it does not make much sense to use
- * this a partitioning {@code StateStore}.
+ * this a partitioning {@code StateStore}. (3) The underlying {@code Actor} must answer a {@code readAll()} of no
+ * bundles, as it does any other, as required of every {@code StateStoreReader}, for a resize to complete
+ * without waiting for the {@code HandoffTimeout}.
  */
 public class PartitioningStateStore implements StateStore {
 
@@ -91,18 +122,29 @@ public class PartitioningStateStore implements StateStore {
   public static int MinimumWriters = 3;
   public static int MaximumWriters = 256;
 
+  /** The milliseconds after which a resize is handed off without the markers not yet answered. */
+  public static long HandoffTimeout = 10_000L;
+
+  private static final int NoPartition = Integer.MIN_VALUE;
+
+  private final Map<String, StateIndex> indexes;
   private final InstantiatorProvider instantiatorProvider;
-  private Tuple2<StateStore, Actor>[] readers;
-  private Tuple2<StateStore, Actor>[] writers;
+  private final ReadWriteLock lock;
+  private Tuple2<Integer, Integer> pendingResize;
+  private volatile Partitions readers;
+  private final Stage stage;
+  private final Class<? extends Actor> stateStoreActorType;
+  private volatile Partitions writers;
 
   /**
-   * Answer the partition of {@code identity} when there are {@code totalPartitions}.
+   * Answer the partition of {@code identity} when there are {@code totalPartitions},
+   * as by the {@code ConsistentHashRing} of {@code totalPartitions}.
    * @param identity the String identity
    * @param totalPartitions the int number of partitions
    * @return int
    */
   public static int partitionOf(final String identity, final int totalPartitions) {
-    return Math.abs(identity.hashCode() % totalPartitions);
+    return ConsistentHashRing.of(totalPartitions).partitionOf(identity);
   }
 
   /**
@@ -134,15 +176,151 @@ public class PartitioningStateStore implements StateStore {
    */
   @Override
   public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
-    readerOf(id).read(id, type, interest, object);
+    lock.readLock().lock();
+    try {
+      readers.send(id, reader -> reader.read(id, type, interest, object));
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
+   * Reads the {@code bundles} of each partition from its reader, all in parallel, and answers the
+   * {@code interest} once with the bundles read by all, in the order of {@code bundles}. The outcome
+   * is the error of a partition if any failed other than by not finding states, {@code Result.NotAllFound}
+   * if only some states were found, the failure of a partition if none were, and otherwise a success.
    * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#readAll(java.util.Collection, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)
    */
   @Override
   public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
-    leastBusyReader().readAll(bundles, interest, object);
+    lock.readLock().lock();
+    try {
+      final Partitions readers = this.readers;
+      final Map<Integer, List<TypedStateBundle>> partitions = new LinkedHashMap<>();
+
+      for (final TypedStateBundle bundle : bundles) {
+        final int partition = bundle.id == null ? NoPartition : readers.targetOf(bundle.id);
+        partitions.computeIfAbsent(partition, target -> new ArrayList<>()).add(bundle);
+      }
+
+      if (partitions.size() <= 1) {
+        final int partition = partitions.isEmpty() ? NoPartition : partitions.keySet().iterator().next();
+        if (partition == NoPartition) {
+          leastBusyReader().readAll(bundles, interest, object);
+        } else {
+          readers.send(bundles.iterator().next().id, reader -> reader.readAll(bundles, interest, object));
+        }
+        return;
+      }
+
+      final ReadAllGatherer gatherer = new ReadAllGatherer(bundles, partitions.size(), interest, object);
+
+      for (final Map.Entry<Integer, List<TypedStateBundle>> partition : partitions.entrySet()) {
+        final List<TypedStateBundle> partitionBundles = partition.getValue();
+        if (partition.getKey() == NoPartition) {
+          leastBusyReader().readAll(partitionBundles, gatherer, null);
+        } else {
+          readers.send(partitionBundles.get(0).id, reader -> reader.readAll(partitionBundles, gatherer, null));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Reads the range from every writer, all in parallel, and answers the {@code interest} once with
+   * the states read by all, ordered by their keys if the index is sorted. The outcome is the error
+   * of a writer if any failed, {@code Result.NotFound} if none found a state, and otherwise a success.
+   * While a resize of the writers is handed off, the read is held until it completes.
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#readRangeByIndex(java.lang.Class, java.lang.String, java.lang.Object, java.lang.Object, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)
+   */
+  @Override
+  public void readRangeByIndex(final Class<?> type, final String fieldName, final Object from, final Object to, final ReadResultInterest interest, final Object object) {
+    lock.readLock().lock();
+    try {
+      final Partitions writers = this.writers;
+      final StateIndex definition = indexes.get(indexNameOf(type, fieldName));
+      final IndexReadGatherer gatherer = new IndexReadGatherer(definition, writers.stores.length, interest, object);
+
+      writers.sendWhenHandedOff(() -> {
+        for (final Tuple2<StateStore, Actor> writer : writers.stores) {
+          writer._1.readRangeByIndex(type, fieldName, from, to, gatherer, null);
+        }
+      });
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Registers the {@code index} with every reader and writer, each of which maintains its own, and
+   * with those added by a later {@code resize()}. Answers {@code Result.Success} once all have
+   * registered it, or the failure of the first that did not.
+   * @see io.vlingo.xoom.symbio.store.state.StateStore#registerIndex(io.vlingo.xoom.symbio.store.state.StateIndex)
+   */
+  @Override
+  public Completes<Result> registerIndex(final StateIndex index) {
+    lock.writeLock().lock();
+    try {
+      indexes.put(indexNameOf(index.stateType, index.fieldName), index);
+
+      final List<StateStore> stores = new ArrayList<>(readers.stores.length + writers.stores.length);
+      for (final Tuple2<StateStore, Actor> reader : readers.stores) {
+        stores.add(reader._1);
+      }
+      for (final Tuple2<StateStore, Actor> writer : writers.stores) {
+        stores.add(writer._1);
+      }
+
+      return registered(index, stores);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Resizes me to {@code totalReaders} and {@code totalWriters}, each limited as when I was
+   * created, while I continue to be used. Partitions are added by creating new actors by means
+   * of my {@code InstantiatorProvider}, with which the indexes registered are then registered,
+   * and removed by stopping the actors of the highest partitions once they are handed off. If
+   * a resize is still being handed off, this one is applied once it completes, replacing any
+   * other that is waiting.
+   * @param totalReaders the int total number of readers
+   * @param totalWriters the int total number of writers
+   */
+  public void resize(final int totalReaders, final int totalWriters) {
+    lock.writeLock().lock();
+    try {
+      if (isHandingOff()) {
+        pendingResize = Tuple2.from(totalReaders, totalWriters);
+        return;
+      }
+
+      readers = resized(readers, StateStoreRole.Reader, actualTotal(totalReaders, MinimumReaders, MaximumReaders));
+      writers = resized(writers, StateStoreRole.Writer, actualTotal(totalWriters, MinimumWriters, MaximumWriters));
+
+      readers.handOff();
+      writers.handOff();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Answer my current total number of readers.
+   * @return int
+   */
+  public int totalReaders() {
+    return readers.stores.length;
+  }
+
+  /**
+   * Answer my current total number of writers.
+   * @return int
+   */
+  public int totalWriters() {
+    return writers.stores.length;
   }
 
   /**
@@ -166,15 +344,22 @@ public class PartitioningStateStore implements StateStore {
    */
   @Override
   public <S, C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object) {
-    writerOf(id).write(id, state, stateVersion, sources, metadata, interest, object);
+    lock.readLock().lock();
+    try {
+      writers.send(id, writer -> writer.write(id, state, stateVersion, sources, metadata, interest, object));
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /*
+   * Answers the entry reader of the current partition of {@code name}, even while it is handed off,
+   * as the order of its messages is that of the reader itself.
    * @see io.vlingo.xoom.symbio.store.state.StateStore#entryReader(java.lang.String)
    */
   @Override
   public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
-    return readerOf(name).entryReader(name);
+    return readers.storeOf(name).entryReader(name);
   }
 
   private <A extends Actor> PartitioningStateStore(
@@ -184,11 +369,19 @@ public class PartitioningStateStore implements StateStore {
           final int totalReaders,
           final int totalWriters) {
 
+    this.stage = stage;
+    this.stateStoreActorType = stateStoreActorType;
     this.instantiatorProvider = instantiatorProvider;
+    this.indexes = new HashMap<>();
+    this.lock = new ReentrantReadWriteLock();
 
-    this.readers = createStateStores(stage, stateStoreActorType, StateStoreRole.Reader, actualTotal(totalReaders, MinimumReaders, MaximumReaders));
+    final int readerPartitions = actualTotal(totalReaders, MinimumReaders, MaximumReaders);
 
-    this.writers = createStateStores(stage, stateStoreActorType, StateStoreRole.Writer, actualTotal(totalWriters, MinimumWriters, MaximumWriters));
+    this.readers = new Partitions(ConsistentHashRing.of(readerPartitions), createStateStores(StateStoreRole.Reader, 0, readerPartitions, readerPartitions), null, Collections.emptyList());
+
+    final int writerPartitions = actualTotal(totalWriters, MinimumWriters, MaximumWriters);
+
+    this.writers = new Partitions(ConsistentHashRing.of(writerPartitions), createStateStores(StateStoreRole.Writer, 0, writerPartitions, writerPartitions), null, Collections.emptyList());
   }
 
   private int actualTotal(final int total, final int minimum, final int maximum) {
@@ -199,20 +392,26 @@ public class PartitioningStateStore implements StateStore {
     return total;
   }
 
-  @SuppressWarnings("unchecked")
-  private <A extends Actor> Tuple2<StateStore, Actor>[] createStateStores(
-          final Stage stage,
-          final Class<A> stateStoreActorType,
+  /**
+   * Answer a new array of {@code total} stores of the {@code type}, of which those before
+   * {@code firstCreated} are left for the caller and the others are created.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Tuple2<StateStore, Actor>[] createStateStores(
           final StateStoreRole type,
-          final int total) {
+          final int firstCreated,
+          final int total,
+          final int totalPartitions) {
+
+    final Class<Actor> actorType = (Class<Actor>) stateStoreActorType;
 
     final Tuple2<StateStore, Actor>[] stateStores = new Tuple2[total];
 
-    for (int idx = 0; idx < total; ++idx) {
-      final ActorInstantiator<A> instantiator = instantiatorProvider.instantiatorFor(stateStoreActorType, type, idx, total);
-      final HookInstantiator<A> hook = new HookInstantiator<>(instantiator);
-      final Optional<Definition> definition = instantiatorProvider.definitionFor(stateStoreActorType, hook, type, idx, total);
-      final StateStore stateStore = stage.actorFor(StateStore.class, definition.orElse(Definition.has(stateStoreActorType, hook)));
+    for (int idx = firstCreated; idx < total; ++idx) {
+      final ActorInstantiator<Actor> instantiator = instantiatorProvider.instantiatorFor(actorType, type, idx, totalPartitions);
+      final HookInstantiator<Actor> hook = new HookInstantiator<>(instantiator);
+      final Optional<Definition> definition = instantiatorProvider.definitionFor(actorType, hook, type, idx, totalPartitions);
+      final StateStore stateStore = stage.actorFor(StateStore.class, definition.orElse(Definition.has(actorType, hook)));
       pending(hook.actor); // assertion that Mailbox supports pendingMessages()
       stateStores[idx] = Tuple2.from(stateStore, hook.actor);
     }
@@ -220,7 +419,37 @@ public class PartitioningStateStore implements StateStore {
     return stateStores;
   }
 
+  /**
+   * Completes the handoff of the {@code partitions} once all of their former partitions have
+   * answered their markers, or once the {@code HandoffTimeout} has {@code expired}, and then
+   * applies any resize waiting for it.
+   */
+  private void handedOff(final Partitions partitions, final boolean expired) {
+    lock.writeLock().lock();
+    try {
+      if (!(expired ? partitions.expired() : partitions.acknowledged())) return;
+
+      if (pendingResize != null && !isHandingOff()) {
+        final Tuple2<Integer, Integer> resize = pendingResize;
+        pendingResize = null;
+        resize(resize._1, resize._2);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private String indexNameOf(final Class<?> type, final String fieldName) {
+    return type.getName() + "#" + fieldName;
+  }
+
+  private boolean isHandingOff() {
+    return readers.former != null || writers.former != null;
+  }
+
   private StateStore leastBusyReader() {
+    final Tuple2<StateStore, Actor>[] readers = this.readers.stores;
+
     int totalMessages = Integer.MAX_VALUE;
     StateStore reader = null;
 
@@ -240,14 +469,349 @@ public class PartitioningStateStore implements StateStore {
     return Environment.of(actor).pendingMessages();
   }
 
-  private StateStore readerOf(final String identity) {
-    final int index = partitionOf(identity, readers.length);
-    return readers[index]._1;
+  /**
+   * Answer the {@code Completes<Result>} of registering the {@code index} with all of the
+   * {@code stores}, which fails with the first that fails. Each is sent its registration at
+   * once, so that it precedes any message sent to the store after.
+   */
+  private Completes<Result> registered(final StateIndex index, final List<StateStore> stores) {
+    final List<Completes<Result>> registrations = new ArrayList<>(stores.size());
+    for (final StateStore store : stores) {
+      registrations.add(store.registerIndex(index));
+    }
+
+    Completes<Result> registered = Completes.withSuccess(Result.Success);
+    for (final Completes<Result> registration : registrations) {
+      registered = registered.andThenTo(result -> registration);
+    }
+    return registered;
+  }
+
+  /**
+   * Answer {@code current} resized to {@code total}, keeping the stores of the partitions that
+   * remain, creating those added, with which my indexes are registered, and retiring those removed.
+   */
+  private Partitions resized(final Partitions current, final StateStoreRole type, final int total) {
+    final int currentTotal = current.stores.length;
+
+    if (total == currentTotal) return current;
+
+    final Tuple2<StateStore, Actor>[] stores = createStateStores(type, Math.min(currentTotal, total), total, total);
+
+    final List<StateStore> created = new ArrayList<>();
+    for (int idx = currentTotal; idx < total; ++idx) {
+      created.add(stores[idx]._1);
+    }
+    for (final StateIndex index : indexes.values()) {
+      registered(index, created);
+    }
+
+    final List<Tuple2<StateStore, Actor>> retired = new ArrayList<>();
+    for (int idx = 0; idx < currentTotal; ++idx) {
+      if (idx < total) {
+        stores[idx] = current.stores[idx];
+      } else {
+        retired.add(current.stores[idx]);
+      }
+    }
+
+    return new Partitions(current.ring.resizedTo(total), stores, current, retired);
+  }
+
+  /**
+   * Gathers the results of the {@code readAll()} of the bundles of each partition into
+   * one result, answered by the reader of the last partition to answer.
+   */
+  static final class ReadAllGatherer implements ReadResultInterest {
+    private final List<TypedStateBundle> bundles;
+    private Outcome<StorageException, Result> error;
+    private final int expectedReads;
+    private Outcome<StorageException, Result> failure;
+    private final ReadResultInterest interest;
+    private final Object object;
+    private final Map<String, Integer> order;
+    private int pendingPartitions;
+
+    ReadAllGatherer(final Collection<TypedStateBundle> requested, final int totalPartitions, final ReadResultInterest interest, final Object object) {
+      this.bundles = new ArrayList<>(requested.size());
+      this.expectedReads = requested.size();
+      this.interest = interest;
+      this.object = object;
+      this.order = new HashMap<>(requested.size() * 2);
+      this.pendingPartitions = totalPartitions;
+
+      int index = 0;
+      for (final TypedStateBundle bundle : requested) {
+        order.putIfAbsent(bundle.id, index++);
+      }
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      // each partition answers all of its bundles at once
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      final Outcome<StorageException, Result> gathered;
+
+      synchronized (this) {
+        this.bundles.addAll(bundles);
+
+        outcome.otherwise(cause -> {
+          if (cause.result == Result.NotFound || cause.result == Result.NotAllFound) {
+            failure = outcome;
+          } else if (error == null) {
+            error = outcome;
+          }
+          return cause.result;
+        });
+
+        if (--pendingPartitions > 0) return;
+
+        gathered = gatheredOutcome();
+      }
+
+      if (interest != null) {
+        this.bundles.sort(Comparator.comparingInt(bundle -> order.getOrDefault(bundle.id, Integer.MAX_VALUE)));
+        interest.readResultedIn(gathered, this.bundles, this.object);
+      }
+    }
+
+    private Outcome<StorageException, Result> gatheredOutcome() {
+      if (error != null) {
+        return error;
+      }
+      if (failure == null) {
+        return Success.of(Result.Success);
+      }
+      if (!bundles.isEmpty() && bundles.size() < expectedReads) {
+        return Failure.of(new StorageException(Result.NotAllFound, "Not all states were found."));
+      }
+      return failure;
+    }
+  }
+
+  /**
+   * Gathers the results of the {@code readRangeByIndex()} of each writer into one result,
+   * answered by the writer of the last partition to answer. A state read by more than one
+   * writer, as when all share the same storage, is answered once at its latest version.
+   */
+  static final class IndexReadGatherer implements ReadResultInterest {
+    private final Map<String, TypedStateBundle> bundles;
+    private final StateIndex definition;
+    private Outcome<StorageException, Result> error;
+    private final ReadResultInterest interest;
+    private final Object object;
+    private int pendingPartitions;
+
+    IndexReadGatherer(final StateIndex definition, final int totalPartitions, final ReadResultInterest interest, final Object object) {
+      this.bundles = new LinkedHashMap<>();
+      this.definition = definition;
+      this.interest = interest;
+      this.object = object;
+      this.pendingPartitions = totalPartitions;
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      // each partition answers all of its states at once
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      final Outcome<StorageException, Result> gathered;
+      final List<TypedStateBundle> read;
+
+      synchronized (this) {
+        for (final TypedStateBundle bundle : bundles) {
+          this.bundles.merge(bundle.id, bundle, (current, other) -> other.stateVersion > current.stateVersion ? other : current);
+        }
+
+        outcome.otherwise(cause -> {
+          if (cause.result != Result.NotFound && error == null) error = outcome;
+          return cause.result;
+        });
+
+        if (--pendingPartitions > 0) return;
+
+        read = new ArrayList<>(this.bundles.values());
+        gathered = gatheredOutcome(read);
+      }
+
+      if (interest != null) {
+        if (definition != null && definition.isSorted()) {
+          read.sort((left, right) -> StateQuery.compare(keyOf(left), keyOf(right)));
+        }
+        interest.readResultedIn(gathered, read, this.object);
+      }
+    }
+
+    private Outcome<StorageException, Result> gatheredOutcome(final List<TypedStateBundle> read) {
+      if (error != null) {
+        return error;
+      }
+      if (read.isEmpty()) {
+        return Failure.of(new StorageException(Result.NotFound, "Not found."));
+      }
+      return Success.of(Result.Success);
+    }
+
+    private Object keyOf(final TypedStateBundle bundle) {
+      return definition.keyOf(bundle.metadata, bundle.state);
+    }
   }
 
-  private StateStore writerOf(final String identity) {
-    final int index = partitionOf(identity, writers.length);
-    return writers[index]._1;
+  /**
+   * The stores of my readers or writers, with the ring by which ids are partitioned among
+   * them, and while a resize is handed off, the partitions they were resized from, those
+   * removed, and the messages held until the handoff completes. All but my {@code stores}
+   * and {@code ring} are guarded by the lock of the {@code PartitioningStateStore}, held
+   * for reading to send and for writing to hand off.
+   */
+  private final class Partitions {
+    private Cancellable expiration;
+    volatile Partitions former;
+    private final List<Runnable> held;
+    final ConsistentHashRing ring;
+    private final List<Tuple2<StateStore, Actor>> retired;
+    final Tuple2<StateStore, Actor>[] stores;
+    private int unacknowledged;
+
+    Partitions(final ConsistentHashRing ring, final Tuple2<StateStore, Actor>[] stores, final Partitions former, final List<Tuple2<StateStore, Actor>> retired) {
+      this.ring = ring;
+      this.stores = stores;
+      this.former = former;
+      this.held = new ArrayList<>();
+      this.retired = retired;
+    }
+
+    /**
+     * Answer whether all of my former partitions have answered their markers, in which
+     * case my held messages are sent, my retired stores are stopped, and I am handed off.
+     */
+    boolean acknowledged() {
+      if (former == null || --unacknowledged > 0) return false; // or answered after expiring
+
+      former = null;
+
+      if (expiration != null) {
+        expiration.cancel();
+      }
+
+      for (final Runnable message : held) {
+        message.run();
+      }
+      held.clear();
+
+      for (final Tuple2<StateStore, Actor> store : retired) {
+        store._2.stop();
+      }
+      retired.clear();
+
+      return true;
+    }
+
+    /**
+     * Answer whether I was still being handed off when the {@code HandoffTimeout} expired,
+     * in which case I am handed off as if all of my markers had been answered.
+     */
+    boolean expired() {
+      if (former == null) return false;
+
+      stage.world().defaultLogger().warn("PartitioningStateStore resize handed off after " + HandoffTimeout + " ms without " + unacknowledged + " unanswered marker(s); each StateStore must answer readAll() of no bundles.");
+
+      unacknowledged = 1;
+
+      return acknowledged();
+    }
+
+    /**
+     * Sends a marker to each of my former partitions, unless I have none, and schedules
+     * the expiration of the handoff should any not be answered.
+     */
+    void handOff() {
+      if (former == null) return;
+
+      final Partitions former = this.former;
+
+      unacknowledged = former.stores.length;
+
+      final ReadResultInterest marker = new HandoffMarker(this);
+      for (final Tuple2<StateStore, Actor> store : former.stores) {
+        store._1.readAll(Collections.emptyList(), marker, null);
+      }
+
+      expiration = stage.scheduler().scheduleOnce((scheduled, data) -> handedOff(this, true), null, HandoffTimeout, 0L);
+    }
+
+    /**
+     * Sends the {@code message} to the store of {@code identity}, unless it has moved from a
+     * former partition not yet handed off, in which case it is held until then.
+     */
+    void send(final String identity, final Consumer<StateStore> message) {
+      final StateStore store = storeOf(identity);
+      if (isMoved(identity)) {
+        synchronized (held) {
+          held.add(() -> message.accept(store));
+        }
+      } else {
+        message.accept(store);
+      }
+    }
+
+    /**
+     * Runs the {@code message} now, unless I am being handed off, in which case it is held until then.
+     */
+    void sendWhenHandedOff(final Runnable message) {
+      if (former == null) {
+        message.run();
+      } else {
+        synchronized (held) {
+          held.add(message);
+        }
+      }
+    }
+
+    StateStore storeOf(final String identity) {
+      return stores[ring.partitionOf(identity)]._1;
+    }
+
+    /**
+     * Answer the partition of {@code identity}, or if it has moved and is held, a distinct
+     * negative number, so that those held and those not are not sent together.
+     */
+    int targetOf(final String identity) {
+      final int partition = ring.partitionOf(identity);
+      return isMoved(identity) ? -partition - 1 : partition;
+    }
+
+    private boolean isMoved(final String identity) {
+      final Partitions former = this.former;
+      return former != null && former.stores[former.ring.partitionOf(identity)] != stores[ring.partitionOf(identity)];
+    }
+  }
+
+  /**
+   * The interest of the markers sent to former partitions, each of which answers once it
+   * has processed all that was sent to it before its marker.
+   */
+  private final class HandoffMarker implements ReadResultInterest {
+    private final Partitions partitions;
+
+    HandoffMarker(final Partitions partitions) {
+      this.partitions = partitions;
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      // markers are answered as a readAll()
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      handedOff(partitions, false);
+    }
   }
 
   private class HookInstantiator<A extends Actor> implements ActorInstantiator<A> {
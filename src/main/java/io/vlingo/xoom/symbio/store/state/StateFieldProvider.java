@@ -0,0 +1,73 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.vlingo.xoom.actors.World;
+
+/**
+ * The named fields of native state types by which a {@code StateQuery} may select states,
+ * each answered by an extractor of the field from an instance of its type. Fields are
+ * registered before querying, and may be extracted concurrently by the streams of queries.
+ */
+public class StateFieldProvider {
+  static final String INTERNAL_NAME = UUID.randomUUID().toString();
+
+  private final Map<Class<?>,Map<String,Function<Object,?>>> extractors;
+
+  /**
+   * Answer the {@code StateFieldProvider} held by the {@code world}.
+   * If no such instance exists, create and answer a new instance of
+   * {@link StateFieldProvider} registered with {@code world}.
+   * @param world the World where the StateFieldProvider is held
+   * @return StateFieldProvider
+   */
+  public static StateFieldProvider instance(final World world) {
+    StateFieldProvider instance = world.resolveDynamic(INTERNAL_NAME, StateFieldProvider.class);
+    if (instance == null) {
+      instance = new StateFieldProvider(world);
+    }
+    return instance;
+  }
+
+  public StateFieldProvider(final World world) {
+    this();
+    world.registerDynamic(INTERNAL_NAME, this);
+  }
+
+  public StateFieldProvider() {
+    this.extractors = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Registers the {@code extractor} of the field named {@code fieldName} of the {@code stateType}.
+   * @param stateType the {@code Class<S>} of the native state
+   * @param fieldName the String name of the field
+   * @param extractor the {@code Function<S,?>} answering the value of the field of a state
+   * @param <S> the native state type
+   */
+  @SuppressWarnings("unchecked")
+  public <S> void registerField(final Class<S> stateType, final String fieldName, final Function<S,?> extractor) {
+    extractors.computeIfAbsent(stateType, type -> new ConcurrentHashMap<>()).put(fieldName, (Function<Object,?>) extractor);
+  }
+
+  /**
+   * Answer the extractor of the field named {@code fieldName} of the {@code stateType}, or null if none is registered.
+   * @param stateType the {@code Class<?>} of the native state
+   * @param fieldName the String name of the field
+   * @return {@code Function<Object,?>}
+   */
+  public Function<Object,?> extractorOf(final Class<?> stateType, final String fieldName) {
+    final Map<String,Function<Object,?>> fields = extractors.get(stateType);
+    return fields == null ? null : fields.get(fieldName);
+  }
+}
@@ -0,0 +1,175 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import java.util.function.Function;
+
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+
+/**
+ * The definition of a secondary index of the states of a {@code stateType} registered with
+ * a {@code StateStore}, which the store maintains as each state is written, and by which it
+ * reads states by the value of the field named {@code fieldName} rather than scanning all
+ * states of the type. The field is either a {@code Metadata} property, named
+ * {@code metadata.<property>}, or is extracted from the native state. A {@code Hash} index
+ * finds the states having a given value, and a {@code Sorted} index also finds those within
+ * a range of values, ordered as by {@code StateQuery.compare()}.
+ */
+public final class StateIndex {
+  /** The kind of index, which determines the lookups it supports. */
+  public enum Kind { Hash, Sorted }
+
+  /** The prefix of the names of fields that are {@code Metadata} properties. */
+  public static final String MetadataPrefix = "metadata.";
+
+  /** The name of the indexed field, as used by a {@code StateQuery}. */
+  public final String fieldName;
+
+  /** The kind of index. */
+  public final Kind kind;
+
+  /** The type of native state whose states are indexed. */
+  public final Class<?> stateType;
+
+  private final Function<Object,?> extractor;
+  private final String propertyKey;
+
+  /**
+   * Answer a {@code Hash} index of the states of {@code stateType} by their {@code Metadata} property {@code propertyKey}.
+   * @param stateType the {@code Class<?>} of the native states
+   * @param propertyKey the String key of the Metadata property
+   * @return StateIndex
+   */
+  public static StateIndex hashOnProperty(final Class<?> stateType, final String propertyKey) {
+    return new StateIndex(stateType, MetadataPrefix + propertyKey, Kind.Hash, propertyKey, null);
+  }
+
+  /**
+   * Answer a {@code Sorted} index of the states of {@code stateType} by their {@code Metadata} property {@code propertyKey}.
+   * @param stateType the {@code Class<?>} of the native states
+   * @param propertyKey the String key of the Metadata property
+   * @return StateIndex
+   */
+  public static StateIndex sortedOnProperty(final Class<?> stateType, final String propertyKey) {
+    return new StateIndex(stateType, MetadataPrefix + propertyKey, Kind.Sorted, propertyKey, null);
+  }
+
+  /**
+   * Answer a {@code Hash} index of the states of {@code stateType} by the field {@code fieldName} answered by {@code extractor}.
+   * @param stateType the {@code Class<S>} of the native states
+   * @param fieldName the String name of the field
+   * @param extractor the {@code Function<S,?>} answering the value of the field of a state
+   * @param <S> the native state type
+   * @return StateIndex
+   */
+  public static <S> StateIndex hashOn(final Class<S> stateType, final String fieldName, final Function<S,?> extractor) {
+    return new StateIndex(stateType, fieldName, Kind.Hash, null, extractor);
+  }
+
+  /**
+   * Answer a {@code Sorted} index of the states of {@code stateType} by the field {@code fieldName} answered by {@code extractor}.
+   * @param stateType the {@code Class<S>} of the native states
+   * @param fieldName the String name of the field
+   * @param extractor the {@code Function<S,?>} answering the value of the field of a state
+   * @param <S> the native state type
+   * @return StateIndex
+   */
+  public static <S> StateIndex sortedOn(final Class<S> stateType, final String fieldName, final Function<S,?> extractor) {
+    return new StateIndex(stateType, fieldName, Kind.Sorted, null, extractor);
+  }
+
+  /**
+   * Answer the extractor of my field from native states, or null if I am of a {@code Metadata} property.
+   * @return {@code Function<Object,?>}
+   */
+  public Function<Object,?> extractor() {
+    return extractor;
+  }
+
+  /**
+   * Answer whether I am of a {@code Metadata} property, and so need no native state to find my keys.
+   * @return boolean
+   */
+  public boolean isOnProperty() {
+    return propertyKey != null;
+  }
+
+  /**
+   * Answer whether I am {@code Sorted}.
+   * @return boolean
+   */
+  public boolean isSorted() {
+    return kind == Kind.Sorted;
+  }
+
+  /**
+   * Answer the key under which the {@code raw} state, whose native state is {@code state},
+   * is indexed, or null if it has none. The {@code state} may be null if I am of a property.
+   * @param raw the {@code State<?>} to index
+   * @param state the Object native state of raw
+   * @return Object
+   */
+  public Object keyOf(final State<?> raw, final Object state) {
+    return keyOf(raw.metadata, state);
+  }
+
+  /**
+   * Answer the key under which the state whose {@code Metadata} is {@code metadata} and
+   * whose native state is {@code state} is indexed, or null if it has none. The
+   * {@code state} may be null if I am of a property.
+   * @param metadata the Metadata of the state
+   * @param state the Object native state
+   * @return Object
+   */
+  public Object keyOf(final Metadata metadata, final Object state) {
+    if (propertyKey != null) {
+      return metadata == null ? null : metadata.properties.get(propertyKey);
+    }
+    return keyFor(extractor.apply(state));
+  }
+
+  /**
+   * Answer the key under which states of the field {@code value} are indexed, such that
+   * values equal by {@code StateQuery.compare()} have equal keys, including numbers of
+   * different types: integral values are keyed as {@code Long}, as are floating point
+   * values that are whole numbers, and other floating point values as {@code Double}.
+   * @param value the Object value of my field
+   * @return Object
+   */
+  public Object keyFor(final Object value) {
+    if (value == null) return null;
+    if (propertyKey != null) return String.valueOf(value);
+    if (value instanceof Long) return value;
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) return ((Number) value).longValue();
+    if (value instanceof Double || value instanceof Float) {
+      final double number = ((Number) value).doubleValue();
+      final long whole = (long) number;
+      return whole == number && whole != Long.MAX_VALUE && whole != Long.MIN_VALUE ? (Object) whole : (Object) number;
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "StateIndex[stateType=" + stateType.getName() + " fieldName=" + fieldName + " kind=" + kind + "]";
+  }
+
+  @SuppressWarnings("unchecked")
+  private StateIndex(final Class<?> stateType, final String fieldName, final Kind kind, final String propertyKey, final Function<?,?> extractor) {
+    if (stateType == null) throw new IllegalArgumentException("State type must not be null.");
+    if (fieldName == null || fieldName.isEmpty()) throw new IllegalArgumentException("Field name must not be empty.");
+    if (propertyKey == null && extractor == null) throw new IllegalArgumentException("Extractor must not be null.");
+
+    this.stateType = stateType;
+    this.fieldName = fieldName;
+    this.kind = kind;
+    this.propertyKey = propertyKey;
+    this.extractor = (Function<Object,?>) extractor;
+  }
+}
@@ -0,0 +1,279 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.MapQueryExpression;
+import io.vlingo.xoom.symbio.store.QueryExpression;
+
+/**
+ * The predicate of a {@code QueryExpression} over the states of its {@code type}, by which
+ * a {@code StateStore} selects the states it streams. The {@code query} is a conjunction of
+ * terms such as {@code "metadata.operation = ? and rank >= ?"}, each comparing a field by one
+ * of {@code = != <> < <= > >=} to a parameter, which is {@code ?} for the next parameter of a
+ * {@code ListQueryExpression} or {@code :name} for that of a {@code MapQueryExpression}. An
+ * empty {@code query} of a {@code MapQueryExpression} compares each of its parameters for
+ * equality with the field of the same name, and that of any other expression selects all.
+ * <p>
+ * The fields {@code id}, {@code type}, {@code dataVersion}, {@code typeVersion},
+ * {@code metadata.operation}, {@code metadata.value}, and {@code metadata.<property>} are
+ * those of the raw {@code State}, and are evaluated without adapting it. Any other field is
+ * extracted from the native state by the extractor registered with a {@code StateFieldProvider},
+ * and so is evaluated only for a state whose raw fields all match.
+ */
+public final class StateQuery {
+  private static final Pattern Conjunction = Pattern.compile("\\s+(?i:and)\\s+");
+  private static final Pattern Comparison = Pattern.compile("\\s*([A-Za-z_][\\w.]*)\\s*(=|==|!=|<>|<=|>=|<|>)\\s*(\\?|:[A-Za-z_]\\w*)\\s*");
+
+  private final List<Term> rawTerms;
+  private final List<Term> stateTerms;
+
+  /**
+   * Answer a new {@code StateQuery} of the {@code expression}, whose fields of native states
+   * are extracted by those registered with {@code fields}.
+   * @param expression the QueryExpression to evaluate
+   * @param fields the StateFieldProvider of the fields of native states
+   * @return StateQuery
+   * @throws IllegalArgumentException if the expression is malformed or names an unknown field
+   */
+  public static StateQuery using(final QueryExpression expression, final StateFieldProvider fields) {
+    final List<Term> terms = new ArrayList<>();
+    final String query = expression.query == null ? "" : expression.query.trim();
+
+    if (query.isEmpty()) {
+      if (expression.isMapQueryExpression()) {
+        for (final Map.Entry<String,?> parameter : expression.asMapQueryExpression().parameters.entrySet()) {
+          terms.add(Term.of(expression.type, parameter.getKey(), Operator.Equal, parameter.getValue(), fields));
+        }
+      } else if (expression.isListQueryExpression() && !expression.asListQueryExpression().parameters.isEmpty()) {
+        throw new IllegalArgumentException("Query parameters without terms: " + expression);
+      }
+    } else {
+      int nextParameter = 0;
+      for (final String term : Conjunction.split(query)) {
+        final Matcher matcher = Comparison.matcher(term);
+        if (!matcher.matches()) throw new IllegalArgumentException("Malformed query term: '" + term + "' of: " + expression);
+        final String placeholder = matcher.group(3);
+        final Object value = placeholder.equals("?") ?
+                positionalParameter(expression, nextParameter++) :
+                namedParameter(expression, placeholder.substring(1));
+        terms.add(Term.of(expression.type, matcher.group(1), Operator.of(matcher.group(2)), value, fields));
+      }
+      if (expression.isListQueryExpression() && nextParameter != expression.asListQueryExpression().parameters.size()) {
+        throw new IllegalArgumentException("Query expects " + nextParameter + " parameters: " + expression);
+      }
+    }
+
+    return new StateQuery(terms);
+  }
+
+  /**
+   * Answer whether I select all states.
+   * @return boolean
+   */
+  public boolean isAll() {
+    return rawTerms.isEmpty() && stateTerms.isEmpty();
+  }
+
+  /**
+   * Answer the native state of {@code raw} if I select it, or null if not. The {@code raw} state
+   * is adapted by {@code adapter} only once its raw fields are matched.
+   * @param raw the {@code State<?>} to match
+   * @param adapter the {@code Function<State<?>,Object>} adapting the raw state to its native state
+   * @return Object
+   */
+  public Object select(final State<?> raw, final Function<State<?>,Object> adapter) {
+    for (final Term term : rawTerms) {
+      if (!term.matches(term.field.valueOf(raw, term.fieldName))) return null;
+    }
+    final Object state = adapter.apply(raw);
+    for (final Term term : stateTerms) {
+      if (!term.matches(term.extractor.apply(state))) return null;
+    }
+    return state;
+  }
+
+  /**
+   * Answer the value to which one of my terms requires {@code fieldName} be equal, or null if none.
+   * A store may then look up the states with that value by means of an index of the field.
+   * @param fieldName the String name of the field
+   * @return Object
+   */
+  public Object valueEqualTo(final String fieldName) {
+    for (final Term term : rawTerms) {
+      if (term.operator == Operator.Equal && term.fieldName.equals(fieldName)) return term.value;
+    }
+    for (final Term term : stateTerms) {
+      if (term.operator == Operator.Equal && term.fieldName.equals(fieldName)) return term.value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "StateQuery[rawTerms=" + rawTerms + " stateTerms=" + stateTerms + "]";
+  }
+
+  private StateQuery(final List<Term> terms) {
+    final List<Term> rawTerms = new ArrayList<>();
+    final List<Term> stateTerms = new ArrayList<>();
+    for (final Term term : terms) {
+      (term.extractor == null ? rawTerms : stateTerms).add(term);
+    }
+    this.rawTerms = Collections.unmodifiableList(rawTerms);
+    this.stateTerms = Collections.unmodifiableList(stateTerms);
+  }
+
+  private static Object positionalParameter(final QueryExpression expression, final int index) {
+    if (!expression.isListQueryExpression()) throw new IllegalArgumentException("Positional parameter of: " + expression);
+    final List<?> parameters = expression.asListQueryExpression().parameters;
+    if (index >= parameters.size()) throw new IllegalArgumentException("Missing parameter " + (index + 1) + " of: " + expression);
+    return parameters.get(index);
+  }
+
+  private static Object namedParameter(final QueryExpression expression, final String name) {
+    if (!expression.isMapQueryExpression()) throw new IllegalArgumentException("Named parameter :" + name + " of: " + expression);
+    final MapQueryExpression map = expression.asMapQueryExpression();
+    if (!map.parameters.containsKey(name)) throw new IllegalArgumentException("Missing parameter :" + name + " of: " + expression);
+    return map.parameters.get(name);
+  }
+
+  /**
+   * Answer the order of the non-null field values {@code left} and {@code right}, which is
+   * numeric for numbers, natural for {@code Comparable} values of the same class, and that
+   * of their {@code String} forms otherwise.
+   * @param left the Object value on the left
+   * @param right the Object value on the right
+   * @return int
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public static int compare(final Object left, final Object right) {
+    if (left instanceof Number && right instanceof Number) {
+      if (isIntegral(left) && isIntegral(right)) {
+        return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+      }
+      return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+    }
+    if (left instanceof Comparable && left.getClass() == right.getClass()) {
+      return ((Comparable) left).compareTo(right);
+    }
+    return String.valueOf(left).compareTo(String.valueOf(right));
+  }
+
+  private static boolean isIntegral(final Object number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+  }
+
+  private enum Operator {
+    Equal, NotEqual, Less, LessOrEqual, Greater, GreaterOrEqual;
+
+    static Operator of(final String symbol) {
+      switch (symbol) {
+      case "=":
+      case "==":
+        return Equal;
+      case "!=":
+      case "<>":
+        return NotEqual;
+      case "<":
+        return Less;
+      case "<=":
+        return LessOrEqual;
+      case ">":
+        return Greater;
+      default:
+        return GreaterOrEqual;
+      }
+    }
+  }
+
+  private enum RawField {
+    Id, Type, DataVersion, TypeVersion, Operation, Value, Property;
+
+    static RawField of(final String fieldName) {
+      switch (fieldName) {
+      case "id": return Id;
+      case "type": return Type;
+      case "dataVersion": return DataVersion;
+      case "typeVersion": return TypeVersion;
+      case "metadata.operation": return Operation;
+      case "metadata.value": return Value;
+      default: return fieldName.startsWith("metadata.") ? Property : null;
+      }
+    }
+
+    Object valueOf(final State<?> raw, final String fieldName) {
+      final Metadata metadata = raw.metadata;
+      switch (this) {
+      case Id: return raw.id;
+      case Type: return raw.type;
+      case DataVersion: return raw.dataVersion;
+      case TypeVersion: return raw.typeVersion;
+      case Operation: return metadata == null ? null : metadata.operation;
+      case Value: return metadata == null ? null : metadata.value;
+      default: return metadata == null ? null : metadata.properties.get(fieldName.substring("metadata.".length()));
+      }
+    }
+  }
+
+  private static final class Term {
+    final Function<Object,?> extractor;
+    final RawField field;
+    final String fieldName;
+    final Operator operator;
+    final Object value;
+
+    static Term of(final Class<?> type, final String fieldName, final Operator operator, final Object value, final StateFieldProvider fields) {
+      final Function<Object,?> extractor = type == null ? null : fields.extractorOf(type, fieldName);
+      final RawField field = extractor == null ? RawField.of(fieldName) : null;
+      if (extractor == null && field == null) throw new IllegalArgumentException("Unknown field: " + fieldName + " of: " + type);
+      return new Term(fieldName, field, extractor, operator, value);
+    }
+
+    Term(final String fieldName, final RawField field, final Function<Object,?> extractor, final Operator operator, final Object value) {
+      this.fieldName = fieldName;
+      this.field = field;
+      this.extractor = extractor;
+      this.operator = operator;
+      this.value = value;
+    }
+
+    boolean matches(final Object actual) {
+      if (actual == null || value == null) {
+        switch (operator) {
+        case Equal: return actual == value;
+        case NotEqual: return actual != value;
+        default: return false;
+        }
+      }
+      switch (operator) {
+      case Equal: return Objects.equals(actual, value) || compare(actual, value) == 0;
+      case NotEqual: return !Objects.equals(actual, value) && compare(actual, value) != 0;
+      case Less: return compare(actual, value) < 0;
+      case LessOrEqual: return compare(actual, value) <= 0;
+      case Greater: return compare(actual, value) > 0;
+      default: return compare(actual, value) >= 0;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return fieldName + " " + operator + " " + value;
+    }
+  }
+}
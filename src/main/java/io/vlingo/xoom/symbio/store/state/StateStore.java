@@ -38,6 +38,19 @@ public interface StateStore extends StateStoreReader, StateStoreWriter {
    */
   public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name);
 
+  /**
+   * Registers the {@code index}, which I then maintain as states are written, including
+   * those of its type already written. An index of the same type and field is replaced.
+   * Eventually answers {@code Result.Success} once registered. By default, indexes are not
+   * supported, and so the answer is a failed {@code Completes} of {@code Result.Error},
+   * as reads by an index fail with {@code Result.Error} through their interest.
+   * @param index the StateIndex to register
+   * @return {@code Completes<Result>}
+   */
+  default Completes<Result> registerIndex(final StateIndex index) {
+    return Completes.withFailure(Result.Error);
+  }
+
   /**
    * Used for writing and reading multiple states in one batch.
    */
@@ -22,6 +22,7 @@ public class StateStoreEntryReader__Proxy<T extends io.vlingo.xoom.symbio.Entry<
   private static final String readNextRepresentation8 = "readNext()";
   private static final String seekToRepresentation9 = "seekTo(java.lang.String)";
   private static final String streamAllRepresentation10 = "streamAll()";
+  private static final String readBatchRepresentation11 = "readBatch(int, io.vlingo.xoom.symbio.store.EntryBatch<T>)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -91,6 +92,20 @@ public class StateStoreEntryReader__Proxy<T extends io.vlingo.xoom.symbio.Entry<
     return null;
   }
   @Override
+  @SuppressWarnings("rawtypes")
+  public io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.EntryBatch<T>> readBatch(int arg0, io.vlingo.xoom.symbio.store.EntryBatch<T> arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStoreEntryReader> consumer = (actor) -> actor.readBatch(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.EntryBatch<T>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), readBatchRepresentation11); }
+      else { mailbox.send(new LocalMessage<StateStoreEntryReader>(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), readBatchRepresentation11)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, readBatchRepresentation11));
+    }
+    return null;
+  }
+  @Override
   public io.vlingo.xoom.common.Completes<T> readNext(java.lang.String arg0) {
     if (!actor.isStopped()) {
       final SerializableConsumer<StateStoreEntryReader> consumer = (actor) -> actor.readNext(arg0);
@@ -9,6 +9,7 @@ package io.vlingo.xoom.symbio.store.state;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -50,12 +51,75 @@ public interface StateStoreReader {
 
   /**
    * Read the states identified by {@code id} within {@code bundles} and dispatch the result to the {@code interest}.
+   * An empty {@code bundles} must be answered as any other, by dispatching an empty result to the
+   * {@code interest} once all that was sent before it has been processed, because it is used as a
+   * marker, such as by the {@code PartitioningStateStore} to hand off a resize.
    * @param bundles the {@code Collection<TypedStateBundle>} defining the states to read
    * @param interest the ReadResultInterest to which the result is dispatched
    * @param object an Object that will be sent to the ReadResultInterest when the read has succeeded or failed
    */
   void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object);
 
+  /**
+   * Read the states of {@code type} whose indexed {@code fieldName} has the value {@code key},
+   * and dispatch the result to the {@code interest}.
+   * @param type the {@code Class<?>} type of the states to read
+   * @param fieldName the String name of the field of a StateIndex registered for type
+   * @param key the Object value of the field
+   * @param interest the ReadResultInterest to which the result is dispatched
+   */
+  default void readByIndex(final Class<?> type, final String fieldName, final Object key, final ReadResultInterest interest) {
+    readByIndex(type, fieldName, key, interest, null);
+  }
+
+  /**
+   * Read the states of {@code type} whose indexed {@code fieldName} has the value {@code key},
+   * and dispatch the result to the {@code interest}. States without a value of the field are
+   * not indexed, and so a null {@code key} fails with {@code Result.Error}.
+   * @param type the {@code Class<?>} type of the states to read
+   * @param fieldName the String name of the field of a StateIndex registered for type
+   * @param key the Object value of the field, which must not be null
+   * @param interest the ReadResultInterest to which the result is dispatched
+   * @param object an Object that will be sent to the ReadResultInterest when the read has succeeded or failed
+   */
+  default void readByIndex(final Class<?> type, final String fieldName, final Object key, final ReadResultInterest interest, final Object object) {
+    if (key == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.Error, "Index key of: " + fieldName + " for: " + type + " must not be null.")), Collections.emptyList(), object);
+      return;
+    }
+    readRangeByIndex(type, fieldName, key, key, interest, object);
+  }
+
+  /**
+   * Read the states of {@code type} whose indexed {@code fieldName} has a value from {@code from}
+   * through {@code to}, and dispatch the result to the {@code interest} in the order of the values.
+   * @param type the {@code Class<?>} type of the states to read
+   * @param fieldName the String name of the field of a sorted StateIndex registered for type
+   * @param from the Object least value of the field, or null for no least value
+   * @param to the Object greatest value of the field, or null for no greatest value
+   * @param interest the ReadResultInterest to which the result is dispatched
+   */
+  default void readRangeByIndex(final Class<?> type, final String fieldName, final Object from, final Object to, final ReadResultInterest interest) {
+    readRangeByIndex(type, fieldName, from, to, interest, null);
+  }
+
+  /**
+   * Read the states of {@code type} whose indexed {@code fieldName} has a value from {@code from}
+   * through {@code to}, and dispatch the result to the {@code interest} in the order of the values.
+   * The states are dispatched as {@code TypedStateBundle} instances, and if there are none the
+   * outcome is {@code Result.NotFound}. A hash index answers only ranges of a single value.
+   * By default, indexes are not supported.
+   * @param type the {@code Class<?>} type of the states to read
+   * @param fieldName the String name of the field of a StateIndex registered for type
+   * @param from the Object least value of the field, or null for no least value
+   * @param to the Object greatest value of the field, or null for no greatest value
+   * @param interest the ReadResultInterest to which the result is dispatched
+   * @param object an Object that will be sent to the ReadResultInterest when the read has succeeded or failed
+   */
+  default void readRangeByIndex(final Class<?> type, final String fieldName, final Object from, final Object to, final ReadResultInterest interest, final Object object) {
+    interest.readResultedIn(Failure.of(new StorageException(Result.Error, "Indexes are not supported.")), Collections.emptyList(), object);
+  }
+
   /**
    * Answer a new {@code Stream} for flowing all of the instances of the {@code stateType}.
    * Elements are streamed as type {@code StateBundle} to the {@code Sink<StateBundle>}.
@@ -21,6 +21,7 @@ import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
 
 public class StateStore__Proxy implements io.vlingo.xoom.symbio.store.state.StateStore {
 
@@ -30,6 +31,8 @@ public class StateStore__Proxy implements io.vlingo.xoom.symbio.store.state.Stat
   private static final String entryReaderRepresentation3 = "entryReader(java.lang.String)";
   private static final String streamAllOfRepresentation4 = "streamAllOf(java.lang.Class<?>)";
   private static final String streamSomeUsingRepresentation5 = "streamSomeUsing(io.vlingo.xoom.symbio.store.QueryExpression.QueryExpression)";
+  private static final String registerIndexRepresentation6 = "registerIndex(io.vlingo.xoom.symbio.store.state.StateIndex)";
+  private static final String readRangeByIndexRepresentation7 = "readRangeByIndex(java.lang.Class<?>, java.lang.String, java.lang.Object, java.lang.Object, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -69,6 +72,29 @@ public class StateStore__Proxy implements io.vlingo.xoom.symbio.store.state.Stat
       actor.deadLetters().failedDelivery(new DeadLetter(actor, readRepresentation2a));
     }
   }
+  @Override
+  public void readRangeByIndex(final Class<?> arg0, final String arg1, final Object arg2, final Object arg3, final ReadResultInterest arg4, final Object arg5) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStore> consumer = (actor) -> actor.readRangeByIndex(arg0, arg1, arg2, arg3, arg4, arg5);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStore.class, consumer, null, readRangeByIndexRepresentation7); }
+      else { mailbox.send(new LocalMessage<StateStore>(actor, StateStore.class, consumer, readRangeByIndexRepresentation7)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, readRangeByIndexRepresentation7));
+    }
+  }
+  @Override
+  public Completes<Result> registerIndex(final StateIndex arg0) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStore> consumer = (actor) -> actor.registerIndex(arg0);
+      final Completes<Result> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStore.class, consumer, Returns.value(completes), registerIndexRepresentation6); }
+      else { mailbox.send(new LocalMessage<StateStore>(actor, StateStore.class, consumer, Returns.value(completes), registerIndexRepresentation6)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, registerIndexRepresentation6));
+    }
+    return null;
+  }
 
   @Override
   public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(String arg0) {
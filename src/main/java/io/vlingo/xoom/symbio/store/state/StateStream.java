@@ -24,17 +24,40 @@ import io.vlingo.xoom.symbio.StateAdapterProvider;
 import io.vlingo.xoom.symbio.StateBundle;
 
 public class StateStream<RS extends State<?>> implements Stream {
+  /**
+   * The maximum number of states visited to answer the next elements, so that a query
+   * selecting few of many states does not hold the publisher for a scan of them all;
+   * the next elements may then be fewer than requested, or none, and the scan continues.
+   */
+  public static final int MaximumVisited = 65_536;
+
   private long flowElementsRate;
   private Publisher<RS> publisher;
+  private final StateQuery query;
   private final Stage stage;
   private final Map<String, RS> states;
   private final StateAdapterProvider stateAdapterProvider;
   private StateStreamSubscriber<RS> subscriber;
 
   public StateStream(final Stage stage, final Map<String, RS> states, final StateAdapterProvider stateAdapterProvider) {
+    this(stage, states, stateAdapterProvider, null);
+  }
+
+  /**
+   * Constructs my state to flow only those of the {@code states} selected by the {@code query},
+   * which is evaluated against each state as it is requested by the {@code Sink}. The
+   * {@code states} are read by my publisher, not by the thread constructing me, and so
+   * must be safe to read concurrently with any writes, such as by being a snapshot.
+   * @param stage the Stage of my publisher and subscriber
+   * @param states the {@code Map<String, RS>} of the candidate states by id
+   * @param stateAdapterProvider the StateAdapterProvider adapting the states
+   * @param query the StateQuery selecting states, or null to select all
+   */
+  public StateStream(final Stage stage, final Map<String, RS> states, final StateAdapterProvider stateAdapterProvider, final StateQuery query) {
     this.stage = stage;
     this.stateAdapterProvider = stateAdapterProvider;
     this.states = states;
+    this.query = query;
   }
 
   @Override
@@ -66,7 +89,7 @@ public class StateStream<RS extends State<?>> implements Stream {
                     Streams.DefaultBufferSize,
                     Streams.OverflowPolicy.DropCurrent);
 
-    publisher = stage.actorFor(Publisher.class, StreamPublisher.class, new StateSource<>(states, stateAdapterProvider, flowElementsRate), configuration);
+    publisher = stage.actorFor(Publisher.class, StreamPublisher.class, new StateSource<>(states, stateAdapterProvider, query, flowElementsRate), configuration);
 
     final Subscriber<RS> subscriber =
             stage.actorFor(
@@ -87,13 +110,15 @@ public class StateStream<RS extends State<?>> implements Stream {
   private static final class StateSource<RS extends State<?>> implements Source<RS> {
     private final long flowElementsRate;
     private final Iterator<String> iterator;
+    private final StateQuery query;
     private final Map<String, RS> states;
     private final StateAdapterProvider stateAdapterProvider;
 
-    public StateSource(final Map<String, RS> states, final StateAdapterProvider stateAdapterProvider, final long flowElementsRate) {
+    public StateSource(final Map<String, RS> states, final StateAdapterProvider stateAdapterProvider, final StateQuery query, final long flowElementsRate) {
       this.states = states;
       this.iterator = states.keySet().iterator();
       this.stateAdapterProvider = stateAdapterProvider;
+      this.query = query;
       this.flowElementsRate = flowElementsRate;
     }
 
@@ -102,12 +127,17 @@ public class StateStream<RS extends State<?>> implements Stream {
     public Completes<Elements<RS>> next() {
       if (iterator.hasNext()) {
         int count = 0;
+        int visited = 0;
         final List<StateBundle> next = new ArrayList<>();
-        while (iterator.hasNext() && count++ < flowElementsRate) {
+        while (iterator.hasNext() && count < flowElementsRate && visited < MaximumVisited) {
+          ++visited;
           final String id = iterator.next();
           final State<?> state = states.get(id);
-          final Object object = stateAdapterProvider.fromRaw(state);
-          next.add(new StateBundle(state, object));
+          final Object object = query == null ? stateAdapterProvider.fromRaw(state) : query.select(state, stateAdapterProvider::fromRaw);
+          if (object != null) {
+            next.add(new StateBundle(state, object));
+            ++count;
+          }
         }
         final Elements elements = Elements.of(arrayFrom(next));
         return Completes.withSuccess(elements);
@@ -0,0 +1,376 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.state.StateFieldProvider;
+import io.vlingo.xoom.symbio.store.state.StateQuery;
+import io.vlingo.xoom.symbio.store.state.StateStore;
+import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
+import io.vlingo.xoom.symbio.store.state.StateStream;
+import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
+import io.vlingo.xoom.symbio.store.state.inmemory.InMemoryStateStoreActor.StateStoreEntryReaderInstantiator;
+
+/**
+ * Provides an in-memory {@code StateStore} that is not itself an {@code Actor}, but that may be
+ * used concurrently by any number of threads, each of which reads and writes directly rather than
+ * by way of a single mailbox. States are held in concurrent maps, so that reads take no lock and
+ * scale with the number of readers. Each write checks and replaces the version of its state while
+ * holding the lock of one of a fixed number of stripes, chosen by the state's id, so that writes
+ * of different states seldom contend, and a write of a version not beyond that stored answers a
+ * {@code Result.ConcurrencyViolation} as does the {@code InMemoryStateStoreActor}. The entries of a
+ * write are appended and the write dispatched while holding the same stripe lock, so that both
+ * follow the order of the versions of each state. Results are answered to each interest on the
+ * thread of the caller.
+ * <p>
+ * Entries are appended to a single log, whose positions are their ids, and so all appends are
+ * serialized by the lock of the log whichever their stripe. Entries are adapted before taking
+ * that lock, which then holds only for assigning their ids and adding them, except once every
+ * {@code AppendOnlyLog.ChunkSize} entries when the log is also truncated by the retention policy.
+ * Writes without sources take no lock of the log.
+ * <p>
+ * Indexes are not supported: {@code registerIndex()} answers a failed {@code Completes} and reads
+ * by an index fail with {@code Result.Error}.
+ *
+ * @param <RS> the raw {@code State<?>} type
+ */
+public class InMemoryConcurrentStateStore<RS extends State<?>> implements StateStore {
+  /** The default number of lock stripes of writes. */
+  public static final int DefaultStripes = 64;
+
+  private final AppendNotifier appendNotifier;
+  private final Queue<Dispatchable<Entry<?>,RS>> dispatchables;
+  private final List<Dispatcher<Dispatchable<Entry<?>,RS>>> dispatchers;
+  private final DispatcherControl dispatcherControl;
+  private final AppendOnlyLog<Entry<?>> entries;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final Map<String,StateStoreEntryReader<?>> entryReaders;
+  private final Logger logger;
+  private int nextCompaction;
+  private final ReaderPositions readerPositions;
+  private final RetentionPolicy retentionPolicy;
+  private final Stage stage;
+  private final StateAdapterProvider stateAdapterProvider;
+  private final StateFieldProvider stateFieldProvider;
+  private final Map<String, Map<String, RS>> store;
+  private final Object[] stripes;
+
+  /**
+   * Answer a new {@code InMemoryConcurrentStateStore} as a {@code StateStore} whose writes are
+   * dispatched to the {@code dispatchers}, and whose entries are retained without bound.
+   * @param stage the Stage within which my actors are created
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<?>, RS>>>} of my dispatchers
+   * @param <RS> the raw {@code State<?>} type
+   * @return StateStore
+   */
+  public static <RS extends State<?>> StateStore using(final Stage stage, final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers) {
+    return using(stage, dispatchers, DefaultCheckConfirmationExpirationInterval, DefaultConfirmationExpiration, RetentionPolicy.unbounded(), DefaultStripes);
+  }
+
+  /**
+   * Answer a new {@code InMemoryConcurrentStateStore} as a {@code StateStore}.
+   * @param stage the Stage within which my actors are created
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<?>, RS>>>} of my dispatchers
+   * @param checkConfirmationExpirationInterval the long interval in milliseconds of dispatch confirmation checks
+   * @param confirmationExpiration the long milliseconds after which unconfirmed dispatches are redispatched
+   * @param retentionPolicy the RetentionPolicy of my entries
+   * @param stripes the int number of lock stripes of writes, which must be at least 1
+   * @param <RS> the raw {@code State<?>} type
+   * @return StateStore
+   */
+  public static <RS extends State<?>> StateStore using(
+          final Stage stage,
+          final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy,
+          final int stripes) {
+
+    return new InMemoryConcurrentStateStore<>(stage, dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, retentionPolicy, stripes);
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStore#entryReader(java.lang.String)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+    final StateStoreEntryReader<?> reader = entryReaders.compute(name, (key, existing) ->
+            existing != null && readerPositions.has(key) ?
+                    existing :
+                    stage.actorFor(StateStoreEntryReader.class, Definition.has(InMemoryStateStoreEntryReaderActor.class, new StateStoreEntryReaderInstantiator(entries, appendNotifier, readerPositions.of(key), key))));
+    return Completes.withSuccess((StateStoreEntryReader<ET>) reader);
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#read(java.lang.String, java.lang.Class, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)
+   */
+  @Override
+  public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+    readFor(id, type, interest, object);
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#readAll(java.util.Collection, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)
+   */
+  @Override
+  public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+    final ReadAllResultCollector collector = new ReadAllResultCollector(); // per read, as reads are concurrent
+
+    for (final TypedStateBundle bundle : bundles) {
+      readFor(bundle.id, bundle.type, collector, null);
+    }
+
+    final Outcome<StorageException, Result> outcome = collector.readResultOutcome(bundles.size());
+
+    interest.readResultedIn(outcome, collector.readResultBundles(), object);
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#streamAllOf(java.lang.Class)
+   */
+  @Override
+  public Completes<Stream> streamAllOf(final Class<?> stateType) {
+    return Completes.withSuccess(new StateStream<>(stage, typeStoreOf(stateType), stateAdapterProvider));
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreReader#streamSomeUsing(io.vlingo.xoom.symbio.store.QueryExpression)
+   */
+  @Override
+  public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+    final StateQuery stateQuery;
+    try {
+      stateQuery = StateQuery.using(query, stateFieldProvider);
+    } catch (final IllegalArgumentException e) {
+      logger.error(getClass().getSimpleName() + " streamSomeUsing() invalid query because: " + e.getMessage(), e);
+      return Completes.withFailure();
+    }
+    return Completes.withSuccess(new StateStream<>(stage, typeStoreOf(query.type), stateAdapterProvider, stateQuery));
+  }
+
+  /**
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreWriter#write(java.lang.String, java.lang.Object, int, java.util.List, io.vlingo.xoom.symbio.Metadata, io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest, java.lang.Object)
+   */
+  @Override
+  public <S,C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger.warn(getClass().getSimpleName() + " write() missing WriteResultInterest for: " + (state == null ? "unknown id" : id));
+      return;
+    }
+
+    if (state == null) {
+      interest.writeResultedIn(Failure.of(new StorageException(Result.Error, "The state is null.")), id, state, stateVersion, sources, object);
+      return;
+    }
+
+    try {
+      final String storeName = StateTypeStateStoreMap.storeNameFrom(state.getClass());
+
+      if (storeName == null) {
+        interest.writeResultedIn(Failure.of(new StorageException(Result.NoTypeStore, "No type store for: " + state.getClass())), id, state, stateVersion, sources, object);
+        return;
+      }
+
+      final Map<String, RS> typeStore = store.computeIfAbsent(storeName, name -> new ConcurrentHashMap<>());
+
+      final RS raw = metadata == null ?
+              stateAdapterProvider.asRaw(id, state, stateVersion) :
+              stateAdapterProvider.asRaw(id, state, stateVersion, metadata);
+
+      synchronized (stripeOf(id)) {
+        final RS persistedState = typeStore.get(id);
+        if (persistedState != null && persistedState.dataVersion >= raw.dataVersion) {
+          interest.writeResultedIn(Failure.of(new StorageException(Result.ConcurrencyViolation, "Version conflict.")), id, state, stateVersion, sources, object);
+          return;
+        }
+        typeStore.put(id, raw);
+        final List<Entry<?>> appended = appendEntries(sources, stateVersion, metadata);
+        dispatch(id, storeName, raw, appended); // in version order of the id
+      }
+
+      interest.writeResultedIn(Success.of(Result.Success), id, state, stateVersion, sources, object);
+    } catch (final Exception e) {
+      logger.error(getClass().getSimpleName() + " write() error because: " + e.getMessage(), e);
+      interest.writeResultedIn(Failure.of(new StorageException(Result.Error, e.getMessage(), e)), id, state, stateVersion, sources, object);
+    }
+  }
+
+  /**
+   * Stops my dispatcher control and entry readers.
+   */
+  public void stop() {
+    dispatcherControl.stop();
+    for (final StateStoreEntryReader<?> reader : entryReaders.values()) {
+      reader.close();
+    }
+  }
+
+  private InMemoryConcurrentStateStore(
+          final Stage stage,
+          final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy,
+          final int stripes) {
+
+    if (dispatchers == null) {
+      throw new IllegalArgumentException("Dispatcher must not be null.");
+    }
+    if (stripes < 1) {
+      throw new IllegalArgumentException("Stripes must be at least 1.");
+    }
+    this.stage = stage;
+    this.dispatchers = dispatchers;
+    this.logger = stage.world().defaultLogger();
+    this.entryAdapterProvider = EntryAdapterProvider.instance(stage.world());
+    this.stateAdapterProvider = StateAdapterProvider.instance(stage.world());
+    this.stateFieldProvider = StateFieldProvider.instance(stage.world());
+    this.entries = new AppendOnlyLog<>();
+    this.appendNotifier = new AppendNotifier();
+    this.readerPositions = new ReaderPositions(entries::size);
+    this.readerPositions.metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(stage.world()));
+    this.retentionPolicy = retentionPolicy;
+    this.nextCompaction = AppendOnlyLog.ChunkSize;
+    this.entryReaders = new ConcurrentHashMap<>();
+    this.store = new ConcurrentHashMap<>();
+    this.dispatchables = new ConcurrentLinkedQueue<>(); // added to without copying while a stripe is locked
+    this.stripes = new Object[stripes];
+    for (int stripe = 0; stripe < stripes; ++stripe) {
+      this.stripes[stripe] = new Object();
+    }
+
+    final InMemoryDispatcherControlDelegate<Entry<?>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+
+    this.dispatcherControl = stage.actorFor(
+      DispatcherControl.class,
+      Definition.has(
+        DispatcherControlActor.class,
+        new DispatcherControlInstantiator(
+          dispatchers,
+          dispatcherControlDelegate,
+          checkConfirmationExpirationInterval,
+          confirmationExpiration)));
+  }
+
+  private <C> List<Entry<?>> appendEntries(final List<Source<C>> sources, final int stateVersion, final Metadata metadata) {
+    final List<Entry<?>> adapted = entryAdapterProvider.asEntries(sources, stateVersion, metadata);
+    if (adapted.isEmpty()) {
+      return adapted;
+    }
+    synchronized (entries) { // the single writer of entries, held briefly; see class comment
+      for (final Entry<?> each : adapted) {
+        ((BaseEntry<?>) each).__internal__setId(String.valueOf(entries.size()));
+        entries.add(each);
+      }
+      compactWhenDue();
+    }
+    appendNotifier.appended();
+    return adapted;
+  }
+
+  private void compactWhenDue() {
+    if (entries.size() < nextCompaction) return;
+
+    nextCompaction = entries.size() + AppendOnlyLog.ChunkSize;
+
+    if (!retentionPolicy.isUnbounded()) {
+      entries.truncateBefore(retentionPolicy.firstRetained(entries, readerPositions.lowest(entries.size())));
+    }
+  }
+
+  private void dispatch(final String id, final String storeName, final RS raw, final List<Entry<?>> entries) {
+    final String dispatchId = storeName + ":" + id;
+    final Dispatchable<Entry<?>, RS> dispatchable = new Dispatchable<>(dispatchId, LocalDateTime.now(), raw, entries);
+    this.dispatchables.add(dispatchable);
+    this.dispatchers.forEach(p -> p.dispatch(dispatchable));
+  }
+
+  private void readFor(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger.warn(getClass().getSimpleName() + " readFor() missing ReadResultInterest for: " + (id == null ? "unknown id" : id));
+      return;
+    }
+
+    if (id == null || type == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.Error, id == null ? "The id is null." : "The type is null.")), id, null, -1, null, object);
+      return;
+    }
+
+    final String storeName = StateTypeStateStoreMap.storeNameFrom(type);
+
+    if (storeName == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NoTypeStore, "No type store for: " + type.getSimpleName())), id, null, -1, null, object);
+      return;
+    }
+
+    final Map<String, RS> typeStore = store.get(storeName);
+
+    if (typeStore == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Store not found: " + storeName)), id, null, -1, null, object);
+      return;
+    }
+
+    final RS raw = typeStore.get(id);
+
+    if (raw != null) {
+      final Object state = stateAdapterProvider.fromRaw(raw);
+      interest.readResultedIn(Success.of(Result.Success), id, state, raw.dataVersion, raw.metadata, object);
+    } else {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), id, null, -1, null, object);
+    }
+  }
+
+  private Object stripeOf(final String id) {
+    final int hash = id.hashCode();
+    return stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length];
+  }
+
+  private Map<String, RS> typeStoreOf(final Class<?> type) {
+    final String storeName = type == null ? null : StateTypeStateStoreMap.storeNameFrom(type);
+    final Map<String, RS> typeStore = storeName == null ? null : store.get(storeName);
+    return typeStore == null ? Collections.emptyMap() : typeStore;
+  }
+}
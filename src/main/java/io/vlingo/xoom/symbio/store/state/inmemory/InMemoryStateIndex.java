@@ -0,0 +1,92 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.state.StateIndex;
+import io.vlingo.xoom.symbio.store.state.StateQuery;
+
+/**
+ * The ids of the states of an {@code InMemoryStateStoreActor} by the keys of a {@code StateIndex},
+ * held in a {@code HashMap} for a hash index and in a {@code TreeMap} for a sorted index, along with
+ * the key of each id so that a rewritten state is moved from its former key. States without a key
+ * are not indexed. Used only by the store actor.
+ */
+final class InMemoryStateIndex {
+  final StateIndex definition;
+
+  private final Map<Object,Set<String>> idsByKey;
+  private final Map<String,Object> keysById;
+
+  InMemoryStateIndex(final StateIndex definition) {
+    this.definition = definition;
+    this.idsByKey = definition.isSorted() ? new TreeMap<>(StateQuery::compare) : new HashMap<>();
+    this.keysById = new HashMap<>();
+  }
+
+  /**
+   * Answer the ids of the states indexed by the field {@code value}.
+   */
+  Collection<String> idsOf(final Object value) {
+    final Object key = definition.keyFor(value);
+    if (key == null) return Collections.emptyList();
+    final Set<String> ids = idsByKey.get(key);
+    return ids == null ? Collections.emptyList() : ids;
+  }
+
+  /**
+   * Answer the ids of the states indexed by field values from {@code from} through {@code to},
+   * either of which may be null to leave it unbounded, in the order of the values.
+   */
+  List<String> idsBetween(final Object from, final Object to) {
+    NavigableMap<Object,Set<String>> range = (NavigableMap<Object,Set<String>>) idsByKey;
+    final Object fromKey = definition.keyFor(from);
+    final Object toKey = definition.keyFor(to);
+    if (fromKey != null && toKey != null && StateQuery.compare(fromKey, toKey) > 0) return Collections.emptyList();
+    if (fromKey != null) range = range.tailMap(fromKey, true);
+    if (toKey != null) range = range.headMap(toKey, true);
+    final List<String> ids = new ArrayList<>();
+    for (final Set<String> each : range.values()) {
+      ids.addAll(each);
+    }
+    return ids;
+  }
+
+  /**
+   * Indexes the {@code raw} state whose native state is {@code state}, which may be null if
+   * my definition is of a property, moving it from its former key if it has changed.
+   */
+  void indexed(final String id, final State<?> raw, final Object state) {
+    final Object key = definition.keyOf(raw, state);
+    final Object previous = key == null ? keysById.remove(id) : keysById.put(id, key);
+    if (previous != null) {
+      if (previous.equals(key)) return;
+      final Set<String> ids = idsByKey.get(previous);
+      ids.remove(id);
+      if (ids.isEmpty()) idsByKey.remove(previous);
+    }
+    if (key != null) {
+      idsByKey.computeIfAbsent(key, each -> new LinkedHashSet<>()).add(id);
+    }
+  }
+
+  int size() {
+    return keysById.size();
+  }
+}
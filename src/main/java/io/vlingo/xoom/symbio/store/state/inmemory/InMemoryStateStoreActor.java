@@ -8,8 +8,11 @@
 package io.vlingo.xoom.symbio.store.state.inmemory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -29,6 +32,12 @@ import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderPositions;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.QueryExpression;
 import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.StorageException;
@@ -38,6 +47,11 @@ import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
 import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+import io.vlingo.xoom.symbio.store.state.StateFieldProvider;
+import io.vlingo.xoom.symbio.store.state.StateIndex;
+import io.vlingo.xoom.symbio.store.state.StateQuery;
 import io.vlingo.xoom.symbio.store.state.StateStore;
 import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
 import io.vlingo.xoom.symbio.store.state.StateStream;
@@ -46,13 +60,19 @@ import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
 public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     implements StateStore {
 
+  private final AppendNotifier appendNotifier;
   private final List<Dispatchable<Entry<?>,RS>> dispatchables;
   private final List<Dispatcher<Dispatchable<Entry<?>,RS>>> dispatchers;
   private final DispatcherControl dispatcherControl;
-  private final List<Entry<?>> entries;
+  private final AppendOnlyLog<Entry<?>> entries;
   private final Map<String,StateStoreEntryReader<?>> entryReaders;
+  private final Map<Class<?>,Map<String,InMemoryStateIndex>> indexes;
   private final EntryAdapterProvider entryAdapterProvider;
+  private int nextCompaction;
+  private final ReaderPositions readerPositions;
+  private final RetentionPolicy retentionPolicy;
   private final StateAdapterProvider stateAdapterProvider;
+  private final StateFieldProvider stateFieldProvider;
   private final ReadAllResultCollector readAllResultCollector;
   private final Map<String, Map<String, RS>> store;
 
@@ -60,11 +80,47 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     this(dispatchers, 1000L, 1000L);
   }
 
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public InMemoryStateStoreActor(
           final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, RetentionPolicy.unbounded());
+  }
+
+  /**
+   * Constructs my state such that my entries are retained according to the {@code retentionPolicy},
+   * evicting those no longer retained each time another {@code AppendOnlyLog.ChunkSize} are appended.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<?>, RS>>>} of my dispatchers
+   * @param checkConfirmationExpirationInterval the long interval in milliseconds of dispatch confirmation checks
+   * @param confirmationExpiration the long milliseconds after which unconfirmed dispatches are redispatched
+   * @param retentionPolicy the RetentionPolicy of my entries
+   */
+  public InMemoryStateStoreActor(
+          final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, retentionPolicy, null, null);
+  }
+
+  /**
+   * Constructs my state as above, such that my entry readers resume from their offsets
+   * in the {@code offsetStore}, if any.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<?>, RS>>>} of my dispatchers
+   * @param checkConfirmationExpirationInterval the long interval in milliseconds of dispatch confirmation checks
+   * @param confirmationExpiration the long milliseconds after which unconfirmed dispatches are redispatched
+   * @param retentionPolicy the RetentionPolicy of my entries
+   * @param offsetStore the OffsetStore from which my entry readers resume, or null
+   * @param offsetCommitter the OffsetCommitter by which entry reader offsets are committed, or null
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public InMemoryStateStoreActor(
+          final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RetentionPolicy retentionPolicy,
+          final OffsetStore offsetStore,
+          final OffsetCommitter offsetCommitter) {
 
     if (dispatchers == null) {
       throw new IllegalArgumentException("Dispatcher must not be null.");
@@ -72,8 +128,18 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     this.dispatchers = dispatchers;
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
     this.stateAdapterProvider = StateAdapterProvider.instance(stage().world());
-    this.entries = new CopyOnWriteArrayList<>();
+    this.stateFieldProvider = StateFieldProvider.instance(stage().world());
+    this.entries = new AppendOnlyLog<>();
+    this.appendNotifier = new AppendNotifier();
+    this.readerPositions = new ReaderPositions(entries::size);
+    readerPositions.metricsWith(ReaderMetrics.storeNameOf(this), ReaderMetrics.of(stage().world()));
+    if (offsetStore != null) {
+      readerPositions.offsetsWith(offsetStore, offsetCommitter);
+    }
+    this.retentionPolicy = retentionPolicy;
+    this.nextCompaction = AppendOnlyLog.ChunkSize;
     this.entryReaders = new HashMap<>();
+    this.indexes = new HashMap<>();
     this.store = new HashMap<>();
     this.dispatchables = new CopyOnWriteArrayList<>();
     this.readAllResultCollector = new ReadAllResultCollector();
@@ -103,13 +169,72 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
   @SuppressWarnings("unchecked")
   public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
     StateStoreEntryReader<?> reader = entryReaders.get(name);
-    if (reader == null) {
-      reader = childActorFor(StateStoreEntryReader.class, Definition.has(InMemoryStateStoreEntryReaderActor.class, new StateStoreEntryReaderInstantiator(entries, name)));
+    if (reader == null || !readerPositions.has(name)) { // a closed reader is replaced, resuming from its offset
+      reader = childActorFor(StateStoreEntryReader.class, Definition.has(InMemoryStateStoreEntryReaderActor.class, new StateStoreEntryReaderInstantiator(entries, appendNotifier, readerPositions.of(name), name)));
       entryReaders.put(name, reader);
     }
     return completes().with((StateStoreEntryReader<ET>) reader);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<Result> registerIndex(final StateIndex definition) {
+    final InMemoryStateIndex index = new InMemoryStateIndex(definition);
+
+    if (!definition.isOnProperty()) {
+      stateFieldProvider.registerField((Class<Object>) definition.stateType, definition.fieldName, definition.extractor());
+    }
+
+    final Map<String, RS> typeStore = store.get(StateTypeStateStoreMap.storeNameFrom(definition.stateType));
+    if (typeStore != null) {
+      for (final RS raw : typeStore.values()) {
+        index.indexed(raw.id, raw, definition.isOnProperty() ? null : stateAdapterProvider.fromRaw(raw));
+      }
+    }
+
+    indexes.computeIfAbsent(definition.stateType, type -> new HashMap<>()).put(definition.fieldName, index);
+
+    return completes().with(Result.Success);
+  }
+
+  @Override
+  public void readRangeByIndex(final Class<?> type, final String fieldName, final Object from, final Object to, final ReadResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger().warn(getClass().getSimpleName() + " readRangeByIndex() missing ReadResultInterest for: " + fieldName);
+      return;
+    }
+
+    final InMemoryStateIndex index = indexOf(type, fieldName);
+
+    if (index == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.Error, "No index of: " + fieldName + " for: " + type)), Collections.emptyList(), object);
+      return;
+    }
+
+    final Collection<String> ids;
+    if (index.definition.isSorted()) {
+      ids = index.idsBetween(from, to);
+    } else if (from != null && from.equals(to)) {
+      ids = index.idsOf(from);
+    } else {
+      interest.readResultedIn(Failure.of(new StorageException(Result.Error, "Range of hash index: " + fieldName + " for: " + type)), Collections.emptyList(), object);
+      return;
+    }
+
+    final Map<String, RS> typeStore = store.get(StateTypeStateStoreMap.storeNameFrom(type));
+    final List<TypedStateBundle> bundles = new ArrayList<>(ids.size());
+    for (final String id : ids) {
+      final RS raw = typeStore.get(id);
+      bundles.add(new TypedStateBundle(id, type, stateAdapterProvider.fromRaw(raw), raw.dataVersion, raw.metadata));
+    }
+
+    if (bundles.isEmpty()) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), bundles, object);
+    } else {
+      interest.readResultedIn(Success.of(Result.Success), bundles, object);
+    }
+  }
+
   @Override
   public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
     readFor(id, type, interest, object);
@@ -131,17 +256,30 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
   @Override
   public Completes<Stream> streamAllOf(final Class<?> stateType) {
     final String storeName = StateTypeStateStoreMap.storeNameFrom(stateType);
-    Map<String, RS> typeStore = store.get(storeName);
+    final Map<String, RS> typeStore = store.get(storeName);
     if (typeStore == null) {
-      typeStore = new HashMap<>();
+      return completes().with(new StateStream<>(stage(), Collections.emptyMap(), stateAdapterProvider));
     }
-    return completes().with(new StateStream<>(stage(), typeStore, stateAdapterProvider));
+    return completes().with(new StateStream<>(stage(), new LinkedHashMap<>(typeStore), stateAdapterProvider)); // snapshot, as streamed by another actor
   }
 
   @Override
   public Completes<Stream> streamSomeUsing(final QueryExpression query) {
-    // TODO Auto-generated method stub
-    return null;
+    final StateQuery stateQuery;
+    try {
+      stateQuery = StateQuery.using(query, stateFieldProvider);
+    } catch (final IllegalArgumentException e) {
+      logger().error(getClass().getSimpleName() + " streamSomeUsing() invalid query because: " + e.getMessage(), e);
+      completes().failed(e);
+      return completes();
+    }
+
+    final Map<String, RS> typeStore = query.type == null ? null : store.get(StateTypeStateStoreMap.storeNameFrom(query.type));
+    if (typeStore == null) {
+      return completes().with(new StateStream<>(stage(), Collections.emptyMap(), stateAdapterProvider));
+    }
+
+    return completes().with(new StateStream<>(stage(), candidatesOf(typeStore, query.type, stateQuery), stateAdapterProvider, stateQuery));
   }
 
   @Override
@@ -149,6 +287,50 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     writeWith(id, state, stateVersion, sources, metadata, interest, object);
   }
 
+  /**
+   * Answer the states of the {@code typeStore} that may be selected by the {@code query}, which
+   * are those of the id or of the index key the query requires, if any, or else all of them.
+   * The candidates are a snapshot taken on my thread, because they are streamed by another actor
+   * while the {@code typeStore} continues to be written.
+   */
+  private Map<String, RS> candidatesOf(final Map<String, RS> typeStore, final Class<?> type, final StateQuery query) {
+    final Object id = query.valueEqualTo("id");
+    if (id != null) {
+      final RS raw = typeStore.get(id.toString());
+      return raw == null ? Collections.emptyMap() : Collections.singletonMap(raw.id, raw);
+    }
+
+    final Map<String, InMemoryStateIndex> typeIndexes = indexes.get(type);
+    if (typeIndexes != null) {
+      for (final InMemoryStateIndex index : typeIndexes.values()) {
+        final Object key = query.valueEqualTo(index.definition.fieldName);
+        if (key != null) {
+          final Map<String, RS> candidates = new LinkedHashMap<>();
+          for (final String indexedId : index.idsOf(key)) {
+            candidates.put(indexedId, typeStore.get(indexedId));
+          }
+          return candidates;
+        }
+      }
+    }
+
+    return new LinkedHashMap<>(typeStore);
+  }
+
+  private InMemoryStateIndex indexOf(final Class<?> type, final String fieldName) {
+    final Map<String, InMemoryStateIndex> typeIndexes = indexes.get(type);
+    return typeIndexes == null ? null : typeIndexes.get(fieldName);
+  }
+
+  private void indexed(final String id, final RS raw, final Object state) {
+    final Map<String, InMemoryStateIndex> typeIndexes = indexes.get(state.getClass());
+    if (typeIndexes != null) {
+      for (final InMemoryStateIndex index : typeIndexes.values()) {
+        index.indexed(id, raw, state);
+      }
+    }
+  }
+
   private void readFor(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
     if (interest != null) {
       if (id == null || type == null) {
@@ -225,6 +407,7 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
             }
           }
           typeStore.put(id, raw);
+          indexed(id, raw, state);
           final List<Entry<?>> entries = appendEntries(sources, stateVersion, metadata);
           dispatch(id, storeName, raw, entries);
 
@@ -248,9 +431,23 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
       ((BaseEntry<?>) each).__internal__setId(String.valueOf(entries.size()));
       entries.add(each);
     }
+    if (!adapted.isEmpty()) {
+      appendNotifier.appended();
+      compactWhenDue();
+    }
     return adapted;
   }
 
+  private void compactWhenDue() {
+    if (entries.size() < nextCompaction) return;
+
+    nextCompaction = entries.size() + AppendOnlyLog.ChunkSize;
+
+    if (!retentionPolicy.isUnbounded()) {
+      entries.truncateBefore(retentionPolicy.firstRetained(entries, readerPositions.lowest(entries.size())));
+    }
+  }
+
   private void dispatch(final String id, final String storeName, final RS raw, final List<Entry<?>> entries) {
     final String dispatchId = storeName + ":" + id;
     final Dispatchable<Entry<?>, RS> dispatchable = new Dispatchable<>(dispatchId, LocalDateTime.now(), raw, entries);
@@ -259,20 +456,24 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private static class StateStoreEntryReaderInstantiator implements ActorInstantiator<InMemoryStateStoreEntryReaderActor> {
+  static class StateStoreEntryReaderInstantiator implements ActorInstantiator<InMemoryStateStoreEntryReaderActor> {
     private static final long serialVersionUID = 8463366612347915854L;
 
+    final AppendNotifier appendNotifier;
     final String name;
     final List<Entry<?>> entries;
+    final Position position;
 
-    StateStoreEntryReaderInstantiator(final List<Entry<?>> entries, final String name) {
+    StateStoreEntryReaderInstantiator(final List<Entry<?>> entries, final AppendNotifier appendNotifier, final Position position, final String name) {
       this.entries = entries;
+      this.appendNotifier = appendNotifier;
+      this.position = position;
       this.name = name;
     }
 
     @Override
     public InMemoryStateStoreEntryReaderActor instantiate() {
-      return new InMemoryStateStoreEntryReaderActor(entries, name);
+      return new InMemoryStateStoreEntryReaderActor(entries, appendNotifier, position, name);
     }
 
     @Override
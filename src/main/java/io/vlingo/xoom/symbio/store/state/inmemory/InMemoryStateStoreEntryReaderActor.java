@@ -15,27 +15,45 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendNotifier;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.EntryReaderStream;
+import io.vlingo.xoom.symbio.store.ReaderPositions.Position;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
 
 public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Actor implements StateStoreEntryReader<T> {
+  private final AppendNotifier appendNotifier;
   private int currentIndex;
   private final EntryAdapterProvider entryAdapterProvider;
   private final List<Entry<T>> entriesView;
   private final String name;
+  private final Position position;
 
   public InMemoryStateStoreEntryReaderActor(final List<Entry<T>> entriesView, final String name) {
+    this(entriesView, null, name);
+  }
+
+  public InMemoryStateStoreEntryReaderActor(final List<Entry<T>> entriesView, final AppendNotifier appendNotifier, final String name) {
+    this(entriesView, appendNotifier, null, name);
+  }
+
+  public InMemoryStateStoreEntryReaderActor(final List<Entry<T>> entriesView, final AppendNotifier appendNotifier, final Position position, final String name) {
     this.entriesView = entriesView;
+    this.appendNotifier = appendNotifier;
+    this.position = position;
     this.name = name;
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
-    this.currentIndex = 0;
+    this.currentIndex = position == null ? 0 : position.get(); // resumes from a committed offset, if any
   }
 
   @Override
   public void close() {
-    currentIndex = -1;
-    entriesView.clear();
+    if (position != null) {
+      position.release(); // the entries are owned by the store
+    }
   }
 
   @Override
@@ -46,8 +64,11 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
   @Override
   @SuppressWarnings("unchecked")
   public Completes<T> readNext() {
-    if (currentIndex < entriesView.size()) {
-      return completes().with((T) entriesView.get(currentIndex++));
+    final Entry<T> entry = current();
+    if (entry != null) {
+      ++currentIndex;
+      positioned();
+      return completes().with((T) entry);
     }
     return completes().with(null);
   }
@@ -64,15 +85,30 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
     final List<Entry<T>> entries = new ArrayList<>(maximumEntries);
 
     for (int count = 0; count < maximumEntries; ++count) {
-      if (currentIndex < entriesView.size()) {
-        entries.add(entriesView.get(currentIndex++));
-      } else {
-        break;
-      }
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      entries.add(entry);
+      ++currentIndex;
     }
+    positioned();
     return completes().with((List<T>) entries);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<EntryBatch<T>> readBatch(final int maximumEntries, final EntryBatch<T> into) {
+    into.clear();
+    final int total = Math.min(maximumEntries, into.capacity());
+    for (int count = 0; count < total; ++count) {
+      final Entry<T> entry = current();
+      if (entry == null) break;
+      into.add((T) entry);
+      ++currentIndex;
+    }
+    positioned();
+    return completes().with(into);
+  }
+
   @Override
   public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
     seekTo(fromId);
@@ -82,6 +118,8 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
   @Override
   public void rewind() {
     currentIndex = 0;
+    skipEvicted();
+    positioned();
   }
 
   @Override
@@ -106,6 +144,8 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
       break;
     }
 
+    positioned();
+
     return completes().with(currentId);
   }
 
@@ -117,29 +157,46 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
   @Override
   @SuppressWarnings("unchecked")
   public Completes<Stream> streamAll() {
-    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
+    return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider, appendNotifier));
+  }
+
+  /**
+   * Answer the entry at my current index, first skipping any evicted, or null if there is none.
+   * An entry evicted concurrently with its read is skipped as well.
+   */
+  private Entry<T> current() {
+    skipEvicted();
+    while (currentIndex < entriesView.size()) {
+      final Entry<T> entry = AppendOnlyLog.readableAt(entriesView, currentIndex);
+      if (entry != null) return entry;
+      skipEvicted();
+    }
+    return null;
   }
 
   private void end() {
     currentIndex = entriesView.size();
   }
 
+  private void positioned() {
+    if (position != null) {
+      position.set(currentIndex);
+    }
+  }
+
   private String readCurrentId() {
-    if (currentIndex < entriesView.size()) {
-      final String currentId = entriesView.get(currentIndex).id();
-      return currentId;
+    final Entry<T> entry = current();
+    return entry == null ? "-1" : entry.id();
+  }
+
+  private void skipEvicted() {
+    final int first = AppendOnlyLog.firstIndexOf(entriesView);
+    if (currentIndex < first) {
+      currentIndex = first;
     }
-    return "-1";
   }
 
   private void to(final String id) {
-    rewind();
-    while (currentIndex < entriesView.size()) {
-      final Entry<T> entry = entriesView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
-      ++currentIndex;
-    }
+    currentIndex = EntryPositions.sequentialPositionOf(entriesView, id, 0);
   }
 }
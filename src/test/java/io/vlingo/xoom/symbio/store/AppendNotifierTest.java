@@ -0,0 +1,93 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class AppendNotifierTest {
+
+  @Test
+  public void testThatSubscribedListenersAreTold() {
+    final AppendNotifier notifier = new AppendNotifier();
+    final AtomicInteger first = new AtomicInteger();
+    final AtomicInteger second = new AtomicInteger();
+
+    assertFalse(notifier.hasListeners());
+
+    final AppendListener firstListener = first::incrementAndGet;
+    notifier.subscribe(firstListener);
+    notifier.subscribe(second::incrementAndGet);
+    assertTrue(notifier.hasListeners());
+
+    notifier.appended();
+    notifier.appended();
+
+    assertEquals(2, first.get());
+    assertEquals(2, second.get());
+
+    notifier.unsubscribe(firstListener);
+    notifier.appended();
+
+    assertEquals(2, first.get());
+    assertEquals(3, second.get());
+  }
+
+  @Test
+  public void testThatListenerMayUnsubscribeWhileTold() {
+    final AppendNotifier notifier = new AppendNotifier();
+    final AtomicInteger told = new AtomicInteger();
+
+    notifier.subscribe(new AppendListener() {
+      @Override
+      public void entriesAppended() {
+        told.incrementAndGet();
+        notifier.unsubscribe(this);
+      }
+    });
+
+    notifier.appended();
+    notifier.appended();
+
+    assertEquals(1, told.get());
+    assertFalse(notifier.hasListeners());
+  }
+
+  @Test
+  public void testThatCoalescingListenerIsToldOnceUntilRead() {
+    final AppendNotifier notifier = new AppendNotifier();
+    final AtomicInteger told = new AtomicInteger();
+    final AppendListener listener = told::incrementAndGet;
+
+    notifier.subscribeCoalescing(listener);
+
+    notifier.appended();
+    notifier.appended();
+    notifier.appended();
+
+    assertEquals(1, told.get());
+
+    notifier.readBy(listener);
+    notifier.appended();
+    notifier.appended();
+
+    assertEquals(2, told.get());
+
+    notifier.unsubscribe(listener);
+    notifier.readBy(listener);
+    notifier.appended();
+
+    assertEquals(2, told.get());
+    assertFalse(notifier.hasListeners());
+  }
+}
@@ -0,0 +1,141 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class AppendOnlyLogTest {
+  private static final int ChunkSize = AppendOnlyLog.ChunkSize;
+
+  @Test
+  public void testThatElementsAreReadAcrossChunks() {
+    final AppendOnlyLog<Integer> log = logOf(ChunkSize * 9 + 3); // beyond the initial 8 chunks
+
+    assertEquals(ChunkSize * 9 + 3, log.size());
+    assertEquals(0, log.firstIndex());
+    for (int index = 0; index < log.size(); ++index) {
+      assertEquals(index, (int) log.get(index));
+    }
+  }
+
+  @Test
+  public void testThatEvictionIsOfWholeChunksOnly() {
+    final AppendOnlyLog<Integer> log = logOf(ChunkSize * 3 + 5);
+
+    assertEquals(0, log.truncateBefore(ChunkSize - 1));
+    assertEquals(ChunkSize, log.truncateBefore(ChunkSize * 2 - 1));
+    assertEquals(ChunkSize, log.firstIndex());
+    assertEquals(ChunkSize * 3, log.truncateBefore(Integer.MAX_VALUE)); // never the chunk being appended
+    assertEquals(ChunkSize * 3, log.truncateBefore(0)); // never un-evicts
+
+    assertEquals(ChunkSize * 3 + 5, log.size());
+    assertEquals(ChunkSize * 3, (int) log.get(ChunkSize * 3));
+    assertOutOfBounds(log, ChunkSize * 3 - 1);
+    assertOutOfBounds(log, log.size());
+  }
+
+  @Test
+  public void testThatIterationAndSearchesBeginAtFirstIndex() {
+    final AppendOnlyLog<Integer> log = logOf(ChunkSize * 2 + 2);
+    log.truncateBefore(ChunkSize);
+
+    final Iterator<Integer> iterator = log.iterator();
+    int expected = ChunkSize;
+    while (iterator.hasNext()) {
+      assertEquals(expected++, (int) iterator.next());
+    }
+    assertEquals(log.size(), expected);
+
+    assertEquals(ChunkSize + 1, log.indexOf(ChunkSize + 1));
+    assertEquals(ChunkSize + 1, log.lastIndexOf(ChunkSize + 1));
+    assertTrue(log.contains(ChunkSize * 2 + 1));
+    assertFalse(log.contains(1));
+    assertEquals(-1, log.lastIndexOf(1));
+  }
+
+  @Test
+  public void testThatFirstAppendedSinceAnswersSizeWhenNone() {
+    final AppendOnlyLog<Integer> log = logOf(3);
+
+    assertEquals(0, log.firstAppendedSince(0));
+    assertEquals(3, log.firstAppendedSince(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testThatReadsAreSafeFromConcurrentEviction() throws Exception {
+    final int total = ChunkSize * 64;
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    final Thread writer = new Thread(() -> {
+      for (int index = 0; index < total; ++index) {
+        log.add(index);
+        if (index % (ChunkSize / 4) == 0) {
+          log.truncateBefore(index);
+        }
+      }
+    });
+
+    final Thread reader = new Thread(() -> {
+      try {
+        int current = 0;
+        int last = -1;
+        while (current < total) {
+          if (current < log.firstIndex()) current = log.firstIndex();
+          if (current >= log.size()) continue;
+          final Integer element = AppendOnlyLog.readableAt(log, current);
+          if (element == null) continue; // evicted since skipped
+          assertEquals(current, (int) element);
+          assertTrue(element > last);
+          last = element;
+          ++current;
+        }
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+
+    reader.start();
+    writer.start();
+    writer.join();
+    reader.join(10_000L);
+
+    if (failure.get() != null) throw new AssertionError(failure.get());
+    assertFalse(reader.isAlive());
+    assertEquals(null, log.getOrNull(0));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testThatLogIsNeverCleared() {
+    logOf(3).clear();
+  }
+
+  private void assertOutOfBounds(final AppendOnlyLog<Integer> log, final int index) {
+    try {
+      log.get(index);
+    } catch (IndexOutOfBoundsException e) {
+      return;
+    }
+    throw new AssertionError("Expected IndexOutOfBoundsException at: " + index);
+  }
+
+  private AppendOnlyLog<Integer> logOf(final int total) {
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    for (int index = 0; index < total; ++index) {
+      log.add(index);
+    }
+    return log;
+  }
+}
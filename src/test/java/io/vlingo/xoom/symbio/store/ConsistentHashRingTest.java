@@ -0,0 +1,73 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class ConsistentHashRingTest {
+  private static final int TotalKeys = 20_000;
+
+  @Test
+  public void testThatKeysAreBalancedAmongPartitions() {
+    final ConsistentHashRing ring = ConsistentHashRing.of(5);
+    final int[] counts = new int[5];
+
+    for (int key = 0; key < TotalKeys; ++key) {
+      ++counts[ring.partitionOf(UUID.randomUUID().toString())];
+    }
+
+    final int expected = TotalKeys / 5;
+    for (final int count : counts) {
+      assertTrue("Unbalanced: " + count, Math.abs(count - expected) < expected / 4);
+    }
+  }
+
+  @Test
+  public void testThatGrowingMovesKeysOnlyToTheNewPartition() {
+    final ConsistentHashRing ring = ConsistentHashRing.of(5);
+    final ConsistentHashRing grown = ring.resizedTo(6);
+
+    int moved = 0;
+    for (int key = 0; key < TotalKeys; ++key) {
+      final String id = UUID.randomUUID().toString();
+      final int partition = ring.partitionOf(id);
+      final int grownPartition = grown.partitionOf(id);
+      if (partition != grownPartition) {
+        assertEquals(5, grownPartition);
+        ++moved;
+      }
+    }
+
+    final int expected = TotalKeys / 6;
+    assertTrue("Moved: " + moved, Math.abs(moved - expected) < expected / 4);
+  }
+
+  @Test
+  public void testThatShrinkingMovesOnlyKeysOfTheRemovedPartition() {
+    final ConsistentHashRing ring = new ConsistentHashRing(6, 100);
+    final ConsistentHashRing shrunk = ring.resizedTo(5);
+
+    assertEquals(100, shrunk.virtualNodes());
+
+    for (int key = 0; key < TotalKeys; ++key) {
+      final String id = UUID.randomUUID().toString();
+      final int partition = ring.partitionOf(id);
+      if (partition != 5) {
+        assertEquals(partition, shrunk.partitionOf(id));
+      }
+    }
+
+    assertSame(shrunk, shrunk.resizedTo(5));
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+
+public class EntryBatchTest {
+
+  @Test
+  public void testThatBatchAnswersEachEntryByIndex() {
+    final EntryBatch<Entry<String>> batch = new EntryBatch<>(2);
+    final Metadata metadata = Metadata.withOperation("created");
+
+    assertEquals(2, batch.addAll(Arrays.asList(entry("1", Metadata.nullMetadata()), entry("2", metadata), entry("3", metadata))));
+    assertTrue(batch.isFull());
+
+    assertEquals("1", batch.id(0));
+    assertEquals("2", batch.entry(1).id());
+    assertEquals(Object.class.getName(), batch.typeName(1));
+    assertEquals("{\"id\":2}", batch.data(1));
+    assertEquals(metadata, batch.metadata(1));
+
+    batch.clear();
+    assertTrue(batch.isEmpty());
+    assertFalse(batch.isFull());
+    assertEquals(2, batch.remaining());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testThatIndexBeyondSizeIsOutOfBounds() {
+    final EntryBatch<Entry<String>> batch = new EntryBatch<>(2);
+    batch.add(entry("1", Metadata.nullMetadata()));
+    batch.id(1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThatFullBatchRejectsEntry() {
+    final EntryBatch<Entry<String>> batch = new EntryBatch<>(1);
+    batch.add(entry("1", Metadata.nullMetadata()));
+    batch.add(entry("2", Metadata.nullMetadata()));
+  }
+
+  private Entry<String> entry(final String id, final Metadata metadata) {
+    return new TextEntry(id, Object.class, 1, "{\"id\":" + id + "}", metadata);
+  }
+}
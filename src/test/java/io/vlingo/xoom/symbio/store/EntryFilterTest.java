@@ -0,0 +1,39 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+public class EntryFilterTest {
+
+  @Test
+  public void testThatFiltersOfSameCriteriaAreEqual() {
+    final EntryFilter filter = EntryFilter.ofTypeNames("A", "B").andOperations("created").andPropertyEquals("tenant", "t1");
+    final EntryFilter same = EntryFilter.ofTypeNames("B", "A").andOperations("created").andPropertyEquals("tenant", "t1");
+
+    assertEquals(filter, same);
+    assertEquals(filter.hashCode(), same.hashCode());
+
+    assertNotEquals(filter, EntryFilter.ofTypeNames("A", "B").andOperations("created").andPropertyEquals("tenant", "t2"));
+    assertNotEquals(filter, EntryFilter.ofTypeNames("A").andOperations("created").andPropertyEquals("tenant", "t1"));
+    assertNotEquals(EntryFilter.All, EntryFilter.ofOperations("created"));
+  }
+
+  @Test
+  public void testThatPropertyPredicatesAreEqualOnlyIfSame() {
+    final Predicate<String> predicate = value -> value.startsWith("t");
+
+    assertEquals(EntryFilter.All.andProperty("tenant", predicate), EntryFilter.All.andProperty("tenant", predicate));
+    assertNotEquals(EntryFilter.All.andProperty("tenant", predicate), EntryFilter.All.andProperty("tenant", value -> value.startsWith("t")));
+  }
+}
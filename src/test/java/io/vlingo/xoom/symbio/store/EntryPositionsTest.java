@@ -0,0 +1,84 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+
+public class EntryPositionsTest {
+
+  @Test
+  public void testThatSequentialIdsArePositionedDirectly() {
+    final List<Entry<String>> entries = entriesWithIds(1, 10);
+
+    assertEquals(0, EntryPositions.sequentialPositionOf(entries, "1", 1));
+    assertEquals(9, EntryPositions.sequentialPositionOf(entries, "10", 1));
+    assertEquals(10, EntryPositions.sequentialPositionOf(entries, "11", 1));
+    assertEquals(10, EntryPositions.sequentialPositionOf(entries, "0", 1));
+  }
+
+  @Test
+  public void testThatNonSequentialIdsAreScanned() {
+    final List<Entry<String>> entries = new ArrayList<>();
+    entries.add(entryOf("a"));
+    entries.add(entryOf("b"));
+    entries.add(entryOf("7"));
+
+    assertEquals(1, EntryPositions.sequentialPositionOf(entries, "b", 1));
+    assertEquals(2, EntryPositions.sequentialPositionOf(entries, "7", 1)); // not at position 6
+    assertEquals(3, EntryPositions.sequentialPositionOf(entries, "z", 1));
+  }
+
+  @Test
+  public void testThatEvictedEntriesAreNotPositioned() {
+    final AppendOnlyLog<Entry<String>> entries = new AppendOnlyLog<>();
+    entries.addAll(entriesWithIds(0, AppendOnlyLog.ChunkSize + 2));
+    entries.truncateBefore(AppendOnlyLog.ChunkSize);
+
+    assertEquals(entries.size(), EntryPositions.sequentialPositionOf(entries, "3", 0));
+    assertEquals(AppendOnlyLog.ChunkSize + 1, EntryPositions.sequentialPositionOf(entries, "" + (AppendOnlyLog.ChunkSize + 1), 0));
+  }
+
+  @Test
+  public void testThatIndexedIdsArePositioned() {
+    final EntryPositions positions = new EntryPositions();
+    positions.add("x", 0);
+    positions.add("y", 1);
+    positions.add("z", 5);
+
+    assertEquals(1, positions.positionOf("y", 3));
+    assertEquals(3, positions.positionOf("z", 3)); // beyond the current size
+    assertEquals(3, positions.positionOf("unknown", 3));
+
+    positions.remove("y");
+    assertEquals(3, positions.positionOf("y", 3));
+
+    positions.clear();
+    assertEquals(3, positions.positionOf("x", 3));
+  }
+
+  private List<Entry<String>> entriesWithIds(final int firstId, final int total) {
+    final List<Entry<String>> entries = new ArrayList<>(total);
+    for (int id = firstId; id < firstId + total; ++id) {
+      entries.add(entryOf("" + id));
+    }
+    return entries;
+  }
+
+  private Entry<String> entryOf(final String id) {
+    return new TextEntry(id, Object.class, 1, "{}", Metadata.nullMetadata());
+  }
+}
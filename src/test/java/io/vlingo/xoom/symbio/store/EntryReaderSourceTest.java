@@ -0,0 +1,251 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Protocols;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Elements;
+import io.vlingo.xoom.reactivestreams.Source;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.EntryBundle;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.store.EntryReaderSource.EntryReaderSourceInstantiator;
+
+public class EntryReaderSourceTest {
+  private static final long TimeoutMillis = 5_000L;
+
+  private EntryAdapterProvider entryAdapterProvider;
+  private ListEntryReader reader;
+  private World world;
+
+  @Test
+  public void testThatNotifiedSourceReadsAppendedEntries() {
+    final AppendNotifier notifier = new AppendNotifier();
+    reader.append(5);
+
+    final Protocols protocols = sourceOf(notifier);
+    final Source<Entry<String>> source = protocols.get(0);
+
+    final List<String> ids = readUntil(source, 5);
+    assertEquals("1", ids.get(0));
+    assertEquals("5", ids.get(4));
+
+    reader.append(3);
+    notifier.appended();
+
+    final List<String> more = readUntil(source, 3);
+    assertEquals("6", more.get(0));
+    assertEquals("8", more.get(2));
+  }
+
+  @Test
+  public void testThatProbingSourceReadsAppendedEntries() {
+    reader.append(4);
+
+    final Protocols protocols = sourceOf(10L, ProbePolicy.backoff(5, 50), null);
+
+    final Source<Entry<String>> source = protocols.get(0);
+
+    assertEquals(4, readUntil(source, 4).size());
+
+    reader.append(2);
+
+    final List<String> more = readUntil(source, 2);
+    assertEquals("5", more.get(0));
+    assertEquals("6", more.get(1));
+  }
+
+  @Test
+  public void testThatNextAnswersAtMostMaximumElements() {
+    final AppendNotifier notifier = new AppendNotifier();
+    reader.append(10);
+
+    final Protocols protocols = sourceOf(notifier);
+    final Source<Entry<String>> source = protocols.get(0);
+
+    int read = 0;
+    final long timeout = System.currentTimeMillis() + TimeoutMillis;
+    while (read < 10 && System.currentTimeMillis() < timeout) {
+      final Elements<?> elements = source.next(3).await();
+      assertTrue(elements.size() <= 3);
+      read += elements.size();
+      if (elements.size() == 0) pause();
+    }
+    assertEquals(10, read);
+  }
+
+  @Test
+  public void testThatUnboundedDemandIsReadInBoundedBatches() {
+    final AppendNotifier notifier = new AppendNotifier();
+    reader.append(5);
+
+    final Protocols protocols = sourceOf(Long.MAX_VALUE, ProbePolicy.defaultPolicy(), notifier);
+    final Source<Entry<String>> source = protocols.get(0);
+
+    final long timeout = System.currentTimeMillis() + TimeoutMillis;
+    int read = 0;
+    while (read < 5 && System.currentTimeMillis() < timeout) {
+      final Elements<?> elements = source.next(Integer.MAX_VALUE).await();
+      read += elements.size();
+      if (elements.size() == 0) pause();
+    }
+    assertEquals(5, read);
+    assertTrue(reader.largestRead > 0);
+    assertTrue(reader.largestRead <= EntryReaderSource.MaximumBatchSize);
+  }
+
+  @Test
+  public void testThatStoppedSourceUnsubscribesFromNotifier() {
+    final AppendNotifier notifier = new AppendNotifier();
+    final Protocols protocols = sourceOf(notifier);
+    final Source<Entry<String>> source = protocols.get(0);
+    source.isSlow().await(); // subscribed once constructed
+
+    final Stoppable stoppable = protocols.get(1);
+    stoppable.stop();
+
+    final long timeout = System.currentTimeMillis() + TimeoutMillis;
+    while (notifier.hasListeners() && System.currentTimeMillis() < timeout) {
+      pause();
+    }
+    assertFalse(notifier.hasListeners());
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-entry-reader-source");
+    entryAdapterProvider = EntryAdapterProvider.instance(world);
+    reader = new ListEntryReader();
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+
+  private Protocols sourceOf(final AppendNotifier notifier) {
+    return sourceOf(10L, ProbePolicy.defaultPolicy(), notifier);
+  }
+
+  private Protocols sourceOf(final long flowElementsRate, final ProbePolicy probePolicy, final AppendNotifier notifier) {
+    return world.stage().actorFor(
+            new Class<?>[] { Source.class, Stoppable.class },
+            Definition.has(EntryReaderSource.class,
+                    new EntryReaderSourceInstantiator<>(reader, entryAdapterProvider, flowElementsRate, probePolicy, notifier)));
+  }
+
+  private List<String> readUntil(final Source<Entry<String>> source, final int total) {
+    final List<String> ids = new ArrayList<>();
+    final long timeout = System.currentTimeMillis() + TimeoutMillis;
+    while (ids.size() < total && System.currentTimeMillis() < timeout) {
+      final Elements<?> elements = source.next().await();
+      for (int index = 0; index < elements.size(); ++index) {
+        ids.add(((EntryBundle) elements.elementAt(index)).entry.id());
+      }
+      if (elements.size() == 0) pause();
+    }
+    assertEquals(total, ids.size());
+    return ids;
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(5L);
+    } catch (InterruptedException e) {
+      // ignore
+    }
+  }
+
+  public static final class Tick extends io.vlingo.xoom.symbio.Source<String> {
+  }
+
+  private static final class ListEntryReader implements EntryReader<Entry<String>> {
+    private int currentIndex;
+    private final List<Entry<String>> entries = new CopyOnWriteArrayList<>();
+    volatile int largestRead;
+
+    void append(final int total) {
+      for (int count = 0; count < total; ++count) {
+        entries.add(new TextEntry("" + (entries.size() + 1), Tick.class, 1, "{}", Metadata.nullMetadata()));
+      }
+    }
+
+    @Override
+    public void close() { }
+
+    @Override
+    public Completes<String> name() {
+      return Completes.withSuccess("list");
+    }
+
+    @Override
+    public Completes<Entry<String>> readNext() {
+      return Completes.withSuccess(currentIndex < entries.size() ? entries.get(currentIndex++) : null);
+    }
+
+    @Override
+    public Completes<Entry<String>> readNext(final String fromId) {
+      seekTo(fromId);
+      return readNext();
+    }
+
+    @Override
+    public Completes<List<Entry<String>>> readNext(final int maximumEntries) {
+      largestRead = Math.max(largestRead, maximumEntries);
+      final List<Entry<String>> read = new ArrayList<>();
+      while (read.size() < maximumEntries && currentIndex < entries.size()) {
+        read.add(entries.get(currentIndex++));
+      }
+      return Completes.withSuccess(read);
+    }
+
+    @Override
+    public Completes<List<Entry<String>>> readNext(final String fromId, final int maximumEntries) {
+      seekTo(fromId);
+      return readNext(maximumEntries);
+    }
+
+    @Override
+    public void rewind() {
+      currentIndex = 0;
+    }
+
+    @Override
+    public Completes<String> seekTo(final String id) {
+      return Completes.withSuccess(id);
+    }
+
+    @Override
+    public Completes<Long> size() {
+      return Completes.withSuccess((long) entries.size());
+    }
+
+    @Override
+    public Completes<Stream> streamAll() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ProbePolicyTest {
+
+  @Test
+  public void testThatEmptyProbesBackOffToMaximum() {
+    final ProbePolicy policy = ProbePolicy.backoff(10, 100);
+
+    int interval = policy.minimumInterval;
+    interval = policy.nextInterval(interval, false);
+    assertEquals(20, interval);
+    interval = policy.nextInterval(interval, false);
+    assertEquals(40, interval);
+    interval = policy.nextInterval(interval, false);
+    assertEquals(80, interval);
+    interval = policy.nextInterval(interval, false);
+    assertEquals(100, interval);
+    interval = policy.nextInterval(interval, false);
+    assertEquals(100, interval);
+
+    assertTrue(policy.isBackingOff(interval));
+  }
+
+  @Test
+  public void testThatReadingProbeSnapsBackToMinimum() {
+    final ProbePolicy policy = ProbePolicy.backoff(10, 100, 3.0);
+
+    assertEquals(30, policy.nextInterval(10, false));
+    assertEquals(10, policy.nextInterval(90, true));
+    assertFalse(policy.isBackingOff(policy.nextInterval(90, true)));
+  }
+
+  @Test
+  public void testThatFractionalMultiplierStillLengthens() {
+    final ProbePolicy policy = ProbePolicy.backoff(1, 10, 1.5);
+
+    assertEquals(2, policy.nextInterval(1, false));
+    assertEquals(3, policy.nextInterval(2, false));
+    assertEquals(5, policy.nextInterval(3, false));
+  }
+
+  @Test
+  public void testThatFixedPolicyNeverBacksOff() {
+    final ProbePolicy policy = ProbePolicy.fixed(25);
+
+    assertEquals(25, policy.nextInterval(25, false));
+    assertEquals(25, policy.nextInterval(25, true));
+    assertFalse(policy.isBackingOff(policy.nextInterval(25, false)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatMaximumBelowMinimumIsRejected() {
+    ProbePolicy.backoff(10, 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatMultiplierBelowOneIsRejected() {
+    ProbePolicy.backoff(10, 50, 0.5);
+  }
+}
@@ -0,0 +1,46 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.store.ReaderStatistics.ReaderSample;
+
+public class ReaderStatisticsTest {
+
+  @Test
+  public void testThatIdleReaderLagsOnlySinceHeadPassedIt() throws Exception {
+    final ReaderStatistics statistics = new ReaderStatistics();
+    final AtomicInteger head = new AtomicInteger(0);
+
+    statistics.registered("store", "reader", 0, head::get);
+
+    Thread.sleep(50L); // idle at the head
+
+    head.set(1);
+
+    final ReaderSample passed = statistics.sample("store", "reader");
+    assertEquals(1, passed.lag);
+    assertEquals(0, passed.lagMillis);
+
+    Thread.sleep(20L);
+
+    assertTrue(statistics.sample("store", "reader").lagMillis >= 20L);
+
+    statistics.positioned("store", "reader", 1, 1);
+
+    final ReaderSample caughtUp = statistics.sample("store", "reader");
+    assertEquals(0, caughtUp.lag);
+    assertEquals(0, caughtUp.lagMillis);
+  }
+}
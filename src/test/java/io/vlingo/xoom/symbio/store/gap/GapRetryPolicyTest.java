@@ -0,0 +1,56 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import io.vlingo.xoom.symbio.store.Histogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GapRetryPolicyTest {
+    @Test
+    public void testThatFixedPolicyRetriesOnIntervalUntilRetriesExhausted() {
+        GapRetryPolicy policy = GapRetryPolicy.fixed(3, 10L);
+
+        Assert.assertEquals(10L, policy.delayBefore(1, 0L));
+        Assert.assertEquals(10L, policy.delayBefore(3, 1000L));
+        Assert.assertTrue(policy.delayBefore(4, 0L) < 0);
+    }
+
+    @Test
+    public void testThatBackoffIsJitteredCappedAndEndsAtDeadline() {
+        GapRetryPolicy policy = GapRetryPolicy.backoff(10, 10L, 100L, 500L);
+
+        Assert.assertEquals(10L, policy.intervalOf(1));
+        Assert.assertEquals(80L, policy.intervalOf(4));
+        Assert.assertEquals(100L, policy.intervalOf(5));
+
+        for (int retry = 1; retry <= 10; retry++) {
+            long delay = policy.delayBefore(retry, 0L);
+            Assert.assertTrue(delay >= policy.intervalOf(retry) / 2 && delay <= policy.intervalOf(retry));
+        }
+
+        Assert.assertTrue(policy.delayBefore(3, 495L) <= 5L);
+        Assert.assertTrue(policy.delayBefore(3, 500L) < 0);
+    }
+
+    @Test
+    public void testThatStatisticsCountAndHistogramOutcomes() {
+        GapStatistics statistics = new GapStatistics();
+        statistics.gapsDetected(5);
+        statistics.gapsFilled(3, 1, 12L);
+        statistics.gapsFilled(1, 2, 40L);
+        statistics.gapsGivenUp(1, 3, 90L);
+
+        Assert.assertEquals(5, statistics.gapsDetected());
+        Assert.assertEquals(4, statistics.gapsFilled());
+        Assert.assertEquals(1, statistics.gapsGivenUp());
+        Assert.assertEquals(2, statistics.fillLatency().count());
+        Assert.assertEquals(40L, statistics.fillLatency().max());
+        Assert.assertEquals(1, statistics.retriesToFill().bucketCount(Histogram.bucketOf(2)));
+    }
+}
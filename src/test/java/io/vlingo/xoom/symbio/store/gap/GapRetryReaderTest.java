@@ -0,0 +1,80 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GapRetryReaderTest {
+    private World world;
+    private GapRetryReader<Entry<String>> reader;
+
+    @Before
+    public void setUp() {
+        world = World.startWithDefaults("gap-retry-reader-tests");
+        reader = new GapRetryReader<>(world.stage(), world.stage().scheduler());
+    }
+
+    @After
+    public void tearDown() {
+        world.terminate();
+    }
+
+    @Test
+    public void testThatGapFreeWindowHasNoGaps() {
+        Assert.assertSame(Gaps.None, reader.detectGapRanges(entries(100, 200), 100, 100));
+        Assert.assertTrue(reader.detectGaps(entries(100, 200), 100, 100).isEmpty());
+    }
+
+    @Test
+    public void testThatGapsAreDetectedAsRanges() {
+        List<Entry<String>> entries = entries(0, 200);
+        entries.removeIf(entry -> {
+            long id = Long.parseLong(entry.id());
+            return (id >= 10 && id < 20) || id == 63 || id == 64 || id >= 190;
+        });
+
+        Gaps gaps = reader.detectGapRanges(entries, 5, 195);
+
+        Assert.assertEquals(3, gaps.rangeCount());
+        Assert.assertEquals(10, gaps.startOf(0));
+        Assert.assertEquals(20, gaps.endOf(0));
+        Assert.assertEquals(63, gaps.startOf(1));
+        Assert.assertEquals(65, gaps.endOf(1));
+        Assert.assertEquals(190, gaps.startOf(2));
+        Assert.assertEquals(200, gaps.endOf(2));
+        Assert.assertEquals(22, gaps.count());
+        Assert.assertTrue(gaps.contains(64));
+        Assert.assertFalse(gaps.contains(65));
+        Assert.assertEquals(Arrays.asList(10L, 11L), gaps.ids().subList(0, 2));
+        Assert.assertEquals(Long.valueOf(199), gaps.ids().get(21));
+    }
+
+    @Test
+    public void testThatMissingSingleEntryIsGap() {
+        Assert.assertEquals(Arrays.asList(7L), reader.detectGaps((Entry<String>) null, 7));
+        Assert.assertTrue(reader.detectGaps(entries(7, 8).get(0), 7).isEmpty());
+    }
+
+    private List<Entry<String>> entries(long from, long to) {
+        List<Entry<String>> entries = new ArrayList<>();
+        for (long id = from; id < to; id++) {
+            entries.add(new BaseEntry.TextEntry(Long.toString(id), Object.class, 1, "Entry_" + id));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.gap;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class GappedEntriesTest {
+    @Test
+    public void testThatEntriesAreKeptInIdOrder() {
+        GappedEntries<Entry<String>> gapped = new GappedEntries<>(entries(5, 1, 3), Arrays.asList(4L, 2L), null);
+
+        Assert.assertEquals(Arrays.asList("1", "3", "5"), idsOf(gapped.getSortedLoadedEntries()));
+        Assert.assertEquals(Arrays.asList(4L, 2L), gapped.getGapIds());
+        Assert.assertEquals(5, gapped.size());
+        Assert.assertEquals("1", gapped.getFirst().get().id());
+    }
+
+    @Test
+    public void testThatFillupWithLeavesOriginalUnchanged() {
+        GappedEntries<Entry<String>> gapped = new GappedEntries<>(entries(1, 3), Arrays.asList(2L, 4L), null);
+
+        GappedEntries<Entry<String>> filled = gapped.fillupWith(entries(2));
+
+        Assert.assertNotSame(gapped, filled);
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), idsOf(filled.getSortedLoadedEntries()));
+        Assert.assertEquals(Collections.singletonList(4L), filled.getGapIds());
+        Assert.assertEquals(Arrays.asList("1", "3"), idsOf(gapped.getSortedLoadedEntries()));
+        Assert.assertEquals(Arrays.asList(2L, 4L), gapped.getGapIds());
+        Assert.assertEquals(2, gapped.gapCount());
+    }
+
+    @Test
+    public void testThatFillupInPlaceWithFillsOnlyGaps() {
+        GappedEntries<Entry<String>> gapped = new GappedEntries<>(entries(1, 3), Arrays.asList(2L, 4L), null);
+
+        GappedEntries<Entry<String>> filled = gapped.fillupInPlaceWith(entries(4, 3, 7));
+
+        Assert.assertSame(gapped, filled);
+        Assert.assertEquals(Arrays.asList("1", "3", "4"), idsOf(gapped.getSortedLoadedEntries()));
+        Assert.assertEquals(Collections.singletonList(2L), gapped.getGapIds());
+        Assert.assertTrue(gapped.containGaps());
+
+        gapped.fillupInPlaceWith(entries(2));
+        Assert.assertFalse(gapped.containGaps());
+        Assert.assertEquals(4, gapped.size());
+    }
+
+    @Test
+    public void testThatWidelySpacedIdsAreHeldByCount() {
+        long far = Integer.MAX_VALUE * 4L;
+        GappedEntries<Entry<String>> gapped = new GappedEntries<>(entries(1, far), Collections.singletonList(far + 1), null);
+
+        gapped.fillupInPlaceWith(entries(far + 1));
+
+        Assert.assertEquals(Arrays.asList("1", "" + far, "" + (far + 1)), idsOf(gapped.getSortedLoadedEntries()));
+        Assert.assertFalse(gapped.containGaps());
+    }
+
+    private List<Entry<String>> entries(long... ids) {
+        List<Entry<String>> entries = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            entries.add(new TextEntry("" + id, Object.class, 1, "{}", Metadata.nullMetadata()));
+        }
+        return entries;
+    }
+
+    private List<String> idsOf(List<Entry<String>> entries) {
+        List<String> ids = new ArrayList<>(entries.size());
+        for (Entry<String> entry : entries) {
+            ids.add(entry.id());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,47 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PositionIndexTest {
+
+  @Test
+  public void testThatPositionsAreFoundByJournalIndex() {
+    final PositionIndex positions = new PositionIndex();
+    for (int position = 0; position < 10; ++position) {
+      positions.add(position * 3);
+    }
+
+    assertEquals(10, positions.size());
+    assertEquals(0, positions.firstPosition());
+    assertEquals(12, positions.indexAt(4));
+    assertEquals(StreamIndex.NoIndex, positions.indexAt(10));
+    assertEquals(4, positions.positionOf(12));
+    assertEquals(5, positions.positionOf(13));
+    assertEquals(10, positions.positionOf(28));
+  }
+
+  @Test
+  public void testThatTrimmedPositionsAreSkipped() {
+    final PositionIndex positions = new PositionIndex();
+    for (int position = 0; position < 10; ++position) {
+      positions.add(position * 3);
+    }
+
+    positions.trimBelow(10);
+
+    assertEquals(10, positions.size());
+    assertEquals(4, positions.firstPosition());
+    assertEquals(StreamIndex.NoIndex, positions.indexAt(3));
+    assertEquals(12, positions.indexAt(4));
+    assertEquals(4, positions.positionOf(0));
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Metadata;
+
+public class StreamEntriesTest {
+
+  @Test
+  public void testThatEntriesAreReadFromJournalOnlyWhenAccessed() {
+    final List<BaseEntry<String>> journal = new ArrayList<>();
+    final StreamIndex index = new StreamIndex();
+    for (int position = 0; position < 10; ++position) {
+      journal.add(new TextEntry("" + (position + 1), Object.class, 1, "{}", Metadata.nullMetadata()));
+      if (position % 2 == 0) {
+        index.set(index.countFrom(1) + 1, position); // versions 1..5 at even journal positions
+      }
+    }
+
+    final AtomicInteger reads = new AtomicInteger();
+    final StreamEntries<String> entries = new StreamEntries<>(position -> {
+      reads.incrementAndGet();
+      return journal.get(position);
+    }, index, 2, 3);
+
+    assertEquals(3, entries.size());
+    assertEquals(0, reads.get());
+
+    assertEquals("3", entries.get(0).id());
+    assertEquals("7", entries.get(2).id());
+    assertEquals(2, reads.get());
+
+    final List<String> ids = new ArrayList<>();
+    for (final BaseEntry<String> entry : entries) {
+      ids.add(entry.id());
+    }
+    assertEquals(3, ids.size());
+    assertEquals("5", ids.get(1));
+  }
+
+  @Test
+  public void testThatEntriesAreUnaffectedByLaterTrimmedIndex() {
+    final List<BaseEntry<String>> journal = new ArrayList<>();
+    final StreamIndex index = new StreamIndex();
+    for (int position = 0; position < 4; ++position) {
+      journal.add(new TextEntry("" + (position + 1), Object.class, 1, "{}", Metadata.nullMetadata()));
+      index.set(position + 1, position);
+    }
+
+    final StreamEntries<String> entries = new StreamEntries<>(journal::get, index, 1, 4);
+
+    index.trimBelow(3);
+
+    assertEquals(StreamIndex.NoIndex, index.indexOf(1));
+    assertEquals("1", entries.get(0).id());
+    assertEquals("4", entries.get(3).id());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testThatEntriesBeyondCountAreOutOfBounds() {
+    new StreamEntries<String>(position -> null, new StreamIndex(), 1, 0).get(0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testThatEntriesAreReadOnly() {
+    new StreamEntries<String>(position -> null, new StreamIndex(), 1, 0).add(null);
+  }
+}
@@ -0,0 +1,56 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class StreamIndexTest {
+
+  @Test
+  public void testThatEmptyIndexHasNoVersions() {
+    final StreamIndex index = new StreamIndex();
+
+    assertEquals(0, index.firstVersion());
+    assertEquals(StreamIndex.NoIndex, index.indexOf(1));
+    assertEquals(0, index.countFrom(1));
+  }
+
+  @Test
+  public void testThatVersionsAreIndexedBeyondInitialCapacity() {
+    final StreamIndex index = new StreamIndex();
+    for (int version = 1; version <= 100; ++version) {
+      index.set(version, version * 3);
+    }
+
+    assertEquals(1, index.firstVersion());
+    for (int version = 1; version <= 100; ++version) {
+      assertEquals(version * 3, index.indexOf(version));
+    }
+    assertEquals(StreamIndex.NoIndex, index.indexOf(0));
+    assertEquals(StreamIndex.NoIndex, index.indexOf(101));
+    assertEquals(100, index.countFrom(1));
+    assertEquals(51, index.countFrom(50));
+  }
+
+  @Test
+  public void testThatLowerVersionGrowsIndexDownward() {
+    final StreamIndex index = new StreamIndex();
+    index.set(5, 50);
+    index.set(6, 60);
+    index.set(3, 30);
+
+    assertEquals(3, index.firstVersion());
+    assertEquals(30, index.indexOf(3));
+    assertEquals(StreamIndex.NoIndex, index.indexOf(4));
+    assertEquals(50, index.indexOf(5));
+    assertEquals(1, index.countFrom(3)); // version 4 is a gap
+    assertEquals(2, index.countFrom(5));
+  }
+}
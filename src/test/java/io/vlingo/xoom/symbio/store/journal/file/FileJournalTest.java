@@ -0,0 +1,302 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.serialization.JsonSerialization;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapter;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.dispatch.MockConfirmDispatchedResultInterest;
+import io.vlingo.xoom.symbio.store.dispatch.MockDispatcher;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.journal.inmemory.MockAppendResultInterest;
+import io.vlingo.xoom.symbio.store.journal.inmemory.MockAppendResultInterest.JournalData;
+import io.vlingo.xoom.symbio.store.journal.inmemory.SnapshotState;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.OffsetStore;
+import io.vlingo.xoom.symbio.store.offset.file.FileOffsetStore;
+import io.vlingo.xoom.symbio.store.state.SnapshotStateAdapter;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class FileJournalTest {
+  private FileJournalConfiguration configuration;
+  private File directory;
+  private MockDispatcher<String, SnapshotState> dispatcher;
+  private MockAppendResultInterest interest;
+  private FileJournal<String, ?> journal;
+  private World world;
+
+  @Test
+  public void testThatJournalReaderReadsAppendedEntries() {
+    interest.afterCompleting(2);
+    dispatcher.afterCompleting(2);
+
+    journal.append("123", 1, new TestSource(1), interest, null);
+    journal.appendAll("456", 1, Arrays.asList(new TestSource(2), new TestSource(3)), interest, null);
+
+    final List<JournalData<String, SnapshotState>> appended = interest.afterCompleting(0).readFrom("appendResultedIn");
+    assertEquals(Result.Success, appended.get(1).result);
+
+    final JournalReader<Entry<String>> reader = (JournalReader) journal.journalReader("test").outcome();
+
+    final List<Entry<String>> entries = reader.readNext(5).outcome();
+    assertEquals(3, entries.size());
+    assertEquals("1", entries.get(0).id());
+    assertEquals("3", entries.get(2).id());
+    assertEquals(3, JsonSerialization.deserialized(entries.get(2).entryData(), TestSource.class).value);
+
+    assertEquals("2", reader.seekTo("2").outcome());
+    final Entry<String> second = reader.readNext().outcome();
+    assertEquals("2", second.id());
+    assertEquals("-1", reader.seekTo(JournalReader.End).outcome());
+    assertNull(reader.readNext().outcome());
+  }
+
+  @Test
+  public void testThatJournalRecoversEntriesAndSnapshots() {
+    interest.afterCompleting(4);
+    dispatcher.afterCompleting(4);
+
+    journal.append("123", 1, new TestSource(1), interest, null);
+    journal.append("123", 2, new TestSource(2), interest, null);
+    journal.appendWith("123", 3, new TestSource(3), new SnapshotState(), interest, null);
+    journal.append("123", 4, new TestSource(4), interest, null);
+
+    journal.stop();
+
+    journal = new FileJournal<>(dispatcher, world, configuration);
+
+    final StreamReader<String> streamReader = journal.streamReader("test").outcome();
+    final EntityStream<String> stream = streamReader.streamFor("123").outcome();
+
+    assertNotNull(stream.snapshot);
+    assertEquals(3, stream.snapshot.dataVersion);
+    assertEquals(2, stream.entries.size());
+    assertEquals("3", stream.entries.get(0).id());
+    assertEquals("4", stream.entries.get(1).id());
+    assertEquals(4, stream.streamVersion);
+
+    final JournalReader<Entry<String>> reader = (JournalReader) journal.journalReader("test").outcome();
+    assertEquals(4L, (long) reader.size().outcome());
+  }
+
+  @Test
+  public void testThatJournalReaderResumesFromCommittedOffset() {
+    final File offsetsFile = new File(directory, "offsets");
+    final FileOffsetStore offsetStore = new FileOffsetStore(offsetsFile.toPath());
+    journal.offsetsWith(offsetStore, new DirectOffsetCommitter(offsetStore));
+
+    interest.afterCompleting(4);
+    dispatcher.afterCompleting(4);
+
+    for (int count = 1; count <= 4; ++count) {
+      journal.append("123", count, new TestSource(count), interest, null);
+    }
+
+    final JournalReader<Entry<String>> reader = (JournalReader) journal.journalReader("test").outcome();
+    final List<Entry<String>> entries = reader.readNext(3).outcome();
+    assertEquals(3, entries.size());
+    assertEquals(3L, offsetStore.offsetOf("test"));
+
+    journal.stop();
+
+    journal = new FileJournal<>(dispatcher, world, configuration);
+    final FileOffsetStore recoveredOffsetStore = new FileOffsetStore(offsetsFile.toPath());
+    journal.offsetsWith(recoveredOffsetStore, new DirectOffsetCommitter(recoveredOffsetStore));
+
+    final JournalReader<Entry<String>> resumed = (JournalReader) journal.journalReader("test").outcome();
+    final Entry<String> entry = resumed.readNext().outcome();
+    assertEquals("4", entry.id());
+    assertEquals(OffsetStore.Unknown, recoveredOffsetStore.offsetOf("other"));
+  }
+
+  @Test
+  public void testThatJournalRollsOverSegments() {
+    final int total = 200;
+
+    interest.afterCompleting(total);
+    dispatcher.afterCompleting(total);
+
+    for (int count = 1; count <= total; ++count) {
+      journal.append("stream-" + count, 1, new TestSource(count), interest, null);
+    }
+
+    journal.stop();
+
+    journal = new FileJournal<>(dispatcher, world, configuration);
+
+    final JournalReader<Entry<String>> reader = (JournalReader) journal.journalReader("test").outcome();
+
+    assertEquals(total, (long) reader.size().outcome());
+    final Entry<String> entry = reader.readNext("150").outcome();
+    assertEquals("150", entry.id());
+
+    final StreamReader<String> streamReader = journal.streamReader("test").outcome();
+    final EntityStream<String> stream = streamReader.streamFor("stream-" + total).outcome();
+    assertEquals(1, stream.entries.size());
+  }
+
+  @Test
+  public void testThatGroupCommitAnswersAfterBatchCommits() {
+    journal.stop();
+    journal = new FileJournal<>(dispatcher, world, configuration.withGroupCommit(3, 1_000_000L));
+
+    dispatcher.afterCompleting(4);
+
+    journal.append("123", 1, new TestSource(1), interest, null);
+    journal.append("456", 1, new TestSource(2), interest, null);
+
+    final JournalReader<Entry<String>> reader = (JournalReader) journal.journalReader("test").outcome();
+
+    assertEquals(0, appendsReceived());
+    assertEquals(0L, (long) reader.size().outcome());
+
+    journal.append("789", 1, new TestSource(3), interest, null);
+
+    assertEquals(3, appendsReceived());
+    assertEquals(3L, (long) reader.size().outcome());
+
+    journal.append("123", 2, new TestSource(4), interest, null);
+    assertEquals(3, appendsReceived());
+
+    journal.commit();
+
+    assertEquals(4, appendsReceived());
+    assertEquals(4L, (long) reader.size().outcome());
+  }
+
+  @Test
+  public void testThatGroupCommitWindowCommitsPendingAppends() {
+    final FileJournalConfiguration windowed =
+            FileJournalConfiguration.with(directory.getPath(), "windowed", 4096, false).withGroupCommit(3, 50_000L);
+
+    final Journal<String> windowedJournal =
+            world.actorFor(Journal.class, FileJournalActor.class, Arrays.asList(dispatcher), windowed);
+
+    final AccessSafely access = interest.afterCompleting(2);
+    dispatcher.afterCompleting(2);
+
+    windowedJournal.append("123", 1, new TestSource(1), interest, null);
+    windowedJournal.append("456", 1, new TestSource(2), interest, null);
+
+    // fewer than the 3 group commit entries, so committed only once the window elapses
+    assertEquals(2, (int) access.readFromExpecting("size", 2));
+
+    final List<JournalData<String, SnapshotState>> appended = access.readFrom("appendResultedIn");
+    assertEquals(Result.Success, appended.get(0).result);
+    assertEquals(Result.Success, appended.get(1).result);
+
+    final JournalReader<Entry<String>> reader = windowedJournal.journalReader("windowed").await();
+    assertEquals(2L, (long) reader.size().await());
+  }
+
+  private int appendsReceived() {
+    return interest.afterCompleting(0).readFrom("size");
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    world = World.startWithDefaults("test-file-journal");
+    directory = Files.createTempDirectory("file-journal").toFile();
+    configuration = FileJournalConfiguration.with(directory.getPath(), "test", 4096, false);
+
+    dispatcher = new MockDispatcher<>(new MockConfirmDispatchedResultInterest());
+    interest = new MockAppendResultInterest<String, SnapshotState>();
+
+    EntryAdapterProvider.instance(world).registerAdapter(TestSource.class, new TestSourceAdapter());
+    StateAdapterProvider.instance(world).registerAdapter(SnapshotState.class, new SnapshotStateAdapter());
+
+    journal = new FileJournal<>(dispatcher, world, configuration);
+  }
+
+  @After
+  public void tearDown() {
+    journal.stop();
+    world.terminate();
+
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  private static final class DirectOffsetCommitter implements OffsetCommitter {
+    private final OffsetStore offsetStore;
+
+    DirectOffsetCommitter(final OffsetStore offsetStore) {
+      this.offsetStore = offsetStore;
+    }
+
+    @Override
+    public void commit(final String readerName, final long offset) {
+      offsetStore.commit(Collections.singletonMap(readerName, offset));
+    }
+
+    @Override
+    public void flush() {
+    }
+  }
+
+  public static final class TestSource extends Source<String> {
+    public final int value;
+
+    public TestSource(final int value) {
+      this.value = value;
+    }
+  }
+
+  private static final class TestSourceAdapter implements EntryAdapter<TestSource, TextEntry> {
+    @Override
+    public TestSource fromEntry(final TextEntry entry) {
+      return JsonSerialization.deserialized(entry.entryData(), TestSource.class);
+    }
+
+    @Override
+    public TextEntry toEntry(final TestSource source, final Metadata metadata) {
+      return new TextEntry(TestSource.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final TestSource source, final String id, final Metadata metadata) {
+      return new TextEntry(id, TestSource.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final TestSource source, final int version, final String id, final Metadata metadata) {
+      return new TextEntry(id, TestSource.class, 1, JsonSerialization.serialized(source), version, metadata);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SegmentedLogTest {
+  private static final int BodySize = 300;
+  private static final int RecordSize = Segment.HeaderSize + BodySize;
+
+  private FileJournalConfiguration configuration;
+  private File directory;
+
+  @Test
+  public void testThatRecoveryStopsAtCorruptedRecordAndDeletesLaterSegments() throws IOException {
+    final SegmentedLog log = new SegmentedLog(configuration);
+    log.recover((segment, offset, body) -> { });
+    for (int record = 0; record < 5; ++record) {
+      log.append(bodyOf(record)); // three fit in segment 0, two roll over into segment 1
+    }
+    assertEquals(1, SegmentedLog.segmentOf(log.mark()));
+    log.close();
+
+    final File segment0 = new File(directory, "test-0000000000.journal");
+    final File segment1 = new File(directory, "test-0000000001.journal");
+    assertTrue(segment1.exists());
+
+    try (final RandomAccessFile file = new RandomAccessFile(segment0, "rw")) {
+      file.seek(RecordSize + Segment.HeaderSize + 10); // in the body of the second record
+      file.write(0xFF);
+    }
+
+    final List<Integer> recovered = new ArrayList<>();
+    final SegmentedLog reopened = new SegmentedLog(configuration);
+    reopened.recover((segment, offset, body) -> recovered.add((int) body.get(body.position())));
+
+    assertEquals(1, recovered.size());
+    assertEquals(0, (int) recovered.get(0));
+    assertFalse(segment1.exists());
+    assertEquals(SegmentedLog.positionOf(0, RecordSize), reopened.mark());
+
+    final long position = reopened.append(bodyOf(7));
+    assertEquals(SegmentedLog.positionOf(0, RecordSize), position);
+    assertEquals(7, reopened.read(position).get());
+    reopened.close();
+  }
+
+  @Test
+  public void testThatCleanSegmentsAreAllRecovered() {
+    final SegmentedLog log = new SegmentedLog(configuration);
+    log.recover((segment, offset, body) -> { });
+    for (int record = 0; record < 5; ++record) {
+      log.append(bodyOf(record));
+    }
+    log.close();
+
+    final List<Integer> recovered = new ArrayList<>();
+    final SegmentedLog reopened = new SegmentedLog(configuration);
+    reopened.recover((segment, offset, body) -> recovered.add((int) body.get(body.position())));
+
+    assertEquals(5, recovered.size());
+    assertEquals(4, (int) recovered.get(4));
+    reopened.close();
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("segmented-log").toFile();
+    configuration = new FileJournalConfiguration(directory, "test", 1024, false);
+  }
+
+  @After
+  public void tearDown() {
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  private ByteBuffer bodyOf(final int value) {
+    final ByteBuffer body = ByteBuffer.allocate(BodySize);
+    body.put(0, (byte) value);
+    return body;
+  }
+}
@@ -10,11 +10,14 @@ package io.vlingo.xoom.symbio.store.journal.inmemory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -38,12 +41,27 @@ import io.vlingo.xoom.symbio.EntryBundle;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.AppendOnlyLog;
+import io.vlingo.xoom.symbio.store.EntryBatch;
+import io.vlingo.xoom.symbio.store.EntryFilter;
+import io.vlingo.xoom.symbio.store.PartitionedEntryReader;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderStatistics;
+import io.vlingo.xoom.symbio.store.ReaderStatistics.ReaderSample;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.RetentionPolicy;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.MockConfirmDispatchedResultInterest;
 import io.vlingo.xoom.symbio.store.dispatch.MockDispatcher;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
 import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.SnapshotBuilder;
+import io.vlingo.xoom.symbio.store.journal.SnapshotPolicy;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
 import io.vlingo.xoom.symbio.store.journal.inmemory.MockAppendResultInterest.JournalData;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitter;
+import io.vlingo.xoom.symbio.store.offset.inmemory.InMemoryOffsetStore;
 import io.vlingo.xoom.symbio.store.state.SnapshotStateAdapter;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -159,6 +177,80 @@ public class InMemoryEventJournalActorTest {
     assertEquals("3", accessResults.readFrom("entryId", 2));
   }
 
+  @Test
+  public void testThatClosedReaderLeavesEntriesToOtherReaders() {
+    interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    journal.appendAll("123", 1, Arrays.asList(new Test1Source(), new Test2Source()), interest, object);
+
+    final JournalReader<Entry<String>> closing = journal.<Entry<String>>journalReader("closing").await();
+    final JournalReader<Entry<String>> other = journal.<Entry<String>>journalReader("other").await();
+
+    closing.readNext(1).await();
+    closing.close();
+    assertEquals(2L, (long) closing.size().await()); // following close() in its mailbox
+
+    final List<Entry<String>> entries = other.readNext(5).await();
+    assertEquals(2, entries.size());
+    assertEquals("1", entries.get(0).id());
+  }
+
+  @Test
+  public void testThatReopenedReaderResumesFromInMemoryOffset() {
+    final InMemoryOffsetStore offsetStore = new InMemoryOffsetStore();
+    final OffsetCommitter committer = OffsetCommitter.using(world.stage(), offsetStore, 1, 1000L);
+    final Journal<String> resuming = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher), offsetStore, committer);
+
+    interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    resuming.appendAll("123", 1, Arrays.asList(new Test1Source(), new Test2Source(), new Test1Source()), interest, object);
+
+    final JournalReader<Entry<String>> first = resuming.<Entry<String>>journalReader("resumer").await();
+    final List<Entry<String>> two = first.readNext(2).await();
+    assertEquals(2, two.size());
+    first.close();
+    first.size().await(); // following close() in its mailbox
+
+    final long timeout = System.currentTimeMillis() + 5_000L;
+    while (offsetStore.offsetOf("resumer") != 2L && System.currentTimeMillis() < timeout) {
+      Thread.yield();
+    }
+    assertEquals(2L, offsetStore.offsetOf("resumer"));
+
+    final JournalReader<Entry<String>> reopened = resuming.<Entry<String>>journalReader("resumer").await();
+    final Entry<String> entry = reopened.readNext().await();
+    assertEquals("3", entry.id());
+  }
+
+  @Test
+  public void testThatJournalReaderReadsBatchesIntoReusedBuffer() {
+    interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    final List<Source<String>> five = Arrays.asList(new Test1Source(), new Test2Source(), new Test1Source(), new Test2Source(), new Test1Source());
+    journal.appendAll("123", 1, five, interest, object);
+
+    final JournalReader<Entry<String>> reader = journal.<Entry<String>>journalReader("batch").await();
+    final EntryBatch<Entry<String>> batch = new EntryBatch<>(3);
+
+    final EntryBatch<Entry<String>> first = reader.readBatch(10, batch).await();
+    assertSame(batch, first);
+    assertEquals(3, batch.size());
+    assertEquals("1", batch.id(0));
+    assertEquals(Test2Source.class.getName(), batch.typeName(1));
+    assertEquals("3", batch.id(2));
+
+    reader.readBatch(10, batch).await();
+    assertEquals(2, batch.size());
+    assertEquals("4", batch.id(0));
+    assertEquals("5", batch.entry(1).id());
+
+    reader.readBatch(10, batch).await();
+    assertTrue(batch.isEmpty());
+  }
+
   @Test
   public void testThatStreamReaderReadsFiveEventsWithSnapshot() {
     dispatcher.afterCompleting(5);
@@ -201,6 +293,257 @@ public class InMemoryEventJournalActorTest {
     assertEquals("5", accessResults.readFrom("entryId", 1));
   }
 
+  @Test
+  public void testThatJournalSnapshotsStreamsByPolicy() {
+    dispatcher.afterCompleting(7);
+    interest.afterCompleting(7);
+
+    final SnapshotBuilder<String> builder = stream -> new SnapshotState();
+    final Journal<String> snapshotting = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher), SnapshotPolicy.everyEntries(3), builder);
+
+    for (int version = 1; version <= 7; ++version) {
+      snapshotting.append("123", version, new Test1Source(), interest, object);
+    }
+    assertEquals(7, interest.getReceivedAppendsSize());
+
+    final StreamReader<String> reader = snapshotting.streamReader("test").await();
+
+    // snapshots are taken by the snapshotter of the journal after the appends
+    final long timeout = System.currentTimeMillis() + 5_000L;
+    EntityStream<String> stream = reader.streamFor("123").await();
+    while ((stream.snapshot == null || stream.snapshot.dataVersion < 6) && System.currentTimeMillis() < timeout) {
+      Thread.yield();
+      stream = reader.streamFor("123").await();
+    }
+
+    assertNotNull(stream.snapshot);
+    assertEquals(6, stream.snapshot.dataVersion);
+    assertEquals(7, stream.streamVersion);
+    assertEquals(2, stream.entries.size());
+    assertEquals("6", stream.entries.get(0).id());
+    assertEquals("7", stream.entries.get(1).id());
+  }
+
+  @Test
+  public void testThatJournalEvictsEntriesBeyondRetention() {
+    final int total = AppendOnlyLog.ChunkSize * 2 + 5;
+    dispatcher.afterCompleting(total);
+    interest.afterCompleting(total);
+
+    final Journal<String> retaining = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher), RetentionPolicy.byCount(10));
+
+    for (int version = 1; version <= total; ++version) {
+      retaining.append("123", version, new Test1Source(), interest, object);
+    }
+    assertEquals(total, interest.getReceivedAppendsSize());
+
+    final JournalReader<Entry<String>> journalReader = retaining.<Entry<String>>journalReader("test").await();
+    final Entry<String> first = journalReader.readNext().await();
+    assertEquals("" + (AppendOnlyLog.ChunkSize + 1), first.id());
+
+    final StreamReader<String> streamReader = retaining.streamReader("test").await();
+    final EntityStream<String> stream = streamReader.streamFor("123").await();
+    assertEquals(total, stream.streamVersion);
+    assertEquals(total - AppendOnlyLog.ChunkSize, stream.entries.size());
+    assertEquals("" + (AppendOnlyLog.ChunkSize + 1), stream.entries.get(0).id());
+  }
+
+  @Test
+  public void testThatStreamRemainsReadableWhileCompacted() {
+    final int total = AppendOnlyLog.ChunkSize * 2 + 5;
+    dispatcher.afterCompleting(total);
+    interest.afterCompleting(total);
+
+    final Journal<String> retaining = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher), RetentionPolicy.byCount(10));
+
+    for (int version = 1; version <= AppendOnlyLog.ChunkSize + 5; ++version) {
+      retaining.append("123", version, new Test1Source(), interest, object);
+    }
+
+    final StreamReader<String> streamReader = retaining.streamReader("test").await();
+    final EntityStream<String> stream = streamReader.streamFor("123").await();
+    final Iterator<BaseEntry<String>> iterator = stream.entries.iterator();
+    assertEquals("1", iterator.next().id());
+
+    for (int version = AppendOnlyLog.ChunkSize + 6; version <= total; ++version) {
+      retaining.append("123", version, new Test1Source(), interest, object); // evicts the first chunk
+    }
+    assertEquals(total, interest.getReceivedAppendsSize());
+
+    int read = 1;
+    while (iterator.hasNext()) {
+      assertEquals("" + (++read), iterator.next().id());
+    }
+    assertEquals(AppendOnlyLog.ChunkSize + 5, read);
+  }
+
+  @Test
+  public void testThatPartitionedReaderReadsEachStreamFromOnePartitionInOrder() {
+    final int totalStreams = 6;
+    final int totalPartitions = 3;
+    dispatcher.afterCompleting(totalStreams * 2);
+    interest.afterCompleting(totalStreams * 2);
+
+    for (int stream = 1; stream <= totalStreams; ++stream) {
+      journal.append("stream-" + stream, 1, new Test1Source(stream), interest, object);
+    }
+
+    final PartitionedEntryReader<Entry<String>> reader = journal.<Entry<String>>partitionedReader("test", totalPartitions).await();
+
+    for (int stream = 1; stream <= totalStreams; ++stream) {
+      journal.append("stream-" + stream, 2, new Test1Source(stream), interest, object);
+    }
+    assertEquals(totalStreams * 2, interest.getReceivedAppendsSize());
+
+    assertEquals(totalStreams * 2, readPartitioned(reader, totalStreams, totalPartitions));
+  }
+
+  @Test
+  public void testThatPartitionedReaderIsRepartitionedWhenResized() {
+    final int totalStreams = 6;
+    dispatcher.afterCompleting(totalStreams);
+    interest.afterCompleting(totalStreams);
+
+    for (int stream = 1; stream <= totalStreams; ++stream) {
+      journal.append("stream-" + stream, 1, new Test1Source(stream), interest, object);
+    }
+    assertEquals(totalStreams, interest.getReceivedAppendsSize());
+
+    final PartitionedEntryReader<Entry<String>> three = journal.<Entry<String>>partitionedReader("test", 3).await();
+    three.partition(0).readNext(totalStreams).await();
+
+    final PartitionedEntryReader<Entry<String>> two = journal.<Entry<String>>partitionedReader("test", 2).await();
+    assertEquals(2, two.totalPartitions());
+
+    // the partitions of the resized reader are newly positioned rather than those of the replaced reader
+    assertEquals(totalStreams, readPartitioned(two, totalStreams, 2));
+  }
+
+  @Test
+  public void testThatFilteredReaderReadsOnlySelectedEntries() {
+    final int total = 12;
+    dispatcher.afterCompleting(total);
+    interest.afterCompleting(total);
+
+    for (int version = 1; version <= total / 2; ++version) {
+      journal.append("stream", version, new Test1Source(version), Metadata.withOperation(version % 2 == 0 ? "even" : "odd"), interest, object);
+    }
+
+    final JournalReader<Entry<String>> byType = journal.<Entry<String>>journalReader("by-type", EntryFilter.ofTypes(Test2Source.class)).await();
+    final JournalReader<Entry<String>> byOperation = journal.<Entry<String>>journalReader("by-operation", EntryFilter.ofOperations("even")).await();
+
+    for (int version = total / 2 + 1; version <= total; ++version) {
+      final Source<String> source = version % 3 == 0 ? new Test2Source() : new Test1Source(version);
+      journal.append("stream", version, source, Metadata.withOperation(version % 2 == 0 ? "even" : "odd"), interest, object);
+    }
+    assertEquals(total, interest.getReceivedAppendsSize());
+
+    final List<Entry<String>> typed = byType.readNext(total).await();
+    assertEquals(2, typed.size());
+    assertEquals("9", typed.get(0).id());
+    assertEquals("12", typed.get(1).id());
+    final List<Entry<String>> noMoreTyped = byType.readNext(total).await();
+    assertTrue(noMoreTyped.isEmpty());
+
+    final List<Entry<String>> even = byOperation.readNext(4).await();
+    assertEquals(4, even.size());
+    assertEquals("8", even.get(3).id());
+    final List<Entry<String>> moreEven = byOperation.readNext(total).await();
+    assertEquals(2, moreEven.size());
+  }
+
+  @Test
+  public void testThatFilteredReaderIsPositionedApartFromUnfilteredReader() {
+    dispatcher.afterCompleting(1);
+    interest.afterCompleting(1);
+
+    final List<Source<String>> four = Arrays.asList(new Test1Source(), new Test2Source(), new Test1Source(), new Test2Source());
+    journal.appendAll("123", 1, four, Metadata.withOperation("even"), interest, object);
+    assertEquals(1, interest.getReceivedAppendsSize());
+
+    final JournalReader<Entry<String>> plain = journal.<Entry<String>>journalReader("shared").await();
+    final List<Entry<String>> three = plain.readNext(3).await();
+    assertEquals(3, three.size());
+
+    final JournalReader<Entry<String>> filtered = journal.<Entry<String>>journalReader("shared", EntryFilter.ofOperations("even")).await();
+    final List<Entry<String>> two = filtered.readNext(2).await();
+    assertEquals("1", two.get(0).id());
+    assertEquals("2", two.get(1).id());
+
+    // an equal filter answers a reader continuing from the same position
+    final JournalReader<Entry<String>> equal = journal.<Entry<String>>journalReader("shared", EntryFilter.ofOperations("even")).await();
+    final List<Entry<String>> rest = equal.readNext(4).await();
+    assertEquals(2, rest.size());
+    assertEquals("3", rest.get(0).id());
+
+    final Entry<String> last = plain.readNext().await();
+    assertEquals("4", last.id());
+  }
+
+  @Test
+  public void testThatReaderMetricsAreSampledWithoutTheReader() {
+    final int total = 10;
+    dispatcher.afterCompleting(total);
+    interest.afterCompleting(total);
+
+    final ReaderStatistics statistics = new ReaderStatistics();
+    ReaderMetrics.registerWith(world, statistics);
+
+    final Journal<String> measured = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher));
+
+    for (int version = 1; version <= total; ++version) {
+      measured.append("stream", version, new Test1Source(version), interest, object);
+    }
+    assertEquals(total, interest.getReceivedAppendsSize());
+
+    final JournalReader<Entry<String>> reader = measured.<Entry<String>>journalReader("measured").await();
+    reader.readNext(4).await();
+
+    final ReaderSample lagging = statistics.sample("measured");
+    assertEquals(4, lagging.position);
+    assertEquals(total, lagging.head);
+    assertEquals(total - 4, lagging.lag);
+    assertEquals(4, lagging.totalRead);
+
+    reader.readNext(total).await();
+
+    final ReaderSample caughtUp = statistics.sample("measured");
+    assertEquals(0, caughtUp.lag);
+    assertEquals(0, caughtUp.lagMillis);
+    assertEquals(total, caughtUp.totalRead);
+    assertEquals(2, caughtUp.batchSizes.count());
+    assertEquals(total - 4, caughtUp.batchSizes.max());
+  }
+
+  @Test
+  public void testThatReaderMetricsAreKeptPerStore() {
+    dispatcher.afterCompleting(2);
+    interest.afterCompleting(2);
+
+    final ReaderStatistics statistics = new ReaderStatistics();
+    ReaderMetrics.registerWith(world, statistics);
+
+    final Journal<String> first = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher));
+    final Journal<String> second = world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher));
+
+    final List<Source<String>> three = Arrays.asList(new Test1Source(), new Test1Source(), new Test1Source());
+    first.appendAll("123", 1, three, interest, object);
+    second.appendAll("123", 1, three, interest, object);
+    assertEquals(2, interest.getReceivedAppendsSize());
+
+    first.<Entry<String>>journalReader("same").andThenTo(reader -> reader.readNext(1)).await();
+    second.<Entry<String>>journalReader("same").andThenTo(reader -> reader.readNext(3)).await();
+
+    final List<ReaderSample> samples = new ArrayList<>();
+    for (final ReaderSample sample : statistics.samples()) {
+      if (sample.readerName.equals("same")) samples.add(sample);
+    }
+    assertEquals(2, samples.size());
+    Assert.assertNotEquals(samples.get(0).storeName, samples.get(1).storeName);
+    assertEquals(4, samples.get(0).position + samples.get(1).position);
+    assertEquals(samples.get(0).position, statistics.sample(samples.get(0).storeName, "same").position);
+  }
+
   private ConsumerSink<EntryBundle> sink;
 
   private AtomicInteger totalSources = new AtomicInteger(0);
@@ -251,6 +594,23 @@ public class InMemoryEventJournalActorTest {
     world.terminate();
   }
 
+  private int readPartitioned(final PartitionedEntryReader<Entry<String>> reader, final int totalStreams, final int totalPartitions) {
+    int total = 0;
+    for (int partition = 0; partition < reader.totalPartitions(); ++partition) {
+      final List<Entry<String>> entries = reader.partition(partition).readNext(totalStreams * 2).await();
+      int previousId = 0;
+      for (final Entry<String> entry : entries) {
+        final int id = Integer.parseInt(entry.id());
+        final String streamName = "stream-" + ((id - 1) % totalStreams + 1);
+        assertTrue(id > previousId);
+        assertEquals(partition, PartitionedEntryReader.partitionOf(streamName, totalPartitions));
+        previousId = id;
+      }
+      total += entries.size();
+    }
+    return total;
+  }
+
   public static final class Test1Source extends Source<String> {
     private final int value;
 
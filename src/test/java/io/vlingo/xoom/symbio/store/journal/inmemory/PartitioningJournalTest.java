@@ -0,0 +1,184 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.serialization.JsonSerialization;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapter;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.store.ReaderMetrics;
+import io.vlingo.xoom.symbio.store.ReaderStatistics;
+import io.vlingo.xoom.symbio.store.ReaderStatistics.ReaderSample;
+import io.vlingo.xoom.symbio.store.dispatch.MockConfirmDispatchedResultInterest;
+import io.vlingo.xoom.symbio.store.dispatch.MockDispatcher;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.inmemory.InMemoryEventJournalActorTest.Test1Source;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PartitioningJournalTest {
+  private static final int TotalStreams = 20;
+
+  private MockDispatcher<String, SnapshotState> dispatcher;
+  private MockAppendResultInterest interest = new MockAppendResultInterest<String, SnapshotState>();
+  private Journal<String> journal;
+  private World world;
+
+  @Test
+  public void testThatMergedReaderReadsAllPartitionsInGlobalOrder() {
+    appendToAllStreams();
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    journal.journalReader("merged").andThenTo(reader -> reader.readNext(TotalStreams * 2)).andThenConsume(entries -> {
+      accessResults.writeUsing("addAll", entries);
+    });
+
+    assertEquals(TotalStreams, (int) accessResults.readFrom("size"));
+    for (int idx = 0; idx < TotalStreams; ++idx) {
+      assertEquals(String.valueOf(idx + 1), accessResults.readFrom("entryId", idx));
+    }
+  }
+
+  @Test
+  public void testThatMergedReaderAnswersNullAtEnd() {
+    appendToAllStreams();
+
+    final JournalReader<Entry<String>> reader = journal.<Entry<String>>journalReader("merged").await();
+
+    final List<Entry<String>> all = reader.readNext(TotalStreams * 2).await();
+    assertEquals(TotalStreams, all.size());
+    assertNull(reader.readNext().await());
+
+    assertEquals("5", reader.seekTo("5").await());
+    final Entry<String> fifth = reader.readNext().await();
+    assertEquals("5", fifth.id());
+
+    assertEquals("-1", reader.seekTo(JournalReader.End).await());
+    assertNull(reader.readNext().await());
+  }
+
+  @Test
+  public void testThatMergedReaderIsMetered() {
+    final ReaderStatistics statistics = new ReaderStatistics();
+    ReaderMetrics.registerWith(world, statistics);
+    journal = PartitioningJournal.using(world.stage(), Arrays.asList(dispatcher), 4);
+
+    appendToAllStreams();
+
+    final JournalReader<Entry<String>> reader = journal.<Entry<String>>journalReader("metered").await();
+    reader.readNext(5).await();
+
+    final ReaderSample sample = statistics.sample("metered");
+    assertEquals(5, sample.position);
+    assertEquals(TotalStreams, sample.head);
+    assertEquals(5, sample.totalRead);
+  }
+
+  @Test
+  public void testThatJournalStops() {
+    appendToAllStreams();
+
+    final Stoppable stoppable = (Stoppable) journal;
+    assertFalse(stoppable.isStopped());
+
+    stoppable.stop();
+
+    assertTrue(stoppable.isStopped());
+  }
+
+  @Test
+  public void testThatStreamReaderReadsFromStreamPartition() {
+    appendToAllStreams();
+
+    for (final String streamName : Arrays.asList("stream-3", "stream-11", "stream-17")) {
+      final AccessSafely accessResults = new TestResults().afterCompleting(1);
+      journal.streamReader("test").andThenTo(reader -> reader.streamFor(streamName)).andThenConsume(eventStream -> {
+        accessResults.writeUsing("addAll", eventStream.entries);
+      });
+
+      assertEquals(1, (int) accessResults.readFrom("size"));
+    }
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-partitioning-journal");
+    dispatcher = new MockDispatcher<>(new MockConfirmDispatchedResultInterest());
+    EntryAdapterProvider.instance(world).registerAdapter(Test1Source.class, new Test1SourceAdapter());
+    journal = PartitioningJournal.using(world.stage(), Arrays.asList(dispatcher), 4);
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+
+  private void appendToAllStreams() {
+    dispatcher.afterCompleting(TotalStreams);
+    interest.afterCompleting(TotalStreams);
+
+    for (int idx = 1; idx <= TotalStreams; ++idx) {
+      journal.append("stream-" + idx, 1, new Test1Source(idx), interest, null);
+    }
+
+    assertEquals(TotalStreams, interest.getReceivedAppendsSize());
+  }
+
+  private static final class Test1SourceAdapter implements EntryAdapter<Test1Source, TextEntry> {
+    @Override
+    public Test1Source fromEntry(final TextEntry entry) {
+      return JsonSerialization.deserialized(entry.entryData(), Test1Source.class);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final Metadata metadata) {
+      return new TextEntry(Test1Source.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final String id, final Metadata metadata) {
+      return new TextEntry(id, Test1Source.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final int version, final String id, final Metadata metadata) {
+      return new TextEntry(id, Test1Source.class, 1, JsonSerialization.serialized(source), version, metadata);
+    }
+  }
+
+  private static final class TestResults {
+    final List<Entry<String>> entries = new ArrayList<>();
+
+    AccessSafely afterCompleting(final int times) {
+      return AccessSafely.afterCompleting(times)
+              .writingWith("addAll", (values) -> this.entries.addAll((Collection<BaseEntry<String>>) values))
+              .readingWith("entryId", (index) -> this.entries.get((int) index).id())
+              .readingWith("size", () -> this.entries.size());
+    }
+  }
+}
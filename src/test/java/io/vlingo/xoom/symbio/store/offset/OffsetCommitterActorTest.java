@@ -0,0 +1,137 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.offset;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Protocols;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.symbio.store.offset.OffsetCommitterActor.OffsetCommitterInstantiator;
+
+public class OffsetCommitterActorTest {
+  private static final long Never = 60_000L;
+  private static final long TimeoutMillis = 5_000L;
+
+  private RecordingOffsetStore offsetStore;
+  private World world;
+
+  @Test
+  public void testThatOffsetsAreCommittedOnceEntriesAdvance() {
+    final OffsetCommitter committer = OffsetCommitter.using(world.stage(), offsetStore, 5, Never);
+
+    for (long offset = 1; offset <= 4; ++offset) {
+      committer.commit("reader", offset); // advanced by 4 entries
+    }
+    committer.commit("reader", 5); // advanced by 5 entries
+
+    awaitCommits(1);
+    assertEquals(5L, (long) offsetStore.commits.get(0).get("reader"));
+
+    committer.commit("reader", 6);
+    committer.commit("reader", 11); // advanced by 6 entries
+
+    awaitCommits(2);
+    assertEquals(11L, (long) offsetStore.commits.get(1).get("reader"));
+    assertEquals(2, offsetStore.commits.size());
+  }
+
+  @Test
+  public void testThatOffsetsAreCommittedOnceIntervalElapses() {
+    final OffsetCommitter committer = OffsetCommitter.using(world.stage(), offsetStore, 100, 20L);
+
+    committer.commit("reader-1", 3);
+    committer.commit("reader-2", 7);
+
+    awaitCommits(1);
+    final Map<String,Long> committed = offsetStore.commits.get(0);
+    assertEquals(3L, (long) committed.get("reader-1"));
+    assertEquals(7L, (long) committed.get("reader-2"));
+  }
+
+  @Test
+  public void testThatUnchangedOffsetIsNotCommittedAgain() {
+    final OffsetCommitter committer = OffsetCommitter.using(world.stage(), offsetStore, 1, Never);
+
+    committer.commit("reader", 2);
+    awaitCommits(1);
+
+    committer.commit("reader", 2);
+    committer.commit("reader", 3);
+    awaitCommits(2);
+
+    assertEquals(3L, (long) offsetStore.commits.get(1).get("reader"));
+  }
+
+  @Test
+  public void testThatStopFlushesPendingOffsets() {
+    final Protocols protocols = world.stage().actorFor(
+            new Class<?>[] { OffsetCommitter.class, Stoppable.class },
+            Definition.has(OffsetCommitterActor.class, new OffsetCommitterInstantiator(offsetStore, 100, Never)));
+
+    final OffsetCommitter committer = protocols.get(0);
+    committer.commit("reader", 9);
+
+    final Stoppable stoppable = protocols.get(1);
+    stoppable.stop();
+
+    awaitCommits(1);
+    assertEquals(9L, (long) offsetStore.commits.get(0).get("reader"));
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-offset-committer");
+    offsetStore = new RecordingOffsetStore();
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+
+  private void awaitCommits(final int total) {
+    final long timeout = System.currentTimeMillis() + TimeoutMillis;
+    while (offsetStore.commits.size() < total && System.currentTimeMillis() < timeout) {
+      try {
+        Thread.sleep(5L);
+      } catch (InterruptedException e) {
+        // ignore
+      }
+    }
+    assertEquals(total, offsetStore.commits.size());
+  }
+
+  private static final class RecordingOffsetStore implements OffsetStore {
+    final List<Map<String,Long>> commits = new CopyOnWriteArrayList<>();
+
+    @Override
+    public long offsetOf(final String readerName) {
+      for (int index = commits.size() - 1; index >= 0; --index) {
+        final Long offset = commits.get(index).get(readerName);
+        if (offset != null) return offset;
+      }
+      return Unknown;
+    }
+
+    @Override
+    public void commit(final Map<String,Long> offsets) {
+      commits.add(new HashMap<>(offsets));
+    }
+  }
+}
@@ -8,9 +8,11 @@
 package io.vlingo.xoom.symbio.store.state;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -19,11 +21,13 @@ import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.testkit.AccessSafely;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.state.PartitioningStateStore.InstantiatorProvider;
 import io.vlingo.xoom.symbio.store.state.PartitioningStateStore.StateStoreRole;
 
@@ -44,6 +48,25 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
   @Override
   public void readAll(Collection<TypedStateBundle> bundles, ReadResultInterest interest, Object object) {
     results.incrementReadAll();
+
+    if (interest != null) {
+      interest.readResultedIn(Success.of(Result.Success), bundles, object);
+    }
+  }
+
+  @Override
+  public void readRangeByIndex(Class<?> type, String fieldName, Object from, Object to, ReadResultInterest interest, Object object) {
+    results.incrementReadRangeByIndex();
+
+    final TypedStateBundle bundle = new TypedStateBundle(UUID.randomUUID().toString(), type, null, 1, Metadata.nullMetadata());
+    interest.readResultedIn(Success.of(Result.Success), Collections.singletonList(bundle), object);
+  }
+
+  @Override
+  public Completes<Result> registerIndex(StateIndex index) {
+    results.incrementRegisterIndex();
+
+    return completes().with(Result.Success);
   }
 
   @Override
@@ -152,6 +175,8 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
     private final AtomicInteger read = new AtomicInteger(0);
     private final Map<Integer, Integer> readPartitions = new ConcurrentHashMap<>();
     private final AtomicInteger readAll = new AtomicInteger(0);
+    private final AtomicInteger readRangeByIndex = new AtomicInteger(0);
+    private final AtomicInteger registerIndex = new AtomicInteger(0);
     private final AtomicInteger streamAllOf = new AtomicInteger(0);
     private final AtomicInteger streamSomeUsing = new AtomicInteger(0);
     private final AtomicInteger write = new AtomicInteger(0);
@@ -183,6 +208,12 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
       access.writingWith("readAll", one -> readAll.incrementAndGet());
       access.readingWith("readAll", () -> readAll.get());
 
+      access.writingWith("readRangeByIndex", one -> readRangeByIndex.incrementAndGet());
+      access.readingWith("readRangeByIndex", () -> readRangeByIndex.get());
+
+      access.writingWith("registerIndex", one -> registerIndex.incrementAndGet());
+      access.readingWith("registerIndex", () -> registerIndex.get());
+
       access.writingWith("streamAllOf", one -> streamAllOf.incrementAndGet());
       access.readingWith("streamAllOf", () -> streamAllOf.get());
 
@@ -226,6 +257,14 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
       return access.readFrom("readAll");
     }
 
+    public int readRangeByIndex() {
+      return access.readFrom("readRangeByIndex");
+    }
+
+    public int registerIndex() {
+      return access.readFrom("registerIndex");
+    }
+
     public int streamAllOf() {
       return access.readFrom("streamAllOf");
     }
@@ -259,6 +298,14 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
       access.writeUsing("readAll", 1);
     }
 
+    private void incrementReadRangeByIndex() {
+      access.writeUsing("readRangeByIndex", 1);
+    }
+
+    private void incrementRegisterIndex() {
+      access.writeUsing("registerIndex", 1);
+    }
+
     private void incrementStreamAllOf() {
       access.writeUsing("streamAllOf", 1);
     }
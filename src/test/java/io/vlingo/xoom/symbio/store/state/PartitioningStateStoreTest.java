@@ -7,9 +7,14 @@
 
 package io.vlingo.xoom.symbio.store.state;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -19,8 +24,18 @@ import io.vlingo.xoom.actors.Configuration;
 import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.actors.plugin.PluginProperties;
 import io.vlingo.xoom.actors.plugin.mailbox.concurrentqueue.ConcurrentQueueMailboxPlugin.ConcurrentQueueMailboxPluginConfiguration;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
 import io.vlingo.xoom.symbio.store.state.MessageCountingStateStoreActor.MessageCountingInstantiatorProvider;
 import io.vlingo.xoom.symbio.store.state.MessageCountingStateStoreActor.MessageCountingResults;
+import io.vlingo.xoom.symbio.store.state.PartitioningStateStore.ReadAllGatherer;
+import io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest;
 import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
 
 public class PartitioningStateStoreTest {
@@ -95,7 +110,7 @@ public class PartitioningStateStoreTest {
     final int interations = 5;
     final int partitionReads = 2;
     final int reads = interations * partitionReads;
-    final int readAlls = 1;
+    final int readAlls = 2; // one for each partition of the bundles
 
     final int times = ctors + reads + readAlls;
 
@@ -111,7 +126,7 @@ public class PartitioningStateStoreTest {
       store.read(idFor(read, PartitioningStateStore.MinimumReaders), getClass(), null, null);
     }
 
-    store.readAll(Arrays.asList(new TypedStateBundle("3", getClass()), new TypedStateBundle("4", getClass())), null, null);
+    store.readAll(Arrays.asList(new TypedStateBundle(idFor(3, PartitioningStateStore.MinimumReaders), getClass()), new TypedStateBundle(idFor(4, PartitioningStateStore.MinimumReaders), getClass())), null, null);
 
     Assert.assertEquals(ctors, results.ctor());
     Assert.assertEquals(PartitioningStateStore.MinimumReaders, results.readerCtor());
@@ -127,6 +142,123 @@ public class PartitioningStateStoreTest {
     Assert.assertEquals(partitionReads, results.readPartitionCount(4));
   }
 
+  @Test
+  public void testThatIndexReadsAreGatheredFromWriters() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int times = ctors + PartitioningStateStore.MinimumWriters;
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, true); // use Definition
+
+    final StateStore store = PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    final AccessSafely access = AccessSafely.afterCompleting(1);
+    final List<Outcome<StorageException, Result>> outcomes = new CopyOnWriteArrayList<>();
+    final List<TypedStateBundle> gathered = new CopyOnWriteArrayList<>();
+    access.writingWith("gathered", (Outcome<StorageException, Result> outcome, Collection<TypedStateBundle> bundles) -> {
+      outcomes.add(outcome);
+      gathered.addAll(bundles);
+    });
+    access.readingWith("gathered", () -> outcomes.size());
+
+    store.readByIndex(Entity1.class, "value", 1, new MockStateStoreResultInterest() {
+      @Override
+      public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+        access.writeUsing("gathered", outcome, bundles);
+      }
+    });
+
+    Assert.assertEquals(1, (int) access.readFrom("gathered"));
+    Assert.assertEquals(PartitioningStateStore.MinimumWriters, results.readRangeByIndex());
+    Assert.assertEquals(PartitioningStateStore.MinimumWriters, gathered.size());
+    Assert.assertEquals(Result.Success, outcomes.get(0).get());
+  }
+
+  @Test
+  public void testThatIndexIsRegisteredWithAllStores() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int times = ctors + ctors;
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, false); // don't use Definition
+
+    final StateStore store = PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    final Completes<Result> registered = store.registerIndex(StateIndex.hashOn(Entity1.class, "value", (Entity1 entity) -> entity.value));
+
+    Assert.assertEquals(Result.Success, registered.await());
+    Assert.assertEquals(ctors, results.registerIndex());
+  }
+
+  @Test
+  public void testThatResizedStoreWritesToAllPartitions() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int added = 2;
+    final int markers = ctors; // one for each former partition
+    final int writes = 20;
+    final int times = ctors + added + markers + writes;
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, true); // use Definition
+
+    final PartitioningStateStore store = (PartitioningStateStore) PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    store.resize(PartitioningStateStore.MinimumReaders + 1, PartitioningStateStore.MinimumWriters + 1);
+
+    Assert.assertEquals(PartitioningStateStore.MinimumReaders + 1, store.totalReaders());
+    Assert.assertEquals(PartitioningStateStore.MinimumWriters + 1, store.totalWriters());
+
+    for (int write = 0; write < writes; ++write) {
+      store.write(UUID.randomUUID().toString(), this, 1, null); // those moved are held until handed off
+    }
+
+    Assert.assertEquals(ctors + added, results.ctor());
+    Assert.assertEquals(PartitioningStateStore.MinimumWriters + 1, results.writerCtor());
+    Assert.assertEquals(markers, results.readAll());
+    Assert.assertEquals(writes, results.write());
+  }
+
+  @Test
+  public void testThatIndexesAreRegisteredWithAddedPartitions() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int added = 2;
+    final int markers = ctors;
+    final int times = ctors + ctors + added + markers + added;
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, false); // don't use Definition
+
+    final PartitioningStateStore store = (PartitioningStateStore) PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    final Completes<Result> registered = store.registerIndex(StateIndex.hashOn(Entity1.class, "value", (Entity1 entity) -> entity.value));
+    Assert.assertEquals(Result.Success, registered.await());
+
+    store.resize(PartitioningStateStore.MinimumReaders + 1, PartitioningStateStore.MinimumWriters + 1);
+
+    Assert.assertEquals(ctors + added, results.registerIndex());
+  }
+
+  @Test
+  public void testThatResizeDuringHandoffIsAppliedAfterIt() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int firstMarkers = ctors;
+    final int secondMarkers = ctors + 2; // one for each partition of the first resize
+    final int times = ctors + 2 + 2 + firstMarkers + secondMarkers;
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, false); // don't use Definition
+
+    final PartitioningStateStore store = (PartitioningStateStore) PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    store.resize(PartitioningStateStore.MinimumReaders + 1, PartitioningStateStore.MinimumWriters + 1);
+    store.resize(PartitioningStateStore.MinimumReaders + 2, PartitioningStateStore.MinimumWriters + 2); // applied once the first is handed off
+
+    Assert.assertEquals(firstMarkers + secondMarkers, results.readAll());
+    Assert.assertEquals(ctors + 4, results.ctor());
+    Assert.assertEquals(PartitioningStateStore.MinimumReaders + 2, store.totalReaders());
+    Assert.assertEquals(PartitioningStateStore.MinimumWriters + 2, store.totalWriters());
+  }
+
   @Test
   public void testThatWritersReceive() {
     final int iterations = 3;
@@ -160,6 +292,45 @@ public class PartitioningStateStoreTest {
     Assert.assertEquals(writes, results.writePartitionCount(2));
   }
 
+  @Test
+  public void testThatGatheredBundlesAreInRequestedOrder() {
+    final RecordingInterest interest = new RecordingInterest();
+    final ReadAllGatherer gatherer = new ReadAllGatherer(Arrays.asList(bundle("1"), bundle("2"), bundle("3"), bundle("4")), 2, interest, "object");
+
+    gatherer.readResultedIn(Success.of(Result.Success), Arrays.asList(bundle("4"), bundle("2")), null);
+    Assert.assertNull(interest.outcome); // answered once all partitions have
+    gatherer.readResultedIn(Success.of(Result.Success), Arrays.asList(bundle("3"), bundle("1")), null);
+
+    Assert.assertEquals(Result.Success, interest.outcome.get());
+    Assert.assertEquals(Arrays.asList("1", "2", "3", "4"), interest.ids());
+    Assert.assertEquals("object", interest.object);
+  }
+
+  @Test
+  public void testThatPartlyMissingIsNotAllFound() {
+    final RecordingInterest interest = new RecordingInterest();
+    final ReadAllGatherer gatherer = new ReadAllGatherer(Arrays.asList(bundle("1"), bundle("2"), bundle("3")), 2, interest, null);
+
+    gatherer.readResultedIn(Success.of(Result.Success), Arrays.asList(bundle("1"), bundle("2")), null);
+    gatherer.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), Collections.emptyList(), null);
+
+    Assert.assertEquals(Result.NotAllFound, resultOf(interest.outcome));
+    Assert.assertEquals(Arrays.asList("1", "2"), interest.ids());
+  }
+
+  @Test
+  public void testThatFailingPartitionIsErrorBeforeNotAllFound() {
+    final RecordingInterest interest = new RecordingInterest();
+    final ReadAllGatherer gatherer = new ReadAllGatherer(Arrays.asList(bundle("1"), bundle("2"), bundle("3")), 3, interest, null);
+
+    gatherer.readResultedIn(Success.of(Result.Success), Arrays.asList(bundle("1")), null);
+    gatherer.readResultedIn(Failure.of(new StorageException(Result.Error, "Failed.")), Collections.emptyList(), null);
+    gatherer.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), Collections.emptyList(), null);
+
+    Assert.assertEquals(Result.Error, resultOf(interest.outcome));
+    Assert.assertEquals(Arrays.asList("1"), interest.ids());
+  }
+
   @Before
   public void setUp() {
 //    world = World.startWithDefaults("test-partitioning-statestore");
@@ -189,11 +360,44 @@ public class PartitioningStateStoreTest {
     }
   }
 
+  private TypedStateBundle bundle(final String id) {
+    return new TypedStateBundle(id, Entity1.class);
+  }
+
+  private Result resultOf(final Outcome<StorageException, Result> outcome) {
+    return outcome.otherwise(cause -> cause.result).get();
+  }
+
+  private static class RecordingInterest implements ReadResultInterest {
+    private final List<TypedStateBundle> bundles = new ArrayList<>();
+    private Object object;
+    private Outcome<StorageException, Result> outcome;
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      Assert.fail("Gathered reads are answered as a readAll().");
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      this.outcome = outcome;
+      this.bundles.addAll(bundles);
+      this.object = object;
+    }
+
+    List<String> ids() {
+      final List<String> ids = new ArrayList<>();
+      for (final TypedStateBundle bundle : bundles) {
+        ids.add(bundle.id);
+      }
+      return ids;
+    }
+  }
+
   private String idFor(final int targetPartition, final int max) {
     while (true) {
       final String id = UUID.randomUUID().toString();
-      final int hashCode = id.hashCode();
-      final int partition = hashCode % max;
+      final int partition = PartitioningStateStore.partitionOf(id, max);
 
       if (partition == targetPartition) {
         return id;
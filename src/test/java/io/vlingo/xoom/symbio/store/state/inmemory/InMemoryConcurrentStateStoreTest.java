@@ -0,0 +1,175 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.actors.testkit.TestWorld;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.state.Entity1;
+import io.vlingo.xoom.symbio.store.state.Entity1.Entity1StateAdapter;
+import io.vlingo.xoom.symbio.store.state.MockStateStoreDispatcher;
+import io.vlingo.xoom.symbio.store.state.MockStateStoreResultInterest;
+import io.vlingo.xoom.symbio.store.state.StateStore;
+import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
+
+public class InMemoryConcurrentStateStoreTest {
+  private final static String StoreName1 = Entity1.class.getSimpleName();
+  private final static int Writers = 8;
+
+  private MockStateStoreDispatcher dispatcher;
+  private MockStateStoreResultInterest interest;
+  private StateStore store;
+  private TestWorld testWorld;
+  private World world;
+
+  @Test
+  public void testThatStateStoreWritesAndReadsObject() {
+    final AccessSafely access1 = interest.afterCompleting(2);
+    dispatcher.afterCompleting(1);
+
+    final Entity1 entity = new Entity1("123", 5);
+
+    store.write(entity.id, entity, 1, interest);
+    store.read(entity.id, Entity1.class, interest);
+
+    assertEquals(1, (int) access1.readFrom("readObjectResultedIn"));
+    assertEquals(1, (int) access1.readFrom("writeObjectResultedIn"));
+    assertEquals(Result.Success, access1.readFrom("objectReadResult"));
+    assertEquals(entity, access1.readFrom("objectState"));
+  }
+
+  @Test
+  public void testThatConcurrencyViolationsDetected() {
+    final AccessSafely access1 = interest.afterCompleting(3);
+    dispatcher.afterCompleting(2);
+
+    final Entity1 entity = new Entity1("123", 5);
+
+    store.write(entity.id, entity, 1, interest);
+    store.write(entity.id, entity, 2, interest);
+    store.write(entity.id, entity, 2, interest);
+
+    assertEquals(3, (int) access1.readFrom("objectWriteAccumulatedResultsCount"));
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.ConcurrencyViolation, access1.readFrom("objectWriteAccumulatedResults"));
+  }
+
+  @Test
+  public void testThatConcurrentWritersOfOneVersionHaveOneSuccess() throws Exception {
+    final AccessSafely access1 = interest.afterCompleting(Writers);
+    dispatcher.afterCompleting(1);
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> writers = new ArrayList<>();
+
+    for (int writer = 0; writer < Writers; ++writer) {
+      final Entity1 entity = new Entity1("123", writer);
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          store.write(entity.id, entity, 1, interest);
+        } catch (InterruptedException e) {
+          // fall through
+        }
+      });
+      writers.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+
+    for (final Thread thread : writers) {
+      thread.join();
+    }
+
+    assertEquals(Writers, (int) access1.readFrom("objectWriteAccumulatedResultsCount"));
+
+    int successes = 0;
+    for (int result = 0; result < Writers; ++result) {
+      if (access1.readFrom("objectWriteAccumulatedResults") == Result.Success) ++successes;
+    }
+    assertEquals(1, successes);
+  }
+
+  @Test
+  public void testThatLatestVersionIsDispatchedLast() throws Exception {
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> writers = new ArrayList<>();
+
+    for (int writer = 1; writer <= Writers; ++writer) {
+      final Entity1 entity = new Entity1("123", writer);
+      final int version = writer;
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          store.write(entity.id, entity, version, interest);
+        } catch (InterruptedException e) {
+          // fall through
+        }
+      });
+      writers.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+
+    for (final Thread thread : writers) {
+      thread.join();
+    }
+
+    final MockStateStoreResultInterest readInterest = new MockStateStoreResultInterest();
+    final AccessSafely accessRead = readInterest.afterCompleting(1);
+    store.read("123", Entity1.class, readInterest);
+    final Entity1 stored = accessRead.readFrom("objectState");
+
+    final State<?> dispatched = dispatcher.afterCompleting(0).readFrom("dispatchedState", StoreName1 + ":123");
+    assertEquals(stored.value, dispatched.dataVersion);
+  }
+
+  @Before
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void setUp() {
+    testWorld = TestWorld.startWithDefaults("test-concurrent-store");
+    world = testWorld.world();
+
+    interest = new MockStateStoreResultInterest();
+    dispatcher = new MockStateStoreDispatcher(interest);
+
+    dispatcher.afterCompleting(0); // avoid NPE
+
+    final StateAdapterProvider stateAdapterProvider = new StateAdapterProvider(world);
+    new EntryAdapterProvider(world);
+
+    stateAdapterProvider.registerAdapter(Entity1.class, new Entity1StateAdapter());
+
+    store = InMemoryConcurrentStateStore.using(world.stage(), (List) Arrays.asList(dispatcher));
+
+    StateTypeStateStoreMap.stateTypeToStoreName(Entity1.class, StoreName1);
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+}
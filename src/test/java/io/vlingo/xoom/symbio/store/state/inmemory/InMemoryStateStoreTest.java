@@ -13,8 +13,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -24,19 +27,25 @@ import org.junit.Test;
 import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.actors.testkit.AccessSafely;
 import io.vlingo.xoom.actors.testkit.TestWorld;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Outcome;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.reactivestreams.sink.ConsumerSink;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.ListQueryExpression;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
 import io.vlingo.xoom.symbio.store.state.Entity1;
 import io.vlingo.xoom.symbio.store.state.Entity1.Entity1StateAdapter;
 import io.vlingo.xoom.symbio.store.state.Entity2;
 import io.vlingo.xoom.symbio.store.state.MockStateStoreDispatcher;
 import io.vlingo.xoom.symbio.store.state.MockStateStoreResultInterest;
 import io.vlingo.xoom.symbio.store.state.MockStateStoreResultInterest.StoreData;
+import io.vlingo.xoom.symbio.store.state.StateFieldProvider;
+import io.vlingo.xoom.symbio.store.state.StateIndex;
 import io.vlingo.xoom.symbio.store.state.StateStore;
 import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
 import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
@@ -247,6 +256,85 @@ public class InMemoryStateStoreTest {
     assertEquals(3, state345.value);
   }
 
+  @Test
+  public void testThatStatesReadByIndex() {
+    dispatcher.afterCompleting(0);
+    final AccessSafely accessWrites = interest.afterCompleting(6);
+
+    store.registerIndex(StateIndex.hashOnProperty(Entity1.class, "region"));
+
+    for (int value = 1; value <= 6; ++value) {
+      final Entity1 entity = new Entity1("" + value, value);
+      store.write(entity.id, entity, 1, Metadata.withProperties(Collections.singletonMap("region", value % 2 == 0 ? "eu" : "us")), interest);
+    }
+
+    store.registerIndex(StateIndex.sortedOn(Entity1.class, "value", (Entity1 entity) -> entity.value)); // indexes states already written
+
+    assertEquals(6, (int) accessWrites.readFrom("objectWriteAccumulatedResultsCount"));
+
+    final AccessSafely accessByKey = interest.afterCompleting(3);
+
+    store.readByIndex(Entity1.class, "metadata.region", "eu", interest);
+
+    final List<StoreData<?>> eu = accessByKey.readFrom("readAllStates");
+    assertEquals(3, eu.size());
+    assertEquals("2", eu.get(0).<Entity1>typedState().id);
+    assertEquals("6", eu.get(2).<Entity1>typedState().id);
+
+    final AccessSafely accessByRange = interest.afterCompleting(3);
+    interest.readAllStates.clear();
+
+    store.readRangeByIndex(Entity1.class, "value", 3, 5L, interest);
+
+    final List<StoreData<?>> range = accessByRange.readFrom("readAllStates");
+    assertEquals(3, range.size());
+    assertEquals(3, range.get(0).<Entity1>typedState().value);
+    assertEquals(5, range.get(2).<Entity1>typedState().value);
+  }
+
+  @Test
+  public void testThatIndexKeysOfNumbersOfDifferentTypesAreEqual() {
+    dispatcher.afterCompleting(0);
+    final AccessSafely accessWrites = interest.afterCompleting(3);
+
+    final Completes<Result> registered = store.registerIndex(StateIndex.hashOn(Entity1.class, "value", (Entity1 entity) -> entity.value));
+    assertEquals(Result.Success, registered.await());
+
+    for (int value = 1; value <= 3; ++value) {
+      final Entity1 entity = new Entity1("" + value, value);
+      store.write(entity.id, entity, 1, interest);
+    }
+
+    assertEquals(3, (int) accessWrites.readFrom("objectWriteAccumulatedResultsCount"));
+
+    final AccessSafely accessByKey = interest.afterCompleting(1);
+
+    store.readByIndex(Entity1.class, "value", 2.0, interest);
+
+    final List<StoreData<?>> read = accessByKey.readFrom("readAllStates");
+    assertEquals(1, read.size());
+    assertEquals("2", read.get(0).<Entity1>typedState().id);
+  }
+
+  @Test
+  public void testThatReadByNullIndexKeyIsReported() {
+    final AtomicReference<StorageException> failure = new AtomicReference<>();
+
+    store.readByIndex(Entity1.class, "value", null, new MockStateStoreResultInterest() {
+      @Override
+      public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+        outcome.otherwise(cause -> {
+          failure.set(cause);
+          return cause.result;
+        });
+      }
+    });
+
+    assertNotNull(failure.get());
+    assertTrue(failure.get().result.isError());
+    assertTrue(failure.get().getMessage().contains("must not be null"));
+  }
+
   @Test
   public void testThatReadErrorIsReported() {
     final AccessSafely access1 = interest.afterCompleting(2);
@@ -331,6 +419,30 @@ public class InMemoryStateStoreTest {
     Assert.assertEquals(totalStates.get(), stateCount);
   }
 
+  @Test
+  public void testThatSomeOfTypeStreamsByQuery() {
+    StateFieldProvider.instance(world).registerField(Entity1.class, "value", (Entity1 entity) -> entity.value);
+
+    for (int count = 1; count <= 200; ++count) {
+      final Entity1 entity1 = new Entity1("" + count, count);
+      store.write(entity1.id, entity1, 1, Metadata.withOperation(count % 2 == 0 ? "even" : "odd"), interest);
+    }
+
+    final Stream some = store.streamSomeUsing(new ListQueryExpression(Entity1.class, "metadata.operation = ? and value > ?", "even", 150)).await();
+
+    final AccessSafely access = AccessSafely.afterCompleting(25);
+
+    access.writingWith("stateCounter", (state) -> { totalStates.incrementAndGet(); });
+    access.readingWith("stateCount", () -> totalStates.get());
+
+    some.flowInto(new ConsumerSink<>((state) -> access.writeUsing("stateCounter", 1)), 10);
+
+    final int stateCount = access.readFromExpecting("stateCount", 25);
+
+    Assert.assertEquals(25, stateCount);
+    Assert.assertEquals(25, totalStates.get());
+  }
+
   @Test
   public void testThatAllOfTypeStreamsUntilStop() {
     for (int count = 1; count <= 10000; ++count) {